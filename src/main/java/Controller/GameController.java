@@ -1,9 +1,19 @@
 package Controller;
 
-import Model.Board;
-import Model.Cell;
+import Model.BoardPack;
 import Model.Difficulty;
 import Model.Game;
+import Model.GameHistory;
+import Model.GameJournal;
+import Model.Move;
+import Model.Player;
+import Model.QuestionRepository;
+import Model.ReplayWriter;
+import Model.TurnScheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
 
 /**
  * Controller class between the UI (View) and the Game model.
@@ -12,24 +22,203 @@ public class GameController {
 
     private Game currentGame;
 
+    // Active replay recording of currentGame (null when not recording)
+    private ReplayWriter replayWriter;
+
+    // Crash-recovery journal of currentGame (null when journaling is off)
+    private GameJournal journal;
+    private File journalFile;
+
+    // Finished games are recorded here (null = no history)
+    private GameHistory history;
+
+    // Question bank for new games (null until loaded, or when there is none)
+    private volatile QuestionRepository questionRepository;
+
+    // Generate boards that need no guessing for games started from now on
+    private boolean noGuess;
+
+    // Pack and board the current game was started from (null pack: the game generates its boards)
+    private BoardPack pack;
+    private int packBoard;
+
     /**
      * Creates a new Game instance with the selected difficulty.
      * This is the main entry point for starting a cooperative game.
      */
     public void startNewGame(Difficulty difficulty) {
+        stopRecording();
+        discardJournal();
         currentGame = new Game(difficulty);
+        pack = null;
+        applyNoGuess();
+        attachHistory();
+    }
+
+    /**
+     * Starts a game with one board per player and the given turn rules
+     * (round-robin, simultaneous or timed).
+     */
+    public void startNewGame(Difficulty difficulty, List<Player> players, TurnScheduler turnScheduler) {
+        stopRecording();
+        discardJournal();
+        currentGame = new Game(difficulty, players, turnScheduler, questionRepository);
+        pack = null;
+        applyNoGuess();
+        attachHistory();
+    }
+
+    /**
+     * Starts a game on a board of a pre-generated pack (e.g. today's daily board); nothing is generated.
+     * The pack must stay open while the game may be restarted.
+     */
+    public void startPackGame(BoardPack pack, int board, List<Player> players, TurnScheduler turnScheduler) {
+        stopRecording();
+        discardJournal();
+        currentGame = new Game(pack.getRules(), players, turnScheduler, questionRepository);
+        pack.startGame(currentGame, board);
+        this.pack = pack;
+        this.packBoard = board;
+        attachHistory();
+    }
+
+    /**
+     * Sets the question bank used by games started from now on (may be null).
+     */
+    public void setQuestionRepository(QuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    public QuestionRepository getQuestionRepository() {
+        return questionRepository;
+    }
+
+    /**
+     * Selects no-guess board generation for games started from now on.
+     */
+    public void setNoGuess(boolean noGuess) {
+        this.noGuess = noGuess;
+    }
+
+    public boolean isNoGuess() {
+        return noGuess;
+    }
+
+    private void applyNoGuess() {
+        // Boards are generated by their first reveal, so this applies to the boards just created
+        currentGame.setNoGuess(noGuess);
+    }
+
+    /**
+     * Continues a game restored from a journal (see {@link GameJournal#recover(File)}).
+     */
+    public void resumeGame(Game game) {
+        stopRecording();
+        discardJournal();
+        currentGame = game;
+        pack = null;
+        attachHistory();
+    }
+
+    /**
+     * Sets the store that finished games are recorded in (may be null).
+     * Applies to games started from now on.
+     */
+    public void setHistory(GameHistory history) {
+        this.history = history;
+    }
+
+    public GameHistory getHistory() {
+        return history;
+    }
+
+    private void attachHistory() {
+        if (history != null) {
+            currentGame.addGameListener(history);
+        }
     }
 
     /**
-     * Restarts the current game using the same difficulty.
-     * If no game exists yet, nothing happens.
+     * Restarts the current game using the same difficulty, or on the same pack board if it was
+     * started from a pack. If no game exists yet, nothing happens.
      */
     public void restartGame() {
         if (currentGame != null) {
-            currentGame.restartGame();
+            stopRecording();
+            if (pack != null) {
+                pack.startGame(currentGame, packBoard);
+            } else {
+                currentGame.restartGame();
+            }
+            if (journal != null) {
+                // Old moves belong to the previous boards: start a fresh journal
+                File file = journalFile;
+                discardJournal();
+                startJournal(file);
+            }
         }
     }
 
+    /**
+     * Starts the write-ahead journal for the current game, replacing any previous one.
+     * Writes happen on a background thread, so this is safe to call from the EDT.
+     */
+    public void startJournal(File file) {
+        if (currentGame == null) return;
+        discardJournal();
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null) dir.mkdirs();
+
+        journal = new GameJournal(file, currentGame, GameJournal.DEFAULT_CHECKPOINT_INTERVAL);
+        journalFile = file;
+        currentGame.addGameListener(journal);
+    }
+
+    /**
+     * Flushes and closes the journal but keeps the file, so an unfinished game
+     * can be restored on next start (called when the application exits).
+     */
+    public void closeJournal() {
+        if (journal == null) return;
+        currentGame.removeGameListener(journal);
+        journal.close();
+        journal = null;
+    }
+
+    private void discardJournal() {
+        if (journal == null) return;
+        currentGame.removeGameListener(journal);
+        journal.discard();
+        journal = null;
+    }
+
+    /**
+     * Starts recording every move of the current game into a replay file.
+     * Recording stops automatically when a new game is started or the game is restarted.
+     *
+     * @param keyframeInterval number of moves between two full-state keyframes
+     */
+    public void startRecording(File file, int keyframeInterval) throws IOException {
+        if (currentGame == null) return;
+        stopRecording();
+        replayWriter = new ReplayWriter(file, currentGame, keyframeInterval);
+        currentGame.addGameListener(replayWriter);
+    }
+
+    /**
+     * Finishes the current replay file (writes its keyframe index). Does nothing if not recording.
+     */
+    public void stopRecording() {
+        if (replayWriter == null) return;
+        currentGame.removeGameListener(replayWriter);
+        try {
+            replayWriter.close();
+        } catch (IOException e) {
+            System.err.println("Could not finish replay file: " + e.getMessage());
+        }
+        replayWriter = null;
+    }
+
     /**
      * Returns the current Game instance so that other parts
      * of the system (e.g., GUI) can read boards, lives, score, etc.
@@ -39,55 +228,20 @@ public class GameController {
     }
 
     /**
-     * Reveals a cell on the specified board.
-     * For question and surprise cells, this method:
-     * - Checks if the cell was already used
-     * - If already used, skips the special effect and does nothing
-     * - If not used, marks it as used and triggers the special effect
-     * 
-     * @param boardNumber 1 for board1, 2 for board2
+     * Reveals a cell on the specified board as a move of the current game. The board handles every
+     * kind of cell: question and surprise cells are charged (and a surprise triggered) on their
+     * first and only reveal, like any reveal made through {@link Game#makeMove(Move)}.
+     *
+     * @param boardNumber 1 for board1, 2 for board2, ... (1-based)
      * @param row the row index of the cell
      * @param col the column index of the cell
-     * @return true if the cell was successfully revealed/activated, false otherwise
+     * @return true if the cell was revealed, false if it could not be (already revealed, flagged,
+     *         off the board or no running game)
      */
     public boolean revealCell(int boardNumber, int row, int col) {
         if (currentGame == null) {
             return false;
         }
-
-        Board board = (boardNumber == 1) ? currentGame.getBoard1() : currentGame.getBoard2();
-        if (board == null || row < 0 || row >= board.getRows() || col < 0 || col >= board.getCols()) {
-            return false;
-        }
-
-        Cell cell = board.getCell(row, col);
-        if (cell == null || cell.getState() == Cell.CellState.REVEALED) {
-            return false;
-        }
-
-        // Handle question and surprise cells
-        if (cell.getContent() == Cell.CellContent.QUESTION || 
-            cell.getContent() == Cell.CellContent.SURPRISE) {
-            
-            // Check if cell is already used
-            if (cell.isUsed()) {
-                // Cell was already used, skip the special effect
-                // Just reveal it (change state to REVEALED) without triggering effect
-                cell.setState(Cell.CellState.REVEALED);
-                return true;
-            }
-            
-            // Cell is not used yet - activate it for the first time
-            cell.setUsed(true);
-            cell.setState(Cell.CellState.REVEALED);
-            
-            // Trigger the special effect via Game class
-            currentGame.activateSpecialCell(cell.getContent(), cell.getQuestionId());
-            return true;
-        }
-
-        // For other cell types (EMPTY, MINE, NUMBER), reveal normally
-        cell.setState(Cell.CellState.REVEALED);
-        return true;
+        return currentGame.makeMove(Move.reveal(boardNumber, row, col));
     }
 }
@@ -0,0 +1,161 @@
+package Model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Neighbour mine counts for a whole board at once, from mines stored as row bitsets.
+ *
+ * Each row is a bitset of 64-cell words, padded with a zero word on both sides and a zero row
+ * above and below, so shifted rows need no bounds checks. For 64 cells at a time the counts are
+ * built with bit-sliced additions (full and half adders on whole words): the column sums of the
+ * row above, the row itself and the row below are shifted one cell left and right and added to the
+ * cells directly above and below, giving four bit planes (counts 0..8).
+ *
+ * With the jdk.incubator.vector module present (run with {@code --add-modules jdk.incubator.vector})
+ * several words are processed per instruction by {@link VectorAdjacency}; without it the same
+ * additions run on single words. Large boards are split into row ranges on a ForkJoinPool.
+ */
+public final class AdjacencyKernel {
+
+    /** True if the Vector API is available in this JVM. */
+    public static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    // Boards with at least this many cells are counted in parallel, in ranges of at least LEAF_CELLS
+    private static final int PARALLEL_CELLS = 1 << 16;
+    private static final int LEAF_CELLS = 1 << 14;
+
+    private AdjacencyKernel() {
+    }
+
+    /** Empty padded bitboard for a board of the given size. */
+    public static long[][] newBitboard(int rows, int cols) {
+        return new long[rows + 2][words(cols) + 2];
+    }
+
+    public static void setMine(long[][] bitboard, int row, int col) {
+        bitboard[row + 1][(col >>> 6) + 1] |= 1L << col;
+    }
+
+    /**
+     * Number of mines around every cell, row-major (mines count their neighbours too).
+     * Uses the Vector API if available, and several threads on large boards.
+     */
+    public static byte[] neighborCounts(long[][] bitboard, int rows, int cols) {
+        return neighborCounts(bitboard, rows, cols, VECTORIZED, rows * cols >= PARALLEL_CELLS);
+    }
+
+    /**
+     * Same with an explicit choice of kernel (for benchmarks); vectorized requires the Vector API.
+     */
+    public static byte[] neighborCounts(long[][] bitboard, int rows, int cols, boolean vectorized, boolean parallel) {
+        byte[] counts = new byte[rows * cols];
+        if (parallel) {
+            int leafRows = Math.max(1, LEAF_CELLS / cols);
+            ForkJoinPool.commonPool().invoke(new RowTask(bitboard, cols, counts, vectorized, 0, rows, leafRows));
+        } else {
+            countRows(bitboard, cols, counts, vectorized, 0, rows);
+        }
+        return counts;
+    }
+
+    private static int words(int cols) {
+        return (cols + 63) >>> 6;
+    }
+
+    private static void countRows(long[][] bitboard, int cols, byte[] counts, boolean vectorized, int from, int to) {
+        int words = words(cols);
+        long[][] planes = new long[4][words];
+        for (int r = from; r < to; r++) {
+            if (vectorized) {
+                VectorAdjacency.countRow(bitboard[r], bitboard[r + 1], bitboard[r + 2], words, planes);
+            } else {
+                countWords(bitboard[r], bitboard[r + 1], bitboard[r + 2], 1, words + 1, planes);
+            }
+            unpack(planes, counts, r * cols, cols);
+        }
+    }
+
+    /**
+     * Bit planes of the counts of padded words [from, to) of one row. The rows are padded:
+     * word w of a row holds the cells of plane word w - 1.
+     */
+    static void countWords(long[] up, long[] mid, long[] down, int from, int to, long[][] planes) {
+        long[] s0 = planes[0];
+        long[] s1 = planes[1];
+        long[] s2 = planes[2];
+        long[] s3 = planes[3];
+        for (int w = from; w < to; w++) {
+            // Column sums (up + mid + down) of words w - 1, w, w + 1 as two bit planes
+            long lowPrev = up[w - 1] ^ mid[w - 1] ^ down[w - 1];
+            long highPrev = (up[w - 1] & mid[w - 1]) | (down[w - 1] & (up[w - 1] ^ mid[w - 1]));
+            long low = up[w] ^ mid[w] ^ down[w];
+            long high = (up[w] & mid[w]) | (down[w] & (up[w] ^ mid[w]));
+            long lowNext = up[w + 1] ^ mid[w + 1] ^ down[w + 1];
+            long highNext = (up[w + 1] & mid[w + 1]) | (down[w + 1] & (up[w + 1] ^ mid[w + 1]));
+
+            // Column sums of the cells to the left (a) and right (b), and up + down of the cell itself (c)
+            long a0 = (low << 1) | (lowPrev >>> 63);
+            long a1 = (high << 1) | (highPrev >>> 63);
+            long b0 = (low >>> 1) | (lowNext << 63);
+            long b1 = (high >>> 1) | (highNext << 63);
+            long c0 = up[w] ^ down[w];
+            long c1 = up[w] & down[w];
+
+            // a + b + c: weight 1, then weight 2 with the carry, then weight 4
+            long carry1 = (a0 & b0) | (c0 & (a0 ^ b0));
+            long t = a1 ^ b1 ^ c1;
+            long u = (a1 & b1) | (c1 & (a1 ^ b1));
+            s0[w - 1] = a0 ^ b0 ^ c0;
+            s1[w - 1] = t ^ carry1;
+            long v = t & carry1;
+            s2[w - 1] = u ^ v;
+            s3[w - 1] = u & v;
+        }
+    }
+
+    private static void unpack(long[][] planes, byte[] counts, int offset, int cols) {
+        long[] s0 = planes[0];
+        long[] s1 = planes[1];
+        long[] s2 = planes[2];
+        long[] s3 = planes[3];
+        for (int c = 0; c < cols; c++) {
+            int w = c >>> 6;
+            int b = c & 63;
+            counts[offset + c] = (byte) (((s0[w] >>> b) & 1) | ((s1[w] >>> b) & 1) << 1
+                    | ((s2[w] >>> b) & 1) << 2 | ((s3[w] >>> b) & 1) << 3);
+        }
+    }
+
+    /** Counts rows [from, to), splitting the range in halves until it is small. */
+    private static final class RowTask extends RecursiveAction {
+        private final long[][] bitboard;
+        private final int cols;
+        private final byte[] counts;
+        private final boolean vectorized;
+        private final int from;
+        private final int to;
+        private final int leafRows;
+
+        RowTask(long[][] bitboard, int cols, byte[] counts, boolean vectorized, int from, int to, int leafRows) {
+            this.bitboard = bitboard;
+            this.cols = cols;
+            this.counts = counts;
+            this.vectorized = vectorized;
+            this.from = from;
+            this.to = to;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafRows) {
+                countRows(bitboard, cols, counts, vectorized, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowTask(bitboard, cols, counts, vectorized, from, mid, leafRows),
+                    new RowTask(bitboard, cols, counts, vectorized, mid, to, leafRows));
+        }
+    }
+}
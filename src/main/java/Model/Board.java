@@ -1,93 +1,590 @@
 package Model;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Represents a single board for one player.
  * Handles revealing, flagging, and tracking safe cells for victory.
+ * A board is played by one thread at a time; shared lives/score go through Game's atomic updates.
+ *
+ * Contents are placed lazily: a new board only stores its configuration and seed. The cells are
+ * allocated on first use (as hidden placeholders) and the mines are placed on the first reveal,
+ * never on the clicked cell or its neighbours. The layout depends only on the seed and the
+ * first click, so replays regenerate the same board.
+ *
+ * At generation the empty cells are grouped into openings, each with the list of cells its flood
+ * reveals, so clicking an empty cell reveals its whole opening without searching neighbours.
+ *
+ * {@link #fork()} makes a copy-on-write copy for lookahead: rows are shared until either board
+ * writes to them. Every write to a cell therefore goes through writableRow (or getWritableCell
+ * for code outside the board).
  */
 public class Board {
 
+    /** Openings with more cells than this are revealed by fork-join tasks (see ParallelReveal). */
+    public static final int PARALLEL_REVEAL_CELLS = 4096;
+
     private final int rows;
     private final int cols;
     private final int totalMines;
     private final int totalQuestionCells;
     private final int totalSurpriseCells;
-    private final Cell[][] cells;
     private final Game game;
+    private final long seed;
+    private final Topology.Shape shape;
+    private final boolean fork; // plays without touching the game (see fork())
+
+    // Neighbour table, built on first use (every neighbourhood walk goes through it)
+    private volatile Topology topology;
+
+    // Allocated on first use; contents placed by the first reveal (see ensureGenerated)
+    private volatile Cell[][] cells;
+    private volatile boolean generated;
+
+    // Copy-on-write: a row belongs to this board only while its owner is this board's write token.
+    // fork() gives both boards new tokens, so each copies a row before its first write to it;
+    // rowsShared means the row arrays themselves are shared and must be copied first.
+    private Object[] rowOwners;
+    private Object writeToken = new Object();
+    private boolean rowsShared;
+    private boolean revealLogShared;
 
     // NEW: Counter to track how many safe cells are left to reveal
-    private int safeCellsRemaining;
+    // (volatile: read by Game's win check from the other player's thread in simultaneous mode)
+    private volatile int safeCellsRemaining;
+
+    // Indices (row * cols + col) of revealed cells in reveal order, so consumers such as HintSolver
+    // can process just the cells revealed since their last visit instead of rescanning the board
+    private int[] revealLog = new int[64];
+    private volatile int revealCount;
+
+    // Bumped whenever cell contents change after generation (e.g. a surprise moved a mine)
+    private volatile int layoutVersion;
+
+    // Zobrist hash of what the players see: XOR of visibleKey over all cells (hidden cells add 0),
+    // updated by every reveal, flag and number change
+    private volatile long zobristHash;
+
+    // Opening index (see indexOpenings): opening id per cell (-1 if not empty), and per opening the
+    // cells its flood reveals as (start index, length) runs. Dropped when a mine moves.
+    private int[] openingIds;
+    private int[][] openingSpans;
+
+    // Candidate the layout was drawn from (see NoGuessGenerator.candidateLayout), so that a replay
+    // can place the same layout without searching again
+    private int layoutCandidate = NoGuessGenerator.RANDOM_CANDIDATE;
+
+    // Difficulty metrics of the layout as generated (set before 'generated' is published)
+    private int threeBV;
+    private int openings;
+    private int isolatedCells;
+    private float specialCellDensity;
 
     public Board(Difficulty difficulty, Game game) {
+        this(GameRules.of(difficulty), game, new Random().nextLong());
+    }
+
+    /**
+     * Board whose layout is derived from the given seed (and the first click).
+     * Nothing is allocated or placed yet.
+     */
+    public Board(GameRules rules, Game game, long seed) {
         this.game = game;
-        this.rows = difficulty.getRows();
-        this.cols = difficulty.getCols();
-        this.totalMines = difficulty.getMines();
-        this.totalQuestionCells = difficulty.getQuestionCells();
-        this.totalSurpriseCells = difficulty.getSurpriseCells();
-        this.cells = new Cell[rows][cols];
+        this.seed = seed;
+        this.rows = rules.getRows();
+        this.cols = rules.getCols();
+        this.totalMines = rules.getMines();
+        this.totalQuestionCells = rules.getQuestionCells();
+        this.totalSurpriseCells = rules.getSurpriseCells();
+        this.shape = rules.getShape();
+        this.fork = false;
 
         // Calculate total cells that must be revealed to win:
         // Total Cells - Mines = Safe Cells
         this.safeCellsRemaining = (rows * cols) - totalMines;
+    }
 
-        // Initialize cells
+    /**
+     * Rebuilds a board from a snapshot (used when restoring replay keyframes).
+     * Nothing is placed randomly, the layout comes entirely from the snapshot.
+     */
+    Board(GameRules rules, Game game, GameSnapshot.BoardSnapshot snapshot) {
+        this.game = game;
+        this.seed = snapshot.getSeed();
+        this.rows = snapshot.getRows();
+        this.cols = snapshot.getCols();
+        this.totalMines = rules.getMines();
+        this.totalQuestionCells = rules.getQuestionCells();
+        this.totalSurpriseCells = rules.getSurpriseCells();
+        this.shape = rules.getShape();
+        this.fork = false;
+        this.safeCellsRemaining = snapshot.getSafeCellsRemaining();
+        this.layoutCandidate = snapshot.getLayoutCandidate();
+        if (!snapshot.isGenerated()) return; // placed on the first reveal, from the same seed
+
+        Cell[][] cells = new Cell[rows][cols];
+        this.rowOwners = ownedRows();
+        this.cells = cells;
+        this.generated = true;
+
+        Integer[] questionIds = snapshot.questionIds();
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                cells[r][c] = new Cell(r, c);
+                Cell cell = new Cell(r, c);
+                snapshot.unpackInto(cell);
+                cell.setQuestionId(questionIds[r * cols + c]);
+                cells[r][c] = cell;
+                if (cell.isRevealed()) logReveal(r, c);
             }
         }
 
-        // Place logic
-        placeMinesAndSpecialCells();
+        // Adjacent counts are not part of the snapshot
+        byte[] counts = neighborCounts();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (cells[r][c].getContent() == Cell.CellContent.NUMBER) {
+                    cells[r][c].setAdjacentMines(counts[r * cols + c]);
+                }
+            }
+        }
+        indexOpenings();
+        computeMetrics();
+        zobristHash = computeZobristHash(); // reveals were logged before the numbers were known
     }
 
-    private void placeMinesAndSpecialCells() {
-        placeContent(totalMines, Cell.CellContent.MINE);
-        placeContent(totalQuestionCells, Cell.CellContent.QUESTION);
-        placeContent(totalSurpriseCells, Cell.CellContent.SURPRISE);
-        calculateNumbers();
+    /** Fork of another board; see fork(). */
+    private Board(Board parent) {
+        this.game = parent.game;
+        this.seed = parent.seed;
+        this.rows = parent.rows;
+        this.cols = parent.cols;
+        this.totalMines = parent.totalMines;
+        this.totalQuestionCells = parent.totalQuestionCells;
+        this.totalSurpriseCells = parent.totalSurpriseCells;
+        this.shape = parent.shape;
+        this.fork = true;
+        this.topology = parent.topology;
+
+        this.cells = parent.cells;
+        this.rowOwners = parent.rowOwners;
+        this.rowsShared = true;
+        this.generated = parent.generated;
+        this.safeCellsRemaining = parent.safeCellsRemaining;
+        this.revealLog = parent.revealLog;
+        this.revealCount = parent.revealCount;
+        this.revealLogShared = true;
+        this.layoutVersion = parent.layoutVersion;
+        this.zobristHash = parent.zobristHash;
+        this.openingIds = parent.openingIds;
+        this.openingSpans = parent.openingSpans;
+        this.layoutCandidate = parent.layoutCandidate;
+        this.threeBV = parent.threeBV;
+        this.openings = parent.openings;
+        this.isolatedCells = parent.isolatedCells;
+        this.specialCellDensity = parent.specialCellDensity;
     }
 
-    private void placeContent(int count, Cell.CellContent type) {
-        Random random = new Random();
-        int placed = 0;
-        while (placed < count) {
-            int r = random.nextInt(rows);
-            int c = random.nextInt(cols);
-            if (cells[r][c].getContent() == Cell.CellContent.EMPTY) {
-                cells[r][c].setContent(type);
-                placed++;
+    /**
+     * Copy of this board for trying moves ("what if I reveal here") in O(1): both boards share
+     * their cells until one of them writes to a row, which then copies just that row. Moves on
+     * the fork never touch the game (no lives, score, surprises or game end) nor this board.
+     * Call it from the thread that plays this board; the fork may then be read from other threads
+     * while this board keeps playing.
+     */
+    public Board fork() {
+        cells();
+        Board copy = new Board(this);
+        rowsShared = true;
+        revealLogShared = true;
+        writeToken = new Object(); // rows this board wrote so far are now shared with the fork
+        return copy;
+    }
+
+    /** True for boards made by fork(). */
+    public boolean isFork() {
+        return fork;
+    }
+
+    /** Which cells are neighbours on this board; the table is built on first use. */
+    public Topology getTopology() {
+        Topology current = topology;
+        if (current == null) {
+            current = Topology.of(shape, rows, cols); // immutable: building it twice in a race is harmless
+            topology = current;
+        }
+        return current;
+    }
+
+    /** The cells, allocated as hidden placeholders on first use. */
+    private Cell[][] cells() {
+        Cell[][] current = cells;
+        if (current == null) {
+            synchronized (this) {
+                current = cells;
+                if (current == null) {
+                    current = new Cell[rows][cols];
+                    for (int r = 0; r < rows; r++) {
+                        for (int c = 0; c < cols; c++) {
+                            current[r][c] = new Cell(r, c);
+                        }
+                    }
+                    rowOwners = ownedRows();
+                    cells = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Object[] ownedRows() {
+        Object[] owners = new Object[rows];
+        Arrays.fill(owners, writeToken);
+        return owners;
+    }
+
+    /**
+     * Row r, ready to be written: copied first (with its cells) if it is shared with a fork.
+     * Must only be called by the thread that plays this board.
+     */
+    private Cell[] writableRow(int r) {
+        Cell[][] current = cells();
+        if (rowsShared) {
+            current = current.clone();
+            rowOwners = rowOwners.clone();
+            rowsShared = false;
+            cells = current;
+        }
+        if (rowOwners[r] != writeToken) {
+            Cell[] copy = new Cell[cols];
+            for (int c = 0; c < cols; c++) {
+                copy[c] = new Cell(current[r][c]);
             }
+            current[r] = copy;
+            rowOwners[r] = writeToken;
         }
+        return current[r];
+    }
+
+    /**
+     * Places the contents as if the first click was at (row, col): nothing but plain cells on it
+     * and its neighbours in the board's topology (just the cell itself on boards too dense for that). Does nothing if the
+     * board is already generated. Called by the first revealCell; tools and tests that need the
+     * layout up front may call it directly.
+     *
+     * In a no-guess game this runs the solver search and may block for up to
+     * {@link NoGuessGenerator#DEFAULT_TIME_LIMIT_MILLIS}, so the UI calls it on a background thread
+     * before sending the first reveal (the board must not be played meanwhile).
+     */
+    public void ensureGenerated(int row, int col) {
+        if (generated || !isValid(row, col)) return;
+        cells();
+
+        NoGuessGenerator.Layout layout = game.isNoGuess()
+                ? NoGuessGenerator.shared().generate(getTopology(), totalMines, totalQuestionCells,
+                        totalSurpriseCells, row, col, seed, NoGuessGenerator.DEFAULT_TIME_LIMIT_MILLIS)
+                : NoGuessGenerator.randomLayout(getTopology(), totalMines, totalQuestionCells,
+                        totalSurpriseCells, row, col, new SplittableRandom(seed));
+        generate(layout);
+    }
+
+    /**
+     * Places the layout a recorded game had: candidate {@code candidate} of this board's seed for
+     * a first click at (row, col), without running the no-guess search again (see
+     * {@link #getLayoutCandidate()}). Does nothing if the board is already generated.
+     */
+    void ensureGenerated(int row, int col, int candidate) {
+        if (generated || !isValid(row, col)) return;
+        cells();
+        generate(NoGuessGenerator.candidateLayout(getTopology(), totalMines, totalQuestionCells,
+                totalSurpriseCells, row, col, seed, candidate));
+    }
+
+    private void generate(NoGuessGenerator.Layout layout) {
+        placeLayout(layout);
+        indexOpenings();
+        computeMetrics();
+        layoutCandidate = layout.getCandidate();
+        generated = true;
+        if (!fork) game.onBoardGenerated(this, layout.getStartRow(), layout.getStartCol());
+    }
+
+    /**
+     * Places a precomputed layout from a {@link BoardPack} instead of generating one: one byte per
+     * cell in row-major order, content ordinal in bits 0-2 and adjacent mines from bit 3. Question
+     * ids are drawn in row-major order as for a generated layout. Does nothing once generated.
+     */
+    void loadPacked(ByteBuffer data, int offset) {
+        if (generated) return;
+        cells();
+        Cell.CellContent[] contents = Cell.CellContent.values();
+        int index = offset;
+        for (int r = 0; r < rows; r++) {
+            Cell[] row = writableRow(r);
+            for (int c = 0; c < cols; c++) {
+                int bits = data.get(index++);
+                Cell.CellContent content = contents[bits & 0x7];
+                row[c].setContent(content);
+                row[c].setAdjacentMines(bits >>> 3);
+                if (content == Cell.CellContent.QUESTION) {
+                    row[c].setQuestionId(fork ? null : game.nextQuestionId());
+                }
+            }
+        }
+        indexOpenings();
+        computeMetrics();
+        generated = true;
+    }
+
+    /** True once the contents have been placed. */
+    public boolean isGenerated() {
+        return generated;
+    }
+
+    /**
+     * 3BV of the layout as generated: the least number of clicks that clears the board
+     * (one per opening plus one per safe cell no opening reveals). 0 before generation.
+     */
+    public int getThreeBV() {
+        return threeBV;
+    }
+
+    /** Number of connected areas of empty cells (each cleared by one click). */
+    public int getOpenings() {
+        return openings;
+    }
+
+    /** Safe cells that no opening reveals: numbers, question and surprise cells needing their own click. */
+    public int getIsolatedCells() {
+        return isolatedCells;
+    }
+
+    /** Question and surprise cells per cell of the board. */
+    public float getSpecialCellDensity() {
+        return specialCellDensity;
+    }
+
+    /** Seed the layout is derived from. */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Candidate of the seed the layout was drawn from: NoGuessGenerator.RANDOM_CANDIDATE for a
+     * random layout (and boards loaded from a pack), otherwise the no-guess candidate that passed.
+     */
+    public int getLayoutCandidate() {
+        return layoutCandidate;
+    }
+
+    /**
+     * Copies a generated layout; question ids are drawn in row-major order.
+     */
+    private void placeLayout(NoGuessGenerator.Layout layout) {
+        for (int r = 0; r < rows; r++) {
+            Cell[] row = writableRow(r);
+            for (int c = 0; c < cols; c++) {
+                switch (layout.getContent(r, c)) {
+                    case NoGuessGenerator.MINE:
+                        row[c].setContent(Cell.CellContent.MINE);
+                        break;
+                    case NoGuessGenerator.QUESTION:
+                        row[c].setContent(Cell.CellContent.QUESTION);
+                        row[c].setQuestionId(fork ? null : game.nextQuestionId()); // a fork leaves the deck alone
+                        break;
+                    case NoGuessGenerator.SURPRISE:
+                        row[c].setContent(Cell.CellContent.SURPRISE);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        calculateNumbers();
     }
 
     private void calculateNumbers() {
+        byte[] counts = neighborCounts();
         for (int r = 0; r < rows; r++) {
+            Cell[] row = writableRow(r);
             for (int c = 0; c < cols; c++) {
-                if (cells[r][c].isMine()) continue;
-                int mines = countNeighborMines(r, c);
-                if (mines > 0 && cells[r][c].getContent() == Cell.CellContent.EMPTY) {
-                    cells[r][c].setContent(Cell.CellContent.NUMBER);
-                    cells[r][c].setAdjacentMines(mines);
+                if (row[c].isMine()) continue;
+                int mines = counts[r * cols + c];
+                if (mines > 0 && row[c].getContent() == Cell.CellContent.EMPTY) {
+                    row[c].setContent(Cell.CellContent.NUMBER);
+                    row[c].setAdjacentMines(mines);
                 }
             }
         }
     }
 
-    private int countNeighborMines(int r, int c) {
+    /**
+     * Mines around every cell (row-major), counted for the whole board by the AdjacencyKernel
+     * (square boards) or from the neighbour table (other shapes).
+     */
+    private byte[] neighborCounts() {
+        if (shape != Topology.Shape.SQUARE) {
+            boolean[] mines = new boolean[rows * cols];
+            for (int i = 0; i < mines.length; i++) {
+                mines[i] = cellAt(i).isMine();
+            }
+            return getTopology().neighborCounts(mines);
+        }
+        long[][] bitboard = AdjacencyKernel.newBitboard(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (cells[r][c].isMine()) AdjacencyKernel.setMine(bitboard, r, c);
+            }
+        }
+        return AdjacencyKernel.neighborCounts(bitboard, rows, cols);
+    }
+
+    /**
+     * Labels every empty cell with the id of its opening (connected area of empty cells) using a
+     * union-find over the neighbours with a smaller index, then lists for
+     * each opening the cells its flood reveals: its empty cells plus their safe border, as runs of
+     * consecutive indices within a row. Rebuilt when the layout changes.
+     */
+    private void indexOpenings() {
+        int size = rows * cols;
+        Topology topology = getTopology();
+        int[] start = topology.start;
+        int[] neighbors = topology.neighbors;
+        boolean[] empty = new boolean[size];
+        for (int index = 0; index < size; index++) {
+            empty[index] = cellAt(index).getContent() == Cell.CellContent.EMPTY;
+        }
+
+        int[] parent = new int[size];
+        for (int index = 0; index < size; index++) {
+            if (!empty[index]) continue;
+            parent[index] = index;
+            for (int k = start[index]; k < start[index + 1]; k++) {
+                int neighbor = neighbors[k];
+                if (neighbor < index && empty[neighbor]) union(parent, index, neighbor);
+            }
+        }
+
+        // Dense ids; a set's root is its smallest index, so it is labelled before its other cells
+        int[] ids = new int[size];
+        Arrays.fill(ids, -1);
         int count = 0;
-        for (int i = -1; i <= 1; i++) {
-            for (int j = -1; j <= 1; j++) {
-                if (i == 0 && j == 0) continue;
-                int nr = r + i;
-                int nc = c + j;
-                if (isValid(nr, nc) && cells[nr][nc].isMine()) {
-                    count++;
+        for (int index = 0; index < size; index++) {
+            if (!empty[index]) continue;
+            int root = find(parent, index);
+            ids[index] = root == index ? count++ : ids[root];
+        }
+
+        // Runs in row-major order; a border cell next to several openings goes into each of them
+        int[][] spans = new int[count][];
+        int[] lengths = new int[count];
+        for (int k = 0; k < count; k++) {
+            spans[k] = new int[8];
+        }
+        for (int index = 0; index < size; index++) {
+            if (empty[index]) {
+                addToSpans(spans, lengths, ids[index], index);
+                continue;
+            }
+            if (cellAt(index).isMine()) continue;
+            for (int k = start[index]; k < start[index + 1]; k++) {
+                if (empty[neighbors[k]]) addToSpans(spans, lengths, ids[neighbors[k]], index);
+            }
+        }
+        for (int k = 0; k < count; k++) {
+            spans[k] = Arrays.copyOf(spans[k], lengths[k]);
+        }
+        openingIds = ids;
+        openingSpans = spans;
+    }
+
+    private Cell cellAt(int index) {
+        return cells[index / cols][index % cols];
+    }
+
+    /** Appends a cell to an opening's runs (cells arrive in row-major order; repeats are ignored). */
+    private void addToSpans(int[][] spans, int[] lengths, int opening, int index) {
+        int[] runs = spans[opening];
+        int length = lengths[opening];
+        if (length > 0) {
+            int end = runs[length - 2] + runs[length - 1];
+            if (end > index) return; // already added through another empty neighbour
+            if (end == index && index % cols != 0) {
+                runs[length - 1]++;
+                return;
+            }
+        }
+        if (length == runs.length) {
+            runs = Arrays.copyOf(runs, length * 2);
+            spans[opening] = runs;
+        }
+        runs[length] = index;
+        runs[length + 1] = 1;
+        lengths[opening] = length + 2;
+    }
+
+    /**
+     * Computes the difficulty metrics from the opening index: every safe cell in an opening's runs
+     * is revealed by that opening's click, every other safe cell (numbers, question and surprise
+     * cells) needs a click of its own.
+     */
+    private void computeMetrics() {
+        boolean[] covered = new boolean[rows * cols];
+        int coveredCount = 0;
+        for (int[] runs : openingSpans) {
+            for (int i = 0; i < runs.length; i += 2) {
+                for (int index = runs[i]; index < runs[i] + runs[i + 1]; index++) {
+                    if (!covered[index]) {
+                        covered[index] = true;
+                        coveredCount++;
+                    }
                 }
             }
         }
+
+        int safe = 0;
+        int specials = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (!cells[r][c].isMine()) safe++;
+                if (cells[r][c].isQuestionOrSurprise()) specials++;
+            }
+        }
+
+        openings = openingSpans.length;
+        isolatedCells = safe - coveredCount;
+        threeBV = openings + isolatedCells;
+        specialCellDensity = specials / (float) (rows * cols);
+    }
+
+    /** Joins the sets of a and b; false if they were already one set. */
+    private static boolean union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA == rootB) return false;
+        parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        return true;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]]; // path halving
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private int countNeighborMines(int index) {
+        Topology topology = getTopology();
+        int count = 0;
+        for (int k = topology.start[index]; k < topology.start[index + 1]; k++) {
+            if (cellAt(topology.neighbors[k]).isMine()) count++;
+        }
         return count;
     }
 
@@ -95,35 +592,40 @@ public class Board {
      * Reveals a cell and checks for Game Over / Victory conditions.
      */
     public void revealCell(int r, int c) {
-        if (!isValid(r, c)) return;
+        if (!isValid(r, c) || (!fork && game.getGameState() != GameState.RUNNING)) return;
+        ensureGenerated(r, c);
         Cell cell = cells[r][c];
 
-        // Block action if cell is already processed OR game is not running
-        if (cell.isRevealed() || cell.isFlagged() || game.getGameState() != GameState.RUNNING) return;
+        // Block action if cell is already processed
+        if (cell.isRevealed() || cell.isFlagged()) return;
 
+        if (cell.getContent() == Cell.CellContent.EMPTY) {
+            revealOpening(r, c);
+            if (!fork) game.checkGameStatus();
+            return;
+        }
+
+        cell = writableRow(r)[c];
         cell.reveal();
+        logReveal(r, c);
 
         // NEW: If we revealed a safe cell, decrement the counter
         if (!cell.isMine()) {
             safeCellsRemaining--;
+            if (safeCellsRemaining == 0 && !fork) {
+                game.onBoardCleared();
+            }
         }
 
         switch (cell.getContent()) {
             case MINE:
                 // SRS 2.1: Mine -> -1 life
-                game.setSharedLives(game.getSharedLives() - 1);
-                break;
-
-            case EMPTY:
-                // SRS 3.2.1.2.10: Recursive reveal
-                autoRevealEmptyCells(r, c);
+                if (!fork) game.addSharedLives(-1);
                 break;
 
             case QUESTION:
             case SURPRISE:
-                // SRS Appendix A: Deduct activation cost
-                int cost = game.getDifficulty().getActivationCost();
-                game.setSharedScore(game.getSharedScore() - cost);
+                activateRevealed(cell);
                 break;
 
             case NUMBER:
@@ -131,38 +633,264 @@ public class Board {
         }
 
         // After every move, check if we Won or Lost
-        game.checkGameStatus();
+        if (!fork) game.checkGameStatus();
     }
 
 
-    private void autoRevealEmptyCells ( int r, int c){
-            for (int i = -1; i <= 1; i++) {
-                for (int j = -1; j <= 1; j++) {
-                    int nr = r + i;
-                    int nc = c + j;
-                    if (isValid(nr, nc)) {
-                        Cell neighbor = cells[nr][nc];
-                        if (!neighbor.isRevealed() && !neighbor.isFlagged() && !neighbor.isMine()) {
-                            // Recursion flows back through revealCell to update safeCellsRemaining
-                            revealCell(nr, nc);
-                        }
-                    }
+    /**
+     * Reveals the opening of an empty cell with its border in one pass over the opening's runs,
+     * then updates the safe cell counter once. If a cell of the opening is flagged the runs cannot
+     * be used (flags stop the flood), so the opening is flooded from the clicked cell instead.
+     * Openings larger than PARALLEL_REVEAL_CELLS are revealed by fork-join tasks (flagged or not),
+     * with the same outcome.
+     */
+    private void revealOpening(int r, int c) {
+        if (openingIds == null) indexOpenings();
+        int[] runs = openingSpans[openingIds[r * cols + c]];
+        boolean flagged = false;
+        int size = 0;
+        for (int i = 0; i < runs.length; i += 2) {
+            size += runs[i + 1];
+            for (int index = runs[i]; index < runs[i] + runs[i + 1] && !flagged; index++) {
+                flagged = cells[index / cols][index % cols].isFlagged();
+            }
+        }
+
+        if (size > PARALLEL_REVEAL_CELLS) {
+            for (int row = 0; row < rows; row++) {
+                writableRow(row); // the tasks write to the cells directly
+            }
+            ParallelReveal reveal = new ParallelReveal(cells, getTopology(), ForkJoinPool.commonPool());
+            int revealed = flagged ? reveal.flood(r, c) : reveal.revealRuns(runs);
+            List<Cell> specials = null;
+            for (int index : reveal.claimedCells(revealed)) {
+                Cell cell = cells[index / cols][index % cols];
+                logReveal(cell.getRow(), cell.getCol());
+                if (cell.isQuestionOrSurprise()) {
+                    if (specials == null) specials = new ArrayList<>();
+                    specials.add(cell);
+                }
+            }
+            finishReveal(revealed, specials);
+            return;
+        }
+        if (flagged) {
+            floodOpening(r, c);
+            return;
+        }
+
+        int revealed = 0;
+        List<Cell> specials = null;
+        for (int i = 0; i < runs.length; i += 2) {
+            int row = runs[i] / cols;
+            int from = runs[i] % cols;
+            Cell[] line = writableRow(row);
+            for (int col = from; col < from + runs[i + 1]; col++) {
+                Cell cell = line[col];
+                if (cell.isRevealed()) continue;
+                cell.reveal();
+                logReveal(row, col);
+                revealed++;
+                if (cell.isQuestionOrSurprise()) {
+                    if (specials == null) specials = new ArrayList<>();
+                    specials.add(cell);
+                }
+            }
+        }
+        finishReveal(revealed, specials);
+    }
+
+    /**
+     * Sequential form of ParallelReveal.flood for small flagged openings: reveals hidden safe cells
+     * next to revealed empty cells, never entering flagged cells, with an explicit stack.
+     */
+    private void floodOpening(int r, int c) {
+        Topology topology = getTopology();
+        writableRow(r)[c].reveal();
+        logReveal(r, c);
+        int revealed = 1;
+        List<Cell> specials = null;
+        int[] stack = new int[64];
+        int size = 0;
+        stack[size++] = r * cols + c;
+        while (size > 0) {
+            int index = stack[--size];
+            for (int k = topology.start[index]; k < topology.start[index + 1]; k++) {
+                int neighbor = topology.neighbors[k];
+                Cell cell = cellAt(neighbor);
+                if (cell.isMine() || cell.isFlagged() || cell.isRevealed()) continue;
+                cell = writableRow(neighbor / cols)[neighbor % cols];
+                cell.reveal();
+                logReveal(cell.getRow(), cell.getCol());
+                revealed++;
+                if (cell.isQuestionOrSurprise()) {
+                    if (specials == null) specials = new ArrayList<>();
+                    specials.add(cell);
+                } else if (cell.getContent() == Cell.CellContent.EMPTY) {
+                    if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+                    stack[size++] = neighbor;
                 }
             }
         }
+        if (specials != null) {
+            specials.sort((a, b) -> Integer.compare(a.getRow() * cols + a.getCol(), b.getRow() * cols + b.getCol()));
+        }
+        finishReveal(revealed, specials);
+    }
+
+    /** Applies a bulk reveal: one counter update, then the revealed special cells in index order. */
+    private void finishReveal(int revealed, List<Cell> specials) {
+        safeCellsRemaining -= revealed;
+        if (safeCellsRemaining == 0 && !fork) {
+            game.onBoardCleared();
+        }
+        if (specials != null) {
+            for (Cell special : specials) {
+                activateRevealed(special);
+            }
+        }
+    }
+
+    /**
+     * Charges a revealed question or surprise cell and triggers its surprise the first time
+     * (nothing on a fork: costs and surprises belong to the game).
+     */
+    private void activateRevealed(Cell cell) {
+        if (fork) return;
+        // SRS Appendix A: Deduct activation cost
+        game.addSharedScore(-game.getRules().getActivationCost());
+        if (cell.getContent() == Cell.CellContent.SURPRISE && !cell.isUsed()) {
+            cell.setUsed(true);
+            game.triggerSurprise(this, cell);
+        }
+    }
+
+    /**
+     * Moves a hidden mine to another hidden safe cell and updates the numbers around both
+     * positions (used by the "Mine moved" surprise). The safe cell count does not change.
+     *
+     * @param touched receives every cell whose content changed
+     */
+    void moveMine(Cell mine, Cell target, List<Cell> touched) {
+        mine = writableRow(mine.getRow())[mine.getCol()];
+        target = writableRow(target.getRow())[target.getCol()];
+        mine.setContent(Cell.CellContent.EMPTY);
+        mine.setAdjacentMines(0);
+        target.setContent(Cell.CellContent.MINE);
+        target.setAdjacentMines(0);
+        touched.add(mine);
+        touched.add(target);
+        layoutVersion++;
+        openingIds = null; // rebuilt on the next opening reveal
+        openingSpans = null;
+
+        Topology topology = getTopology();
+        Cell[] centers = {mine, target};
+        for (Cell center : centers) {
+            int index = center.getRow() * cols + center.getCol();
+            refreshNumber(index, touched);
+            for (int k = topology.start[index]; k < topology.start[index + 1]; k++) {
+                refreshNumber(topology.neighbors[k], touched);
+            }
+        }
+    }
+
+    /** Recounts the mines around a plain (EMPTY or NUMBER) cell after a mine moved. */
+    private void refreshNumber(int index, List<Cell> touched) {
+        Cell.CellContent content = cellAt(index).getContent();
+        if (content != Cell.CellContent.EMPTY && content != Cell.CellContent.NUMBER) return;
+
+        Cell cell = writableRow(index / cols)[index % cols];
+        long before = visibleKey(index, cell);
+        int mines = countNeighborMines(index);
+        cell.setContent(mines > 0 ? Cell.CellContent.NUMBER : Cell.CellContent.EMPTY);
+        cell.setAdjacentMines(mines);
+        zobristHash ^= before ^ visibleKey(index, cell);
+        if (!touched.contains(cell)) touched.add(cell);
+    }
+
+
+    private void logReveal(int r, int c) {
+        int count = revealCount;
+        if (count == revealLog.length || revealLogShared) {
+            revealLog = Arrays.copyOf(revealLog, Math.max(count * 2, 64));
+            revealLogShared = false;
+        }
+        revealLog[count] = r * cols + c;
+        revealCount = count + 1;
+        zobristHash ^= visibleKey(r * cols + c, cells[r][c]); // was hidden: its key was 0
+    }
+
+    /** Number of cells revealed so far (size of the reveal log). */
+    public int getRevealCount() {
+        return revealCount;
+    }
+
+    /**
+     * The i-th revealed cell as row * cols + col. Entries never change once written,
+     * so a reader that remembers how many it has seen only needs to read the new ones.
+     */
+    public int getRevealedCellIndex(int i) {
+        return revealLog[i];
+    }
+
+    /** Changes whenever cell contents change after the board was generated. */
+    public int getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * 64-bit Zobrist hash of the state the players see: which cells are hidden, flagged or
+     * revealed, and what the revealed ones show. Kept up to date in O(1) per changed cell.
+     * Boards of the same size that look the same have the same hash, across games too, so it
+     * can key solver caches, find repeated positions and compare replayed states.
+     */
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    /** The Zobrist hash recomputed from every cell (what getZobristHash must always equal). */
+    public long computeZobristHash() {
+        Cell[][] current = cells();
+        long hash = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                hash ^= visibleKey(r * cols + c, current[r][c]);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Key of what a cell shows: 0 while hidden, otherwise a random-looking 64-bit value of the cell
+     * index and its visible symbol. Keys are computed with SplitMix64 instead of looked up, so
+     * large boards need no key table.
+     */
+    private static long visibleKey(int index, Cell cell) {
+        int symbol = cell.getVisibleSymbol();
+        if (symbol == 0) return 0;
+        long z = ((long) index << 4 | symbol) * 0x9E3779B97F4A7C15L + 0x2545F4914F6CDD1DL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
 
         public void toggleFlag ( int r, int c){
-            if (!isValid(r, c) || game.getGameState() != GameState.RUNNING) return;
+            if (!isValid(r, c) || (!fork && game.getGameState() != GameState.RUNNING)) return;
+            if (!generated) return; // nothing placed yet: there is nothing to flag before the first reveal
 
-            Cell cell = cells[r][c];
+            Cell cell = writableRow(r)[c];
+            long before = visibleKey(r * cols + c, cell);
             boolean isNowFlagged = cell.toggleFlag();
+            zobristHash ^= before ^ visibleKey(r * cols + c, cell);
             int points = 10; // Standard points for flagging (can be moved to Difficulty later)
 
-            if (isNowFlagged) {
+            if (isNowFlagged && !fork) {
                 if (cell.isMine()) {
-                    game.setSharedScore(game.getSharedScore() + points);
+                    game.addSharedScore(points);
                 } else {
-                    game.setSharedScore(game.getSharedScore() - points);
+                    game.addSharedScore(-points);
                 }
             }
         }
@@ -192,10 +920,24 @@ public class Board {
             return totalSurpriseCells;
         }
         public Cell[][] getCells () {
-            return cells;
+            return cells();
         }
+        /**
+         * Before the first reveal, cells are hidden placeholders without contents.
+         * The cell may be shared with forks: change it through getWritableCell.
+         */
         public Cell getCell ( int row, int col){
-            if (isValid(row, col)) return cells[row][col];
+            if (isValid(row, col)) return cells()[row][col];
+            return null;
+        }
+
+        /**
+         * The cell at (row, col) for changing it directly (copied first if it is shared with a fork).
+         * Only for the thread that plays this board. Such changes bypass the reveal log and the
+         * Zobrist hash.
+         */
+        public Cell getWritableCell ( int row, int col){
+            if (isValid(row, col)) return writableRow(row)[col];
             return null;
         }
     }
@@ -0,0 +1,224 @@
+package Model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * File of pre-generated, pre-rated boards, so that everyone can play the same curated boards
+ * (e.g. a daily challenge) and a game starts without generating anything.
+ *
+ * File layout:
+ * - header (64 bytes): magic, version, board count, pack seed, no-guess flag, then the rules
+ *   (difficulty, rows, cols, mines, question cells, surprise cells)
+ * - index: per board its seed, 3BV and start cell (row * cols + col), 16 bytes each
+ * - boards: rows * cols bytes each, one byte per cell: content ordinal in bits 0-2,
+ *   adjacent mines from bit 3
+ *
+ * All records have a fixed size, so board N is found in O(1). At runtime the file is memory-mapped
+ * and a board is copied straight from the mapping into the Board's cells.
+ *
+ * Usage: {@code java Model.BoardPack <difficulty> <boards> <output.pack> [seed] [noguess]}
+ */
+public final class BoardPack implements Closeable {
+
+    static final int MAGIC = 0x5343504B; // "SCPK"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int ENTRY_SIZE = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer data;
+    private final int count;
+    private final long seed;
+    private final boolean noGuess;
+    private final GameRules rules;
+    private final int cellsPerBoard;
+
+    private BoardPack(FileChannel channel, MappedByteBuffer data) throws IOException {
+        this.channel = channel;
+        this.data = data;
+        if (data.getInt(0) != MAGIC) throw new IOException("Not a board pack");
+        if (data.getInt(4) != VERSION) throw new IOException("Unsupported board pack version " + data.getInt(4));
+        this.count = data.getInt(8);
+        this.seed = data.getLong(12);
+        this.noGuess = data.get(20) != 0;
+        int difficulty = data.get(21);
+        if (difficulty < 0 || difficulty >= Difficulty.values().length) {
+            throw new IOException("Unknown difficulty " + difficulty + " in board pack");
+        }
+        this.rules = GameRules.of(Difficulty.values()[difficulty])
+                .withSize(data.getInt(24), data.getInt(28))
+                .withMines(data.getInt(32))
+                .withQuestionCells(data.getInt(36))
+                .withSurpriseCells(data.getInt(40));
+        this.cellsPerBoard = rules.getRows() * rules.getCols();
+        if (data.capacity() != HEADER_SIZE + (long) count * (ENTRY_SIZE + cellsPerBoard)) {
+            throw new IOException("Board pack has the wrong size for " + count + " boards");
+        }
+    }
+
+    /**
+     * Maps a pack written by {@link #write(File, GameRules, int, long, boolean)}.
+     */
+    public static BoardPack open(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_SIZE) throw new IOException("Not a board pack: " + file);
+            return new BoardPack(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Generates the given number of boards (board i from a seed derived from the pack seed and i,
+     * first click in the centre) and writes them with their 3BV into a pack file.
+     *
+     * @param noGuess generate boards that need no guessing (slower, done once offline)
+     */
+    public static void write(File file, GameRules rules, int boards, long seed, boolean noGuess) throws IOException {
+        int rows = rules.getRows();
+        int cols = rules.getCols();
+        int startRow = rows / 2;
+        int startCol = cols / 2;
+        Game game = new Game(rules, List.of(new Player("Pack")), new RoundRobinScheduler(), null);
+        game.setQuiet(true);
+        game.setNoGuess(noGuess);
+
+        // The index comes first, so the cells wait in memory until every board is generated
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(boards);
+            out.writeLong(seed);
+            out.writeByte(noGuess ? 1 : 0);
+            out.writeByte(rules.getDifficulty().ordinal());
+            out.writeShort(0);
+            out.writeInt(rows);
+            out.writeInt(cols);
+            out.writeInt(rules.getMines());
+            out.writeInt(rules.getQuestionCells());
+            out.writeInt(rules.getSurpriseCells());
+            out.write(new byte[HEADER_SIZE - out.size()]);
+
+            byte[][] cells = new byte[boards][];
+            for (int i = 0; i < boards; i++) {
+                long boardSeed = MonteCarloSimulator.mix(seed, i);
+                game.startNewGame(rules, boardSeed);
+                Board board = game.getBoard1();
+                board.ensureGenerated(startRow, startCol);
+                out.writeLong(boardSeed);
+                out.writeInt(board.getThreeBV());
+                out.writeInt(startRow * cols + startCol);
+                cells[i] = pack(board);
+            }
+            for (byte[] board : cells) {
+                out.write(board);
+            }
+        }
+    }
+
+    private static byte[] pack(Board board) {
+        int cols = board.getCols();
+        byte[] packed = new byte[board.getRows() * cols];
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < cols; c++) {
+                Cell cell = board.getCell(r, c);
+                packed[r * cols + c] = (byte) (cell.getContent().ordinal() | cell.getAdjacentMines() << 3);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Starts a new game on board n of the pack: board 1 gets pack board n, board 2 pack board n + 1
+     * and so on (wrapping around). Nothing is generated; each board's start cell is revealed, so
+     * everyone starts from the same opening.
+     */
+    public void startGame(Game game, int n) {
+        if (n < 0 || n >= count) {
+            throw new IndexOutOfBoundsException("Board " + n + " of a pack of " + count);
+        }
+        game.startNewGame(rules, getSeed(n));
+        for (int b = 1; b <= game.getBoardCount(); b++) {
+            int entry = (n + b - 1) % count;
+            Board board = game.getBoard(b);
+            board.loadPacked(data, boardOffset(entry));
+            int start = getStartCell(entry);
+            board.revealCell(start / rules.getCols(), start % rules.getCols());
+        }
+    }
+
+    /**
+     * Pack board of the given day: the same for everyone with the same pack, different from day to day.
+     */
+    public int dailyIndex(LocalDate date) {
+        return (int) Math.floorMod(MonteCarloSimulator.mix(seed, date.toEpochDay()), (long) count);
+    }
+
+    private int entryOffset(int n) {
+        return HEADER_SIZE + n * ENTRY_SIZE;
+    }
+
+    private int boardOffset(int n) {
+        return HEADER_SIZE + count * ENTRY_SIZE + n * cellsPerBoard;
+    }
+
+    public int getBoardCount() {
+        return count;
+    }
+
+    /** The rules every board of the pack was generated with. */
+    public GameRules getRules() {
+        return rules;
+    }
+
+    public boolean isNoGuess() {
+        return noGuess;
+    }
+
+    /** Seed board n was generated from (also the seed of games started on it). */
+    public long getSeed(int n) {
+        return data.getLong(entryOffset(n));
+    }
+
+    /** 3BV of board n: the least number of clicks that clears it. */
+    public int getThreeBV(int n) {
+        return data.getInt(entryOffset(n) + 8);
+    }
+
+    /** Cell (row * cols + col) revealed when a game starts on board n. */
+    public int getStartCell(int n) {
+        return data.getInt(entryOffset(n) + 12);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: BoardPack <EASY|MEDIUM|HARD> <boards> <output.pack> [seed] [noguess]");
+            return;
+        }
+        GameRules rules = GameRules.of(Difficulty.valueOf(args[0].toUpperCase()));
+        int boards = Integer.parseInt(args[1]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.currentTimeMillis();
+        boolean noGuess = args.length > 4 && args[4].equalsIgnoreCase("noguess");
+        long start = System.nanoTime();
+        write(new File(args[2]), rules, boards, seed, noGuess);
+        System.err.println("Wrote " + boards + " boards to " + args[2] + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
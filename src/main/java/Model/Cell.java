@@ -23,6 +23,17 @@ public class Cell {
         this.questionId = null;
     }
 
+    /** Copy of another cell (used when a board copies a row shared with a fork). */
+    Cell(Cell other) {
+        this.row = other.row;
+        this.col = other.col;
+        this.content = other.content;
+        this.state = other.state;
+        this.adjacentMines = other.adjacentMines;
+        this.used = other.used;
+        this.questionId = other.questionId;
+    }
+
     // --- CRITICAL FIXES: Getters and Setters needed by Board.java ---
 
     // REQUIRED by Board.placeContent, Board.calculateNumbers, GameStartTest.findCellWithContent
@@ -59,6 +70,25 @@ public class Cell {
         return content == CellContent.QUESTION || content == CellContent.SURPRISE;
     }
 
+    /**
+     * What the players see, as a small number: 0 hidden, 1 flagged, 2 mine, 3 question,
+     * 4 surprise, 5 + n for a number n (5 for an empty cell). Always below 16.
+     */
+    public int getVisibleSymbol() {
+        if (state == CellState.FLAGGED) return 1;
+        if (state != CellState.REVEALED) return 0;
+        switch (content) {
+            case MINE:
+                return 2;
+            case QUESTION:
+                return 3;
+            case SURPRISE:
+                return 4;
+            default:
+                return 5 + adjacentMines;
+        }
+    }
+
     /**
      * Toggles flag state. Returns true if the cell is now FLAGGED, false if HIDDEN.
      * Only works if cell is not REVEALED.
@@ -0,0 +1,160 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computer opponent that chooses reveal moves for one board within a time budget.
+ *
+ * Moves are chosen in steps of increasing cost:
+ * <ol>
+ *   <li>a cell the {@link HintSolver} proves safe (cheap, done on the calling thread)</li>
+ *   <li>a random hidden cell that is not a known mine: the fallback, ready before any search</li>
+ *   <li>the cell with the lowest mine probability ({@link ProbabilityEngine}), computed on a background
+ *       thread from a snapshot of the board</li>
+ * </ol>
+ * If the background search does not finish within the budget, the best move found so far
+ * (the fallback) is returned, so a decision never takes much longer than the budget.
+ * A player made by {@link #withNodeLimit} bounds the search by work instead of time and runs it on
+ * the calling thread, so its moves depend only on its seed and the board (for simulations).
+ *
+ * The level decides which steps are used. chooseMove must be called from the thread that plays
+ * the board (the solver and the snapshot read it); the returned future may complete on another thread.
+ */
+public class ComputerPlayer {
+
+    public enum Level {
+        /** Follows the solver only half of the time, otherwise clicks at random. */
+        BEGINNER,
+        /** Always follows the solver, guesses at random when it is stuck. */
+        INTERMEDIATE,
+        /** Follows the solver and guesses the cell least likely to be a mine. */
+        EXPERT
+    }
+
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+    public static final int DEFAULT_NODE_LIMIT = 200_000;
+
+    private final Level level;
+    private final long budgetMillis;
+    private final int nodeLimit; // 0: the search is bounded by budgetMillis
+    private final Executor executor;
+    private final ProbabilityEngine engine = new ProbabilityEngine();
+    private final SplittableRandom random;
+
+    // Solver of the board played last (a new board, e.g. after a restart, gets a new solver)
+    private Board solverBoard;
+    private HintSolver solver;
+
+    public ComputerPlayer(Level level) {
+        this(level, DEFAULT_BUDGET_MILLIS, ForkJoinPool.commonPool(), new SplittableRandom().nextLong());
+    }
+
+    /**
+     * @param budgetMillis time allowed per decision
+     * @param executor     runs the probability search
+     * @param seed         seed of the random choices (guesses, missed hints)
+     */
+    public ComputerPlayer(Level level, long budgetMillis, Executor executor, long seed) {
+        this(level, budgetMillis, 0, executor, seed);
+    }
+
+    private ComputerPlayer(Level level, long budgetMillis, int nodeLimit, Executor executor, long seed) {
+        this.level = level;
+        this.budgetMillis = budgetMillis;
+        this.nodeLimit = nodeLimit;
+        this.executor = executor;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * A player without a clock: the probability search is limited to nodeLimit search nodes per
+     * task ({@link ProbabilityEngine#computeWithNodeLimit}) and chooseMove completes before it returns.
+     */
+    public static ComputerPlayer withNodeLimit(Level level, int nodeLimit, long seed) {
+        if (nodeLimit < 1) {
+            throw new IllegalArgumentException("nodeLimit must be >= 1");
+        }
+        return new ComputerPlayer(level, 0, nodeLimit, Runnable::run, seed);
+    }
+
+    /**
+     * Chooses a reveal move for the given board. Completes within about the budget;
+     * completes with null if no hidden cell is left.
+     */
+    public CompletableFuture<Move> chooseMove(Game game, int boardNumber) {
+        long start = System.nanoTime();
+        Board board = game.getBoard(boardNumber);
+        HintSolver solver = solverFor(board);
+
+        // 1) Certain moves
+        boolean useSolver = level != Level.BEGINNER || random.nextBoolean();
+        if (useSolver) {
+            Cell safe = solver.nextSafeCell();
+            if (safe != null && !safe.isFlagged()) {
+                return CompletableFuture.completedFuture(Move.reveal(boardNumber, safe.getRow(), safe.getCol()));
+            }
+        }
+
+        // 2) Best move so far: any hidden cell the solver does not know to be a mine
+        Move fallback = randomMove(board, boardNumber, solver);
+        if (level != Level.EXPERT || fallback == null) {
+            return CompletableFuture.completedFuture(fallback);
+        }
+
+        // 3) Probability ranking, by work on this thread or on a copy of the board cut off at the budget
+        if (nodeLimit > 0) {
+            int[] cell = engine.computeWithNodeLimit(ProbabilityEngine.Snapshot.of(board), nodeLimit)
+                    .getSafestCell();
+            return CompletableFuture.completedFuture(
+                    cell == null ? fallback : Move.reveal(boardNumber, cell[0], cell[1]));
+        }
+        long remaining = budgetMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (remaining <= 0) return CompletableFuture.completedFuture(fallback);
+        ProbabilityEngine.Snapshot snapshot = ProbabilityEngine.Snapshot.of(board);
+        return CompletableFuture
+                .supplyAsync(() -> engine.compute(snapshot, remaining), executor)
+                .thenApply(result -> {
+                    int[] cell = result.getSafestCell();
+                    return cell == null ? fallback : Move.reveal(boardNumber, cell[0], cell[1]);
+                })
+                .completeOnTimeout(fallback, remaining, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> fallback);
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    private HintSolver solverFor(Board board) {
+        if (board != solverBoard) {
+            solverBoard = board;
+            solver = new HintSolver(board);
+        }
+        return solver;
+    }
+
+    private Move randomMove(Board board, int boardNumber, HintSolver solver) {
+        List<Cell> candidates = new ArrayList<>();
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.isRevealed() || cell.isFlagged()) continue;
+                if (level != Level.BEGINNER && solver.isKnownMine(r, c)) continue;
+                candidates.add(cell);
+            }
+        }
+        if (candidates.isEmpty()) return null;
+        Cell cell = candidates.get(random.nextInt(candidates.size()));
+        return Move.reveal(boardNumber, cell.getRow(), cell.getCol());
+    }
+}
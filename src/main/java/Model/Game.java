@@ -1,22 +1,123 @@
 package Model;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cooperative game: one board per player, all players sharing lives and score.
+ * Boards and players are indexed from 1 (board N belongs to player N); who may move
+ * is decided by a pluggable {@link TurnScheduler}.
+ *
+ * Thread safety: each Board must only be played from one thread at a time, but different boards
+ * may be played from different threads at once (simultaneous mode). Shared lives and score are
+ * updated atomically, and the RUNNING -> WON/LOST transition is a single compare-and-set, so it
+ * happens exactly once no matter which thread triggers it.
+ */
 public class Game {
 
-    private Board board1;
-    private Board board2;
+    private Board[] boards;
+    private final List<Player> players;
     private Difficulty difficulty;
-    private int sharedLives;
-    private int sharedScore;
+    private GameRules rules;            // the difficulty's numbers, possibly changed (simulator)
+    private final AtomicInteger sharedLives = new AtomicInteger();
+    private final AtomicInteger sharedScore = new AtomicInteger();
 
     // NEW: Track the game state (NOT_STARTED, RUNNING, WON, LOST)
-    private GameState gameState;
+    private final AtomicReference<GameState> gameState = new AtomicReference<>(GameState.NOT_STARTED);
+
+    // NEW: whose turn is it? 1 = Player 1, 2 = Player 2, ...
+    private volatile int currentPlayerTurn;
+    private volatile long turnStartedNanos;
+    private volatile TurnScheduler turnScheduler;
+
+    // Number of boards with no safe cells left; the game is won when it reaches boards.length
+    private final AtomicInteger finishedBoards = new AtomicInteger();
+
+    // Question bank (optional) and the deck that hands out each question at most once per game
+    private final QuestionRepository questionRepository;
+    private volatile QuestionRepository.Deck questionDeck;
+
+    // Seed of the board layouts and surprise effect draws (stored in snapshots so replays match)
+    private volatile long seed;
 
-    // NEW: whose turn is it? 1 = Player 1, 2 = Player 2
-    private int currentPlayerTurn;
+    // Wall-clock start of the current boards (for the game history)
+    private volatile long startedAtMillis;
+    private volatile SurpriseEffects surpriseEffects = SurpriseEffects.standard();
 
+    // Generate boards that can be solved without guessing (applies to boards not generated yet)
+    private volatile boolean noGuess;
+
+    // No console report at the end of the game (headless simulations)
+    private volatile boolean quiet;
+
+    // Observers of moves made through makeMove (e.g. replay recording)
+    private final List<GameListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Classic two-player game with round-robin turns.
+     */
     public Game(Difficulty difficulty) {
+        this(difficulty, List.of(new Player("Player 1"), new Player("Player 2")), new RoundRobinScheduler());
+    }
+
+    /**
+     * Game with one board per player.
+     */
+    public Game(Difficulty difficulty, List<Player> players, TurnScheduler turnScheduler) {
+        this(difficulty, players, turnScheduler, null);
+    }
+
+    /**
+     * Game with one board per player whose QUESTION cells get questions from the given bank
+     * (null = no questions, cells keep a null questionId).
+     */
+    public Game(Difficulty difficulty, List<Player> players, TurnScheduler turnScheduler,
+                QuestionRepository questionRepository) {
+        this(GameRules.of(difficulty), players, turnScheduler, questionRepository);
+    }
+
+    /**
+     * Game played with custom rules (e.g. candidate parameters in a simulation).
+     */
+    public Game(GameRules rules, List<Player> players, TurnScheduler turnScheduler,
+                QuestionRepository questionRepository) {
+        if (players.isEmpty()) throw new IllegalArgumentException("At least one player is required");
+        this.players = Collections.unmodifiableList(new ArrayList<>(players));
+        this.turnScheduler = turnScheduler;
+        this.questionRepository = questionRepository;
         // Initialize game immediately
-        startNewGame(difficulty);
+        startNewGame(rules);
+    }
+
+    /**
+     * Restores a game from a snapshot without generating new boards.
+     */
+    Game(GameSnapshot snapshot) {
+        this.difficulty = snapshot.getDifficulty();
+        this.rules = snapshot.getRules();
+        this.sharedLives.set(snapshot.getSharedLives());
+        this.sharedScore.set(snapshot.getSharedScore());
+        this.gameState.set(snapshot.getGameState());
+        this.currentPlayerTurn = snapshot.getCurrentPlayerTurn();
+        this.turnStartedNanos = System.nanoTime();
+        this.turnScheduler = snapshot.getTurnScheduler();
+        this.players = snapshot.getPlayers();
+        this.questionRepository = null;
+        this.seed = snapshot.getSeed();
+        this.noGuess = snapshot.isNoGuess();
+        this.startedAtMillis = System.currentTimeMillis(); // time before the restore is not known
+
+        this.boards = new Board[players.size()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = new Board(rules, this, snapshot.getBoard(i));
+            if (boards[i].getSafeCellsRemaining() == 0) finishedBoards.incrementAndGet();
+        }
     }
 
     /**
@@ -24,20 +125,46 @@ public class Game {
      * Resets score, lives, and sets state to RUNNING.
      */
     public void startNewGame(Difficulty difficulty) {
-        this.difficulty = difficulty;
-        this.sharedLives = difficulty.getStartingLives();
-        this.sharedScore = 0;
-        this.gameState = GameState.RUNNING; // Set initial state
+        startNewGame(GameRules.of(difficulty));
+    }
+
+    /**
+     * Starts a new cooperative game with custom rules.
+     */
+    public void startNewGame(GameRules rules) {
+        startNewGame(rules, new Random().nextLong());
+    }
+
+    /**
+     * Starts a new cooperative game whose boards and surprise draws all derive from the given seed.
+     */
+    public void startNewGame(GameRules rules, long seed) {
+        this.difficulty = rules.getDifficulty();
+        this.rules = rules;
+        this.sharedLives.set(rules.getStartingLives());
+        this.sharedScore.set(0);
         this.currentPlayerTurn = 1;         // NEW: Player 1 starts
+        this.turnStartedNanos = System.nanoTime();
+        this.finishedBoards.set(0);
+        this.questionDeck = (questionRepository != null)
+                ? questionRepository.newDeck(new Random(), questionLevel(rules.getDifficulty())) : null;
+        this.seed = seed;
+        this.startedAtMillis = System.currentTimeMillis();
 
-        // Create boards and pass 'this' Game instance to them
-        this.board1 = new Board(difficulty, this);
-        this.board2 = new Board(difficulty, this);
+        // Create one board per player and pass 'this' Game instance to them.
+        // Boards only get a seed here, their contents are placed by the first reveal.
+        SplittableRandom boardSeeds = new SplittableRandom(seed);
+        Board[] newBoards = new Board[players.size()];
+        for (int i = 0; i < newBoards.length; i++) {
+            newBoards[i] = new Board(rules, this, boardSeeds.nextLong());
+        }
+        this.boards = newBoards;
+        this.gameState.set(GameState.RUNNING); // Set initial state (last: boards must exist)
     }
 
     public void restartGame() {
-        if (this.difficulty != null) {
-            startNewGame(this.difficulty);
+        if (this.rules != null) {
+            startNewGame(this.rules);
         }
     }
 
@@ -47,19 +174,76 @@ public class Game {
      */
     public void checkGameStatus() {
         // If game is already over, do nothing
-        if (gameState != GameState.RUNNING) return;
+        if (gameState.get() != GameState.RUNNING) return;
 
         // 1. Check Lose Condition: Shared lives reach 0
-        if (sharedLives <= 0) {
-            gameState = GameState.LOST;
-            printGameStatus();
+        if (sharedLives.get() <= 0) {
+            finish(GameState.LOST);
             return;
         }
 
-        // 2. Check Win Condition: All safe cells revealed on BOTH boards
-        if (board1.getSafeCellsRemaining() == 0 && board2.getSafeCellsRemaining() == 0) {
-            gameState = GameState.WON;
-            printGameStatus();
+        // 2. Check Win Condition: All safe cells revealed on ALL boards
+        if (finishedBoards.get() == boards.length) {
+            finish(GameState.WON);
+        }
+    }
+
+    /** Question level (1..3) asked in games of a difficulty; level 4 is only drawn by a whole-bank deck. */
+    static int questionLevel(Difficulty difficulty) {
+        return difficulty.ordinal() + 1;
+    }
+
+    /**
+     * Next question for a QUESTION cell being placed; never returns the same question twice
+     * in one game. Null if there is no question bank (or it ran out of questions).
+     */
+    Integer nextQuestionId() {
+        QuestionRepository.Deck deck = questionDeck;
+        return (deck != null) ? deck.next() : null;
+    }
+
+    /**
+     * Applies a surprise effect for a SURPRISE cell that was just revealed and notifies the listeners.
+     * The effect is fully determined by the game seed and the cell position.
+     */
+    public SurpriseEffects.Outcome triggerSurprise(Board board, Cell cell) {
+        int boardNumber = getBoardNumber(board);
+        SurpriseEffects.Outcome outcome = surpriseEffects.trigger(this, board, boardNumber, cell, seed);
+        for (GameListener listener : listeners) {
+            listener.onSurprise(this, outcome);
+        }
+        return outcome;
+    }
+
+    /**
+     * Called by a Board when its contents were placed for a first click at (row, col), so that
+     * recorders can store how (see GameListener.onBoardGenerated).
+     */
+    void onBoardGenerated(Board board, int row, int col) {
+        int boardNumber = getBoardNumber(board);
+        if (boardNumber == 0) return; // a board of the previous game
+        for (GameListener listener : listeners) {
+            listener.onBoardGenerated(this, boardNumber, row, col);
+        }
+    }
+
+    /**
+     * Called by a Board when its last safe cell was revealed (exactly once per board).
+     */
+    void onBoardCleared() {
+        finishedBoards.incrementAndGet();
+    }
+
+    /**
+     * Ends the game. Only the thread whose compare-and-set succeeds reports the result,
+     * so a game is decided exactly once even if both players trigger the end at the same time.
+     */
+    private void finish(GameState result) {
+        if (gameState.compareAndSet(GameState.RUNNING, result)) {
+            if (!quiet) printGameStatus();
+            for (GameListener listener : listeners) {
+                listener.onGameOver(this);
+            }
         }
     }
 
@@ -68,15 +252,17 @@ public class Game {
      */
     public void printGameStatus() {
         System.out.println("=== GAME STATUS UPDATE ===");
-        System.out.println("State: " + gameState);
-        System.out.println("Lives: " + sharedLives);
-        System.out.println("Score: " + sharedScore);
-        System.out.println("Board 1 Safe Cells Left: " + board1.getSafeCellsRemaining());
-        System.out.println("Board 2 Safe Cells Left: " + board2.getSafeCellsRemaining());
+        System.out.println("State: " + gameState.get());
+        System.out.println("Lives: " + sharedLives.get());
+        System.out.println("Score: " + sharedScore.get());
+        for (int i = 0; i < boards.length; i++) {
+            System.out.println("Board " + (i + 1) + " Safe Cells Left: " + boards[i].getSafeCellsRemaining());
+        }
 
-        if (gameState == GameState.WON) {
+        GameState state = gameState.get();
+        if (state == GameState.WON) {
             System.out.println("RESULT: VICTORY! The team cleared all mines.");
-        } else if (gameState == GameState.LOST) {
+        } else if (state == GameState.LOST) {
             System.out.println("RESULT: GAME OVER. The team ran out of lives.");
         }
         System.out.println("==========================");
@@ -85,75 +271,244 @@ public class Game {
     // --- Getters and Setters ---
 
     public void setSharedLives(int sharedLives) {
-        this.sharedLives = sharedLives;
+        this.sharedLives.set(sharedLives);
         // Check status immediately when lives change (e.g., hitting a mine)
         checkGameStatus();
     }
 
     public void setSharedScore(int sharedScore) {
-        this.sharedScore = sharedScore;
+        this.sharedScore.set(sharedScore);
     }
 
     /**
-     * Activates a special cell (question or surprise).
-     * This method handles the special effects of question and surprise cells.
-     * It deducts the activation cost from the shared score.
+     * Atomically adds (or removes, if negative) lives and checks for game over.
+     * Use this instead of setSharedLives(getSharedLives() + delta) when boards are played concurrently.
      */
-    public void activateSpecialCell(Cell.CellContent cellContent, Integer questionId) {
-        if (cellContent != Cell.CellContent.QUESTION && cellContent != Cell.CellContent.SURPRISE) {
-            return;
-        }
+    public void addSharedLives(int delta) {
+        sharedLives.addAndGet(delta);
+        checkGameStatus();
+    }
 
-        int cost = difficulty.getActivationCost();
+    /**
+     * Atomically adds (or removes, if negative) points to the shared score.
+     */
+    public void addSharedScore(int delta) {
+        sharedScore.addAndGet(delta);
+    }
 
-        // Check if player has enough score to activate
-        if (sharedScore >= cost) {
-            sharedScore -= cost;
+    // --- Moves ---
 
-            // Here you can add additional logic (questions / surprises)
+    /**
+     * Applies a player move to its board and notifies the registered listeners.
+     * A move is accepted only while the game is running and the target cell can still change
+     * (reveal: hidden and not flagged, flag: not revealed).
+     *
+     * @return true if the move was accepted and applied
+     */
+    public boolean makeMove(Move move) {
+        if (gameState.get() != GameState.RUNNING) return false;
+
+        Board board = getBoard(move.getBoardNumber());
+        if (board == null) return false;
+        Cell cell = board.getCell(move.getRow(), move.getCol());
+        if (cell == null || cell.isRevealed()) return false;
+        if (move.getType() == Move.Type.REVEAL && cell.isFlagged()) return false;
+        if (move.getType() == Move.Type.FLAG && !board.isGenerated()) return false; // nothing placed yet
+
+        for (GameListener listener : listeners) {
+            listener.beforeMove(this, move);
         }
-        // If not enough score, the activation fails (cell is still marked as used)
+
+        if (move.getType() == Move.Type.REVEAL) {
+            board.revealCell(move.getRow(), move.getCol());
+        } else {
+            board.toggleFlag(move.getRow(), move.getCol());
+        }
+
+        for (GameListener listener : listeners) {
+            listener.onMove(this, move);
+        }
+        return true;
+    }
+
+    public void addGameListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeGameListener(GameListener listener) {
+        listeners.remove(listener);
     }
 
     // --- NEW: Turn handling ---
 
     public int getCurrentPlayerTurn() {
-        return currentPlayerTurn;  // 1 or 2
+        return currentPlayerTurn;  // 1..N
     }
 
     public void setCurrentPlayerTurn(int currentPlayerTurn) {
         this.currentPlayerTurn = currentPlayerTurn;
+        this.turnStartedNanos = System.nanoTime();
     }
 
-    /** Switch to the other player's turn (only if game is still running). */
+    /** Pass the turn to the next player chosen by the scheduler (only if game is still running). */
     public void switchTurn() {
-        if (gameState != GameState.RUNNING) return;
-        currentPlayerTurn = (currentPlayerTurn == 1) ? 2 : 1;
+        if (gameState.get() != GameState.RUNNING) return;
+        currentPlayerTurn = turnScheduler.nextTurn(this, currentPlayerTurn);
+        turnStartedNanos = System.nanoTime();
+    }
+
+    /**
+     * Passes the turn without a move (the player ran out of time). Unlike the switchTurn that
+     * follows every move, a pass is not implied by the moves, so listeners are told about it and
+     * replays and journals record it.
+     */
+    public void passTurn() {
+        if (gameState.get() != GameState.RUNNING) return;
+        switchTurn();
+        for (GameListener listener : listeners) {
+            listener.onTurnPassed(this, currentPlayerTurn);
+        }
+    }
+
+    /** Returns true if the given board may make a move right now. */
+    public boolean mayPlay(int boardNumber) {
+        return gameState.get() == GameState.RUNNING && turnScheduler.mayPlay(this, boardNumber);
+    }
+
+    /** Lets time-based schedulers pass the turn; the UI calls this periodically. */
+    public void tick() {
+        if (gameState.get() == GameState.RUNNING) {
+            turnScheduler.onTick(this);
+        }
+    }
+
+    public long getTurnStartedNanos() {
+        return turnStartedNanos;
+    }
+
+    public TurnScheduler getTurnScheduler() {
+        return turnScheduler;
+    }
+
+    public void setTurnScheduler(TurnScheduler turnScheduler) {
+        this.turnScheduler = turnScheduler;
+    }
+
+    /**
+     * Real-time mode: all players play their own board at the same time (from different
+     * threads if needed) and switchTurn() has no effect.
+     */
+    public void setSimultaneous(boolean simultaneous) {
+        this.turnScheduler = simultaneous ? new SimultaneousScheduler() : new RoundRobinScheduler();
+    }
+
+    public boolean isSimultaneous() {
+        return turnScheduler.isSimultaneous();
     }
 
     // --- Getters ---
 
     public GameState getGameState() {
-        return gameState;
+        return gameState.get();
+    }
+
+    /**
+     * Returns the board of the given player (1-based), or null if there is no such board.
+     */
+    public Board getBoard(int boardNumber) {
+        Board[] current = boards;
+        if (boardNumber < 1 || boardNumber > current.length) return null;
+        return current[boardNumber - 1];
+    }
+
+    public int getBoardCount() {
+        return boards.length;
     }
 
     public Board getBoard1() {
-        return board1;
+        return getBoard(1);
     }
 
     public Board getBoard2() {
-        return board2;
+        return getBoard(2);
+    }
+
+    /** 1-based number of the given board, or 0 if it does not belong to this game. */
+    public int getBoardNumber(Board board) {
+        Board[] current = boards;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == board) return i + 1;
+        }
+        return 0;
+    }
+
+    /** When the current boards were created (or the game was restored), epoch millis. */
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    /** Seed of the current boards' layouts and surprise draws. */
+    public long getSeed() {
+        return seed;
+    }
+
+    public SurpriseEffects getSurpriseEffects() {
+        return surpriseEffects;
+    }
+
+    /**
+     * Replaces the surprise effect table (e.g. with custom effects). Effects are looked up
+     * by id, so a replay must use a table with the same registrations.
+     */
+    public void setSurpriseEffects(SurpriseEffects surpriseEffects) {
+        this.surpriseEffects = surpriseEffects;
+    }
+
+    /** Turns off the console report printed when the game ends. */
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+
+    public boolean isNoGuess() {
+        return noGuess;
+    }
+
+    /**
+     * Selects no-guess board generation (see NoGuessGenerator). Takes effect for every board
+     * whose contents have not been placed yet, i.e. before its first reveal.
+     */
+    public void setNoGuess(boolean noGuess) {
+        this.noGuess = noGuess;
+    }
+
+    /** The question bank, or null if the game has none. */
+    public QuestionRepository getQuestionRepository() {
+        return questionRepository;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /** Player owning the given board (1-based). */
+    public Player getPlayer(int boardNumber) {
+        return players.get(boardNumber - 1);
     }
 
     public Difficulty getDifficulty() {
         return difficulty;
     }
 
+    /** The numbers this game is played with (the difficulty's own unless custom rules were given). */
+    public GameRules getRules() {
+        return rules;
+    }
+
     public int getSharedLives() {
-        return sharedLives;
+        return sharedLives.get();
     }
 
     public int getSharedScore() {
-        return sharedScore;
+        return sharedScore.get();
     }
 }
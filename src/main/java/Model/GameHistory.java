@@ -0,0 +1,436 @@
+package Model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Local history of finished games with leaderboard queries.
+ *
+ * Two append-only files live in the history directory:
+ * <ul>
+ *   <li>history.dat: the full records, framed as int length, int CRC32, payload</li>
+ *   <li>history.idx: one small entry per record (offset, difficulty, score, finish time, player names,
+ *       3BV/s of won games)</li>
+ * </ul>
+ * At startup only the index file is read (one bulk read), and the sorted in-memory indexes are built
+ * from it; records are read from the data file when a query returns them. If the index is behind
+ * the data file (a writer crashed between the two appends), the missing entries are rebuilt from
+ * the data file, and a torn record at the end is cut off.
+ *
+ * Several sessions (processes) may append to the same history: appends hold an exclusive file lock,
+ * and queries first pick up entries other sessions appended since the last query.
+ * Top-K queries walk a TreeSet ordered by score (or by 3BV/s), so they cost O(log n + K).
+ */
+public class GameHistory implements GameListener, Closeable {
+
+    private static final int DATA_MAGIC = 0x53434844;  // "SCHD"
+    private static final int INDEX_MAGIC = 0x53434849; // "SCHI"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int FRAME_SIZE = 8;           // length + CRC
+
+    // File locks are held per JVM, so instances on the same files are also serialized in-process
+    private static final Map<String, Object> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    // Best score first; ties go to the earlier game
+    private static final Comparator<Entry> BY_SCORE = Comparator
+            .comparingInt((Entry e) -> -e.score)
+            .thenComparingLong(e -> e.finishedAtMillis)
+            .thenComparingLong(e -> e.offset);
+
+    // Most 3BV per second first; ties go to the earlier game
+    private static final Comparator<Entry> BY_EFFICIENCY = Comparator
+            .comparingDouble((Entry e) -> -e.efficiency)
+            .thenComparingLong(e -> e.finishedAtMillis)
+            .thenComparingLong(e -> e.offset);
+
+    private final FileChannel data;
+    private final FileChannel index;
+    private final Object processLock;
+
+    private long dataEnd;   // end of the last record known to the in-memory index
+    private long indexEnd;  // end of the last complete index entry read
+    private int size;
+
+    private final Map<Difficulty, TreeSet<Entry>> byDifficulty = new EnumMap<>(Difficulty.class);
+    private final Map<String, TreeSet<Entry>> byPlayer = new HashMap<>();
+    private final Map<Difficulty, TreeSet<Entry>> efficiencyByDifficulty = new EnumMap<>(Difficulty.class);
+
+    // Records of games finished on the EDT are written in the background
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "game-history");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private GameHistory(FileChannel data, FileChannel index, Object processLock) {
+        this.data = data;
+        this.index = index;
+        this.processLock = processLock;
+        for (Difficulty difficulty : Difficulty.values()) {
+            byDifficulty.put(difficulty, new TreeSet<>(BY_SCORE));
+            efficiencyByDifficulty.put(difficulty, new TreeSet<>(BY_EFFICIENCY));
+        }
+    }
+
+    /**
+     * Opens (or creates) the history stored in the given directory.
+     */
+    public static GameHistory open(File directory) throws IOException {
+        directory.mkdirs();
+        File dataFile = new File(directory, "history.dat");
+        File indexFile = new File(directory, "history.idx");
+
+        FileChannel data = FileChannel.open(dataFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel index = FileChannel.open(indexFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Object processLock = PROCESS_LOCKS.computeIfAbsent(dataFile.getCanonicalPath(), k -> new Object());
+
+        GameHistory history = new GameHistory(data, index, processLock);
+        try {
+            history.initialize();
+        } catch (IOException e) {
+            history.close();
+            throw e;
+        }
+        return history;
+    }
+
+    private synchronized void initialize() throws IOException {
+        synchronized (processLock) {
+            FileLock lock = data.lock();
+            try {
+                checkHeader(data, DATA_MAGIC);
+                checkHeader(index, INDEX_MAGIC);
+                dataEnd = HEADER_SIZE;
+                indexEnd = HEADER_SIZE;
+                readNewIndexEntries(true);
+                recoverDataTail();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    private static void checkHeader(FileChannel channel, int magic) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.size() < HEADER_SIZE) {
+            header.putInt(magic).putInt(VERSION).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            channel.force(true);
+            return;
+        }
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != magic || header.getInt() != VERSION) {
+            throw new IOException("Not a game history file (or unsupported version)");
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Writing
+    // ------------------------------------------------------------------
+
+    @Override
+    public void onMove(Game game, Move move) {
+    }
+
+    /**
+     * Records the finished game; the write happens in the background.
+     */
+    @Override
+    public void onGameOver(Game game) {
+        GameRecord record = GameRecord.of(game);
+        writer.execute(() -> {
+            try {
+                append(record);
+            } catch (IOException e) {
+                System.err.println("Could not save game history: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Appends a record and makes it durable (data first, then its index entry).
+     */
+    public synchronized void append(GameRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        record.write(new DataOutputStream(bytes));
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        synchronized (processLock) {
+            FileLock lock = data.lock();
+            try {
+                // Other sessions may have appended (or crashed while appending) since we last looked
+                readNewIndexEntries(true);
+                recoverDataTail();
+
+                long offset = dataEnd;
+                ByteBuffer frame = ByteBuffer.allocate(FRAME_SIZE + payload.length);
+                frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+                writeFully(data, frame, offset);
+                data.force(false);
+
+                Entry entry = new Entry(offset, payload.length, record);
+                appendIndexEntry(entry);
+                add(entry);
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    private void appendIndexEntry(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(0); // length, patched below
+        out.writeLong(entry.offset);
+        out.writeInt(entry.length);
+        out.writeByte(entry.difficulty.ordinal());
+        out.writeInt(entry.score);
+        out.writeLong(entry.finishedAtMillis);
+        out.writeShort(entry.playerNames.length);
+        for (String name : entry.playerNames) {
+            out.writeUTF(name);
+        }
+        out.writeDouble(entry.efficiency);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        buffer.putShort(0, (short) (buffer.capacity() - 2));
+
+        writeFully(index, buffer, indexEnd);
+        index.force(false);
+        indexEnd += buffer.capacity();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Reading the index
+    // ------------------------------------------------------------------
+
+    /**
+     * Reads the index entries appended since the last call in one read.
+     *
+     * @param locked true if the file lock is held: a torn entry at the end is then cut off
+     */
+    private void readNewIndexEntries(boolean locked) throws IOException {
+        long end = index.size();
+        if (end <= indexEnd) return;
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - indexEnd));
+        while (buffer.hasRemaining()) {
+            if (index.read(buffer, indexEnd + buffer.position()) < 0) break;
+        }
+        buffer.flip();
+
+        while (buffer.remaining() >= 2) {
+            int length = buffer.getShort(buffer.position()) & 0xFFFF;
+            if (buffer.remaining() < 2 + length) break;
+            buffer.position(buffer.position() + 2);
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            add(Entry.read(new DataInputStream(new ByteArrayInputStream(payload))));
+            indexEnd += 2 + length;
+        }
+
+        if (locked && indexEnd < end) {
+            index.truncate(indexEnd); // torn entry of a crashed writer
+        }
+    }
+
+    /**
+     * Indexes records that made it into the data file but not into the index (must hold the lock).
+     */
+    private void recoverDataTail() throws IOException {
+        long end = data.size();
+        long position = dataEnd;
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_SIZE);
+
+        while (position + FRAME_SIZE <= end) {
+            frame.clear();
+            data.read(frame, position);
+            frame.flip();
+            int length = frame.getInt();
+            int checksum = frame.getInt();
+            if (length < 0 || position + FRAME_SIZE + length > end) break;
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            data.read(payload, position + FRAME_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != checksum) break;
+
+            GameRecord record = GameRecord.read(new DataInputStream(new ByteArrayInputStream(payload.array())));
+            Entry entry = new Entry(position, length, record);
+            appendIndexEntry(entry);
+            add(entry);
+            position += FRAME_SIZE + length;
+        }
+
+        if (position < end) {
+            data.truncate(position); // torn record
+        }
+    }
+
+    private void add(Entry entry) {
+        byDifficulty.get(entry.difficulty).add(entry);
+        if (entry.efficiency > 0) {
+            efficiencyByDifficulty.get(entry.difficulty).add(entry);
+        }
+        for (String name : entry.playerNames) {
+            byPlayer.computeIfAbsent(name, k -> new TreeSet<>(BY_SCORE)).add(entry);
+        }
+        dataEnd = Math.max(dataEnd, entry.offset + FRAME_SIZE + entry.length);
+        size++;
+    }
+
+    // ------------------------------------------------------------------
+    // Queries
+    // ------------------------------------------------------------------
+
+    /** Number of recorded games (including games recorded by other sessions). */
+    public synchronized int size() throws IOException {
+        readNewIndexEntries(false);
+        return size;
+    }
+
+    /**
+     * The K best games of a difficulty, best score first.
+     */
+    public synchronized List<GameRecord> topScores(Difficulty difficulty, int k) throws IOException {
+        readNewIndexEntries(false);
+        return load(byDifficulty.get(difficulty), k);
+    }
+
+    /**
+     * The K best games a player took part in, best score first.
+     */
+    public synchronized List<GameRecord> topScores(String playerName, int k) throws IOException {
+        readNewIndexEntries(false);
+        TreeSet<Entry> entries = byPlayer.get(playerName);
+        return entries == null ? List.of() : load(entries, k);
+    }
+
+    /**
+     * The K won games of a difficulty that cleared the most 3BV per second, fastest first.
+     * Games recorded without a 3BV are not ranked.
+     */
+    public synchronized List<GameRecord> topEfficiency(Difficulty difficulty, int k) throws IOException {
+        readNewIndexEntries(false);
+        return load(efficiencyByDifficulty.get(difficulty), k);
+    }
+
+    /** Number of recorded games a player took part in. */
+    public synchronized int gamesPlayed(String playerName) throws IOException {
+        readNewIndexEntries(false);
+        TreeSet<Entry> entries = byPlayer.get(playerName);
+        return entries == null ? 0 : entries.size();
+    }
+
+    private List<GameRecord> load(TreeSet<Entry> entries, int k) throws IOException {
+        List<GameRecord> records = new ArrayList<>(Math.min(k, entries.size()));
+        for (Entry entry : entries) {
+            if (records.size() >= k) break;
+            records.add(readRecord(entry));
+        }
+        return records;
+    }
+
+    private GameRecord readRecord(Entry entry) throws IOException {
+        ByteBuffer payload = ByteBuffer.allocate(entry.length);
+        long position = entry.offset + FRAME_SIZE;
+        while (payload.hasRemaining()) {
+            if (data.read(payload, position + payload.position()) < 0) throw new EOFException();
+        }
+        return GameRecord.read(new DataInputStream(new ByteArrayInputStream(payload.array())));
+    }
+
+    /**
+     * Waits for pending background writes and closes the files.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        data.close();
+        index.close();
+    }
+
+    /**
+     * In-memory index entry: the sort keys and where the full record is.
+     */
+    private static final class Entry {
+        final long offset;
+        final int length;
+        final Difficulty difficulty;
+        final int score;
+        final long finishedAtMillis;
+        final String[] playerNames;
+        final double efficiency; // 3BV/s of a won game, 0 if not ranked
+
+        Entry(long offset, int length, Difficulty difficulty, int score, long finishedAtMillis, String[] playerNames,
+              double efficiency) {
+            this.offset = offset;
+            this.length = length;
+            this.difficulty = difficulty;
+            this.score = score;
+            this.finishedAtMillis = finishedAtMillis;
+            this.playerNames = playerNames;
+            this.efficiency = efficiency;
+        }
+
+        Entry(long offset, int length, GameRecord record) {
+            this(offset, length, record.getDifficulty(), record.getScore(), record.getFinishedAtMillis(),
+                    record.getPlayerNames().toArray(new String[0]),
+                    record.getResult() == GameState.WON ? record.getThreeBVPerSecond() : 0);
+        }
+
+        static Entry read(DataInputStream in) throws IOException {
+            long offset = in.readLong();
+            int length = in.readInt();
+            Difficulty difficulty = Difficulty.values()[in.readUnsignedByte()];
+            int score = in.readInt();
+            long finishedAt = in.readLong();
+            String[] names = new String[in.readUnsignedShort()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = in.readUTF();
+            }
+            double efficiency = in.available() >= 8 ? in.readDouble() : 0; // older entries end before it
+            return new Entry(offset, length, difficulty, score, finishedAt, names, efficiency);
+        }
+    }
+}
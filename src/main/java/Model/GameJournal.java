@@ -0,0 +1,308 @@
+package Model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal for an in-progress game, so it can be restored after a crash.
+ *
+ * The journal starts with a checkpoint (full GameSnapshot, including player names) followed by every
+ * accepted move, by the layout candidate of every board generated since (so a no-guess board is
+ * placed again without searching) and by every turn passed on timeout. Records are queued by the game thread and written by a background thread
+ * that drains everything queued so far, writes it and then does a single fsync for the
+ * whole batch (group commit), so the EDT never waits for the disk.
+ *
+ * Every {@code checkpointInterval} moves the journal is compacted: a new checkpoint is written
+ * to a temp file and atomically moved over the old journal. When the game finishes the journal
+ * is deleted, there is nothing left to restore.
+ *
+ * Record framing: int length, int CRC32, payload. A torn record at the end of the file
+ * (crash in the middle of a write) fails its CRC and is ignored on recovery.
+ */
+public class GameJournal implements GameListener {
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 200;
+
+    private static final byte TAG_CHECKPOINT = 1;
+    private static final byte TAG_MOVE = 2;
+    private static final byte TAG_LAYOUT = 3;
+    private static final byte TAG_PASS = 4;
+
+    // Queue entries besides Move: checkpoint, encoded layout and pass records, finish and close markers
+    private static final Object FINISHED = new Object();
+    private static final Object CLOSED = new Object();
+
+    private final File file;
+    private final int checkpointInterval;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    private FileChannel channel;
+    private int movesSinceCheckpoint;
+    private volatile boolean failed;
+
+    /**
+     * Starts journaling the given game. The first checkpoint is taken immediately.
+     * The journal still has to be registered with {@link Game#addGameListener(GameListener)}.
+     */
+    public GameJournal(File file, Game game, int checkpointInterval) {
+        this.file = file;
+        this.checkpointInterval = checkpointInterval;
+
+        queue.add(GameSnapshot.capture(game));
+
+        this.writer = new Thread(this::writeLoop, "game-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void beforeMove(Game game, Move move) {
+        // Checkpoints hold the state *between* moves (after the turn was switched), like replay keyframes.
+        // The snapshot must be taken on the game thread, the writer only serializes it.
+        if (!failed && movesSinceCheckpoint >= checkpointInterval) {
+            movesSinceCheckpoint = 0;
+            queue.add(GameSnapshot.capture(game));
+        }
+    }
+
+    @Override
+    public void onMove(Game game, Move move) {
+        if (failed) return;
+        queue.add(move);
+        movesSinceCheckpoint++;
+
+        if (game.getGameState() != GameState.RUNNING) {
+            queue.add(FINISHED);
+        }
+    }
+
+    @Override
+    public void onBoardGenerated(Game game, int boardNumber, int row, int col) {
+        if (failed) return;
+        ByteBuffer buf = ByteBuffer.allocate(1 + 1 + 4 + 4 + 4);
+        buf.put(TAG_LAYOUT);
+        buf.put((byte) boardNumber);
+        buf.putInt(row);
+        buf.putInt(col);
+        buf.putInt(game.getBoard(boardNumber).getLayoutCandidate());
+        queue.add(buf.array());
+    }
+
+    @Override
+    public void onTurnPassed(Game game, int currentTurn) {
+        if (failed) return;
+        queue.add(ByteBuffer.allocate(1 + 2).put(TAG_PASS).putShort((short) currentTurn).array());
+    }
+
+    /**
+     * Stops journaling and waits for queued records to be flushed.
+     * The journal file is kept so the game can be restored on next start.
+     */
+    public void close() {
+        queue.add(CLOSED);
+        awaitWriter();
+    }
+
+    /**
+     * Stops journaling and deletes the journal (e.g. the player abandoned the game).
+     */
+    public void discard() {
+        queue.add(FINISHED);
+        queue.add(CLOSED);
+        awaitWriter();
+    }
+
+    private void awaitWriter() {
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Writer thread
+    // ------------------------------------------------------------------
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+
+                boolean dirty = false;
+                for (Object entry : batch) {
+                    if (entry == CLOSED) {
+                        closeChannel();
+                        return;
+                    } else if (entry == FINISHED) {
+                        closeChannel();
+                        Files.deleteIfExists(file.toPath());
+                        dirty = false;
+                    } else if (entry instanceof GameSnapshot) {
+                        writeCheckpoint((GameSnapshot) entry);
+                        dirty = false;
+                    } else if (channel != null) {
+                        writeRecord(channel, entry instanceof byte[] ? (byte[]) entry : encodeMove((Move) entry));
+                        dirty = true;
+                    }
+                }
+                // One fsync for the whole batch
+                if (dirty) {
+                    channel.force(false);
+                }
+                batch.clear();
+            }
+        } catch (IOException e) {
+            failed = true;
+            System.err.println("Game journal disabled: " + e.getMessage());
+            closeChannel();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeChannel();
+        }
+    }
+
+    /**
+     * Compaction: new journal = one checkpoint record, swapped in atomically.
+     */
+    private void writeCheckpoint(GameSnapshot snapshot) throws IOException {
+        closeChannel();
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeRecord(out, encodeCheckpoint(snapshot));
+            out.force(true);
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing useful to do, the data was already forced
+        }
+        channel = null;
+    }
+
+    private static byte[] encodeCheckpoint(GameSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TAG_CHECKPOINT);
+        snapshot.write(out);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeMove(Move move) {
+        ByteBuffer buf = ByteBuffer.allocate(1 + 1 + 1 + 4 + 4);
+        buf.put(TAG_MOVE);
+        buf.put((byte) move.getType().ordinal());
+        buf.put((byte) move.getBoardNumber());
+        buf.putInt(move.getRow());
+        buf.putInt(move.getCol());
+        return buf.array();
+    }
+
+    private static void writeRecord(FileChannel out, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer buf = ByteBuffer.allocate(8 + payload.length);
+        buf.putInt(payload.length);
+        buf.putInt((int) crc.getValue());
+        buf.put(payload);
+        buf.flip();
+        while (buf.hasRemaining()) {
+            out.write(buf);
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Recovery
+    // ------------------------------------------------------------------
+
+    /**
+     * Returns true if the file holds a journal of a game that was not finished.
+     */
+    public static boolean hasUnfinishedGame(File file) {
+        return file.isFile() && file.length() > 0;
+    }
+
+    /**
+     * Restores the game: last checkpoint + all moves (board layouts, turn passes) recorded after it.
+     * Stops at the first damaged record (torn write at crash time).
+     *
+     * @return the restored game, or null if the journal has no valid checkpoint
+     */
+    public static Game recover(File file) throws IOException {
+        if (!hasUnfinishedGame(file)) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            byte[] first = readRecord(in);
+            if (first == null) return null;
+
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(first));
+            if (header.readByte() != TAG_CHECKPOINT) return null;
+            Game game = GameSnapshot.read(header).restore();
+
+            byte[] payload;
+            while ((payload = readRecord(in)) != null) {
+                ByteBuffer buf = ByteBuffer.wrap(payload);
+                byte tag = buf.get();
+                if (tag == TAG_LAYOUT) {
+                    ReplayReader.applyLayout(game, buf.get(), buf.getInt(), buf.getInt(), buf.getInt());
+                    continue;
+                }
+                if (tag == TAG_PASS) {
+                    game.setCurrentPlayerTurn(buf.getShort() & 0xFFFF);
+                    continue;
+                }
+                if (tag != TAG_MOVE) break;
+                Move.Type type = Move.Type.values()[buf.get()];
+                int board = buf.get();
+                ReplayReader.applyMove(game, new Move(type, board, buf.getInt(), buf.getInt()));
+            }
+            return game;
+        }
+    }
+
+    /** Reads one framed record, or null at end of file / damaged record. */
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int expectedCrc = in.readInt();
+            if (length <= 0 || length > (1 << 26)) return null;
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return ((int) crc.getValue() == expectedCrc) ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
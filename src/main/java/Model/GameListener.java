@@ -0,0 +1,47 @@
+package Model;
+
+/**
+ * Observer for moves made through {@link Game#makeMove(Move)}.
+ * Used by the replay recorder and the journal; callbacks run on the thread that made the move.
+ */
+public interface GameListener {
+
+    /**
+     * Called right before an accepted move is applied to its board.
+     */
+    default void beforeMove(Game game, Move move) {
+    }
+
+    /**
+     * Called right after an accepted move was applied (score, lives and state are already updated).
+     */
+    void onMove(Game game, Move move);
+
+    /**
+     * Called when a board's contents were placed for a first click at (row, col): by the move that
+     * revealed it, or earlier (e.g. when the UI generates a no-guess board off the EDT). Recorders
+     * store {@link Board#getLayoutCandidate()} so a replay places the same layout without searching.
+     */
+    default void onBoardGenerated(Game game, int boardNumber, int row, int col) {
+    }
+
+    /**
+     * Called when the turn was passed without a move (see {@link Game#passTurn()}), with the
+     * player whose turn it is now.
+     */
+    default void onTurnPassed(Game game, int currentTurn) {
+    }
+
+    /**
+     * Called when a SURPRISE cell triggered its effect, during the move that revealed it.
+     * The outcome lists the cells the effect changed, so views can repaint just those.
+     */
+    default void onSurprise(Game game, SurpriseEffects.Outcome outcome) {
+    }
+
+    /**
+     * Called exactly once when the game is won or lost, on the thread that ended it.
+     */
+    default void onGameOver(Game game) {
+    }
+}
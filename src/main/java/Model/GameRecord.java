@@ -0,0 +1,145 @@
+package Model;
+
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of one finished game, as kept by {@link GameHistory}.
+ *
+ * The 3BV (see {@link Board#getThreeBV()}) is written last: records written before it was
+ * added simply end earlier and read back with a 3BV of 0.
+ */
+public final class GameRecord {
+
+    private final List<String> playerNames;
+    private final Difficulty difficulty;
+    private final GameState result;       // WON or LOST
+    private final int score;
+    private final int livesLeft;
+    private final long durationMillis;
+    private final long seed;
+    private final long finishedAtMillis;  // epoch millis
+    private final int threeBV;            // sum over the boards, 0 if unknown
+
+    public GameRecord(List<String> playerNames, Difficulty difficulty, GameState result, int score,
+                      int livesLeft, long durationMillis, long seed, long finishedAtMillis) {
+        this(playerNames, difficulty, result, score, livesLeft, durationMillis, seed, finishedAtMillis, 0);
+    }
+
+    public GameRecord(List<String> playerNames, Difficulty difficulty, GameState result, int score,
+                      int livesLeft, long durationMillis, long seed, long finishedAtMillis, int threeBV) {
+        this.playerNames = List.copyOf(playerNames);
+        this.difficulty = difficulty;
+        this.result = result;
+        this.score = score;
+        this.livesLeft = livesLeft;
+        this.durationMillis = durationMillis;
+        this.seed = seed;
+        this.finishedAtMillis = finishedAtMillis;
+        this.threeBV = threeBV;
+    }
+
+    /**
+     * Record of a game that just ended.
+     */
+    public static GameRecord of(Game game) {
+        List<String> names = new ArrayList<>();
+        for (Player player : game.getPlayers()) {
+            names.add(player.getName());
+        }
+        int threeBV = 0;
+        for (int i = 1; i <= game.getBoardCount(); i++) {
+            threeBV += game.getBoard(i).getThreeBV(); // stored at generation, nothing to recompute
+        }
+        long now = System.currentTimeMillis();
+        return new GameRecord(names, game.getDifficulty(), game.getGameState(), game.getSharedScore(),
+                Math.max(0, game.getSharedLives()), now - game.getStartedAtMillis(), game.getSeed(), now, threeBV);
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeByte(difficulty.ordinal());
+        out.writeByte(result.ordinal());
+        out.writeInt(score);
+        out.writeInt(livesLeft);
+        out.writeLong(durationMillis);
+        out.writeLong(seed);
+        out.writeLong(finishedAtMillis);
+        out.writeShort(playerNames.size());
+        for (String name : playerNames) {
+            out.writeUTF(name);
+        }
+        out.writeInt(threeBV);
+    }
+
+    static GameRecord read(DataInputStream in) throws IOException {
+        Difficulty difficulty = Difficulty.values()[in.readUnsignedByte()];
+        GameState result = GameState.values()[in.readUnsignedByte()];
+        int score = in.readInt();
+        int lives = in.readInt();
+        long duration = in.readLong();
+        long seed = in.readLong();
+        long finishedAt = in.readLong();
+        int count = in.readUnsignedShort();
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(in.readUTF());
+        }
+        int threeBV = in.available() >= 4 ? in.readInt() : 0;
+        return new GameRecord(names, difficulty, result, score, lives, duration, seed, finishedAt, threeBV);
+    }
+
+    public List<String> getPlayerNames() {
+        return playerNames;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public GameState getResult() {
+        return result;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLivesLeft() {
+        return livesLeft;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getFinishedAtMillis() {
+        return finishedAtMillis;
+    }
+
+    /** Sum of the 3BV of the game's boards, 0 if unknown. */
+    public int getThreeBV() {
+        return threeBV;
+    }
+
+    /**
+     * Efficiency: 3BV cleared per second. Only meaningful for won games (a lost game did not
+     * clear its boards); 0 if the 3BV or the duration is unknown.
+     */
+    public double getThreeBVPerSecond() {
+        return threeBV == 0 || durationMillis <= 0 ? 0 : threeBV * 1000.0 / durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        String efficiency = threeBV == 0 ? "" : String.format(", 3BV %d (%.2f/s)", threeBV, getThreeBVPerSecond());
+        return String.join(", ", playerNames) + " - " + difficulty + " " + result
+                + " score " + score + ", lives " + livesLeft + ", " + (durationMillis / 1000) + " s" + efficiency;
+    }
+}
@@ -0,0 +1,149 @@
+package Model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The numbers a game is played with: the values of a Difficulty, possibly with some of them
+ * changed (e.g. by the simulator, to try candidate parameters before putting them into Difficulty).
+ * Immutable; the with-methods return a modified copy.
+ *
+ * Snapshots store every number and the shape, so a game restored from a journal or replay is
+ * played with the rules it was started with. Game history records only keep the difficulty.
+ */
+public final class GameRules {
+
+    private final Difficulty difficulty;
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final int questionCells;
+    private final int surpriseCells;
+    private final int startingLives;
+    private final int activationCost;
+    private final Topology.Shape shape;
+
+    private GameRules(Difficulty difficulty, int rows, int cols, int mines, int questionCells,
+                      int surpriseCells, int startingLives, int activationCost, Topology.Shape shape) {
+        if (mines + questionCells + surpriseCells >= rows * cols) {
+            throw new IllegalArgumentException("Too many mines and special cells for a " + rows + "x" + cols + " board");
+        }
+        this.difficulty = difficulty;
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.questionCells = questionCells;
+        this.surpriseCells = surpriseCells;
+        this.startingLives = startingLives;
+        this.activationCost = activationCost;
+        this.shape = shape;
+    }
+
+    /** The standard rules of a difficulty. */
+    public static GameRules of(Difficulty difficulty) {
+        return new GameRules(difficulty, difficulty.getRows(), difficulty.getCols(), difficulty.getMines(),
+                difficulty.getQuestionCells(), difficulty.getSurpriseCells(), difficulty.getStartingLives(),
+                difficulty.getActivationCost(), Topology.Shape.SQUARE);
+    }
+
+    /** Same rules on a board of another size (e.g. very large boards for benchmarks). */
+    public GameRules withSize(int rows, int cols) {
+        return new GameRules(difficulty, rows, cols, mines, questionCells, surpriseCells, startingLives, activationCost, shape);
+    }
+
+    /** Same rules on a board of another shape (see Topology). */
+    public GameRules withShape(Topology.Shape shape) {
+        return new GameRules(difficulty, rows, cols, mines, questionCells, surpriseCells, startingLives, activationCost, shape);
+    }
+
+    public GameRules withMines(int mines) {
+        return new GameRules(difficulty, rows, cols, mines, questionCells, surpriseCells, startingLives, activationCost, shape);
+    }
+
+    public GameRules withQuestionCells(int questionCells) {
+        return new GameRules(difficulty, rows, cols, mines, questionCells, surpriseCells, startingLives, activationCost, shape);
+    }
+
+    public GameRules withSurpriseCells(int surpriseCells) {
+        return new GameRules(difficulty, rows, cols, mines, questionCells, surpriseCells, startingLives, activationCost, shape);
+    }
+
+    public GameRules withStartingLives(int startingLives) {
+        return new GameRules(difficulty, rows, cols, mines, questionCells, surpriseCells, startingLives, activationCost, shape);
+    }
+
+    public GameRules withActivationCost(int activationCost) {
+        return new GameRules(difficulty, rows, cols, mines, questionCells, surpriseCells, startingLives, activationCost, shape);
+    }
+
+    /** The difficulty these rules are based on (what snapshots and records store). */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getMines() {
+        return mines;
+    }
+
+    public int getQuestionCells() {
+        return questionCells;
+    }
+
+    public int getSurpriseCells() {
+        return surpriseCells;
+    }
+
+    public int getStartingLives() {
+        return startingLives;
+    }
+
+    public int getActivationCost() {
+        return activationCost;
+    }
+
+    public Topology.Shape getShape() {
+        return shape;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeByte(difficulty.ordinal());
+        out.writeShort(rows);
+        out.writeShort(cols);
+        out.writeShort(mines);
+        out.writeShort(questionCells);
+        out.writeShort(surpriseCells);
+        out.writeInt(startingLives);
+        out.writeInt(activationCost);
+        out.writeByte(shape.ordinal());
+    }
+
+    static GameRules read(DataInput in) throws IOException {
+        Difficulty difficulty = Difficulty.values()[in.readUnsignedByte()];
+        int rows = in.readUnsignedShort();
+        int cols = in.readUnsignedShort();
+        int mines = in.readUnsignedShort();
+        int questionCells = in.readUnsignedShort();
+        int surpriseCells = in.readUnsignedShort();
+        int startingLives = in.readInt();
+        int activationCost = in.readInt();
+        Topology.Shape shape = Topology.Shape.values()[in.readUnsignedByte()];
+        return new GameRules(difficulty, rows, cols, mines, questionCells, surpriseCells, startingLives,
+                activationCost, shape);
+    }
+
+    @Override
+    public String toString() {
+        return difficulty + "[mines=" + mines + ", questions=" + questionCells + ", surprises=" + surpriseCells
+                + ", lives=" + startingLives + ", cost=" + activationCost
+                + (shape == Topology.Shape.SQUARE ? "" : ", shape=" + shape) + "]";
+    }
+}
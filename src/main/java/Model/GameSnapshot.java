@@ -0,0 +1,321 @@
+package Model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact full-state copy of a Game: its rules, the shared counters, players, turn scheduler and
+ * all boards.
+ * Used as a keyframe inside replay files.
+ *
+ * The serialized form starts with its own version, so replays and journals written with an older
+ * layout are rejected instead of misread.
+ *
+ * Each cell is packed into one byte:
+ * bits 0-2 = content, bits 3-4 = state, bit 5 = used.
+ * Adjacent mine counts are not stored, they are recomputed from the mine layout on restore.
+ * A board that has not been revealed yet has no layout; only its seed is stored, together with
+ * the game's no-guess setting, so its first reveal places the layout the live game would have.
+ */
+public final class GameSnapshot {
+
+    static final int VERSION = 3;
+
+    private static final int STATE_SHIFT = 3;
+    private static final int USED_BIT = 1 << 5;
+
+    // Turn scheduler kinds
+    private static final int ROUND_ROBIN = 0;
+    private static final int SIMULTANEOUS = 1;
+    private static final int TIMED = 2;
+
+    private final GameRules rules;
+    private final int sharedLives;
+    private final int sharedScore;
+    private final GameState gameState;
+    private final int currentPlayerTurn;
+    private final int schedulerKind;
+    private final long turnMillis;          // only for TIMED
+    private final long seed;                // surprise effect seed
+    private final boolean noGuess;
+    private final List<Player> players;
+    private final BoardSnapshot[] boards;
+
+    private GameSnapshot(GameRules rules, int sharedLives, int sharedScore, GameState gameState,
+                         int currentPlayerTurn, int schedulerKind, long turnMillis, long seed,
+                         boolean noGuess, List<Player> players, BoardSnapshot[] boards) {
+        this.rules = rules;
+        this.sharedLives = sharedLives;
+        this.sharedScore = sharedScore;
+        this.gameState = gameState;
+        this.currentPlayerTurn = currentPlayerTurn;
+        this.schedulerKind = schedulerKind;
+        this.turnMillis = turnMillis;
+        this.seed = seed;
+        this.noGuess = noGuess;
+        this.players = players;
+        this.boards = boards;
+    }
+
+    /**
+     * Takes a snapshot of the current state of the given game.
+     */
+    public static GameSnapshot capture(Game game) {
+        TurnScheduler scheduler = game.getTurnScheduler();
+        int kind = ROUND_ROBIN;
+        long turnMillis = 0;
+        if (scheduler instanceof TimedScheduler) {
+            kind = TIMED;
+            turnMillis = ((TimedScheduler) scheduler).getTurnMillis();
+        } else if (scheduler.isSimultaneous()) {
+            kind = SIMULTANEOUS;
+        }
+
+        BoardSnapshot[] boards = new BoardSnapshot[game.getBoardCount()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = BoardSnapshot.capture(game.getBoard(i + 1));
+        }
+        return new GameSnapshot(game.getRules(), game.getSharedLives(), game.getSharedScore(),
+                game.getGameState(), game.getCurrentPlayerTurn(), kind, turnMillis, game.getSeed(),
+                game.isNoGuess(), game.getPlayers(), boards);
+    }
+
+    /**
+     * Builds a new Game with exactly the state stored in this snapshot.
+     */
+    public Game restore() {
+        return new Game(this);
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        rules.write(out);
+        out.writeInt(sharedLives);
+        out.writeInt(sharedScore);
+        out.writeByte(gameState.ordinal());
+        out.writeShort(currentPlayerTurn);
+        out.writeByte(schedulerKind);
+        out.writeLong(turnMillis);
+        out.writeLong(seed);
+        out.writeBoolean(noGuess);
+        out.writeShort(boards.length);
+        for (int i = 0; i < boards.length; i++) {
+            out.writeUTF(players.get(i).getName());
+            boards[i].write(out);
+        }
+    }
+
+    public static GameSnapshot read(DataInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported snapshot version " + version);
+        GameRules rules = GameRules.read(in);
+        int lives = in.readInt();
+        int score = in.readInt();
+        GameState state = GameState.values()[in.readUnsignedByte()];
+        int turn = in.readUnsignedShort();
+        int kind = in.readUnsignedByte();
+        long turnMillis = in.readLong();
+        long seed = in.readLong();
+        boolean noGuess = in.readBoolean();
+        int count = in.readUnsignedShort();
+        List<Player> players = new ArrayList<>(count);
+        BoardSnapshot[] boards = new BoardSnapshot[count];
+        for (int i = 0; i < count; i++) {
+            players.add(new Player(in.readUTF()));
+            boards[i] = BoardSnapshot.read(in);
+        }
+        return new GameSnapshot(rules, lives, score, state, turn, kind, turnMillis, seed, noGuess, players, boards);
+    }
+
+    // --- Getters (used by Game when restoring) ---
+
+    public Difficulty getDifficulty() {
+        return rules.getDifficulty();
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    public int getSharedLives() {
+        return sharedLives;
+    }
+
+    public int getSharedScore() {
+        return sharedScore;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public int getCurrentPlayerTurn() {
+        return currentPlayerTurn;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isNoGuess() {
+        return noGuess;
+    }
+
+    /** A fresh scheduler of the kind the game was using. */
+    public TurnScheduler getTurnScheduler() {
+        switch (schedulerKind) {
+            case SIMULTANEOUS: return new SimultaneousScheduler();
+            case TIMED: return new TimedScheduler(turnMillis);
+            default: return new RoundRobinScheduler();
+        }
+    }
+
+    /** Board snapshot by 0-based index. */
+    BoardSnapshot getBoard(int index) {
+        return boards[index];
+    }
+
+    /**
+     * Packed cells of a single board.
+     */
+    static final class BoardSnapshot {
+
+        private final int rows;
+        private final int cols;
+        private final long seed;
+        private final int layoutCandidate;
+        private final int safeCellsRemaining;
+        private final byte[] cells;         // row-major, one byte per cell; null if not generated yet
+        private final int[] questionCells;  // pairs of (cell index, question id)
+
+        private BoardSnapshot(int rows, int cols, long seed, int layoutCandidate, int safeCellsRemaining,
+                              byte[] cells, int[] questionCells) {
+            this.rows = rows;
+            this.cols = cols;
+            this.seed = seed;
+            this.layoutCandidate = layoutCandidate;
+            this.safeCellsRemaining = safeCellsRemaining;
+            this.cells = cells;
+            this.questionCells = questionCells;
+        }
+
+        static BoardSnapshot capture(Board board) {
+            int rows = board.getRows();
+            int cols = board.getCols();
+            if (!board.isGenerated()) {
+                return new BoardSnapshot(rows, cols, board.getSeed(), board.getLayoutCandidate(),
+                        board.getSafeCellsRemaining(), null, new int[0]);
+            }
+            byte[] packed = new byte[rows * cols];
+            int questions = 0;
+
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    Cell cell = board.getCell(r, c);
+                    packed[r * cols + c] = pack(cell);
+                    if (cell.getQuestionId() != null) questions++;
+                }
+            }
+
+            int[] questionCells = new int[questions * 2];
+            int i = 0;
+            for (int r = 0; r < rows && i < questionCells.length; r++) {
+                for (int c = 0; c < cols; c++) {
+                    Integer id = board.getCell(r, c).getQuestionId();
+                    if (id != null) {
+                        questionCells[i++] = r * cols + c;
+                        questionCells[i++] = id;
+                    }
+                }
+            }
+            return new BoardSnapshot(rows, cols, board.getSeed(), board.getLayoutCandidate(),
+                    board.getSafeCellsRemaining(), packed, questionCells);
+        }
+
+        private static byte pack(Cell cell) {
+            int bits = cell.getContent().ordinal() | (cell.getState().ordinal() << STATE_SHIFT);
+            if (cell.isUsed()) bits |= USED_BIT;
+            return (byte) bits;
+        }
+
+        /**
+         * Copies the packed content/state/used flags into the given cell.
+         */
+        void unpackInto(Cell cell) {
+            int bits = cells[cell.getRow() * cols + cell.getCol()];
+            cell.setContent(Cell.CellContent.values()[bits & 0x7]);
+            cell.setState(Cell.CellState.values()[(bits >> STATE_SHIFT) & 0x3]);
+            cell.setUsed((bits & USED_BIT) != 0);
+        }
+
+        Integer[] questionIds() {
+            Integer[] ids = new Integer[rows * cols];
+            for (int i = 0; i < questionCells.length; i += 2) {
+                ids[questionCells[i]] = questionCells[i + 1];
+            }
+            return ids;
+        }
+
+        int getRows() {
+            return rows;
+        }
+
+        int getCols() {
+            return cols;
+        }
+
+        int getSafeCellsRemaining() {
+            return safeCellsRemaining;
+        }
+
+        long getSeed() {
+            return seed;
+        }
+
+        int getLayoutCandidate() {
+            return layoutCandidate;
+        }
+
+        boolean isGenerated() {
+            return cells != null;
+        }
+
+        void write(DataOutput out) throws IOException {
+            out.writeShort(rows);
+            out.writeShort(cols);
+            out.writeLong(seed);
+            out.writeInt(layoutCandidate);
+            out.writeInt(safeCellsRemaining);
+            out.writeBoolean(cells != null);
+            if (cells == null) return;
+            out.write(cells);
+            out.writeShort(questionCells.length / 2);
+            for (int v : questionCells) {
+                out.writeInt(v);
+            }
+        }
+
+        static BoardSnapshot read(DataInput in) throws IOException {
+            int rows = in.readUnsignedShort();
+            int cols = in.readUnsignedShort();
+            long seed = in.readLong();
+            int candidate = in.readInt();
+            int safe = in.readInt();
+            if (!in.readBoolean()) return new BoardSnapshot(rows, cols, seed, candidate, safe, null, new int[0]);
+            byte[] cells = new byte[rows * cols];
+            in.readFully(cells);
+            int[] questionCells = new int[in.readUnsignedShort() * 2];
+            for (int i = 0; i < questionCells.length; i++) {
+                questionCells[i] = in.readInt();
+            }
+            return new BoardSnapshot(rows, cols, seed, candidate, safe, cells, questionCells);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds hidden cells of a Board that are certainly safe or certainly mines, using only what the
+ * player can see (revealed numbers and revealed mines; flags are ignored, they may be wrong).
+ *
+ * The solver is incremental: it reads the cells revealed since its last call from the board's
+ * reveal log and only re-examines the numbers around them (the frontier). Each examined number
+ * applies two rules:
+ * <ul>
+ *   <li>single cell: if the mines still missing around a number are 0, all its unknown neighbours
+ *       are safe; if they equal the number of unknown neighbours, all of them are mines</li>
+ *   <li>subset: if the unknown neighbours of number A are a subset of those of a nearby number B,
+ *       the difference holds exactly (missing(B) - missing(A)) mines</li>
+ * </ul>
+ * Every deduction re-queues the numbers next to the deduced cell, until nothing changes.
+ * The work per update is proportional to the newly revealed cells, not to the board size.
+ *
+ * Like the board it reads, a solver must be used from the thread that plays the board.
+ */
+public class HintSolver {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte SAFE = 1;
+    private static final byte MINE = 2;
+
+    private final Board board;
+    private final int cols;
+    private final Topology topology;   // which cells are neighbours (square, torus or hex)
+
+    private final byte[] known;        // deductions for hidden cells
+    private final boolean[] queued;
+    private int[] queue = new int[64];
+    private int queueSize;
+
+    // Deduced cells in deduction order; stale entries (revealed meanwhile) are skipped when read
+    private int[] safeCells = new int[64];
+    private int safeCount;
+    private int safeCursor;
+    private int[] mineCells = new int[16];
+    private int mineCount;
+
+    private int logCursor;             // reveal log entries processed so far
+    private int layoutVersion;
+
+    // Scratch space for one constraint (at most 8 neighbours each) and the numbers sharing its cells
+    private final int[] unknownA = new int[8];
+    private final int[] unknownB = new int[8];
+    private final int[] nearby = new int[64];
+
+    public HintSolver(Board board) {
+        this.board = board;
+        this.cols = board.getCols();
+        this.topology = board.getTopology();
+        this.known = new byte[board.getRows() * cols];
+        this.queued = new boolean[board.getRows() * cols];
+        this.layoutVersion = board.getLayoutVersion();
+    }
+
+    // ------------------------------------------------------------------
+    // Queries
+    // ------------------------------------------------------------------
+
+    /**
+     * A hidden, unflagged cell that is certainly safe, or null if none can be deduced.
+     */
+    public Cell nextSafeCell() {
+        update();
+        while (safeCursor < safeCount) {
+            int id = safeCells[safeCursor];
+            Cell cell = cell(id);
+            if (!cell.isRevealed() && known[id] == SAFE) {
+                if (!cell.isFlagged()) return cell;
+            }
+            safeCursor++; // revealed (or flagged, the player decides about those): no longer a hint
+        }
+        // Flagged but safe cells are still worth pointing out once nothing else is left
+        for (int i = 0; i < safeCount; i++) {
+            Cell cell = cell(safeCells[i]);
+            if (!cell.isRevealed()) return cell;
+        }
+        return null;
+    }
+
+    /** All hidden cells currently known to be safe. */
+    public List<Cell> getSafeCells() {
+        update();
+        return collect(safeCells, safeCount, SAFE);
+    }
+
+    /** All hidden cells currently known to be mines. */
+    public List<Cell> getMineCells() {
+        update();
+        return collect(mineCells, mineCount, MINE);
+    }
+
+    public boolean isKnownSafe(int row, int col) {
+        update();
+        return known[row * cols + col] == SAFE;
+    }
+
+    public boolean isKnownMine(int row, int col) {
+        update();
+        return known[row * cols + col] == MINE;
+    }
+
+    private List<Cell> collect(int[] ids, int count, byte kind) {
+        List<Cell> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Cell cell = cell(ids[i]);
+            if (!cell.isRevealed() && known[ids[i]] == kind) result.add(cell);
+        }
+        return result;
+    }
+
+    // ------------------------------------------------------------------
+    // Incremental update
+    // ------------------------------------------------------------------
+
+    /**
+     * Processes the cells revealed since the last call and propagates the deductions.
+     * Called by every query, so calling it directly is only needed to control when the work happens.
+     */
+    public void update() {
+        if (board.getLayoutVersion() != layoutVersion) {
+            reset(); // contents changed under us (moved mine): start over from the full log
+        }
+
+        int count = board.getRevealCount();
+        for (; logCursor < count; logCursor++) {
+            int id = board.getRevealedCellIndex(logCursor);
+            enqueue(id);
+            enqueueNeighbours(id);
+        }
+
+        while (queueSize > 0) {
+            int id = queue[--queueSize];
+            queued[id] = false;
+            examine(id);
+        }
+    }
+
+    private void reset() {
+        Arrays.fill(known, UNKNOWN);
+        Arrays.fill(queued, false);
+        queueSize = 0;
+        safeCount = 0;
+        safeCursor = 0;
+        mineCount = 0;
+        logCursor = 0;
+        layoutVersion = board.getLayoutVersion();
+    }
+
+    /** Applies both rules to one revealed number. */
+    private void examine(int id) {
+        int unknown = unknownNeighbours(id, unknownA);
+        if (unknown == 0) return;
+        int missing = missingMines(id);
+
+        if (missing == 0) {
+            markAll(unknownA, unknown, SAFE);
+            return;
+        }
+        if (missing == unknown) {
+            markAll(unknownA, unknown, MINE);
+            return;
+        }
+
+        // Subset rule against every number that shares an unknown neighbour with us
+        int others = sharingNumbers(id, unknown);
+        for (int i = 0; i < others; i++) {
+            int other = nearby[i];
+            int otherUnknown = unknownNeighbours(other, unknownB);
+            if (otherUnknown == 0) continue;
+            int otherMissing = missingMines(other);
+
+            if (otherUnknown > unknown && isSubset(unknownA, unknown, unknownB, otherUnknown)) {
+                applyDifference(unknownB, otherUnknown, unknownA, unknown, otherMissing - missing);
+            } else if (unknown > otherUnknown && isSubset(unknownB, otherUnknown, unknownA, unknown)) {
+                applyDifference(unknownA, unknown, unknownB, otherUnknown, missing - otherMissing);
+            }
+            // A deduction may have changed our own unknowns: re-read them
+            unknown = unknownNeighbours(id, unknownA);
+            if (unknown == 0) return;
+            missing = missingMines(id);
+        }
+    }
+
+    /** Numbers other than id next to one of its unknown neighbours (in unknownA), written to nearby. */
+    private int sharingNumbers(int id, int unknown) {
+        int n = 0;
+        for (int i = 0; i < unknown; i++) {
+            int cell = unknownA[i];
+            for (int k = topology.start[cell]; k < topology.start[cell + 1]; k++) {
+                int other = topology.neighbors[k];
+                if (other != id && isConstraint(other) && !contains(nearby, n, other)) nearby[n++] = other;
+            }
+        }
+        return n;
+    }
+
+    /** Cells of big minus small hold exactly 'mines' mines: decide them if that is 0 or all. */
+    private void applyDifference(int[] big, int bigSize, int[] small, int smallSize, int mines) {
+        int diffSize = bigSize - smallSize;
+        if (mines != 0 && mines != diffSize) return;
+        byte kind = (mines == 0) ? SAFE : MINE;
+        for (int i = 0; i < bigSize; i++) {
+            if (!contains(small, smallSize, big[i])) mark(big[i], kind);
+        }
+    }
+
+    private void markAll(int[] ids, int count, byte kind) {
+        for (int i = 0; i < count; i++) {
+            mark(ids[i], kind);
+        }
+    }
+
+    private void mark(int id, byte kind) {
+        if (known[id] != UNKNOWN || cell(id).isRevealed()) return;
+        known[id] = kind;
+        if (kind == SAFE) {
+            if (safeCount == safeCells.length) safeCells = Arrays.copyOf(safeCells, safeCount * 2);
+            safeCells[safeCount++] = id;
+        } else {
+            if (mineCount == mineCells.length) mineCells = Arrays.copyOf(mineCells, mineCount * 2);
+            mineCells[mineCount++] = id;
+        }
+        enqueueNeighbours(id);
+    }
+
+    // ------------------------------------------------------------------
+    // Helpers
+    // ------------------------------------------------------------------
+
+    /** Revealed EMPTY or NUMBER cell: its value constrains its neighbours. */
+    private boolean isConstraint(int id) {
+        Cell cell = cell(id);
+        if (!cell.isRevealed()) return false;
+        Cell.CellContent content = cell.getContent();
+        return content == Cell.CellContent.NUMBER || content == Cell.CellContent.EMPTY;
+    }
+
+    /** Hidden neighbours not deduced yet, written to out; returns how many. */
+    private int unknownNeighbours(int id, int[] out) {
+        int n = 0;
+        for (int k = topology.start[id]; k < topology.start[id + 1]; k++) {
+            int other = topology.neighbors[k];
+            if (known[other] == UNKNOWN && !cell(other).isRevealed()) {
+                out[n++] = other;
+            }
+        }
+        return n;
+    }
+
+    /** Mines around a number that are not yet accounted for (revealed or deduced). */
+    private int missingMines(int id) {
+        Cell cell = cell(id);
+        int value = (cell.getContent() == Cell.CellContent.NUMBER) ? cell.getAdjacentMines() : 0;
+        for (int k = topology.start[id]; k < topology.start[id + 1]; k++) {
+            int other = topology.neighbors[k];
+            if (known[other] == MINE || (cell(other).isRevealed() && cell(other).isMine())) value--;
+        }
+        return value;
+    }
+
+    private void enqueue(int id) {
+        if (queued[id] || !isConstraint(id)) return;
+        if (queueSize == queue.length) queue = Arrays.copyOf(queue, queueSize * 2);
+        queue[queueSize++] = id;
+        queued[id] = true;
+    }
+
+    private void enqueueNeighbours(int id) {
+        for (int k = topology.start[id]; k < topology.start[id + 1]; k++) {
+            enqueue(topology.neighbors[k]);
+        }
+    }
+
+    private static boolean isSubset(int[] small, int smallSize, int[] big, int bigSize) {
+        for (int i = 0; i < smallSize; i++) {
+            if (!contains(big, bigSize, small[i])) return false;
+        }
+        return true;
+    }
+
+    private static boolean contains(int[] ids, int size, int id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) return true;
+        }
+        return false;
+    }
+
+    private Cell cell(int id) {
+        return board.getCell(id / cols, id % cols);
+    }
+}
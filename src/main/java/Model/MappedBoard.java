@@ -0,0 +1,416 @@
+package Model;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Board kept in a memory-mapped file instead of the heap, for endurance runs on boards far larger
+ * than -Xmx (50 000 x 50 000 cells is a 2.5 GB file). The OS pages cells in and out on demand;
+ * generation, numbers, reveals and flags read and write the mapped bytes directly.
+ *
+ * The file is also the save format, so saving is {@link #force()} and loading is {@link #open(File)}:
+ * a 64-byte header (magic, version, rows, cols, mines, safe cells left, seed) followed by one byte
+ * per cell in row-major order:
+ * bits 0-3 = 0..8 for a plain cell with that many adjacent mines, 9 mine, 10 question, 11 surprise;
+ * bits 4-5 = state; bit 6 = used.
+ *
+ * A mapping can hold at most 2 GB, so the cells are mapped in chunks of whole rows. Single writer:
+ * like Board, only the thread that plays it may change it. There is no Game behind it: reveals do
+ * not cost lives or trigger question and surprise cells.
+ */
+public final class MappedBoard implements Closeable {
+
+    static final int MAGIC = 0x53434D42; // "SCMB"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    private static final int MINES_OFFSET = 16;
+    private static final int SAFE_OFFSET = 24;
+    private static final int SEED_OFFSET = 32;
+
+    private static final int MINE = 9;
+    private static final int QUESTION = 10;
+    private static final int SURPRISE = 11;
+    private static final int CODE_MASK = 0x0F;
+    private static final int STATE_SHIFT = 4;
+    private static final int STATE_MASK = 0x3 << STATE_SHIFT;
+    private static final int USED_BIT = 1 << 6;
+    private static final int HIDDEN = Cell.CellState.HIDDEN.ordinal() << STATE_SHIFT;
+    private static final int REVEALED = Cell.CellState.REVEALED.ordinal() << STATE_SHIFT;
+    private static final int FLAGGED = Cell.CellState.FLAGGED.ordinal() << STATE_SHIFT;
+
+    // Largest mapping per chunk (whole rows)
+    private static final long CHUNK_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] chunks;
+    private final int rows;
+    private final int cols;
+    private final int chunkRows;
+
+    private MappedBoard(FileChannel channel, int rows, int cols) throws IOException {
+        this.channel = channel;
+        this.rows = rows;
+        this.cols = cols;
+        this.chunkRows = (int) Math.max(1, Math.min(rows, CHUNK_BYTES / cols));
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        this.chunks = new MappedByteBuffer[(rows + chunkRows - 1) / chunkRows];
+        for (int i = 0; i < chunks.length; i++) {
+            long firstRow = (long) i * chunkRows;
+            long chunkRowCount = Math.min(chunkRows, rows - firstRow);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + firstRow * cols, chunkRowCount * cols);
+        }
+    }
+
+    /**
+     * Creates (or overwrites) the file for an empty board: every cell hidden, no mines.
+     */
+    public static MappedBoard create(File file, int rows, int cols) throws IOException {
+        if (rows < 1 || cols < 1) {
+            throw new IllegalArgumentException("Board must have at least one cell: " + rows + "x" + cols);
+        }
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        MappedBoard board;
+        try {
+            board = new MappedBoard(channel, rows, cols); // mapping grows the file; new bytes are 0 (hidden, no mine)
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        board.header.putInt(0, MAGIC);
+        board.header.putInt(4, VERSION);
+        board.header.putInt(8, rows);
+        board.header.putInt(12, cols);
+        board.header.putLong(MINES_OFFSET, 0);
+        board.header.putLong(SAFE_OFFSET, (long) rows * cols);
+        return board;
+    }
+
+    /**
+     * Maps a board saved by {@link #force()} (or left by a previous run) without reading its cells.
+     */
+    public static MappedBoard open(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a mapped board file: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a mapped board file: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported mapped board version " + header.getInt(4));
+            }
+            int rows = header.getInt(8);
+            int cols = header.getInt(12);
+            if (channel.size() < HEADER_SIZE + (long) rows * cols) {
+                throw new IOException("Mapped board file is truncated: " + file);
+            }
+            return new MappedBoard(channel, rows, cols);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // --- Layout ---
+
+    /**
+     * Places exactly the given numbers of mines, question and surprise cells uniformly at random
+     * (selection sampling: one pass over the cells, no memory per cell) and computes the numbers.
+     * Replaces any previous layout.
+     */
+    public void generate(long mines, long questions, long surprises, long seed) {
+        long total = (long) rows * cols;
+        if (mines < 0 || questions < 0 || surprises < 0 || mines + questions + surprises >= total) {
+            throw new IllegalArgumentException("Too many mines and special cells for a " + rows + "x" + cols + " board");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        long minesLeft = mines;
+        long questionsLeft = questions;
+        long surprisesLeft = surprises;
+        long index = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++, index++) {
+                // Each kind is picked with probability (its cells left) / (cells left)
+                double pick = random.nextDouble() * (total - index);
+                int code = 0;
+                if (pick < minesLeft) {
+                    code = MINE;
+                    minesLeft--;
+                } else if (pick < minesLeft + questionsLeft) {
+                    code = QUESTION;
+                    questionsLeft--;
+                } else if (pick < minesLeft + questionsLeft + surprisesLeft) {
+                    code = SURPRISE;
+                    surprisesLeft--;
+                }
+                put(r, c, code);
+            }
+        }
+        header.putLong(MINES_OFFSET, mines);
+        header.putLong(SAFE_OFFSET, total - mines);
+        header.putLong(SEED_OFFSET, seed);
+        computeNumbers();
+    }
+
+    /**
+     * Copies the contents and states of a generated Board of the same size (e.g. to compare with it,
+     * or to continue a game on disk).
+     */
+    public void copyLayout(Board board) {
+        if (board.getRows() != rows || board.getCols() != cols) {
+            throw new IllegalArgumentException("Board is " + board.getRows() + "x" + board.getCols()
+                    + ", not " + rows + "x" + cols);
+        }
+        long mines = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                Cell cell = board.getCell(r, c);
+                int code;
+                switch (cell.getContent()) {
+                    case MINE:
+                        code = MINE;
+                        mines++;
+                        break;
+                    case QUESTION:
+                        code = QUESTION;
+                        break;
+                    case SURPRISE:
+                        code = SURPRISE;
+                        break;
+                    default:
+                        code = 0;
+                        break;
+                }
+                put(r, c, code | cell.getState().ordinal() << STATE_SHIFT | (cell.isUsed() ? USED_BIT : 0));
+            }
+        }
+        header.putLong(MINES_OFFSET, mines);
+        header.putLong(SAFE_OFFSET, board.getSafeCellsRemaining());
+        header.putLong(SEED_OFFSET, board.getSeed());
+        computeNumbers();
+    }
+
+    /**
+     * Writes the adjacent mine count into every plain cell, keeping three rows of mine flags on the heap.
+     */
+    private void computeNumbers() {
+        byte[] above = new byte[cols + 2];
+        byte[] row = new byte[cols + 2];
+        byte[] below = new byte[cols + 2];
+        readMines(0, row);
+        for (int r = 0; r < rows; r++) {
+            if (r + 1 < rows) {
+                readMines(r + 1, below);
+            } else {
+                Arrays.fill(below, (byte) 0);
+            }
+            for (int c = 0; c < cols; c++) {
+                int bits = get(r, c);
+                int code = bits & CODE_MASK;
+                if (code > 8) continue;
+                int x = c + 1;
+                int mines = above[x - 1] + above[x] + above[x + 1] + row[x - 1] + row[x + 1]
+                        + below[x - 1] + below[x] + below[x + 1];
+                if (mines != code) put(r, c, (bits & ~CODE_MASK) | mines);
+            }
+            byte[] spare = above;
+            above = row;
+            row = below;
+            below = spare;
+        }
+    }
+
+    private void readMines(int r, byte[] mines) {
+        for (int c = 0; c < cols; c++) {
+            mines[c + 1] = (byte) ((get(r, c) & CODE_MASK) == MINE ? 1 : 0);
+        }
+    }
+
+    // --- Moves ---
+
+    /**
+     * Reveals a hidden, unflagged cell; an empty cell reveals its whole opening (flags stop it).
+     *
+     * @return number of cells revealed (0 if the cell could not be revealed)
+     */
+    public long revealCell(int r, int c) {
+        if (!isValid(r, c) || (get(r, c) & STATE_MASK) != HIDDEN) return 0;
+        return (get(r, c) & CODE_MASK) == 0 ? revealOpening(r, c) : revealOne(r, c);
+    }
+
+    /**
+     * Scanline flood from an empty cell: each popped seed reveals its whole run of hidden empty
+     * cells on its row, and the rows above and below get their safe cells revealed and one seed
+     * per run of empty cells. The stack holds runs, not cells, so it stays small.
+     */
+    private long revealOpening(int r, int c) {
+        long[] stack = new long[64];
+        int size = 0;
+        stack[size++] = (long) r * cols + c;
+        long revealed = 0;
+        while (size > 0) {
+            long seed = stack[--size];
+            int row = (int) (seed / cols);
+            int col = (int) (seed % cols);
+            if (!isHiddenEmpty(row, col)) continue;
+
+            int from = col;
+            while (from > 0 && isHiddenEmpty(row, from - 1)) from--;
+            int to = col;
+            while (to < cols - 1 && isHiddenEmpty(row, to + 1)) to++;
+            for (int x = from; x <= to; x++) {
+                revealed += revealOne(row, x);
+            }
+            if (from > 0) revealed += revealSafe(row, from - 1);
+            if (to < cols - 1) revealed += revealSafe(row, to + 1);
+
+            for (int nr = row - 1; nr <= row + 1; nr += 2) {
+                if (nr < 0 || nr >= rows) continue;
+                boolean inRun = false;
+                for (int x = Math.max(0, from - 1); x <= Math.min(cols - 1, to + 1); x++) {
+                    if (isHiddenEmpty(nr, x)) {
+                        if (!inRun) {
+                            if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+                            stack[size++] = (long) nr * cols + x;
+                            inRun = true;
+                        }
+                    } else {
+                        inRun = false;
+                        revealed += revealSafe(nr, x);
+                    }
+                }
+            }
+        }
+        return revealed;
+    }
+
+    private boolean isHiddenEmpty(int r, int c) {
+        return get(r, c) == HIDDEN; // code 0 and hidden; used is never set on plain cells
+    }
+
+    /** Reveals a hidden cell that is not a mine (the border of an opening). */
+    private long revealSafe(int r, int c) {
+        int bits = get(r, c);
+        if ((bits & STATE_MASK) != HIDDEN || (bits & CODE_MASK) == MINE) return 0;
+        return revealOne(r, c);
+    }
+
+    private long revealOne(int r, int c) {
+        int bits = get(r, c);
+        if ((bits & STATE_MASK) != HIDDEN) return 0;
+        put(r, c, (bits & ~STATE_MASK) | REVEALED);
+        if ((bits & CODE_MASK) != MINE) {
+            header.putLong(SAFE_OFFSET, header.getLong(SAFE_OFFSET) - 1);
+        }
+        return 1;
+    }
+
+    /**
+     * Flags or unflags a cell that is not revealed.
+     *
+     * @return true if the cell is now flagged
+     */
+    public boolean toggleFlag(int r, int c) {
+        if (!isValid(r, c)) return false;
+        int bits = get(r, c);
+        int state = bits & STATE_MASK;
+        if (state == REVEALED) return false;
+        int next = state == FLAGGED ? HIDDEN : FLAGGED;
+        put(r, c, (bits & ~STATE_MASK) | next);
+        return next == FLAGGED;
+    }
+
+    // --- Reading ---
+
+    public Cell.CellContent getContent(int r, int c) {
+        int code = get(r, c) & CODE_MASK;
+        switch (code) {
+            case MINE:
+                return Cell.CellContent.MINE;
+            case QUESTION:
+                return Cell.CellContent.QUESTION;
+            case SURPRISE:
+                return Cell.CellContent.SURPRISE;
+            default:
+                return code == 0 ? Cell.CellContent.EMPTY : Cell.CellContent.NUMBER;
+        }
+    }
+
+    public Cell.CellState getState(int r, int c) {
+        return Cell.CellState.values()[(get(r, c) & STATE_MASK) >> STATE_SHIFT];
+    }
+
+    /** Adjacent mines of a plain cell; 0 for mines, question and surprise cells. */
+    public int getAdjacentMines(int r, int c) {
+        int code = get(r, c) & CODE_MASK;
+        return code <= 8 ? code : 0;
+    }
+
+    public boolean isUsed(int r, int c) {
+        return (get(r, c) & USED_BIT) != 0;
+    }
+
+    public boolean isValid(int r, int c) {
+        return r >= 0 && r < rows && c >= 0 && c < cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public long getMines() {
+        return header.getLong(MINES_OFFSET);
+    }
+
+    public long getSafeCellsRemaining() {
+        return header.getLong(SAFE_OFFSET);
+    }
+
+    public long getSeed() {
+        return header.getLong(SEED_OFFSET);
+    }
+
+    // --- Storage ---
+
+    private int get(int r, int c) {
+        return chunks[r / chunkRows].get((r % chunkRows) * cols + c);
+    }
+
+    private void put(int r, int c, int bits) {
+        chunks[r / chunkRows].put((r % chunkRows) * cols + c, (byte) bits);
+    }
+
+    /**
+     * Writes the changed pages to the file: after it returns the file holds the current board.
+     */
+    public void force() {
+        header.force();
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    /**
+     * Saves and closes the file. The mapping itself is released when the board is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
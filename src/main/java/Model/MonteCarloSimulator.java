@@ -0,0 +1,277 @@
+package Model;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless simulation of many games played by computer players, to tune the numbers in Difficulty.
+ *
+ * The games of one parameter set are split over a ForkJoinPool (work stealing: idle threads take
+ * half of a busy thread's remaining range). Each game is fully determined by the simulator seed and
+ * its index, so a run gives the same statistics whatever the number of threads. Games are quiet:
+ * nothing is printed through Game.printGameStatus.
+ *
+ * Usage: {@code java Model.MonteCarloSimulator <difficulty> <games per set> <output.csv>}
+ * sweeps a grid around the difficulty's values and streams one CSV row per parameter set.
+ */
+public class MonteCarloSimulator {
+
+    // Ranges at or below this size are played by one thread
+    private static final int LEAF_GAMES = 128;
+
+    private static final String CSV_HEADER = "difficulty,mines,question_cells,surprise_cells,starting_lives,"
+            + "activation_cost,games,win_rate,avg_lives_left,avg_score,score_p10,score_p50,score_p90,"
+            + "min_score,max_score,millis";
+
+    private final ForkJoinPool pool;
+    private final ComputerPlayer.Level policy;
+    private final long seed;
+
+    /**
+     * @param policy level of the computer players on every board
+     */
+    public MonteCarloSimulator(ForkJoinPool pool, ComputerPlayer.Level policy, long seed) {
+        this.pool = pool;
+        this.policy = policy;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays the given number of two-player games with the given rules and collects the results.
+     */
+    public Stats run(GameRules rules, int games) {
+        return pool.invoke(new SimulationTask(rules, 0, games));
+    }
+
+    /**
+     * Runs every parameter set and writes one CSV row per set as soon as it is done
+     * (header first), so long sweeps can be followed and survive an interruption.
+     */
+    public void sweep(List<GameRules> grid, int gamesPerSet, Writer csv) throws IOException {
+        csv.write(CSV_HEADER);
+        csv.write('\n');
+        csv.flush();
+        for (GameRules rules : grid) {
+            long start = System.nanoTime();
+            Stats stats = run(rules, gamesPerSet);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            csv.write(csvRow(rules, stats, millis));
+            csv.write('\n');
+            csv.flush();
+        }
+    }
+
+    /**
+     * Every combination of the given values on top of the base rules.
+     */
+    public static List<GameRules> grid(GameRules base, int[] startingLives, int[] activationCosts,
+                                       int[] questionCells, int[] surpriseCells) {
+        List<GameRules> grid = new ArrayList<>();
+        for (int lives : startingLives) {
+            for (int cost : activationCosts) {
+                for (int questions : questionCells) {
+                    for (int surprises : surpriseCells) {
+                        grid.add(base.withStartingLives(lives).withActivationCost(cost)
+                                .withQuestionCells(questions).withSurpriseCells(surprises));
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+    static String csvRow(GameRules rules, Stats stats, long millis) {
+        return String.join(",",
+                rules.getDifficulty().name(),
+                String.valueOf(rules.getMines()),
+                String.valueOf(rules.getQuestionCells()),
+                String.valueOf(rules.getSurpriseCells()),
+                String.valueOf(rules.getStartingLives()),
+                String.valueOf(rules.getActivationCost()),
+                String.valueOf(stats.getGames()),
+                String.format("%.4f", stats.getWinRate()),
+                String.format("%.3f", stats.getAverageLivesLeft()),
+                String.format("%.2f", stats.getAverageScore()),
+                String.valueOf(stats.getScorePercentile(0.10)),
+                String.valueOf(stats.getScorePercentile(0.50)),
+                String.valueOf(stats.getScorePercentile(0.90)),
+                String.valueOf(stats.getMinScore()),
+                String.valueOf(stats.getMaxScore()),
+                String.valueOf(millis));
+    }
+
+    /** Plays one game to the end; the game object is reused across the games of a thread. */
+    private void play(Game game, GameRules rules, int index, Stats stats) {
+        playGame(game, rules, policy, mix(seed, index));
+        stats.add(game.getGameState() == GameState.WON, game.getSharedLives(), game.getSharedScore());
+    }
+
+    /**
+     * Plays one game from the given seed to the end, every board by a computer player of the given
+     * level (each with its own seed derived from the game seed). The players are limited by work,
+     * not time, so the game depends only on the seed. The result is left in the game.
+     */
+    static void playGame(Game game, GameRules rules, ComputerPlayer.Level policy, long gameSeed) {
+        game.startNewGame(rules, gameSeed);
+        ComputerPlayer[] bots = new ComputerPlayer[game.getBoardCount()];
+        for (int i = 0; i < bots.length; i++) {
+            bots[i] = ComputerPlayer.withNodeLimit(policy, ComputerPlayer.DEFAULT_NODE_LIMIT, mix(gameSeed, i + 1));
+        }
+
+        while (game.getGameState() == GameState.RUNNING) {
+            int board = game.getCurrentPlayerTurn();
+            Move move = bots[board - 1].chooseMove(game, board).join();
+            if (move == null || !game.makeMove(move)) break; // cannot happen while the board has safe cells
+            game.switchTurn();
+        }
+    }
+
+    /** SplitMix64 finalizer over seed and index: independent seeds for consecutive indices. */
+    static long mix(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays games [from, to), splitting the range in halves until it is small.
+     */
+    private final class SimulationTask extends RecursiveTask<Stats> {
+        private final GameRules rules;
+        private final int from;
+        private final int to;
+
+        SimulationTask(GameRules rules, int from, int to) {
+            this.rules = rules;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= LEAF_GAMES) {
+                Stats stats = new Stats();
+                Game game = new Game(rules, List.of(new Player("Bot 1"), new Player("Bot 2")),
+                        new RoundRobinScheduler(), null);
+                game.setQuiet(true);
+                for (int i = from; i < to; i++) {
+                    play(game, rules, i, stats);
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(rules, from, mid);
+            left.fork();
+            Stats right = new SimulationTask(rules, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Results of the games of one parameter set. Not thread-safe: each task fills its own
+     * and they are merged when the tasks join.
+     */
+    public static final class Stats {
+        private long games;
+        private long wins;
+        private long livesLeft;
+        private long scoreSum;
+        private final TreeMap<Integer, Long> scores = new TreeMap<>(); // score -> number of games
+
+        void add(boolean won, int lives, int score) {
+            games++;
+            if (won) wins++;
+            livesLeft += Math.max(lives, 0);
+            scoreSum += score;
+            scores.merge(score, 1L, Long::sum);
+        }
+
+        Stats merge(Stats other) {
+            games += other.games;
+            wins += other.wins;
+            livesLeft += other.livesLeft;
+            scoreSum += other.scoreSum;
+            for (Map.Entry<Integer, Long> entry : other.scores.entrySet()) {
+                scores.merge(entry.getKey(), entry.getValue(), Long::sum);
+            }
+            return this;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public double getWinRate() {
+            return games == 0 ? 0 : wins / (double) games;
+        }
+
+        /** Average lives left at the end, over all games (lost games count as 0). */
+        public double getAverageLivesLeft() {
+            return games == 0 ? 0 : livesLeft / (double) games;
+        }
+
+        public double getAverageScore() {
+            return games == 0 ? 0 : scoreSum / (double) games;
+        }
+
+        /** Smallest score that at least the given fraction of games did not exceed. */
+        public int getScorePercentile(double fraction) {
+            long target = (long) Math.ceil(fraction * games);
+            long seen = 0;
+            for (Map.Entry<Integer, Long> entry : scores.entrySet()) {
+                seen += entry.getValue();
+                if (seen >= target) return entry.getKey();
+            }
+            return scores.isEmpty() ? 0 : scores.lastKey();
+        }
+
+        public int getMinScore() {
+            return scores.isEmpty() ? 0 : scores.firstKey();
+        }
+
+        public int getMaxScore() {
+            return scores.isEmpty() ? 0 : scores.lastKey();
+        }
+
+        /** Number of games per final score, in score order. */
+        public Map<Integer, Long> getScoreDistribution() {
+            return new TreeMap<>(scores);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: MonteCarloSimulator <EASY|MEDIUM|HARD> <games per set> <output.csv>");
+            return;
+        }
+        Difficulty difficulty = Difficulty.valueOf(args[0].toUpperCase());
+        int games = Integer.parseInt(args[1]);
+        GameRules base = GameRules.of(difficulty);
+
+        // Around the current values: lives +-2, cost x0.5..x1.5, special cells +-2
+        int lives = base.getStartingLives();
+        int cost = base.getActivationCost();
+        int questions = base.getQuestionCells();
+        int surprises = base.getSurpriseCells();
+        List<GameRules> grid = grid(base,
+                new int[]{Math.max(1, lives - 2), lives, lives + 2},
+                new int[]{Math.max(1, cost / 2), cost, cost + cost / 2},
+                new int[]{Math.max(0, questions - 2), questions, questions + 2},
+                new int[]{Math.max(0, surprises - 2), surprises, surprises + 2});
+
+        MonteCarloSimulator simulator = new MonteCarloSimulator(ForkJoinPool.commonPool(),
+                ComputerPlayer.Level.INTERMEDIATE, 1);
+        try (Writer csv = new FileWriter(args[2])) {
+            simulator.sweep(grid, games, csv);
+        }
+        System.err.println("Wrote " + grid.size() + " parameter sets to " + args[2]);
+    }
+}
@@ -0,0 +1,51 @@
+package Model;
+
+/**
+ * A single player action on one of the boards.
+ * Moves are what gets recorded into replays and applied again when a replay is played back.
+ */
+public final class Move {
+
+    public enum Type { REVEAL, FLAG }
+
+    private final Type type;
+    private final int boardNumber;   // 1-based board index
+    private final int row;
+    private final int col;
+
+    public Move(Type type, int boardNumber, int row, int col) {
+        this.type = type;
+        this.boardNumber = boardNumber;
+        this.row = row;
+        this.col = col;
+    }
+
+    public static Move reveal(int boardNumber, int row, int col) {
+        return new Move(Type.REVEAL, boardNumber, row, col);
+    }
+
+    public static Move flag(int boardNumber, int row, int col) {
+        return new Move(Type.FLAG, boardNumber, row, col);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getBoardNumber() {
+        return boardNumber;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    @Override
+    public String toString() {
+        return type + " board " + boardNumber + " (" + row + "," + col + ")";
+    }
+}
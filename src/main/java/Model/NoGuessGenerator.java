@@ -0,0 +1,496 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates layouts that can be solved by logic alone, starting from the first clicked cell.
+ *
+ * Several workers generate random candidates and run a solver on each one (the same rules
+ * as {@link HintSolver}: single cell and subset rules, plus the global mine count). Candidates
+ * are numbered and each one is drawn from its own seed, so the result is the lowest-numbered
+ * candidate that passes, whichever worker finds it: the same seed and click always give the same
+ * board, which replays rely on. Once a candidate passes, the workers stop taking new candidates.
+ *
+ * If no candidate passes within the time limit, a random layout with a safe start is
+ * returned and marked as not guaranteed, so a game always starts.
+ */
+public class NoGuessGenerator {
+
+    // Content codes of a layout
+    public static final byte NONE = 0;       // EMPTY or NUMBER, decided by the mines around it
+    public static final byte MINE = 1;
+    public static final byte QUESTION = 2;
+    public static final byte SURPRISE = 3;
+
+    /** Candidate number of a plain random layout (drawn from the board seed itself). */
+    public static final int RANDOM_CANDIDATE = -1;
+
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 5000;
+
+    private static final NoGuessGenerator SHARED = new NoGuessGenerator(
+            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                Thread t = new Thread(r, "no-guess-generator");
+                t.setDaemon(true);
+                return t;
+            }),
+            Runtime.getRuntime().availableProcessors());
+
+    private final ExecutorService executor;
+    private final int workers;
+
+    /**
+     * @param workers number of candidates tested at the same time
+     */
+    public NoGuessGenerator(ExecutorService executor, int workers) {
+        this.executor = executor;
+        this.workers = Math.max(1, workers);
+    }
+
+    /** Generator using one worker per core. */
+    public static NoGuessGenerator shared() {
+        return SHARED;
+    }
+
+    /**
+     * Generates a layout for a square board that is solvable from (startRow, startCol); blocks
+     * until a candidate passes or the time limit is reached.
+     */
+    public Layout generate(int rows, int cols, int mines, int questions, int surprises,
+                           int startRow, int startCol, long seed, long timeLimitMillis) {
+        return generate(Topology.of(Topology.Shape.SQUARE, rows, cols), mines, questions, surprises,
+                startRow, startCol, seed, timeLimitMillis);
+    }
+
+    /**
+     * Generates a layout for a board of any shape that is solvable from (startRow, startCol);
+     * blocks until a candidate passes or the time limit is reached.
+     */
+    public Layout generate(Topology topology, int mines, int questions, int surprises,
+                           int startRow, int startCol, long seed, long timeLimitMillis) {
+        long start = System.nanoTime();
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger tested = new AtomicInteger();
+        AtomicInteger winner = new AtomicInteger(Integer.MAX_VALUE);
+
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            tasks.add(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    int candidate = next.getAndIncrement();
+                    if (candidate > winner.get()) break; // a lower candidate already passed
+                    byte[] contents = randomContents(topology, mines, questions, surprises, startRow, startCol,
+                            new SplittableRandom(candidateSeed(seed, candidate)));
+                    tested.incrementAndGet();
+                    if (isSolvable(contents, topology, mines, startRow, startCol)) {
+                        winner.accumulateAndGet(candidate, Math::min);
+                        break;
+                    }
+                }
+                return null;
+            });
+        }
+
+        try {
+            executor.invokeAll(tasks, timeLimitMillis, TimeUnit.MILLISECONDS); // cancels the rest on timeout
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int found = winner.get();
+        boolean guaranteed = found != Integer.MAX_VALUE;
+        // Candidates are cheap to draw again, so only the winner's number is kept
+        int candidate = guaranteed ? found : RANDOM_CANDIDATE;
+        byte[] contents = randomContents(topology, mines, questions, surprises, startRow, startCol,
+                candidateRandom(seed, candidate));
+        return new Layout(topology.getRows(), topology.getCols(), contents, startRow, startCol, guaranteed, candidate,
+                tested.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * Draws the given candidate again without searching: the layout {@link #generate} returned
+     * with this seed, start cell and {@link Layout#getCandidate()}. Replays and journals store the
+     * candidate number, because a search that hit its time limit may not find the same one again.
+     */
+    public static Layout candidateLayout(Topology topology, int mines, int questions, int surprises,
+                                         int startRow, int startCol, long seed, int candidate) {
+        byte[] contents = randomContents(topology, mines, questions, surprises, startRow, startCol,
+                candidateRandom(seed, candidate));
+        return new Layout(topology.getRows(), topology.getCols(), contents, startRow, startCol,
+                candidate != RANDOM_CANDIDATE, candidate, 0, 0);
+    }
+
+    /**
+     * Plain random layout with a safe area around the first click: the cell and its neighbours
+     * (no solvability check).
+     */
+    public static Layout randomLayout(Topology topology, int mines, int questions, int surprises,
+                                      int startRow, int startCol, SplittableRandom random) {
+        byte[] contents = randomContents(topology, mines, questions, surprises, startRow, startCol, random);
+        return new Layout(topology.getRows(), topology.getCols(), contents, startRow, startCol, false,
+                RANDOM_CANDIDATE, 1, 0);
+    }
+
+    private static SplittableRandom candidateRandom(long seed, int candidate) {
+        return new SplittableRandom(candidate == RANDOM_CANDIDATE ? seed : candidateSeed(seed, candidate));
+    }
+
+    /** Independent seed per candidate number (SplitMix64 finalizer). */
+    private static long candidateSeed(long seed, int candidate) {
+        long z = seed + (candidate + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Random layout with nothing but plain cells on the start cell and its neighbours
+     * (falls back to keeping only the start cell itself free on very dense boards).
+     */
+    static byte[] randomContents(Topology topology, int mines, int questions, int surprises,
+                                 int startRow, int startCol, SplittableRandom random) {
+        int size = topology.getRows() * topology.getCols();
+        int startId = startRow * topology.getCols() + startCol;
+        byte[] contents = new byte[size];
+        boolean[] reserved = new boolean[size];
+        reserved[startId] = true;
+        int free = size - 1;
+        for (int k = topology.start[startId]; k < topology.start[startId + 1]; k++) {
+            reserved[topology.neighbors[k]] = true;
+            free--;
+        }
+        if (free < mines + questions + surprises) {
+            Arrays.fill(reserved, false);
+            reserved[startId] = true;
+        }
+
+        place(contents, reserved, mines, MINE, random);
+        place(contents, reserved, questions, QUESTION, random);
+        place(contents, reserved, surprises, SURPRISE, random);
+        return contents;
+    }
+
+    private static void place(byte[] contents, boolean[] reserved, int count, byte type, SplittableRandom random) {
+        int placed = 0;
+        while (placed < count) {
+            int id = random.nextInt(contents.length);
+            if (contents[id] == NONE && !reserved[id]) {
+                contents[id] = type;
+                placed++;
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Solver
+    // ------------------------------------------------------------------
+
+    /**
+     * True if a player who starts at the given cell of a square board can reveal every safe cell
+     * without guessing.
+     */
+    public static boolean isSolvable(byte[] contents, int rows, int cols, int mines, int startRow, int startCol) {
+        return isSolvable(contents, Topology.of(Topology.Shape.SQUARE, rows, cols), mines, startRow, startCol);
+    }
+
+    /**
+     * True if a player who starts at the given cell can reveal every safe cell without guessing,
+     * on a board of any shape.
+     */
+    public static boolean isSolvable(byte[] contents, Topology topology, int mines, int startRow, int startCol) {
+        return new Simulation(contents, topology, mines).solveFrom(startRow * topology.getCols() + startCol);
+    }
+
+    /**
+     * Plays a layout with logic only: reveals (with flood fill for zeros) every cell proven safe
+     * and marks every cell proven to be a mine, until it is done or stuck.
+     */
+    private static final class Simulation {
+        private final int[] neighborStart; // neighbour table of the topology (see Topology)
+        private final int[] neighbors;
+        private final int mines;
+        private final boolean[] mine;
+        private final int[] value;        // adjacent mines, -1 for question/surprise cells (they show no number)
+        private final boolean[] revealed;
+        private final boolean[] marked;   // proven mines
+        private int safeLeft;
+        private int markedCount;
+
+        private final int[] queue;
+        private int queueSize;
+        private final boolean[] queued;
+        private int[] stack = new int[64];
+
+        // Scratch space for one constraint (at most 8 neighbours each) and the numbers sharing its cells
+        private final int[] unknownA = new int[8];
+        private final int[] unknownB = new int[8];
+        private final int[] nearby = new int[64];
+
+        Simulation(byte[] contents, Topology topology, int mines) {
+            this.neighborStart = topology.start;
+            this.neighbors = topology.neighbors;
+            this.mines = mines;
+            int n = topology.getRows() * topology.getCols();
+            this.mine = new boolean[n];
+            this.value = new int[n];
+            this.revealed = new boolean[n];
+            this.marked = new boolean[n];
+            this.queued = new boolean[n];
+            this.queue = new int[n];
+            for (int id = 0; id < n; id++) {
+                mine[id] = contents[id] == MINE;
+            }
+            for (int id = 0; id < n; id++) {
+                if (contents[id] == QUESTION || contents[id] == SURPRISE) {
+                    value[id] = -1;
+                } else if (!mine[id]) {
+                    value[id] = countAround(id, mine);
+                }
+            }
+            this.safeLeft = n - mines;
+        }
+
+        boolean solveFrom(int start) {
+            if (mine[start]) return false;
+            reveal(start);
+            while (safeLeft > 0) {
+                while (queueSize > 0 && safeLeft > 0) {
+                    int id = queue[--queueSize];
+                    queued[id] = false;
+                    examine(id);
+                }
+                if (safeLeft > 0 && !applyMineCount()) return false; // stuck: a guess would be needed
+            }
+            return true;
+        }
+
+        /** Global rule: all mines found -> every unknown is safe; unknowns == mines left -> all mines. */
+        private boolean applyMineCount() {
+            int unknown = 0;
+            for (int id = 0; id < mine.length; id++) {
+                if (!revealed[id] && !marked[id]) unknown++;
+            }
+            int minesLeft = mines - markedCount;
+            if (minesLeft != 0 && minesLeft != unknown) return false;
+            for (int id = 0; id < mine.length; id++) {
+                if (revealed[id] || marked[id]) continue;
+                if (minesLeft == 0) reveal(id);
+                else mark(id);
+            }
+            return true;
+        }
+
+        /** Same rules as HintSolver.examine. */
+        private void examine(int id) {
+            int unknown = unknownNeighbours(id, unknownA);
+            if (unknown == 0) return;
+            int missing = missingMines(id);
+
+            if (missing == 0 || missing == unknown) {
+                for (int i = 0; i < unknown; i++) {
+                    if (missing == 0) reveal(unknownA[i]);
+                    else mark(unknownA[i]);
+                }
+                return;
+            }
+
+            int others = sharingNumbers(id, unknownA, unknown, nearby);
+            for (int i = 0; i < others; i++) {
+                int other = nearby[i];
+                int otherUnknown = unknownNeighbours(other, unknownB);
+                if (otherUnknown == 0) continue;
+                int otherMissing = missingMines(other);
+
+                if (otherUnknown > unknown && isSubset(unknownA, unknown, unknownB, otherUnknown)) {
+                    applyDifference(unknownB, otherUnknown, unknownA, unknown, otherMissing - missing);
+                } else if (unknown > otherUnknown && isSubset(unknownB, otherUnknown, unknownA, unknown)) {
+                    applyDifference(unknownA, unknown, unknownB, otherUnknown, missing - otherMissing);
+                }
+                unknown = unknownNeighbours(id, unknownA);
+                if (unknown == 0) return;
+                missing = missingMines(id);
+            }
+        }
+
+        /** Numbers other than id next to one of its unknown cells, written to out; returns how many. */
+        private int sharingNumbers(int id, int[] unknown, int unknownCount, int[] out) {
+            int n = 0;
+            for (int i = 0; i < unknownCount; i++) {
+                int cell = unknown[i];
+                for (int k = neighborStart[cell]; k < neighborStart[cell + 1]; k++) {
+                    int other = neighbors[k];
+                    if (other != id && isConstraint(other) && !contains(out, n, other)) out[n++] = other;
+                }
+            }
+            return n;
+        }
+
+        private void applyDifference(int[] big, int bigSize, int[] small, int smallSize, int diffMines) {
+            int diffSize = bigSize - smallSize;
+            if (diffMines != 0 && diffMines != diffSize) return;
+            for (int i = 0; i < bigSize; i++) {
+                if (contains(small, smallSize, big[i])) continue;
+                if (diffMines == 0) reveal(big[i]);
+                else mark(big[i]);
+            }
+        }
+
+        /** Reveals a safe cell; zeros open their neighbours like Board's opening flood. */
+        private void reveal(int start) {
+            if (revealed[start] || marked[start]) return;
+            int size = 0;
+            stack[size++] = start;
+            while (size > 0) {
+                int id = stack[--size];
+                if (revealed[id]) continue;
+                revealed[id] = true;
+                safeLeft--;
+                enqueue(id);
+
+                for (int k = neighborStart[id]; k < neighborStart[id + 1]; k++) {
+                    int other = neighbors[k];
+                    enqueue(other);
+                    if (value[id] == 0 && !revealed[other] && !mine[other] && !marked[other]) {
+                        if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+                        stack[size++] = other;
+                    }
+                }
+            }
+        }
+
+        private void mark(int id) {
+            if (revealed[id] || marked[id]) return;
+            marked[id] = true;
+            markedCount++;
+            for (int k = neighborStart[id]; k < neighborStart[id + 1]; k++) {
+                enqueue(neighbors[k]);
+            }
+        }
+
+        private boolean isConstraint(int id) {
+            return revealed[id] && value[id] >= 0;
+        }
+
+        private void enqueue(int id) {
+            if (queued[id] || !isConstraint(id)) return;
+            queue[queueSize++] = id;
+            queued[id] = true;
+        }
+
+        private int unknownNeighbours(int id, int[] out) {
+            int n = 0;
+            for (int k = neighborStart[id]; k < neighborStart[id + 1]; k++) {
+                int other = neighbors[k];
+                if (!revealed[other] && !marked[other]) out[n++] = other;
+            }
+            return n;
+        }
+
+        private int missingMines(int id) {
+            return value[id] - countAround(id, marked);
+        }
+
+        private int countAround(int id, boolean[] set) {
+            int count = 0;
+            for (int k = neighborStart[id]; k < neighborStart[id + 1]; k++) {
+                if (set[neighbors[k]]) count++;
+            }
+            return count;
+        }
+
+        private static boolean isSubset(int[] small, int smallSize, int[] big, int bigSize) {
+            for (int i = 0; i < smallSize; i++) {
+                if (!contains(big, bigSize, small[i])) return false;
+            }
+            return true;
+        }
+
+        private static boolean contains(int[] ids, int size, int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) return true;
+            }
+            return false;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Result
+    // ------------------------------------------------------------------
+
+    /**
+     * A generated layout: content code per cell (row-major) and the cell to start from.
+     */
+    public static final class Layout {
+        private final int rows;
+        private final int cols;
+        private final byte[] contents;
+        private final int startRow;
+        private final int startCol;
+        private final boolean guaranteed;
+        private final int candidate;
+        private final int candidates;
+        private final long elapsedNanos;
+
+        Layout(int rows, int cols, byte[] contents, int startRow, int startCol, boolean guaranteed,
+               int candidate, int candidates, long elapsedNanos) {
+            this.rows = rows;
+            this.cols = cols;
+            this.contents = contents;
+            this.startRow = startRow;
+            this.startCol = startCol;
+            this.guaranteed = guaranteed;
+            this.candidate = candidate;
+            this.candidates = candidates;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public byte getContent(int row, int col) {
+            return contents[row * cols + col];
+        }
+
+        public int getStartRow() {
+            return startRow;
+        }
+
+        public int getStartCol() {
+            return startCol;
+        }
+
+        /** False for plain random layouts, or if the time limit ran out before a candidate passed. */
+        public boolean isGuaranteed() {
+            return guaranteed;
+        }
+
+        /**
+         * Number of the candidate this layout is, or RANDOM_CANDIDATE for a random layout drawn from
+         * the seed itself. With the seed and start cell it gives the layout back (see candidateLayout).
+         */
+        public int getCandidate() {
+            return candidate;
+        }
+
+        /** Number of candidates generated and tested (by all workers). */
+        public int getCandidates() {
+            return candidates;
+        }
+
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getCols() {
+            return cols;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fork-join reveal of one large opening, used by Board above {@link Board#PARALLEL_REVEAL_CELLS}.
+ *
+ * Cells are claimed in a bitmap of atomic long words, so every cell is revealed by exactly one task;
+ * each task counts the cells it claimed and the counts are summed when the tasks join. The board then
+ * reads the claimed cells back in index order (reveal log, special cells), so the outcome does not
+ * depend on the number of threads or on which task got to a cell first.
+ */
+final class ParallelReveal {
+
+    // Work units at or below these sizes are done by one task
+    private static final int LEAF_RUNS = 128;
+    private static final int LEAF_CELLS = 512;
+
+    private final Cell[][] cells;
+    private final int cols;
+    private final int[] start;      // neighbour table of the board's topology
+    private final int[] neighbors;
+    private final ForkJoinPool pool;
+    private final AtomicLongArray claimed;
+
+    ParallelReveal(Cell[][] cells, Topology topology, ForkJoinPool pool) {
+        this.cells = cells;
+        this.cols = topology.getCols();
+        this.start = topology.start;
+        this.neighbors = topology.neighbors;
+        this.pool = pool;
+        this.claimed = new AtomicLongArray((topology.getRows() * cols + 63) >>> 6);
+    }
+
+    /**
+     * Reveals the hidden cells of an opening's runs (start index, length pairs, see Board.indexOpenings).
+     * Returns the number of cells revealed.
+     */
+    int revealRuns(int[] runs) {
+        return pool.invoke(new RunTask(runs, 0, runs.length / 2));
+    }
+
+    /**
+     * Flood from an empty cell: reveals hidden safe cells next to revealed empty cells, never entering
+     * flagged cells. The frontier of each step is split over the pool. Returns the number of cells revealed.
+     */
+    int flood(int row, int col) {
+        int start = row * cols + col;
+        claim(start);
+        cells[row][col].reveal();
+        int count = 1;
+        Frontier frontier = new Frontier(new int[]{start}, 1, 0);
+        while (frontier.size > 0) {
+            frontier = pool.invoke(new ExpandTask(frontier.cells, 0, frontier.size));
+            count += frontier.claimed;
+        }
+        return count;
+    }
+
+    /** Indices of the claimed cells in ascending order. */
+    int[] claimedCells(int count) {
+        int[] result = new int[count];
+        int n = 0;
+        for (int word = 0; word < claimed.length(); word++) {
+            long bits = claimed.get(word);
+            while (bits != 0) {
+                result[n++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    /** Sets the cell's bit; false if another task claimed it first. */
+    private boolean claim(int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        long current;
+        do {
+            current = claimed.get(word);
+            if ((current & bit) != 0) return false;
+        } while (!claimed.compareAndSet(word, current, current | bit));
+        return true;
+    }
+
+    /** Reveals runs [from, to) of an opening. */
+    private final class RunTask extends RecursiveTask<Integer> {
+        private final int[] runs;
+        private final int from;
+        private final int to;
+
+        RunTask(int[] runs, int from, int to) {
+            this.runs = runs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= LEAF_RUNS) {
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    int row = runs[2 * i] / cols;
+                    int col = runs[2 * i] % cols;
+                    for (int j = 0; j < runs[2 * i + 1]; j++) {
+                        Cell cell = cells[row][col + j];
+                        if (!cell.isRevealed() && claim(runs[2 * i] + j)) {
+                            cell.reveal();
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            }
+            int mid = (from + to) >>> 1;
+            RunTask left = new RunTask(runs, from, mid);
+            left.fork();
+            int right = new RunTask(runs, mid, to).compute();
+            return left.join() + right;
+        }
+    }
+
+    /** Expands frontier cells [from, to): claims their neighbours and returns the empty ones. */
+    private final class ExpandTask extends RecursiveTask<Frontier> {
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+
+        ExpandTask(int[] frontier, int from, int to) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Frontier compute() {
+            if (to - from <= LEAF_CELLS) {
+                Frontier next = new Frontier(new int[16], 0, 0);
+                for (int i = from; i < to; i++) {
+                    for (int k = start[frontier[i]]; k < start[frontier[i] + 1]; k++) {
+                        int index = neighbors[k];
+                        Cell cell = cells[index / cols][index % cols];
+                        if (cell.isMine() || cell.isFlagged() || cell.isRevealed()) continue;
+                        if (!claim(index)) continue;
+                        cell.reveal();
+                        next.claimed++;
+                        if (cell.getContent() == Cell.CellContent.EMPTY) next.add(index);
+                    }
+                }
+                return next;
+            }
+            int mid = (from + to) >>> 1;
+            ExpandTask left = new ExpandTask(frontier, from, mid);
+            left.fork();
+            Frontier right = new ExpandTask(frontier, mid, to).compute();
+            return left.join().append(right);
+        }
+    }
+
+    /** Empty cells claimed in one step (to expand next) and the number of cells claimed. */
+    private static final class Frontier {
+        int[] cells;
+        int size;
+        int claimed;
+
+        Frontier(int[] cells, int size, int claimed) {
+            this.cells = cells;
+            this.size = size;
+            this.claimed = claimed;
+        }
+
+        void add(int index) {
+            if (size == cells.length) cells = Arrays.copyOf(cells, size * 2);
+            cells[size++] = index;
+        }
+
+        Frontier append(Frontier other) {
+            if (size + other.size > cells.length) cells = Arrays.copyOf(cells, size + other.size);
+            System.arraycopy(other.cells, 0, cells, size, other.size);
+            size += other.size;
+            claimed += other.claimed;
+            return this;
+        }
+    }
+}
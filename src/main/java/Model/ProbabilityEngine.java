@@ -0,0 +1,745 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exact mine probability of every hidden cell, from what the player can see
+ * (revealed numbers, revealed mines and the total number of mines; flags are ignored).
+ *
+ * How it works:
+ * <ol>
+ *   <li>Hidden cells next to a revealed number form the frontier. Frontier cells that share
+ *       a number are linked; each connected group is an independent component.</li>
+ *   <li>Each component's solutions are enumerated by backtracking on a ForkJoinPool (the first
+ *       branches of large components are forked), counting solutions and per-cell mines by the
+ *       number of mines used. Results are memoized by component, so components a move did not
+ *       touch are not enumerated again.</li>
+ *   <li>Components are combined by convolving their mine-count distributions; every total is
+ *       weighted by C(off-frontier cells, remaining mines - frontier mines), which also gives the
+ *       probability of every cell off the frontier.</li>
+ * </ol>
+ * Enumeration stops when the time budget is used up; unfinished components are then estimated
+ * from random solutions and the result is marked as not exact. {@link #computeWithNodeLimit}
+ * bounds the work instead of the time, so its result does not depend on the machine or its load.
+ */
+public class ProbabilityEngine {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+
+    private static final int SPLIT_DEPTH = 6;       // fork both branches above this depth
+    private static final int MIN_SPLIT_VARS = 20;   // ... if this many cells are still unassigned
+    private static final int CHECK_INTERVAL = 4096; // nodes between two deadline checks
+    private static final int MAX_SAMPLES = 5000;
+    private static final int SAMPLE_NODE_LIMIT = 20_000;
+
+    private final ForkJoinPool pool;
+    private final Map<String, ComponentSolution> cache;
+
+    public ProbabilityEngine() {
+        this(ForkJoinPool.commonPool(), 256);
+    }
+
+    /**
+     * @param cacheSize number of solved components to remember
+     */
+    public ProbabilityEngine(ForkJoinPool pool, int cacheSize) {
+        this.pool = pool;
+        this.cache = new LinkedHashMap<>(cacheSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ComponentSolution> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public Result compute(Board board, long budgetMillis) {
+        return compute(Snapshot.of(board), budgetMillis);
+    }
+
+    /**
+     * Computes the probabilities of a snapshot; may run on any thread.
+     */
+    public Result compute(Snapshot snapshot, long budgetMillis) {
+        long start = System.nanoTime();
+        long budget = Math.max(1, budgetMillis) * 1_000_000L;
+        // Most of the budget for exact enumeration, the rest for sampling if needed
+        return compute(snapshot, start + budget * 3 / 4, start + budget, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Computes the probabilities of a snapshot without a clock: a component whose enumeration
+     * needs more than maxNodes search nodes in one task is estimated from MAX_SAMPLES random
+     * solutions. The result depends only on the snapshot; may run on any thread.
+     */
+    public Result computeWithNodeLimit(Snapshot snapshot, int maxNodes) {
+        return compute(snapshot, Long.MAX_VALUE, Long.MAX_VALUE, Math.max(1, maxNodes));
+    }
+
+    private Result compute(Snapshot snapshot, long exactDeadline, long finalDeadline, int maxNodes) {
+        Problem problem = new Problem(snapshot);
+        List<Component> components = problem.components();
+        ComponentSolution[] solutions = new ComponentSolution[components.size()];
+        boolean exact = true;
+
+        // Fork all components at once, then collect
+        List<EnumerateTask> tasks = new ArrayList<>();
+        List<Deadline> deadlines = new ArrayList<>();
+        for (int i = 0; i < components.size(); i++) {
+            Component component = components.get(i);
+            ComponentSolution cached;
+            synchronized (cache) {
+                cached = cache.get(component.key);
+            }
+            // One deadline per component: a component is exact unless its own search ran out of time
+            Deadline deadline = new Deadline(exactDeadline, maxNodes);
+            deadlines.add(deadline);
+            if (cached != null) {
+                solutions[i] = cached;
+                tasks.add(null);
+            } else {
+                tasks.add(EnumerateTask.root(component, deadline));
+            }
+        }
+        for (EnumerateTask task : tasks) {
+            if (task != null) pool.execute(task);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            EnumerateTask task = tasks.get(i);
+            if (task == null) continue;
+            ComponentSolution solution = task.join();
+            if (deadlines.get(i).expired) {
+                exact = false;
+                solutions[i] = sample(components.get(i), finalDeadline, new SplittableRandom(i));
+            } else {
+                solutions[i] = solution;
+                synchronized (cache) {
+                    cache.put(components.get(i).key, solution);
+                }
+            }
+        }
+
+        return combine(problem, components, solutions, exact);
+    }
+
+    // ------------------------------------------------------------------
+    // Combining components
+    // ------------------------------------------------------------------
+
+    private static Result combine(Problem problem, List<Component> components,
+                                  ComponentSolution[] solutions, boolean exact) {
+        int offFrontier = problem.offFrontierCount;
+        // Components without any sampled solution are treated like cells off the frontier
+        List<Integer> used = new ArrayList<>();
+        for (int i = 0; i < solutions.length; i++) {
+            if (solutions[i] != null) used.add(i);
+            else offFrontier += components.get(i).size();
+        }
+
+        int n = used.size();
+        Distribution[] prefix = new Distribution[n + 1];
+        Distribution[] suffix = new Distribution[n + 1];
+        prefix[0] = Distribution.ONE;
+        suffix[n] = Distribution.ONE;
+        for (int i = 0; i < n; i++) {
+            prefix[i + 1] = prefix[i].convolve(solutions[used.get(i)].counts);
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            suffix[i] = suffix[i + 1].convolve(solutions[used.get(i)].counts);
+        }
+
+        double[] logFactorial = logFactorials(problem.hiddenCount + 1);
+        int remaining = problem.remainingMines;
+        Distribution total = prefix[n];
+
+        // log weight of each total number of frontier mines
+        double[] logWeights = new double[total.values.length];
+        double logZ = Double.NEGATIVE_INFINITY;
+        for (int t = 0; t < logWeights.length; t++) {
+            logWeights[t] = total.log(t) + logChoose(logFactorial, offFrontier, remaining - t);
+            logZ = logAdd(logZ, logWeights[t]);
+        }
+
+        float[] probabilities = new float[problem.rows * problem.cols];
+        Arrays.fill(probabilities, Float.NaN);
+        if (logZ == Double.NEGATIVE_INFINITY) {
+            // Inconsistent position (should not happen): fall back to the global density
+            float density = problem.hiddenCount == 0 ? 0f : (float) remaining / problem.hiddenCount;
+            for (int id : problem.hiddenCells) probabilities[id] = density;
+            return new Result(problem.rows, problem.cols, probabilities, false);
+        }
+
+        double offProbability = 0;
+        if (offFrontier > 0) {
+            for (int t = 0; t < logWeights.length; t++) {
+                offProbability += Math.exp(logWeights[t] - logZ) * (remaining - t) / offFrontier;
+            }
+        }
+        for (int id : problem.hiddenCells) probabilities[id] = (float) offProbability;
+
+        for (int u = 0; u < n; u++) {
+            int index = used.get(u);
+            Component component = components.get(index);
+            ComponentSolution solution = solutions[index];
+            Distribution others = prefix[u].convolve(suffix[u + 1]);
+
+            for (int v = 0; v < component.size(); v++) {
+                double p = 0;
+                for (int k = 0; k < solution.mineCounts.length; k++) {
+                    double[] mines = solution.mineCounts[k];
+                    if (mines == null || mines[v] == 0) continue;
+                    for (int t = 0; t < others.values.length; t++) {
+                        double logTerm = Math.log(mines[v]) + others.log(t)
+                                + logChoose(logFactorial, offFrontier, remaining - k - t);
+                        p += Math.exp(logTerm - logZ);
+                    }
+                }
+                probabilities[component.cells[v]] = (float) Math.min(1.0, p);
+            }
+        }
+        return new Result(problem.rows, problem.cols, probabilities, exact);
+    }
+
+    private static double[] logFactorials(int n) {
+        double[] table = new double[n + 1];
+        for (int i = 2; i <= n; i++) table[i] = table[i - 1] + Math.log(i);
+        return table;
+    }
+
+    private static double logChoose(double[] logFactorial, int n, int k) {
+        if (k < 0 || k > n) return Double.NEGATIVE_INFINITY;
+        return logFactorial[n] - logFactorial[k] - logFactorial[n - k];
+    }
+
+    private static double logAdd(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY) return b;
+        if (b == Double.NEGATIVE_INFINITY) return a;
+        double max = Math.max(a, b);
+        return max + Math.log(Math.exp(a - max) + Math.exp(b - max));
+    }
+
+    /**
+     * Non-negative weights by mine count, stored as values * e^logScale to avoid overflow.
+     */
+    private static final class Distribution {
+        static final Distribution ONE = new Distribution(new double[]{1}, 0);
+
+        final double[] values;
+        final double logScale;
+
+        Distribution(double[] values, double logScale) {
+            this.values = values;
+            this.logScale = logScale;
+        }
+
+        double log(int index) {
+            double v = values[index];
+            return v > 0 ? Math.log(v) + logScale : Double.NEGATIVE_INFINITY;
+        }
+
+        Distribution convolve(double[] other) {
+            return convolve(other, 0);
+        }
+
+        Distribution convolve(Distribution other) {
+            return convolve(other.values, other.logScale);
+        }
+
+        private Distribution convolve(double[] other, double otherLogScale) {
+            double[] result = new double[values.length + other.length - 1];
+            double max = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == 0) continue;
+                for (int j = 0; j < other.length; j++) {
+                    result[i + j] += values[i] * other[j];
+                }
+            }
+            for (double v : result) max = Math.max(max, v);
+            if (max == 0) return new Distribution(result, 0);
+            for (int i = 0; i < result.length; i++) result[i] /= max;
+            return new Distribution(result, logScale + otherLogScale + Math.log(max));
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Enumeration
+    // ------------------------------------------------------------------
+
+    /**
+     * Solution counts of one component, by number of mines used. The per-cell counts are kept
+     * only for the mine counts that occur, so a solution costs O(vars) plus one row per such k.
+     */
+    private static final class ComponentSolution {
+        final double[] counts;       // [k] = number of solutions with k mines
+        final double[][] mineCounts; // [k][var] = number of those solutions where var is a mine (null: none)
+
+        ComponentSolution(int vars) {
+            this.counts = new double[vars + 1];
+            this.mineCounts = new double[vars + 1][];
+        }
+
+        void addSolution(byte[] assignment, int mines) {
+            counts[mines]++;
+            double[] row = mineCounts[mines];
+            if (row == null) {
+                row = new double[assignment.length];
+                mineCounts[mines] = row;
+            }
+            for (int v = 0; v < assignment.length; v++) {
+                if (assignment[v] == 1) row[v]++;
+            }
+        }
+
+        void add(ComponentSolution other) {
+            for (int k = 0; k < counts.length; k++) {
+                counts[k] += other.counts[k];
+                double[] row = other.mineCounts[k];
+                if (row == null) continue;
+                if (mineCounts[k] == null) {
+                    mineCounts[k] = row.clone();
+                } else {
+                    for (int v = 0; v < row.length; v++) mineCounts[k][v] += row[v];
+                }
+            }
+        }
+    }
+
+    private static final class Deadline {
+        final long nanos;
+        final int maxNodes;          // per task, so the limit is reached the same way on any thread
+        volatile boolean expired;
+
+        Deadline(long nanos, int maxNodes) {
+            this.nanos = nanos;
+            this.maxNodes = maxNodes;
+        }
+    }
+
+    /**
+     * Counts the solutions below one partial assignment. Above SPLIT_DEPTH the two values
+     * of the next cell are explored as separate forked tasks.
+     */
+    private static final class EnumerateTask extends RecursiveTask<ComponentSolution> {
+        private final Component component;
+        private final Deadline deadline;
+        private final int depth;
+        private final byte[] assignment;
+        private final int[] missing;     // per constraint: mines still needed
+        private final int[] unassigned;  // per constraint: cells not assigned yet
+        private final int mines;
+        private int nodes;
+
+        private EnumerateTask(Component component, Deadline deadline, int depth, byte[] assignment,
+                              int[] missing, int[] unassigned, int mines) {
+            this.component = component;
+            this.deadline = deadline;
+            this.depth = depth;
+            this.assignment = assignment;
+            this.missing = missing;
+            this.unassigned = unassigned;
+            this.mines = mines;
+        }
+
+        static EnumerateTask root(Component component, Deadline deadline) {
+            int[] unassigned = new int[component.targets.length];
+            for (int c = 0; c < unassigned.length; c++) unassigned[c] = component.constraintVars[c].length;
+            return new EnumerateTask(component, deadline, 0, new byte[component.size()],
+                    component.targets.clone(), unassigned, 0);
+        }
+
+        @Override
+        protected ComponentSolution compute() {
+            if (depth < SPLIT_DEPTH && component.size() - depth >= MIN_SPLIT_VARS) {
+                List<EnumerateTask> children = new ArrayList<>(2);
+                for (int value = 0; value <= 1; value++) {
+                    if (!fits(depth, value, missing, unassigned)) continue;
+                    byte[] a = assignment.clone();
+                    int[] m = missing.clone();
+                    int[] u = unassigned.clone();
+                    a[depth] = (byte) value;
+                    apply(depth, value, m, u);
+                    children.add(new EnumerateTask(component, deadline, depth + 1, a, m, u, mines + value));
+                }
+                // Only the leaves allocate: the first child's result takes in the second's
+                if (children.size() == 2) {
+                    children.get(1).fork();
+                    ComponentSolution result = children.get(0).compute();
+                    result.add(children.get(1).join());
+                    return result;
+                }
+                if (children.size() == 1) return children.get(0).compute();
+                return new ComponentSolution(component.size()); // no value fits: no solution
+            }
+            ComponentSolution result = new ComponentSolution(component.size());
+            search(depth, mines, result);
+            return result;
+        }
+
+        private void search(int var, int mineCount, ComponentSolution result) {
+            if (deadline.expired) return;
+            if (++nodes > deadline.maxNodes
+                    || nodes % CHECK_INTERVAL == 0 && System.nanoTime() > deadline.nanos) {
+                deadline.expired = true;
+                return;
+            }
+            if (var == component.size()) {
+                result.addSolution(assignment, mineCount);
+                return;
+            }
+            for (int value = 0; value <= 1; value++) {
+                if (!fits(var, value, missing, unassigned)) continue;
+                assignment[var] = (byte) value;
+                apply(var, value, missing, unassigned);
+                search(var + 1, mineCount + value, result);
+                undo(var, value, missing, unassigned);
+            }
+            assignment[var] = 0;
+        }
+
+        private boolean fits(int var, int value, int[] missing, int[] unassigned) {
+            for (int c : component.varConstraints[var]) {
+                int left = missing[c] - value;
+                if (left < 0 || left > unassigned[c] - 1) return false;
+            }
+            return true;
+        }
+
+        private void apply(int var, int value, int[] missing, int[] unassigned) {
+            for (int c : component.varConstraints[var]) {
+                missing[c] -= value;
+                unassigned[c]--;
+            }
+        }
+
+        private void undo(int var, int value, int[] missing, int[] unassigned) {
+            for (int c : component.varConstraints[var]) {
+                missing[c] += value;
+                unassigned[c]++;
+            }
+        }
+    }
+
+    /**
+     * Estimates a component from random solutions (randomized depth-first search, restarted
+     * for every sample). Not uniform, but close enough once exact enumeration is out of time.
+     *
+     * @return null if not a single solution was found in time
+     */
+    private static ComponentSolution sample(Component component, long deadlineNanos, SplittableRandom random) {
+        ComponentSolution result = new ComponentSolution(component.size());
+        byte[] assignment = new byte[component.size()];
+        int found = 0;
+        for (int s = 0; s < MAX_SAMPLES && System.nanoTime() < deadlineNanos; s++) {
+            int[] missing = component.targets.clone();
+            int[] unassigned = new int[missing.length];
+            for (int c = 0; c < unassigned.length; c++) unassigned[c] = component.constraintVars[c].length;
+            int[] budget = {SAMPLE_NODE_LIMIT};
+            if (randomSolution(component, 0, assignment, missing, unassigned, random, budget)) {
+                int mines = 0;
+                for (byte value : assignment) mines += value;
+                result.addSolution(assignment, mines);
+                found++;
+            }
+        }
+        return found == 0 ? null : result;
+    }
+
+    private static boolean randomSolution(Component component, int var, byte[] assignment, int[] missing,
+                                          int[] unassigned, SplittableRandom random, int[] budget) {
+        if (var == component.size()) return true;
+        if (--budget[0] < 0) return false;
+        int first = random.nextInt(2);
+        for (int i = 0; i <= 1; i++) {
+            int value = first ^ i;
+            boolean fits = true;
+            for (int c : component.varConstraints[var]) {
+                int left = missing[c] - value;
+                if (left < 0 || left > unassigned[c] - 1) {
+                    fits = false;
+                    break;
+                }
+            }
+            if (!fits) continue;
+            for (int c : component.varConstraints[var]) {
+                missing[c] -= value;
+                unassigned[c]--;
+            }
+            assignment[var] = (byte) value;
+            if (randomSolution(component, var + 1, assignment, missing, unassigned, random, budget)) return true;
+            for (int c : component.varConstraints[var]) {
+                missing[c] += value;
+                unassigned[c]++;
+            }
+        }
+        return false;
+    }
+
+    // ------------------------------------------------------------------
+    // Problem setup
+    // ------------------------------------------------------------------
+
+    /**
+     * What the player can see of a board, copied so it can be solved on another thread.
+     */
+    public static final class Snapshot {
+        static final byte HIDDEN = -1;
+        static final byte MINE = -2;       // revealed mine
+        static final byte NO_NUMBER = -3;  // revealed question/surprise cell
+
+        final int rows;
+        final int cols;
+        final Topology topology;           // which cells are neighbours (immutable, safe to share)
+        final int totalMines;
+        final byte[] cells;                // number 0..8 for revealed EMPTY/NUMBER cells
+
+        private Snapshot(int rows, int cols, Topology topology, int totalMines, byte[] cells) {
+            this.rows = rows;
+            this.cols = cols;
+            this.topology = topology;
+            this.totalMines = totalMines;
+            this.cells = cells;
+        }
+
+        /** Copies the visible state of the board (call on the thread that plays it). */
+        public static Snapshot of(Board board) {
+            int rows = board.getRows();
+            int cols = board.getCols();
+            byte[] cells = new byte[rows * cols];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    Cell cell = board.getCell(r, c);
+                    byte value;
+                    if (!cell.isRevealed()) value = HIDDEN;
+                    else if (cell.isMine()) value = MINE;
+                    else if (cell.getContent() == Cell.CellContent.NUMBER) value = (byte) cell.getAdjacentMines();
+                    else if (cell.getContent() == Cell.CellContent.EMPTY) value = 0;
+                    else value = NO_NUMBER;
+                    cells[r * cols + c] = value;
+                }
+            }
+            return new Snapshot(rows, cols, board.getTopology(), board.getTotalMines(), cells);
+        }
+    }
+
+    /** Frontier, constraints and counts derived from a snapshot. */
+    private static final class Problem {
+        final int rows;
+        final int cols;
+        final Topology topology;
+        final int[] hiddenCells;
+        final int hiddenCount;
+        final int remainingMines;
+        int offFrontierCount;
+
+        private final int[] varOf;         // cell -> frontier index, -1 if not on the frontier
+        private final List<Integer> frontier = new ArrayList<>();
+        private final List<int[]> constraintVars = new ArrayList<>();
+        private final List<Integer> targets = new ArrayList<>();
+
+        Problem(Snapshot snapshot) {
+            this.rows = snapshot.rows;
+            this.cols = snapshot.cols;
+            this.topology = snapshot.topology;
+            byte[] cells = snapshot.cells;
+
+            int hidden = 0;
+            int revealedMines = 0;
+            for (byte value : cells) {
+                if (value == Snapshot.HIDDEN) hidden++;
+                else if (value == Snapshot.MINE) revealedMines++;
+            }
+            this.hiddenCount = hidden;
+            this.remainingMines = snapshot.totalMines - revealedMines;
+
+            this.varOf = new int[cells.length];
+            Arrays.fill(varOf, -1);
+            int[] around = new int[8];
+            int[] hiddenAround = new int[8];
+            for (int id = 0; id < cells.length; id++) {
+                if (cells[id] < 0) continue; // only revealed numbers constrain
+                int n = 0;
+                int target = cells[id];
+                int count = neighbours(id, around);
+                for (int i = 0; i < count; i++) {
+                    int nb = around[i];
+                    if (cells[nb] == Snapshot.HIDDEN) hiddenAround[n++] = nb;
+                    else if (cells[nb] == Snapshot.MINE) target--;
+                }
+                if (n == 0) continue;
+                int[] vars = new int[n];
+                for (int i = 0; i < n; i++) {
+                    int nb = hiddenAround[i];
+                    if (varOf[nb] < 0) {
+                        varOf[nb] = frontier.size();
+                        frontier.add(nb);
+                    }
+                    vars[i] = varOf[nb];
+                }
+                constraintVars.add(vars);
+                targets.add(target);
+            }
+
+            // Cells off the frontier, in the order they are written out
+            int[] off = new int[hidden];
+            int all = 0;
+            int offCount = 0;
+            for (int id = 0; id < cells.length; id++) {
+                if (cells[id] != Snapshot.HIDDEN) continue;
+                off[all++] = id;
+                if (varOf[id] < 0) offCount++;
+            }
+            this.hiddenCells = off;
+            this.offFrontierCount = offCount;
+        }
+
+        /** Writes the neighbour ids into out and returns how many there are. */
+        private int neighbours(int id, int[] out) {
+            int n = 0;
+            for (int k = topology.start[id]; k < topology.start[id + 1]; k++) {
+                out[n++] = topology.neighbors[k];
+            }
+            return n;
+        }
+
+        /** Splits the frontier into independent components (union-find over shared constraints). */
+        List<Component> components() {
+            int size = frontier.size();
+            int[] parent = new int[size];
+            for (int i = 0; i < size; i++) parent[i] = i;
+            for (int[] vars : constraintVars) {
+                for (int i = 1; i < vars.length; i++) union(parent, vars[0], vars[i]);
+            }
+
+            Map<Integer, List<Integer>> varsByRoot = new LinkedHashMap<>();
+            for (int v = 0; v < size; v++) {
+                varsByRoot.computeIfAbsent(find(parent, v), k -> new ArrayList<>()).add(v);
+            }
+            Map<Integer, List<Integer>> constraintsByRoot = new LinkedHashMap<>();
+            for (int c = 0; c < constraintVars.size(); c++) {
+                constraintsByRoot.computeIfAbsent(find(parent, constraintVars.get(c)[0]), k -> new ArrayList<>()).add(c);
+            }
+
+            List<Component> components = new ArrayList<>();
+            for (Map.Entry<Integer, List<Integer>> entry : varsByRoot.entrySet()) {
+                components.add(new Component(entry.getValue(), constraintsByRoot.get(entry.getKey()), this));
+            }
+            return components;
+        }
+
+        private static int find(int[] parent, int x) {
+            while (parent[x] != x) {
+                parent[x] = parent[parent[x]];
+                x = parent[x];
+            }
+            return x;
+        }
+
+        private static void union(int[] parent, int a, int b) {
+            int ra = find(parent, a);
+            int rb = find(parent, b);
+            if (ra != rb) parent[ra] = rb;
+        }
+    }
+
+    /** One independent group of frontier cells and the numbers around them. */
+    private static final class Component {
+        final int[] cells;             // board cell ids, local var index -> cell
+        final int[][] constraintVars;  // local var indices of each constraint
+        final int[] targets;           // mines each constraint still needs
+        final int[][] varConstraints;  // constraints of each local var
+        final String key;              // memoization key
+
+        Component(List<Integer> vars, List<Integer> constraints, Problem problem) {
+            // Vars are in frontier order, i.e. close cells are close in the order: good for pruning
+            Map<Integer, Integer> local = new LinkedHashMap<>();
+            cells = new int[vars.size()];
+            for (int i = 0; i < vars.size(); i++) {
+                local.put(vars.get(i), i);
+                cells[i] = problem.frontier.get(vars.get(i));
+            }
+
+            constraintVars = new int[constraints.size()][];
+            targets = new int[constraints.size()];
+            List<List<Integer>> byVar = new ArrayList<>();
+            for (int i = 0; i < cells.length; i++) byVar.add(new ArrayList<>());
+            StringBuilder sb = new StringBuilder();
+            for (int cell : cells) sb.append(cell).append(',');
+            for (int c = 0; c < constraints.size(); c++) {
+                int[] global = problem.constraintVars.get(constraints.get(c));
+                constraintVars[c] = new int[global.length];
+                for (int i = 0; i < global.length; i++) {
+                    constraintVars[c][i] = local.get(global[i]);
+                    byVar.get(constraintVars[c][i]).add(c);
+                }
+                targets[c] = problem.targets.get(constraints.get(c));
+                sb.append('|').append(targets[c]).append(':');
+                for (int v : constraintVars[c]) sb.append(v).append(',');
+            }
+            varConstraints = new int[cells.length][];
+            for (int v = 0; v < cells.length; v++) {
+                varConstraints[v] = byVar.get(v).stream().mapToInt(Integer::intValue).toArray();
+            }
+            key = sb.toString();
+        }
+
+        int size() {
+            return cells.length;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Result
+    // ------------------------------------------------------------------
+
+    /**
+     * Mine probability of every hidden cell (NaN for revealed cells).
+     */
+    public static final class Result {
+        private final int rows;
+        private final int cols;
+        private final float[] probabilities;
+        private final boolean exact;
+
+        Result(int rows, int cols, float[] probabilities, boolean exact) {
+            this.rows = rows;
+            this.cols = cols;
+            this.probabilities = probabilities;
+            this.exact = exact;
+        }
+
+        public float getProbability(int row, int col) {
+            return probabilities[row * cols + col];
+        }
+
+        /** False if the time budget ran out and some components were estimated by sampling. */
+        public boolean isExact() {
+            return exact;
+        }
+
+        /**
+         * Hidden cell with the lowest mine probability as {row, col}, or null if none is hidden.
+         */
+        public int[] getSafestCell() {
+            int best = -1;
+            for (int id = 0; id < probabilities.length; id++) {
+                if (Float.isNaN(probabilities[id])) continue;
+                if (best < 0 || probabilities[id] < probabilities[best]) best = id;
+            }
+            return best < 0 ? null : new int[]{best / cols, best % cols};
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getCols() {
+            return cols;
+        }
+    }
+}
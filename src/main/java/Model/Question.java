@@ -0,0 +1,47 @@
+package Model;
+
+import java.util.List;
+
+/**
+ * A trivia question shown when a QUESTION cell is activated.
+ */
+public final class Question {
+
+    private final int id;
+    private final int level;            // 1 = easy ... 4 = expert
+    private final String text;
+    private final List<String> answers;
+    private final int correctAnswer;    // index into answers
+
+    public Question(int id, int level, String text, List<String> answers, int correctAnswer) {
+        this.id = id;
+        this.level = level;
+        this.text = text;
+        this.answers = List.copyOf(answers);
+        this.correctAnswer = correctAnswer;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public List<String> getAnswers() {
+        return answers;
+    }
+
+    public int getCorrectAnswer() {
+        return correctAnswer;
+    }
+
+    public boolean isCorrect(int answerIndex) {
+        return answerIndex == correctAnswer;
+    }
+}
@@ -0,0 +1,379 @@
+package Model;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Question bank backed by a CSV file, meant for large files (100k+ questions).
+ *
+ * CSV format, one question per line (fields may be quoted, but a question must fit on one line):
+ * <pre>id,level,text,answer1,answer2,...,answerN,correct</pre>
+ * level is 1 (easy) to 4 (expert) and correct is the 1-based number of the right answer.
+ * A header line (non-numeric id) is skipped.
+ *
+ * Opening the file streams through it once and keeps only a compact index:
+ * id, level, byte offset and length per question (about 17 bytes each) plus an id hash table.
+ * Question bodies are parsed lazily on first use and kept in a bounded LRU cache.
+ * {@link #get(int)} may read from disk; UI code should use {@link #getAsync(int)}.
+ */
+public class QuestionRepository implements Closeable {
+
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private final FileChannel channel;
+
+    // Index, by slot (order of appearance in the file)
+    private final int size;
+    private final int[] ids;
+    private final byte[] levels;
+    private final long[] offsets;
+    private final int[] lengths;
+
+    // Open addressing id -> slot + 1 (0 = empty)
+    private final int[] idTable;
+    private final int idMask;
+
+    // Slots of each level (index 0 unused)
+    private final int[][] slotsByLevel;
+
+    private final Map<Integer, Question> cache;
+    private final ExecutorService loader;
+
+    private QuestionRepository(FileChannel channel, int size, int[] ids, byte[] levels,
+                               long[] offsets, int[] lengths, int cacheSize) {
+        this.channel = channel;
+        this.size = size;
+        this.ids = ids;
+        this.levels = levels;
+        this.offsets = offsets;
+        this.lengths = lengths;
+
+        int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+        this.idTable = new int[capacity];
+        this.idMask = capacity - 1;
+        for (int slot = 0; slot < size; slot++) {
+            int i = mix(ids[slot]) & idMask;
+            while (idTable[i] != 0) {
+                i = (i + 1) & idMask;
+            }
+            idTable[i] = slot + 1;
+        }
+
+        int[] perLevel = new int[5];
+        for (int slot = 0; slot < size; slot++) perLevel[levels[slot]]++;
+        this.slotsByLevel = new int[5][];
+        for (int level = 0; level < 5; level++) slotsByLevel[level] = new int[perLevel[level]];
+        int[] fill = new int[5];
+        for (int slot = 0; slot < size; slot++) {
+            int level = levels[slot];
+            slotsByLevel[level][fill[level]++] = slot;
+        }
+
+        this.cache = new LinkedHashMap<>(cacheSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Question> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "question-loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Builds the index of the given file. Streams through the file once; this is the slow part,
+     * so call it off the EDT.
+     */
+    public static QuestionRepository open(File file) throws IOException {
+        return open(file, DEFAULT_CACHE_SIZE);
+    }
+
+    public static QuestionRepository open(File file, int cacheSize) throws IOException {
+        int capacity = 1024;
+        int[] ids = new int[capacity];
+        byte[] levels = new byte[capacity];
+        long[] offsets = new long[capacity];
+        int[] lengths = new int[capacity];
+        int count = 0;
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), 1 << 16)) {
+            long lineStart = 0;
+            long pos = 0;
+            int field = 0;          // index of the field being read (only 0 and 1 matter)
+            long id = 0;
+            int level = 0;
+            boolean numeric = true; // fields 0 and 1 contain only digits so far
+            boolean empty = true;
+
+            int b;
+            while (true) {
+                b = in.read();
+                if (b == '\n' || b == -1) {
+                    if (!empty && numeric && field >= 2 && level >= 1 && level <= 4) {
+                        if (count == capacity) {
+                            capacity *= 2;
+                            ids = Arrays.copyOf(ids, capacity);
+                            levels = Arrays.copyOf(levels, capacity);
+                            offsets = Arrays.copyOf(offsets, capacity);
+                            lengths = Arrays.copyOf(lengths, capacity);
+                        }
+                        ids[count] = (int) id;
+                        levels[count] = (byte) level;
+                        offsets[count] = lineStart;
+                        lengths[count] = (int) (pos - lineStart);
+                        count++;
+                    }
+                    if (b == -1) break;
+                    pos++;
+                    lineStart = pos;
+                    field = 0;
+                    id = 0;
+                    level = 0;
+                    numeric = true;
+                    empty = true;
+                    continue;
+                }
+
+                pos++;
+                if (b == '\r') continue;
+                empty = false;
+                if (field >= 2) continue; // rest of the line is parsed lazily
+
+                if (b == ',') {
+                    field++;
+                } else if (b >= '0' && b <= '9') {
+                    if (field == 0) id = id * 10 + (b - '0');
+                    else level = level * 10 + (b - '0');
+                    if (id > Integer.MAX_VALUE) numeric = false;
+                } else if (b != ' ') {
+                    numeric = false; // header line or malformed id/level
+                }
+            }
+        }
+
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        return new QuestionRepository(channel, count, ids, levels, offsets, lengths, cacheSize);
+    }
+
+    // ------------------------------------------------------------------
+    // Lookup
+    // ------------------------------------------------------------------
+
+    public int size() {
+        return size;
+    }
+
+    /** Number of questions of the given level (1..4). */
+    public int count(int level) {
+        return (level >= 1 && level <= 4) ? slotsByLevel[level].length : 0;
+    }
+
+    public boolean contains(int id) {
+        return slotOf(id) >= 0;
+    }
+
+    /** Level of a question without loading its body, or 0 if unknown. */
+    public int levelOf(int id) {
+        int slot = slotOf(id);
+        return slot < 0 ? 0 : levels[slot];
+    }
+
+    /**
+     * Returns the question if it is already parsed and cached, without touching the disk.
+     */
+    public Question getIfCached(int id) {
+        synchronized (cache) {
+            return cache.get(id);
+        }
+    }
+
+    /**
+     * Returns the question, reading and parsing it if needed (may block on disk I/O).
+     *
+     * @return the question or null if the id is unknown
+     */
+    public Question get(int id) {
+        Question cached = getIfCached(id);
+        if (cached != null) return cached;
+
+        int slot = slotOf(id);
+        if (slot < 0) return null;
+
+        Question question = parse(id, levels[slot], readLine(slot));
+        synchronized (cache) {
+            cache.put(id, question);
+        }
+        return question;
+    }
+
+    /**
+     * Non-blocking lookup: completes immediately from the cache, otherwise on the loader thread.
+     */
+    public CompletableFuture<Question> getAsync(int id) {
+        Question cached = getIfCached(id);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        return CompletableFuture.supplyAsync(() -> get(id), loader);
+    }
+
+    /** Loads a question into the cache in the background (e.g. right after it was assigned). */
+    public void prefetch(int id) {
+        if (getIfCached(id) == null && !loader.isShutdown()) {
+            // Failures are ignored here: get() will retry and report them
+            CompletableFuture.runAsync(() -> get(id), loader);
+        }
+    }
+
+    private int slotOf(int id) {
+        int i = mix(id) & idMask;
+        int entry;
+        while ((entry = idTable[i]) != 0) {
+            if (ids[entry - 1] == id) return entry - 1;
+            i = (i + 1) & idMask;
+        }
+        return -1;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private String readLine(int slot) {
+        ByteBuffer buf = ByteBuffer.allocate(lengths[slot]);
+        try {
+            long position = offsets[slot];
+            while (buf.hasRemaining()) {
+                int n = channel.read(buf, position + buf.position());
+                if (n < 0) break;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8);
+    }
+
+    /** Parses a full CSV line: id,level,text,answers...,correct */
+    static Question parse(int id, int level, String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 5) {
+            throw new IllegalStateException("Question " + id + " needs text, at least 2 answers and the correct one");
+        }
+        String text = fields.get(2);
+        List<String> answers = fields.subList(3, fields.size() - 1);
+        int correct = Integer.parseInt(fields.get(fields.size() - 1).trim()) - 1;
+        return new Question(id, level, text, answers, correct);
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else if (ch != '\r') {
+                current.append(ch);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    // ------------------------------------------------------------------
+    // Assignment to QUESTION cells
+    // ------------------------------------------------------------------
+
+    /**
+     * Returns a new deck that hands out question ids of every level in random order, never the
+     * same one twice.
+     */
+    public Deck newDeck(Random random) {
+        return new Deck(random, null);
+    }
+
+    /**
+     * Returns a new deck that hands out only questions of the given level (1..4), in random order
+     * and never the same one twice. Falls back to the whole bank if it has no question of that level.
+     */
+    public Deck newDeck(Random random, int level) {
+        return new Deck(random, count(level) > 0 ? slotsByLevel[level] : null);
+    }
+
+    /**
+     * Draws distinct questions using a sparse Fisher-Yates shuffle: O(1) per draw and memory
+     * proportional to the number of draws, not to the size of the bank.
+     */
+    public final class Deck {
+        private final Random random;
+        private final int[] slots;          // slots to draw from, null = every slot
+        private final int total;
+        private final Map<Integer, Integer> swapped = new HashMap<>();
+        private int drawn;
+
+        private Deck(Random random, int[] slots) {
+            this.random = random;
+            this.slots = slots;
+            this.total = (slots != null) ? slots.length : size;
+        }
+
+        /**
+         * @return the next question id, or null once every question of the deck was used
+         */
+        public synchronized Integer next() {
+            if (drawn >= total) return null;
+
+            int pick = drawn + random.nextInt(total - drawn);
+            int index = swapped.getOrDefault(pick, pick);
+            swapped.put(pick, swapped.getOrDefault(drawn, drawn));
+            swapped.remove(drawn);
+            drawn++;
+
+            int id = ids[(slots != null) ? slots[index] : index];
+            prefetch(id);
+            return id;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // No interrupt: interrupting a thread blocked in a FileChannel read would close the channel
+        loader.shutdown();
+        channel.close();
+    }
+}
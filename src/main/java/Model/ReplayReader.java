@@ -0,0 +1,154 @@
+package Model;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+
+/**
+ * Reads replay files written by {@link ReplayWriter}.
+ * Seeking restores the nearest keyframe at or before the target move and applies only
+ * the moves recorded after it.
+ */
+public class ReplayReader implements Closeable {
+
+    private final RandomAccessFile file;
+    private final int keyframeInterval;
+    private final int moveCount;
+    private final int[] keyframeMoves;   // sorted move numbers
+    private final long[] keyframeOffsets;
+
+    public ReplayReader(File replayFile) throws IOException {
+        this.file = new RandomAccessFile(replayFile, "r");
+
+        if (file.readInt() != ReplayWriter.MAGIC || file.readInt() != ReplayWriter.VERSION) {
+            file.close();
+            throw new IOException("Not a replay file: " + replayFile);
+        }
+        this.keyframeInterval = file.readInt();
+
+        // Trailer is at the very end of the file
+        file.seek(file.length() - ReplayWriter.TRAILER_SIZE);
+        long indexOffset = file.readLong();
+        this.moveCount = file.readInt();
+        if (file.readInt() != ReplayWriter.MAGIC) {
+            file.close();
+            throw new IOException("Replay file is truncated (writer was not closed): " + replayFile);
+        }
+
+        DataInputStream in = streamAt(indexOffset);
+        int count = in.readInt();
+        this.keyframeMoves = new int[count];
+        this.keyframeOffsets = new long[count];
+        for (int i = 0; i < count; i++) {
+            keyframeMoves[i] = in.readInt();
+            keyframeOffsets[i] = in.readLong();
+        }
+    }
+
+    /**
+     * Returns a new Game in the state it had after {@code move} moves were made (and after the
+     * turns that ran out of time before the next move).
+     *
+     * @param move number of moves to apply, between 0 and {@link #getMoveCount()}
+     */
+    public Game seek(int move) throws IOException {
+        if (move < 0 || move > moveCount) {
+            throw new IllegalArgumentException("move " + move + " out of range 0.." + moveCount);
+        }
+
+        int k = nearestKeyframe(move);
+        DataInputStream in = streamAt(keyframeOffsets[k]);
+
+        if (in.readByte() != ReplayWriter.TAG_KEYFRAME) {
+            throw new IOException("Corrupt replay: index does not point at a keyframe");
+        }
+        Game game = readKeyframe(in);
+        for (int applied = keyframeMoves[k]; applied < move; ) {
+            byte tag = in.readByte();
+            if (tag == ReplayWriter.TAG_KEYFRAME) {
+                game = readKeyframe(in);
+                continue;
+            }
+            if (tag == ReplayWriter.TAG_LAYOUT) {
+                applyLayout(game, in.readUnsignedByte(), in.readInt(), in.readInt(), in.readInt());
+                continue;
+            }
+            if (tag == ReplayWriter.TAG_PASS) {
+                game.setCurrentPlayerTurn(in.readUnsignedShort());
+                continue;
+            }
+            Move.Type type = Move.Type.values()[in.readUnsignedByte()];
+            int board = in.readUnsignedByte();
+            int row = in.readInt();
+            int col = in.readInt();
+            applyMove(game, new Move(type, board, row, col));
+            applied++;
+        }
+        while (in.readByte() == ReplayWriter.TAG_PASS) {
+            game.setCurrentPlayerTurn(in.readUnsignedShort());
+        }
+        return game;
+    }
+
+    /**
+     * Applies a recorded move the same way the GUI does (GamePanel.handleMoveMade):
+     * make the move, then pass the turn if the game is still running.
+     */
+    static void applyMove(Game game, Move move) {
+        game.makeMove(move);
+        if (game.getGameState() == GameState.RUNNING) {
+            game.switchTurn();
+        }
+    }
+
+    /** Places a recorded board layout (no-guess boards are not searched for again). */
+    static void applyLayout(Game game, int boardNumber, int row, int col, int candidate) {
+        Board board = game.getBoard(boardNumber);
+        if (board != null) board.ensureGenerated(row, col, candidate);
+    }
+
+    /** Reads a keyframe record whose tag byte was already consumed. */
+    private static Game readKeyframe(DataInputStream in) throws IOException {
+        in.readInt(); // move number, already known from the index
+        return GameSnapshot.read(in).restore();
+    }
+
+    /** Binary search for the last keyframe at or before the given move. */
+    private int nearestKeyframe(int move) {
+        int lo = 0;
+        int hi = keyframeMoves.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (keyframeMoves[mid] <= move) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    private DataInputStream streamAt(long offset) throws IOException {
+        file.getChannel().position(offset);
+        // Not closed on purpose: closing it would close the underlying file
+        return new DataInputStream(new BufferedInputStream(Channels.newInputStream(file.getChannel())));
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public int getKeyframeCount() {
+        return keyframeMoves.length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
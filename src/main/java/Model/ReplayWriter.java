@@ -0,0 +1,151 @@
+package Model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every move of a game into a replay file.
+ *
+ * File layout:
+ * - header: magic, version, keyframe interval
+ * - records: KEYFRAME (move number + GameSnapshot), MOVE (type, board, row, col) or
+ *   LAYOUT (board, first click row and col, layout candidate: how a board was generated) or
+ *   PASS (player whose turn it is after a turn ran out of time), then END
+ * - index: list of (move number, file offset) for every keyframe
+ * - trailer: index offset, total moves, magic (fixed size, read first by ReplayReader)
+ *
+ * A keyframe is written before the first move and then every {@code keyframeInterval} moves,
+ * so seeking never needs to apply more than {@code keyframeInterval - 1} moves.
+ * Smaller intervals mean bigger files but faster seeks.
+ */
+public class ReplayWriter implements GameListener, Closeable {
+
+    static final int MAGIC = 0x53435250; // "SCRP"
+    static final int VERSION = 8;
+    static final byte TAG_KEYFRAME = 1;
+    static final byte TAG_MOVE = 2;
+    static final byte TAG_LAYOUT = 3;
+    static final byte TAG_PASS = 4;
+    static final byte TAG_END = 0;
+    static final int TRAILER_SIZE = 8 + 4 + 4;
+
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 100;
+
+    private final DataOutputStream out;
+    private final int keyframeInterval;
+    private final List<long[]> index = new ArrayList<>(); // {move number, offset}
+    private int moveCount;
+    private boolean closed;
+
+    /**
+     * Opens the file and writes the initial keyframe from the current state of the game.
+     * The writer still has to be registered with {@link Game#addGameListener(GameListener)}.
+     */
+    public ReplayWriter(File file, Game game, int keyframeInterval) throws IOException {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("keyframeInterval must be >= 1");
+        }
+        this.keyframeInterval = keyframeInterval;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(keyframeInterval);
+
+        writeKeyframe(game);
+    }
+
+    @Override
+    public synchronized void beforeMove(Game game, Move move) {
+        // Keyframe holds the state *between* moves, after the turn was switched
+        if (moveCount > 0 && moveCount % keyframeInterval == 0) {
+            try {
+                writeKeyframe(game);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onMove(Game game, Move move) {
+        try {
+            out.writeByte(TAG_MOVE);
+            out.writeByte(move.getType().ordinal());
+            out.writeByte(move.getBoardNumber());
+            out.writeInt(move.getRow());
+            out.writeInt(move.getCol());
+            moveCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Records the candidate of a freshly generated board, so the replay places the same layout even
+     * if a no-guess search would not find it again (see {@link Board#getLayoutCandidate()}).
+     */
+    @Override
+    public synchronized void onBoardGenerated(Game game, int boardNumber, int row, int col) {
+        try {
+            out.writeByte(TAG_LAYOUT);
+            out.writeByte(boardNumber);
+            out.writeInt(row);
+            out.writeInt(col);
+            out.writeInt(game.getBoard(boardNumber).getLayoutCandidate());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Records a turn passed without a move: replays only switch the turn after moves on their own. */
+    @Override
+    public synchronized void onTurnPassed(Game game, int currentTurn) {
+        try {
+            out.writeByte(TAG_PASS);
+            out.writeShort(currentTurn);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeKeyframe(Game game) throws IOException {
+        index.add(new long[]{moveCount, out.size()});
+        out.writeByte(TAG_KEYFRAME);
+        out.writeInt(moveCount);
+        GameSnapshot.capture(game).write(out);
+    }
+
+    public synchronized int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Writes the keyframe index and trailer. The replay can only be read after it was closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        out.writeByte(TAG_END);
+
+        long indexOffset = out.size();
+        out.writeInt(index.size());
+        for (long[] entry : index) {
+            out.writeInt((int) entry[0]);
+            out.writeLong(entry[1]);
+        }
+
+        out.writeLong(indexOffset);
+        out.writeInt(moveCount);
+        out.writeInt(MAGIC);
+        out.close();
+    }
+}
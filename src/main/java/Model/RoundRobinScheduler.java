@@ -0,0 +1,25 @@
+package Model;
+
+/**
+ * Classic turns: 1, 2, ..., N, 1, ...
+ * Boards that are already cleared are skipped, they have nothing left to play.
+ */
+public class RoundRobinScheduler implements TurnScheduler {
+
+    @Override
+    public int nextTurn(Game game, int currentTurn) {
+        int n = game.getBoardCount();
+        for (int step = 1; step <= n; step++) {
+            int candidate = (currentTurn - 1 + step) % n + 1;
+            if (game.getBoard(candidate).getSafeCellsRemaining() > 0) {
+                return candidate;
+            }
+        }
+        return currentTurn;
+    }
+
+    @Override
+    public boolean mayPlay(Game game, int boardNumber) {
+        return boardNumber == game.getCurrentPlayerTurn();
+    }
+}
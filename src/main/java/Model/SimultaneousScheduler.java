@@ -0,0 +1,23 @@
+package Model;
+
+/**
+ * Real-time mode: every player plays their own board at the same time (from different threads
+ * if needed), so there are no turns at all.
+ */
+public class SimultaneousScheduler implements TurnScheduler {
+
+    @Override
+    public int nextTurn(Game game, int currentTurn) {
+        return currentTurn;
+    }
+
+    @Override
+    public boolean mayPlay(Game game, int boardNumber) {
+        return true;
+    }
+
+    @Override
+    public boolean isSimultaneous() {
+        return true;
+    }
+}
@@ -0,0 +1,192 @@
+package Model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * A change of a live game as sent to spectators by {@link SpectatorHub}.
+ *
+ * Every event carries the game state, lives and score after it, and a sequence number that grows
+ * by one per published change. The cells are in a compact binary payload of visible symbols
+ * (see {@link Cell#getVisibleSymbol()}), packed two per byte:
+ * <ul>
+ *   <li>DELTA: the cells of one board that changed. Payload: varint count, then per cell the varint
+ *       gap to the previous index (index - previous - 1, starting at -1), then the packed symbols.</li>
+ *   <li>RESYNC: the full state of every board, sent first and whenever a subscriber fell behind.
+ *       Payload: varint boards, then per board varint rows, varint cols and the packed symbols.</li>
+ * </ul>
+ * A spectator keeps one symbol array per board and calls {@link #applyTo(byte[][])} for each event.
+ */
+public final class SpectatorEvent {
+
+    public enum Kind { DELTA, RESYNC }
+
+    private final Kind kind;
+    private final long sequence;
+    private final int boardNumber; // 1-based for deltas, 0 for resyncs and state-only changes
+    private final GameState gameState;
+    private final int sharedLives;
+    private final int sharedScore;
+    private final byte[] payload;
+
+    SpectatorEvent(Kind kind, long sequence, int boardNumber, GameState gameState, int sharedLives,
+                   int sharedScore, byte[] payload) {
+        this.kind = kind;
+        this.sequence = sequence;
+        this.boardNumber = boardNumber;
+        this.gameState = gameState;
+        this.sharedLives = sharedLives;
+        this.sharedScore = sharedScore;
+        this.payload = payload;
+    }
+
+    /** Delta of the given (sorted, distinct) cell indices of one board. */
+    static byte[] encodeDelta(int[] indices, byte[] symbols, int count) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4 + count * 2);
+        writeVarint(out, count);
+        int previous = -1;
+        for (int i = 0; i < count; i++) {
+            writeVarint(out, indices[i] - previous - 1);
+            previous = indices[i];
+        }
+        writePacked(out, symbols, count);
+        return out.toByteArray();
+    }
+
+    /** Full state of the given boards (symbols per board, row-major). */
+    static byte[] encodeResync(int[] rows, int[] cols, byte[][] symbols) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8);
+        writeVarint(out, symbols.length);
+        for (int b = 0; b < symbols.length; b++) {
+            writeVarint(out, rows[b]);
+            writeVarint(out, cols[b]);
+            writePacked(out, symbols[b], symbols[b].length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Applies this event to a spectator's view: one symbol array per board (view[0] is board 1).
+     * A resync replaces the arrays (they may be null before the first one).
+     */
+    public void applyTo(byte[][] view) {
+        int[] pos = {0};
+        if (kind == Kind.RESYNC) {
+            int boards = readVarint(pos);
+            for (int b = 0; b < boards && b < view.length; b++) {
+                int cells = readVarint(pos) * readVarint(pos);
+                view[b] = new byte[cells];
+                pos[0] = readPacked(pos[0], view[b], cells);
+            }
+            return;
+        }
+        if (boardNumber == 0) return;
+        byte[] board = view[boardNumber - 1];
+        int count = readVarint(pos);
+        int[] indices = new int[count];
+        int previous = -1;
+        for (int i = 0; i < count; i++) {
+            previous += readVarint(pos) + 1;
+            indices[i] = previous;
+        }
+        byte[] symbols = new byte[count];
+        readPacked(pos[0], symbols, count);
+        for (int i = 0; i < count; i++) {
+            board[indices[i]] = symbols[i];
+        }
+    }
+
+    /** Indices (row * cols + col) of the changed cells of a delta, in increasing order. */
+    public int[] getCellIndices() {
+        if (kind != Kind.DELTA) return new int[0];
+        int[] pos = {0};
+        int[] indices = new int[readVarint(pos)];
+        int previous = -1;
+        for (int i = 0; i < indices.length; i++) {
+            previous += readVarint(pos) + 1;
+            indices[i] = previous;
+        }
+        return indices;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /** Board of a delta (1-based); 0 for a resync or a change of the game state only. */
+    public int getBoardNumber() {
+        return boardNumber;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public int getSharedLives() {
+        return sharedLives;
+    }
+
+    public int getSharedScore() {
+        return sharedScore;
+    }
+
+    /** The encoded cells, as described in the class comment. */
+    public byte[] getPayload() {
+        return Arrays.copyOf(payload, payload.length);
+    }
+
+    /** Size of the encoded cells in bytes. */
+    public int getPayloadSize() {
+        return payload.length;
+    }
+
+    @Override
+    public String toString() {
+        return kind + "#" + sequence + (boardNumber > 0 ? "[board " + boardNumber + "]" : "")
+                + " " + gameState + " lives=" + sharedLives + " score=" + sharedScore + " (" + payload.length + " bytes)";
+    }
+
+    // --- Encoding helpers ---
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private int readVarint(int[] pos) {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = payload[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /** Two symbols per byte, the first in the low nibble. */
+    private static void writePacked(ByteArrayOutputStream out, byte[] symbols, int count) {
+        for (int i = 0; i < count; i += 2) {
+            int low = symbols[i];
+            int high = i + 1 < count ? symbols[i + 1] : 0;
+            out.write(low | high << 4);
+        }
+    }
+
+    private int readPacked(int from, byte[] symbols, int count) {
+        for (int i = 0; i < count; i += 2) {
+            int b = payload[from++];
+            symbols[i] = (byte) (b & 0x0F);
+            if (i + 1 < count) symbols[i + 1] = (byte) ((b >> 4) & 0x0F);
+        }
+        return from;
+    }
+}
@@ -0,0 +1,378 @@
+package Model;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Broadcasts a live game to any number of spectators (other screens, a text UI, a server)
+ * through {@link Flow}. Events are {@link SpectatorEvent}s: a resync with the full state first,
+ * then one delta per move with the cells that changed.
+ *
+ * The hub keeps its own copy of what the boards show; the game thread only compares the cells a
+ * move touched with that copy and puts the resulting delta into every subscriber's buffer.
+ * Events are delivered on the executor, one subscriber at a time in order, as far as the
+ * subscriber requested them. When a subscriber's buffer is full its buffered deltas are dropped
+ * and it gets one resync instead (built from the copy when it is delivered), so a slow spectator
+ * never slows down the game. The delivery thread only copies the symbols while holding the hub's
+ * lock; the resync is encoded after the lock is released, so it never blocks the game's moves.
+ *
+ * Create the hub on the thread that plays the game, before play starts; it still has to be
+ * registered with {@link Game#addGameListener(GameListener)}. Closing it completes every
+ * subscriber once its buffer is delivered.
+ */
+public class SpectatorHub implements GameListener, Flow.Publisher<SpectatorEvent>, Closeable {
+
+    public static final int DEFAULT_BUFFER_EVENTS = 256;
+
+    private final Game game;
+    private final Executor executor;
+    private final int bufferEvents;
+    private final List<Link> links = new CopyOnWriteArrayList<>();
+
+    // What the spectators see, guarded by this: symbols per board and the last state published
+    private Board[] boards;
+    private byte[][] symbols;
+    private int[] revealsSeen; // reveal log entries already compared, per board
+    private int[][] surpriseCells = new int[0][];
+    private int[] surpriseCounts = new int[0];
+    private long sequence;
+    private GameState gameState;
+    private int sharedLives;
+    private int sharedScore;
+    private long resyncs;
+    private boolean closed;
+
+    public SpectatorHub(Game game) {
+        this(game, ForkJoinPool.commonPool(), DEFAULT_BUFFER_EVENTS);
+    }
+
+    /**
+     * @param executor     delivers the events to the subscribers
+     * @param bufferEvents events buffered per subscriber before it is switched to a resync
+     */
+    public SpectatorHub(Game game, Executor executor, int bufferEvents) {
+        if (bufferEvents < 1) {
+            throw new IllegalArgumentException("bufferEvents must be >= 1");
+        }
+        this.game = game;
+        this.executor = executor;
+        this.bufferEvents = bufferEvents;
+        synchronized (this) {
+            boards = new Board[0];
+            symbols = new byte[0][];
+            revealsSeen = new int[0];
+            for (int b = 1; b <= game.getBoardCount(); b++) {
+                checkBoard(b);
+            }
+            readGame();
+        }
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super SpectatorEvent> subscriber) {
+        Link link = new Link(subscriber);
+        synchronized (this) {
+            if (closed) {
+                link.completing = true;
+            }
+            links.add(link);
+        }
+        subscriber.onSubscribe(link);
+        link.schedule();
+    }
+
+    @Override
+    public synchronized void onSurprise(Game game, SurpriseEffects.Outcome outcome) {
+        int b = outcome.getBoardNumber() - 1;
+        if (b < 0 || b >= surpriseCounts.length) return;
+        int cols = boards[b].getCols();
+        for (Cell cell : outcome.getTouchedCells()) {
+            if (surpriseCounts[b] == surpriseCells[b].length) {
+                surpriseCells[b] = Arrays.copyOf(surpriseCells[b], Math.max(8, surpriseCounts[b] * 2));
+            }
+            surpriseCells[b][surpriseCounts[b]++] = cell.getRow() * cols + cell.getCol();
+        }
+    }
+
+    @Override
+    public synchronized void onMove(Game game, Move move) {
+        int b = move.getBoardNumber();
+        if (checkBoard(b)) { // a new board (restart): every spectator needs the full state of every board
+            for (int other = 1; other <= game.getBoardCount(); other++) {
+                checkBoard(other);
+            }
+            readGame();
+            sequence++;
+            for (Link link : links) {
+                link.resync();
+            }
+            return;
+        }
+
+        Board board = boards[b - 1];
+        int cols = board.getCols();
+        int revealCount = board.getRevealCount();
+        int seen = revealsSeen[b - 1];
+        int extra = surpriseCounts[b - 1];
+        int[] indices = new int[revealCount - seen + extra + 1];
+        int count = 0;
+        for (int i = seen; i < revealCount; i++) {
+            indices[count++] = board.getRevealedCellIndex(i);
+        }
+        System.arraycopy(surpriseCells[b - 1], 0, indices, count, extra);
+        count += extra;
+        indices[count++] = move.getRow() * cols + move.getCol();
+        revealsSeen[b - 1] = revealCount;
+        surpriseCounts[b - 1] = 0;
+
+        // Keep the cells whose symbol changed, in index order
+        Arrays.sort(indices, 0, count);
+        byte[] mirror = symbols[b - 1];
+        byte[] changed = new byte[count];
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int index = indices[i];
+            if (kept > 0 && indices[kept - 1] == index) continue;
+            byte symbol = (byte) board.getCell(index / cols, index % cols).getVisibleSymbol();
+            if (symbol == mirror[index]) continue;
+            mirror[index] = symbol;
+            indices[kept] = index;
+            changed[kept++] = symbol;
+        }
+        readGame();
+        publish(b, SpectatorEvent.encodeDelta(indices, changed, kept));
+    }
+
+    @Override
+    public synchronized void onGameOver(Game game) {
+        readGame();
+        publish(0, SpectatorEvent.encodeDelta(new int[0], new byte[0], 0));
+    }
+
+    /** Number of times a subscriber fell behind and was switched to a resync. */
+    public synchronized long getResyncs() {
+        return resyncs;
+    }
+
+    public int getSubscriberCount() {
+        return links.size();
+    }
+
+    /**
+     * Stops publishing; each subscriber is completed after its buffered events.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            for (Link link : links) {
+                link.completing = true;
+            }
+        }
+        for (Link link : links) {
+            link.schedule();
+        }
+    }
+
+    private void publish(int boardNumber, byte[] payload) {
+        if (closed) return;
+        SpectatorEvent event = new SpectatorEvent(SpectatorEvent.Kind.DELTA, ++sequence, boardNumber,
+                gameState, sharedLives, sharedScore, payload);
+        for (Link link : links) {
+            link.offer(event);
+        }
+    }
+
+    /**
+     * Makes sure the copy follows the game's current board b; true if it had to be (re)built.
+     */
+    private boolean checkBoard(int b) {
+        if (boards.length != game.getBoardCount()) {
+            int n = game.getBoardCount();
+            boards = Arrays.copyOf(boards, n);
+            symbols = Arrays.copyOf(symbols, n);
+            revealsSeen = Arrays.copyOf(revealsSeen, n);
+            surpriseCells = Arrays.copyOf(surpriseCells, n);
+            surpriseCounts = Arrays.copyOf(surpriseCounts, n);
+        }
+        Board board = game.getBoard(b);
+        if (boards[b - 1] == board) return false;
+
+        int rows = board.getRows();
+        int cols = board.getCols();
+        byte[] mirror = new byte[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                mirror[r * cols + c] = (byte) board.getCell(r, c).getVisibleSymbol();
+            }
+        }
+        boards[b - 1] = board;
+        symbols[b - 1] = mirror;
+        revealsSeen[b - 1] = board.getRevealCount();
+        surpriseCells[b - 1] = new int[8];
+        surpriseCounts[b - 1] = 0;
+        return true;
+    }
+
+    private void readGame() {
+        gameState = game.getGameState();
+        sharedLives = game.getSharedLives();
+        sharedScore = game.getSharedScore();
+    }
+
+    /** Copy of the full state as the spectators see it now (called with the lock held). */
+    private Resync resyncCopy() {
+        int[] rows = new int[boards.length];
+        int[] cols = new int[boards.length];
+        byte[][] copies = new byte[symbols.length][];
+        for (int b = 0; b < boards.length; b++) {
+            rows[b] = boards[b].getRows();
+            cols[b] = boards[b].getCols();
+            copies[b] = symbols[b].clone();
+        }
+        return new Resync(sequence, gameState, sharedLives, sharedScore, rows, cols, copies);
+    }
+
+    /** A resync copied under the lock, encoded into an event without it. */
+    private static final class Resync {
+        private final long sequence;
+        private final GameState gameState;
+        private final int sharedLives;
+        private final int sharedScore;
+        private final int[] rows;
+        private final int[] cols;
+        private final byte[][] symbols;
+
+        Resync(long sequence, GameState gameState, int sharedLives, int sharedScore,
+               int[] rows, int[] cols, byte[][] symbols) {
+            this.sequence = sequence;
+            this.gameState = gameState;
+            this.sharedLives = sharedLives;
+            this.sharedScore = sharedScore;
+            this.rows = rows;
+            this.cols = cols;
+            this.symbols = symbols;
+        }
+
+        SpectatorEvent toEvent() {
+            return new SpectatorEvent(SpectatorEvent.Kind.RESYNC, sequence, 0, gameState, sharedLives, sharedScore,
+                    SpectatorEvent.encodeResync(rows, cols, symbols));
+        }
+    }
+
+    /**
+     * One subscriber: its bounded buffer, its demand and the drain that delivers to it.
+     * Everything but the wip counter is guarded by the hub's lock.
+     */
+    private final class Link implements Flow.Subscription {
+        private final Flow.Subscriber<? super SpectatorEvent> subscriber;
+        private final ArrayDeque<SpectatorEvent> buffer = new ArrayDeque<>();
+        private final AtomicInteger wip = new AtomicInteger(); // drains requested; one runs at a time
+        private boolean resyncPending = true; // the first event is the full state
+        private long demand;
+        private boolean completing;
+        private boolean cancelled;
+
+        Link(Flow.Subscriber<? super SpectatorEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("request must be positive: " + n));
+                return;
+            }
+            synchronized (SpectatorHub.this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (SpectatorHub.this) {
+                cancelled = true;
+                buffer.clear();
+            }
+            links.remove(this);
+        }
+
+        /** Buffers an event (hub lock held); a full buffer turns into a resync. */
+        void offer(SpectatorEvent event) {
+            if (cancelled || resyncPending) return; // a pending resync will include this change
+            if (buffer.size() == bufferEvents) {
+                resync();
+                resyncs++;
+                return;
+            }
+            buffer.add(event);
+            schedule();
+        }
+
+        /** Replaces the buffered events with one resync (hub lock held). */
+        void resync() {
+            buffer.clear();
+            resyncPending = true;
+            schedule();
+        }
+
+        void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            while (true) {
+                while (true) {
+                    SpectatorEvent next = null;
+                    Resync resync = null;
+                    boolean complete = false;
+                    synchronized (SpectatorHub.this) {
+                        if (cancelled) return;
+                        if (demand > 0) {
+                            if (resyncPending) {
+                                resync = resyncCopy();
+                                resyncPending = false;
+                            } else {
+                                next = buffer.poll();
+                            }
+                            if (resync != null || next != null) demand--;
+                        }
+                        if (next == null && resync == null && completing && !resyncPending && buffer.isEmpty()) {
+                            cancelled = true;
+                            complete = true;
+                        }
+                    }
+                    if (complete) {
+                        links.remove(this);
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (resync != null) next = resync.toEvent(); // the slow part, outside the lock
+                    if (next == null) break;
+                    try {
+                        subscriber.onNext(next);
+                    } catch (RuntimeException e) {
+                        cancel();
+                        subscriber.onError(e);
+                        return;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package Model;
+
+import java.util.SplittableRandom;
+
+/**
+ * One effect that a SURPRISE cell can trigger (see {@link SurpriseEffects}).
+ *
+ * Implementations must take all their randomness from the given generator, so the same game seed
+ * always produces the same effect on the same cell (needed for replays and journal recovery).
+ */
+@FunctionalInterface
+public interface SurpriseEffect {
+
+    /**
+     * Applies the effect.
+     *
+     * @param board   board of the surprise cell
+     * @param source  the surprise cell that was just revealed
+     * @param random  generator seeded from the game seed and the cell position
+     * @param outcome records the lives/score change and every cell the effect changed
+     */
+    void apply(Game game, Board board, Cell source, SplittableRandom random, SurpriseEffects.Outcome outcome);
+}
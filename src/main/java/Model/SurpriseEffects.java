@@ -0,0 +1,256 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+/**
+ * Dispatch table of the effects SURPRISE cells can trigger, indexed by effect id.
+ *
+ * Each effect has a weight; an effect is drawn with a binary search over the precomputed
+ * cumulative weights, using a generator derived from the game seed and the cell position.
+ * The draw therefore does not depend on the order in which cells were revealed, and a replay
+ * of the same game triggers exactly the same effects.
+ *
+ * The names, effects and weights are published together as one immutable {@link Entries} array set,
+ * replaced as a whole by {@link #register}, so a game reading the table while an effect is being
+ * added sees either the old or the new table, never a mix. The {@link #standard()} table is frozen:
+ * to add effects to it, register them on a {@link #copy()}.
+ */
+public final class SurpriseEffects {
+
+    // Ids of the standard effects (index into the table)
+    public static final int BONUS_LIFE = 0;
+    public static final int PENALTY_LIFE = 1;
+    public static final int BONUS_SCORE = 2;
+    public static final int PENALTY_SCORE = 3;
+    public static final int REVEAL_SAFE_CELL = 4;
+    public static final int MOVE_MINE = 5;
+
+    private static final SurpriseEffects STANDARD = createStandard();
+
+    private volatile Entries entries = new Entries(new String[0], new SurpriseEffect[0], new int[0]);
+    private boolean frozen;
+
+    public SurpriseEffects() {
+    }
+
+    /** The standard effects (ids as in the constants above). Read-only, shared by every game. */
+    public static SurpriseEffects standard() {
+        return STANDARD;
+    }
+
+    /** A modifiable table holding the same effects, with the same ids, as this one. */
+    public SurpriseEffects copy() {
+        SurpriseEffects copy = new SurpriseEffects();
+        copy.entries = entries;
+        return copy;
+    }
+
+    private static SurpriseEffects createStandard() {
+        SurpriseEffects table = new SurpriseEffects();
+        table.register("Bonus life", 2, (game, board, source, random, outcome) -> outcome.addLives(game, 1));
+        table.register("Lost life", 1, (game, board, source, random, outcome) -> outcome.addLives(game, -1));
+        table.register("Bonus points", 3, (game, board, source, random, outcome) ->
+                outcome.addScore(game, 2 * game.getRules().getActivationCost()));
+        table.register("Lost points", 2, (game, board, source, random, outcome) ->
+                outcome.addScore(game, -game.getRules().getActivationCost()));
+        table.register("Free reveal", 2, SurpriseEffects::revealSafeCell);
+        table.register("Mine moved", 1, SurpriseEffects::moveMine);
+        table.frozen = true;
+        return table;
+    }
+
+    /**
+     * Adds an effect to the table.
+     *
+     * @param weight relative probability of the effect (must be positive)
+     * @return the id of the new effect
+     */
+    public synchronized int register(String name, int weight, SurpriseEffect effect) {
+        if (frozen) throw new UnsupportedOperationException("The standard table is read-only, register on a copy()");
+        if (weight <= 0) throw new IllegalArgumentException("Effect weight must be positive");
+        Entries current = entries;
+        int id = current.effects.length;
+        String[] names = Arrays.copyOf(current.names, id + 1);
+        SurpriseEffect[] effects = Arrays.copyOf(current.effects, id + 1);
+        int[] cumulativeWeights = Arrays.copyOf(current.cumulativeWeights, id + 1);
+        names[id] = name;
+        effects[id] = effect;
+        cumulativeWeights[id] = (id == 0 ? 0 : cumulativeWeights[id - 1]) + weight;
+        entries = new Entries(names, effects, cumulativeWeights);
+        return id;
+    }
+
+    public int size() {
+        return entries.effects.length;
+    }
+
+    public String getName(int effectId) {
+        return entries.names[effectId];
+    }
+
+    public SurpriseEffect effect(int effectId) {
+        return entries.effects[effectId];
+    }
+
+    /**
+     * Draws an effect id according to the weights.
+     */
+    public int pick(SplittableRandom random) {
+        return pick(entries, random);
+    }
+
+    private static int pick(Entries entries, SplittableRandom random) {
+        int[] cumulative = entries.cumulativeWeights;
+        if (cumulative.length == 0) return -1;
+        int ticket = random.nextInt(cumulative[cumulative.length - 1]);
+        // First effect whose cumulative weight is greater than the ticket
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] > ticket) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /**
+     * Draws and applies the effect for a surprise cell that was just revealed.
+     *
+     * @param seed game seed; together with the board number and cell position it fixes the draw
+     */
+    Outcome trigger(Game game, Board board, int boardNumber, Cell source, long seed) {
+        SplittableRandom random = new SplittableRandom(cellSeed(seed, boardNumber, source.getRow(), source.getCol()));
+        Entries table = entries; // one read: name and effect come from the same table as the draw
+        int effectId = pick(table, random);
+        Outcome outcome = new Outcome(effectId, effectId < 0 ? "Nothing" : table.names[effectId], boardNumber);
+        outcome.touch(source);
+        if (effectId >= 0) {
+            table.effects[effectId].apply(game, board, source, random, outcome);
+        }
+        return outcome;
+    }
+
+    private static long cellSeed(long seed, int boardNumber, int row, int col) {
+        long h = seed ^ ((long) boardNumber << 40) ^ ((long) row << 20) ^ col;
+        // SplitMix64 finalizer so neighbouring cells get unrelated streams
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    /** Names, effects and cumulative weights by effect id; never modified once published. */
+    private static final class Entries {
+        final String[] names;
+        final SurpriseEffect[] effects;
+        final int[] cumulativeWeights;
+
+        Entries(String[] names, SurpriseEffect[] effects, int[] cumulativeWeights) {
+            this.names = names;
+            this.effects = effects;
+            this.cumulativeWeights = cumulativeWeights;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Board effects
+    // ------------------------------------------------------------------
+
+    /** Reveals a random hidden numbered cell (never a mine, never a cascade, never a special cell). */
+    private static void revealSafeCell(Game game, Board board, Cell source, SplittableRandom random, Outcome outcome) {
+        Cell target = pickCell(board, random, cell -> !cell.isRevealed() && !cell.isFlagged()
+                && cell.getContent() == Cell.CellContent.NUMBER);
+        if (target == null) return;
+        board.revealCell(target.getRow(), target.getCol());
+        outcome.touch(target);
+    }
+
+    /** Moves a random hidden mine to a random hidden plain cell; adjacent numbers are updated. */
+    private static void moveMine(Game game, Board board, Cell source, SplittableRandom random, Outcome outcome) {
+        Cell mine = pickCell(board, random, cell -> !cell.isRevealed() && !cell.isFlagged() && cell.isMine());
+        Cell target = pickCell(board, random, cell -> !cell.isRevealed() && !cell.isFlagged()
+                && (cell.getContent() == Cell.CellContent.EMPTY || cell.getContent() == Cell.CellContent.NUMBER));
+        if (mine == null || target == null) return;
+        board.moveMine(mine, target, outcome.touched);
+    }
+
+    /** Uniform choice among the matching cells (reservoir sampling, row-major order). */
+    private static Cell pickCell(Board board, SplittableRandom random, Predicate<Cell> filter) {
+        Cell chosen = null;
+        int seen = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (filter.test(cell) && random.nextInt(++seen) == 0) {
+                    chosen = cell;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Result of one surprise: which effect fired, what it did to the shared counters,
+     * and which cells changed (the source cell included), so the UI can repaint only those.
+     */
+    public static final class Outcome {
+        private final int effectId;
+        private final String name;
+        private final int boardNumber;
+        private int livesDelta;
+        private int scoreDelta;
+        final List<Cell> touched = new ArrayList<>();
+
+        Outcome(int effectId, String name, int boardNumber) {
+            this.effectId = effectId;
+            this.name = name;
+            this.boardNumber = boardNumber;
+        }
+
+        /** Changes the shared lives and records it. */
+        public void addLives(Game game, int delta) {
+            livesDelta += delta;
+            game.addSharedLives(delta);
+        }
+
+        /** Changes the shared score and records it. */
+        public void addScore(Game game, int delta) {
+            scoreDelta += delta;
+            game.addSharedScore(delta);
+        }
+
+        /** Marks a cell as changed by the effect. */
+        public void touch(Cell cell) {
+            if (!touched.contains(cell)) touched.add(cell);
+        }
+
+        public int getEffectId() {
+            return effectId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getBoardNumber() {
+            return boardNumber;
+        }
+
+        public int getLivesDelta() {
+            return livesDelta;
+        }
+
+        public int getScoreDelta() {
+            return scoreDelta;
+        }
+
+        public List<Cell> getTouchedCells() {
+            return Collections.unmodifiableList(touched);
+        }
+    }
+}
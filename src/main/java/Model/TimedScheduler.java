@@ -0,0 +1,32 @@
+package Model;
+
+/**
+ * Round-robin turns with a time limit: if the player does not move within
+ * {@code turnMillis}, the turn passes to the next player.
+ */
+public class TimedScheduler extends RoundRobinScheduler {
+
+    private final long turnMillis;
+
+    public TimedScheduler(long turnMillis) {
+        if (turnMillis <= 0) throw new IllegalArgumentException("turnMillis must be > 0");
+        this.turnMillis = turnMillis;
+    }
+
+    @Override
+    public void onTick(Game game) {
+        if (getRemainingMillis(game) == 0) {
+            game.passTurn();
+        }
+    }
+
+    /** Time left for the current player, 0 if the turn is over. */
+    public long getRemainingMillis(Game game) {
+        long elapsed = (System.nanoTime() - game.getTurnStartedNanos()) / 1_000_000;
+        return Math.max(0, turnMillis - elapsed);
+    }
+
+    public long getTurnMillis() {
+        return turnMillis;
+    }
+}
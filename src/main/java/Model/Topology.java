@@ -0,0 +1,128 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * Which cells of a board are neighbours, as a table built once per board shape and size: the last
+ * table built is reused by {@link #of} while boards keep the same shape and size (all boards of a
+ * game, and the games of a simulation).
+ *
+ * The neighbours of cell i (index row * cols + col) are {@code neighbors[start[i]] .. neighbors[start[i + 1] - 1]},
+ * so a walk over them is a plain loop over an int range: no offsets, no bounds checks (cells on the
+ * edge of a square board simply have fewer entries). Shapes:
+ * <ul>
+ *   <li>SQUARE: the usual 8 neighbours</li>
+ *   <li>TORUS: 8 neighbours, wrapping around the edges</li>
+ *   <li>HEX: 6 neighbours of a hexagonal grid in "odd-r" layout (odd rows are shifted half a cell right)</li>
+ * </ul>
+ * Only SQUARE boards are shown by the view; the other shapes are played through the model (e.g. by
+ * tools and simulations). The solvers (HintSolver, ProbabilityEngine, NoGuessGenerator) walk this
+ * table, so they reason about every shape.
+ */
+public final class Topology {
+
+    public enum Shape { SQUARE, TORUS, HEX }
+
+    private static final int[][] SQUARE_OFFSETS = {
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    private static final int[][] HEX_EVEN_OFFSETS = {{-1, -1}, {-1, 0}, {0, -1}, {0, 1}, {1, -1}, {1, 0}};
+    private static final int[][] HEX_ODD_OFFSETS = {{-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, 0}, {1, 1}};
+
+    // Immutable, so sharing the last one between threads is safe
+    private static volatile Topology last;
+
+    private final Shape shape;
+    private final int rows;
+    private final int cols;
+    final int[] start;     // package-private: Board's walks read the table directly
+    final int[] neighbors;
+
+    private Topology(Shape shape, int rows, int cols, int[] start, int[] neighbors) {
+        this.shape = shape;
+        this.rows = rows;
+        this.cols = cols;
+        this.start = start;
+        this.neighbors = neighbors;
+    }
+
+    /** The neighbour table of a board of the given shape and size. */
+    public static Topology of(Shape shape, int rows, int cols) {
+        Topology cached = last;
+        if (cached != null && cached.shape == shape && cached.rows == rows && cached.cols == cols) return cached;
+        Topology built = build(shape, rows, cols);
+        last = built;
+        return built;
+    }
+
+    private static Topology build(Shape shape, int rows, int cols) {
+        int size = rows * cols;
+        int[] start = new int[size + 1];
+        int[] neighbors = new int[size * (shape == Shape.HEX ? 6 : 8)];
+        int count = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int index = r * cols + c;
+                start[index] = count;
+                int[][] offsets = shape == Shape.HEX ? (r % 2 == 0 ? HEX_EVEN_OFFSETS : HEX_ODD_OFFSETS) : SQUARE_OFFSETS;
+                for (int[] offset : offsets) {
+                    int nr = r + offset[0];
+                    int nc = c + offset[1];
+                    if (shape == Shape.TORUS) {
+                        nr = Math.floorMod(nr, rows);
+                        nc = Math.floorMod(nc, cols);
+                    } else if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) {
+                        continue;
+                    }
+                    int neighbor = nr * cols + nc;
+                    // On tiny tori several offsets wrap onto the same cell (or the cell itself)
+                    if (neighbor == index || contains(neighbors, start[index], count, neighbor)) continue;
+                    neighbors[count++] = neighbor;
+                }
+            }
+        }
+        start[size] = count;
+        return new Topology(shape, rows, cols, start, count == neighbors.length ? neighbors : Arrays.copyOf(neighbors, count));
+    }
+
+    private static boolean contains(int[] values, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /** Number of neighbours of a cell. */
+    public int degree(int index) {
+        return start[index + 1] - start[index];
+    }
+
+    /** The k-th neighbour of a cell (0 <= k < degree). */
+    public int neighbor(int index, int k) {
+        return neighbors[start[index] + k];
+    }
+
+    /** Mines around every cell (row-major), for shapes the AdjacencyKernel does not cover. */
+    byte[] neighborCounts(boolean[] mines) {
+        byte[] counts = new byte[rows * cols];
+        for (int i = 0; i < counts.length; i++) {
+            int count = 0;
+            for (int k = start[i]; k < start[i + 1]; k++) {
+                if (mines[neighbors[k]]) count++;
+            }
+            counts[i] = (byte) count;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,388 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ranks computer player policies against each other, in a round robin or a knockout bracket.
+ *
+ * Every match is played on the same shared seeds: for each seed both entrants play the same
+ * co-op game (all boards played by the entrant's policy), and the better result (won before lost,
+ * then the higher score) gets the point. Since an entrant's game on a seed does not depend on the
+ * opponent, each entrant plays each seed once and all matches are decided from those results.
+ *
+ * The games are split over a ForkJoinPool like in {@link MonteCarloSimulator}: each task keeps one
+ * Game for its games, and the per-entrant statistics are gathered per task and merged when the
+ * tasks join, so no lock is taken. Results do not depend on the number of threads.
+ */
+public class Tournament {
+
+    // Ranges at or below this many games are played by one thread
+    private static final int LEAF_GAMES = 16;
+
+    private final ForkJoinPool pool;
+    private final GameRules rules;
+    private final long seed;
+    private final int gamesPerMatch;
+
+    /**
+     * @param gamesPerMatch number of shared seeds every match is played on
+     */
+    public Tournament(ForkJoinPool pool, GameRules rules, long seed, int gamesPerMatch) {
+        if (gamesPerMatch < 1) {
+            throw new IllegalArgumentException("gamesPerMatch must be >= 1");
+        }
+        this.pool = pool;
+        this.rules = rules;
+        this.seed = seed;
+        this.gamesPerMatch = gamesPerMatch;
+    }
+
+    /**
+     * Every entrant plays every other entrant once. Standings are sorted by match points
+     * (win 2, draw 1), then game points, then entrant order.
+     */
+    public List<Standing> roundRobin(List<Entrant> entrants) {
+        Results results = play(entrants);
+        List<Standing> standings = new ArrayList<>();
+        for (int i = 0; i < entrants.size(); i++) {
+            standings.add(new Standing(entrants.get(i), i, results.stats[i]));
+        }
+        for (int a = 0; a < entrants.size(); a++) {
+            for (int b = a + 1; b < entrants.size(); b++) {
+                Match match = results.match(a, b);
+                standings.get(a).add(match.getPointsA(), match.getPointsB());
+                standings.get(b).add(match.getPointsB(), match.getPointsA());
+            }
+        }
+        standings.sort(Comparator.comparingInt(Standing::getMatchPoints).reversed()
+                .thenComparing(Comparator.comparingDouble(Standing::getGamePoints).reversed())
+                .thenComparingInt(s -> s.order));
+        return standings;
+    }
+
+    /**
+     * Knockout bracket in the given seeding order (first entrant = top seed). Missing places up to
+     * the next power of two are byes for the top seeds. Returns the matches round by round; the
+     * winner of the last match is the champion.
+     */
+    public List<List<Match>> bracket(List<Entrant> entrants) {
+        Results results = play(entrants);
+        int size = Integer.highestOneBit(Math.max(1, entrants.size() - 1)) * 2;
+        int[] slots = seeding(size);
+
+        // Round one: seed i meets seed size-1-i; byes advance without a match
+        List<Integer> alive = new ArrayList<>();
+        List<List<Match>> rounds = new ArrayList<>();
+        List<Match> round = new ArrayList<>();
+        for (int i = 0; i < size; i += 2) {
+            int a = slots[i];
+            int b = slots[i + 1];
+            if (b >= entrants.size()) {
+                alive.add(a);
+            } else {
+                Match match = results.match(a, b);
+                round.add(match);
+                alive.add(match.winnerIndex);
+            }
+        }
+        rounds.add(round);
+        while (alive.size() > 1) {
+            List<Integer> next = new ArrayList<>();
+            round = new ArrayList<>();
+            for (int i = 0; i < alive.size(); i += 2) {
+                Match match = results.match(alive.get(i), alive.get(i + 1));
+                round.add(match);
+                next.add(match.winnerIndex);
+            }
+            rounds.add(round);
+            alive = next;
+        }
+        return rounds;
+    }
+
+    /** Bracket positions so that seeds 1 and 2 can only meet in the final (standard seeding). */
+    private static int[] seeding(int size) {
+        int[] slots = {0};
+        while (slots.length < size) {
+            int n = slots.length * 2;
+            int[] next = new int[n];
+            for (int i = 0; i < slots.length; i++) {
+                next[2 * i] = slots[i];
+                next[2 * i + 1] = n - 1 - slots[i];
+            }
+            slots = next;
+        }
+        return slots;
+    }
+
+    /** Plays every entrant on every shared seed. */
+    Results play(List<Entrant> entrants) {
+        Results results = new Results(entrants, gamesPerMatch);
+        MonteCarloSimulator.Stats[] stats = pool.invoke(new GamesTask(results, 0, entrants.size() * gamesPerMatch));
+        System.arraycopy(stats, 0, results.stats, 0, stats.length);
+        return results;
+    }
+
+    /**
+     * Plays games [from, to) (game = entrant * gamesPerMatch + seed index), splitting the range
+     * in halves until it is small. Each game writes only its own result slots.
+     */
+    private final class GamesTask extends RecursiveTask<MonteCarloSimulator.Stats[]> {
+        private final Results results;
+        private final int from;
+        private final int to;
+
+        GamesTask(Results results, int from, int to) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected MonteCarloSimulator.Stats[] compute() {
+            int entrants = results.entrants.size();
+            if (to - from <= LEAF_GAMES) {
+                MonteCarloSimulator.Stats[] stats = new MonteCarloSimulator.Stats[entrants];
+                for (int i = 0; i < entrants; i++) {
+                    stats[i] = new MonteCarloSimulator.Stats();
+                }
+                Game game = new Game(rules, List.of(new Player("Bot 1"), new Player("Bot 2")),
+                        new RoundRobinScheduler(), null);
+                game.setQuiet(true);
+                for (int g = from; g < to; g++) {
+                    int entrant = g / gamesPerMatch;
+                    MonteCarloSimulator.playGame(game, rules, results.entrants.get(entrant).getLevel(),
+                            MonteCarloSimulator.mix(seed, g % gamesPerMatch));
+                    boolean won = game.getGameState() == GameState.WON;
+                    results.won[g] = won;
+                    results.scores[g] = game.getSharedScore();
+                    stats[entrant].add(won, game.getSharedLives(), game.getSharedScore());
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            GamesTask left = new GamesTask(results, from, mid);
+            left.fork();
+            MonteCarloSimulator.Stats[] right = new GamesTask(results, mid, to).compute();
+            MonteCarloSimulator.Stats[] merged = left.join();
+            for (int i = 0; i < entrants; i++) {
+                merged[i].merge(right[i]);
+            }
+            return merged;
+        }
+    }
+
+    /** Result of every entrant on every shared seed. */
+    static final class Results {
+        final List<Entrant> entrants;
+        final int games;
+        final boolean[] won;
+        final int[] scores;
+        final MonteCarloSimulator.Stats[] stats;
+
+        Results(List<Entrant> entrants, int games) {
+            this.entrants = Collections.unmodifiableList(new ArrayList<>(entrants));
+            this.games = games;
+            this.won = new boolean[entrants.size() * games];
+            this.scores = new int[entrants.size() * games];
+            this.stats = new MonteCarloSimulator.Stats[entrants.size()];
+        }
+
+        /** Compares entrants a and b seed by seed. */
+        Match match(int a, int b) {
+            double pointsA = 0;
+            double pointsB = 0;
+            for (int s = 0; s < games; s++) {
+                int ga = a * games + s;
+                int gb = b * games + s;
+                int cmp = won[ga] != won[gb] ? (won[ga] ? 1 : -1) : Integer.compare(scores[ga], scores[gb]);
+                if (cmp > 0) {
+                    pointsA++;
+                } else if (cmp < 0) {
+                    pointsB++;
+                } else {
+                    pointsA += 0.5;
+                    pointsB += 0.5;
+                }
+            }
+            // A drawn match goes to the better total score, then to the higher seed (only brackets use it)
+            int winner = pointsA != pointsB ? (pointsA > pointsB ? a : b)
+                    : total(a) != total(b) ? (total(a) > total(b) ? a : b) : Math.min(a, b);
+            return new Match(entrants.get(a), entrants.get(b), pointsA, pointsB, winner, entrants.get(winner));
+        }
+
+        private long total(int entrant) {
+            long sum = 0;
+            for (int s = 0; s < games; s++) {
+                sum += scores[entrant * games + s];
+            }
+            return sum;
+        }
+    }
+
+    /** A bot policy taking part in a tournament. */
+    public static final class Entrant {
+        private final String name;
+        private final ComputerPlayer.Level level;
+
+        public Entrant(String name, ComputerPlayer.Level level) {
+            this.name = name;
+            this.level = level;
+        }
+
+        public static Entrant of(ComputerPlayer.Level level) {
+            return new Entrant(level.name(), level);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ComputerPlayer.Level getLevel() {
+            return level;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /** Two entrants compared on the shared seeds; a seed won by neither gives each half a point. */
+    public static final class Match {
+        private final Entrant a;
+        private final Entrant b;
+        private final double pointsA;
+        private final double pointsB;
+        private final int winnerIndex;
+        private final Entrant winner;
+
+        Match(Entrant a, Entrant b, double pointsA, double pointsB, int winnerIndex, Entrant winner) {
+            this.a = a;
+            this.b = b;
+            this.pointsA = pointsA;
+            this.pointsB = pointsB;
+            this.winnerIndex = winnerIndex;
+            this.winner = winner;
+        }
+
+        public Entrant getA() {
+            return a;
+        }
+
+        public Entrant getB() {
+            return b;
+        }
+
+        public double getPointsA() {
+            return pointsA;
+        }
+
+        public double getPointsB() {
+            return pointsB;
+        }
+
+        public boolean isDraw() {
+            return pointsA == pointsB;
+        }
+
+        /** Winner on points; a draw goes to the better total score, then to the higher seed. */
+        public Entrant getWinner() {
+            return winner;
+        }
+
+        @Override
+        public String toString() {
+            return a + " " + pointsA + " - " + pointsB + " " + b;
+        }
+    }
+
+    /** Round robin line of one entrant. */
+    public static final class Standing {
+        private final Entrant entrant;
+        private final int order;
+        private final MonteCarloSimulator.Stats stats;
+        private int wins;
+        private int draws;
+        private int losses;
+        private double gamePoints;
+
+        Standing(Entrant entrant, int order, MonteCarloSimulator.Stats stats) {
+            this.entrant = entrant;
+            this.order = order;
+            this.stats = stats;
+        }
+
+        void add(double points, double opponentPoints) {
+            gamePoints += points;
+            if (points > opponentPoints) {
+                wins++;
+            } else if (points < opponentPoints) {
+                losses++;
+            } else {
+                draws++;
+            }
+        }
+
+        public Entrant getEntrant() {
+            return entrant;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public int getLosses() {
+            return losses;
+        }
+
+        /** 2 per match won, 1 per match drawn. */
+        public int getMatchPoints() {
+            return 2 * wins + draws;
+        }
+
+        /** Seeds won against all opponents (half a point per tie). */
+        public double getGamePoints() {
+            return gamePoints;
+        }
+
+        /** The entrant's own games on the shared seeds. */
+        public MonteCarloSimulator.Stats getStats() {
+            return stats;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-14s %2d-%2d-%2d %3d pts %6.1f games, win rate %.3f, avg score %.1f",
+                    entrant, wins, draws, losses, getMatchPoints(), gamePoints, stats.getWinRate(),
+                    stats.getAverageScore());
+        }
+    }
+
+    public static void main(String[] args) {
+        Difficulty difficulty = args.length > 0 ? Difficulty.valueOf(args[0].toUpperCase()) : Difficulty.MEDIUM;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        List<Entrant> entrants = new ArrayList<>();
+        for (ComputerPlayer.Level level : ComputerPlayer.Level.values()) {
+            entrants.add(Entrant.of(level));
+        }
+        Tournament tournament = new Tournament(ForkJoinPool.commonPool(), GameRules.of(difficulty), 1, games);
+        long start = System.nanoTime();
+        List<Standing> standings = tournament.roundRobin(entrants);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        for (Standing standing : standings) {
+            System.out.println(standing);
+        }
+        System.out.println(entrants.size() * games + " games in " + millis + " ms on "
+                + ForkJoinPool.commonPool().getParallelism() + " threads");
+    }
+}
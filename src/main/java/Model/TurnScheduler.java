@@ -0,0 +1,31 @@
+package Model;
+
+/**
+ * Decides who may move and whose turn comes next.
+ * Board numbers are 1-based, like {@link Game#getBoard(int)}.
+ */
+public interface TurnScheduler {
+
+    /**
+     * Returns the board that plays after {@code currentTurn} (called by Game.switchTurn).
+     */
+    int nextTurn(Game game, int currentTurn);
+
+    /**
+     * Returns true if the given board may make a move right now.
+     */
+    boolean mayPlay(Game game, int boardNumber);
+
+    /**
+     * True if all boards play at the same time (there are no turns).
+     */
+    default boolean isSimultaneous() {
+        return false;
+    }
+
+    /**
+     * Called periodically by the UI so time-based schedulers can pass the turn on their own.
+     */
+    default void onTick(Game game) {
+    }
+}
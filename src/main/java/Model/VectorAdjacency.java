@@ -0,0 +1,62 @@
+package Model;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API version of {@link AdjacencyKernel#countWords}: the same bit-sliced additions on
+ * several words per instruction. Shifts across word boundaries read the neighbouring words with
+ * loads offset by one. Only loaded when AdjacencyKernel.VECTORIZED is true.
+ */
+final class VectorAdjacency {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private VectorAdjacency() {
+    }
+
+    static void countRow(long[] up, long[] mid, long[] down, int words, long[][] planes) {
+        int w = 1;
+        for (; w + SPECIES.length() <= words + 1; w += SPECIES.length()) {
+            LongVector upPrev = LongVector.fromArray(SPECIES, up, w - 1);
+            LongVector midPrev = LongVector.fromArray(SPECIES, mid, w - 1);
+            LongVector downPrev = LongVector.fromArray(SPECIES, down, w - 1);
+            LongVector upHere = LongVector.fromArray(SPECIES, up, w);
+            LongVector midHere = LongVector.fromArray(SPECIES, mid, w);
+            LongVector downHere = LongVector.fromArray(SPECIES, down, w);
+            LongVector upNext = LongVector.fromArray(SPECIES, up, w + 1);
+            LongVector midNext = LongVector.fromArray(SPECIES, mid, w + 1);
+            LongVector downNext = LongVector.fromArray(SPECIES, down, w + 1);
+
+            LongVector lowPrev = upPrev.lanewise(VectorOperators.XOR, midPrev).lanewise(VectorOperators.XOR, downPrev);
+            LongVector highPrev = majority(upPrev, midPrev, downPrev);
+            LongVector low = upHere.lanewise(VectorOperators.XOR, midHere).lanewise(VectorOperators.XOR, downHere);
+            LongVector high = majority(upHere, midHere, downHere);
+            LongVector lowNext = upNext.lanewise(VectorOperators.XOR, midNext).lanewise(VectorOperators.XOR, downNext);
+            LongVector highNext = majority(upNext, midNext, downNext);
+
+            LongVector a0 = low.lanewise(VectorOperators.LSHL, 1).or(lowPrev.lanewise(VectorOperators.LSHR, 63));
+            LongVector a1 = high.lanewise(VectorOperators.LSHL, 1).or(highPrev.lanewise(VectorOperators.LSHR, 63));
+            LongVector b0 = low.lanewise(VectorOperators.LSHR, 1).or(lowNext.lanewise(VectorOperators.LSHL, 63));
+            LongVector b1 = high.lanewise(VectorOperators.LSHR, 1).or(highNext.lanewise(VectorOperators.LSHL, 63));
+            LongVector c0 = upHere.lanewise(VectorOperators.XOR, downHere);
+            LongVector c1 = upHere.and(downHere);
+
+            LongVector carry1 = majority(a0, b0, c0);
+            LongVector t = a1.lanewise(VectorOperators.XOR, b1).lanewise(VectorOperators.XOR, c1);
+            LongVector u = majority(a1, b1, c1);
+            LongVector v = t.and(carry1);
+            a0.lanewise(VectorOperators.XOR, b0).lanewise(VectorOperators.XOR, c0).intoArray(planes[0], w - 1);
+            t.lanewise(VectorOperators.XOR, carry1).intoArray(planes[1], w - 1);
+            u.lanewise(VectorOperators.XOR, v).intoArray(planes[2], w - 1);
+            u.and(v).intoArray(planes[3], w - 1);
+        }
+        AdjacencyKernel.countWords(up, mid, down, w, words + 1, planes); // words left over
+    }
+
+    /** (x & y) | (z & (x ^ y)): the carry of a full adder. */
+    private static LongVector majority(LongVector x, LongVector y, LongVector z) {
+        return x.and(y).or(z.and(x.lanewise(VectorOperators.XOR, y)));
+    }
+}
@@ -0,0 +1,155 @@
+package Server;
+
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameState;
+import Model.Move;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Line protocol of the game server. One command per line, one response line per command.
+ *
+ * <pre>
+ * NEW [EASY|MEDIUM|HARD] [players] [TURNS|REALTIME]  -> OK &lt;session&gt;
+ * REVEAL &lt;session&gt; &lt;board&gt; &lt;row&gt; &lt;col&gt;  -> OK &lt;state&gt; &lt;lives&gt; &lt;score&gt; &lt;turn&gt;
+ * FLAG &lt;session&gt; &lt;board&gt; &lt;row&gt; &lt;col&gt;    -> OK &lt;state&gt; &lt;lives&gt; &lt;score&gt; &lt;turn&gt;
+ * STATE &lt;session&gt;                   -> OK &lt;state&gt; &lt;lives&gt; &lt;score&gt; &lt;turn&gt; &lt;safe1&gt; ... &lt;safeN&gt;
+ * BOARD &lt;session&gt; &lt;board&gt;           -> OK &lt;rows&gt; &lt;cols&gt; &lt;row0&gt;/&lt;row1&gt;/...
+ * CLOSE &lt;session&gt;                   -> OK
+ * STATS                             -> OK sessions=&lt;n&gt; hibernated=&lt;n&gt; bytes=&lt;n&gt;
+ * </pre>
+ *
+ * Errors are answered with {@code ERR <message>}.
+ * In BOARD rows: '.' hidden, 'F' flagged, 'M' mine, 'Q' question, 'S' surprise, '0'-'8' numbers.
+ */
+public class CommandHandler {
+
+    private static final int MAX_PLAYERS = 64;
+
+    private final SessionRegistry registry;
+
+    public CommandHandler(SessionRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Handles one request line and returns the response line.
+     * Blocks until the session executed the command (cheap on a virtual thread).
+     */
+    public String handle(String line) {
+        String[] parts = line.trim().split("\\s+");
+        if (parts.length == 0 || parts[0].isEmpty()) return "ERR empty command";
+
+        try {
+            switch (parts[0].toUpperCase()) {
+                case "NEW":
+                    Difficulty difficulty = parts.length > 1
+                            ? Difficulty.valueOf(parts[1].toUpperCase()) : Difficulty.EASY;
+                    int players = parts.length > 2 ? Integer.parseInt(parts[2]) : 2;
+                    boolean realTime = parts.length > 3 && parts[3].equalsIgnoreCase("REALTIME");
+                    if (players < 1 || players > MAX_PLAYERS) return "ERR players must be 1.." + MAX_PLAYERS;
+                    return "OK " + registry.create(difficulty, players, realTime).getId();
+
+                case "REVEAL":
+                case "FLAG":
+                    return move(parts);
+
+                case "STATE":
+                    return session(parts).submit(CommandHandler::describe).get();
+
+                case "BOARD":
+                    int boardNumber = Integer.parseInt(arg(parts, 2));
+                    return session(parts).submit(game -> drawBoard(game, boardNumber)).get();
+
+                case "CLOSE":
+                    return registry.remove(arg(parts, 1)) ? "OK" : "ERR unknown session";
+
+                case "STATS":
+                    return "OK sessions=" + registry.size()
+                            + " hibernated=" + registry.hibernatedCount()
+                            + " bytes=" + registry.totalEstimatedBytes();
+
+                default:
+                    return "ERR unknown command " + parts[0];
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return "ERR " + e.getMessage();
+        } catch (ExecutionException e) {
+            return "ERR " + e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "ERR interrupted";
+        }
+    }
+
+    private String move(String[] parts) throws ExecutionException, InterruptedException {
+        Move.Type type = parts[0].equalsIgnoreCase("REVEAL") ? Move.Type.REVEAL : Move.Type.FLAG;
+        Move move = new Move(type, Integer.parseInt(arg(parts, 2)),
+                Integer.parseInt(arg(parts, 3)), Integer.parseInt(arg(parts, 4)));
+
+        return session(parts).submit(game -> {
+            if (game.getGameState() != GameState.RUNNING) return "ERR game is over";
+            if (game.getBoard(move.getBoardNumber()) == null) return "ERR unknown board";
+            if (!game.mayPlay(move.getBoardNumber())) return "ERR not your turn";
+            if (!game.makeMove(move)) return "ERR move rejected";
+
+            // Same turn rule as the GUI (GamePanel.handleMoveMade)
+            if (game.getGameState() == GameState.RUNNING) {
+                game.switchTurn();
+            }
+            return "OK " + game.getGameState() + " " + game.getSharedLives() + " "
+                    + game.getSharedScore() + " " + game.getCurrentPlayerTurn();
+        }).get();
+    }
+
+    private GameSession session(String[] parts) {
+        GameSession session = registry.get(arg(parts, 1));
+        if (session == null) throw new IllegalStateException("unknown session");
+        return session;
+    }
+
+    private static String arg(String[] parts, int index) {
+        if (index >= parts.length) throw new IllegalArgumentException("missing argument " + index);
+        return parts[index];
+    }
+
+    private static String describe(Game game) {
+        StringBuilder sb = new StringBuilder("OK ").append(game.getGameState())
+                .append(' ').append(game.getSharedLives())
+                .append(' ').append(game.getSharedScore())
+                .append(' ').append(game.getCurrentPlayerTurn());
+        for (int i = 1; i <= game.getBoardCount(); i++) {
+            sb.append(' ').append(game.getBoard(i).getSafeCellsRemaining());
+        }
+        return sb.toString();
+    }
+
+    private static String drawBoard(Game game, int boardNumber) {
+        Board board = game.getBoard(boardNumber);
+        if (board == null) return "ERR unknown board";
+        StringBuilder sb = new StringBuilder("OK ").append(board.getRows()).append(' ').append(board.getCols()).append(' ');
+        boolean generated = board.isGenerated(); // before the first reveal everything is hidden (and not allocated)
+        for (int r = 0; r < board.getRows(); r++) {
+            if (r > 0) sb.append('/');
+            for (int c = 0; c < board.getCols(); c++) {
+                sb.append(generated ? symbol(board.getCell(r, c)) : '.');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static char symbol(Cell cell) {
+        if (cell.isFlagged()) return 'F';
+        if (!cell.isRevealed()) return '.';
+        switch (cell.getContent()) {
+            case MINE: return 'M';
+            case QUESTION: return 'Q';
+            case SURPRISE: return 'S';
+            case NUMBER: return (char) ('0' + cell.getAdjacentMines());
+            default: return '0';
+        }
+    }
+}
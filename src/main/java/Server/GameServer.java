@@ -0,0 +1,106 @@
+package Server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless server hosting many games at once over a local TCP socket (see {@link CommandHandler}
+ * for the protocol). Every connection is served by its own virtual thread.
+ *
+ * Usage: {@code java Server.GameServer [port]}
+ */
+public class GameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 7777;
+
+    private static final long HIBERNATE_AFTER_MILLIS = 60_000;       // 1 minute
+    private static final long EVICT_AFTER_MILLIS = 30 * 60_000;      // 30 minutes
+
+    private final SessionRegistry registry;
+    private final CommandHandler handler;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+
+    public GameServer(int port, SessionRegistry registry) throws IOException {
+        this.registry = registry;
+        this.handler = new CommandHandler(registry);
+        this.serverSocket = new ServerSocket(port, 512, InetAddress.getLoopbackAddress());
+        this.connections = newConnectionExecutor();
+    }
+
+    /**
+     * One virtual thread per connection. Virtual threads are a preview API on Java 19, so when
+     * they are not available (preview not enabled) we fall back to a cached platform-thread pool.
+     */
+    static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) return;
+                throw e;
+            }
+            connections.execute(() -> handleConnection(socket));
+        }
+    }
+
+    private void handleConnection(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("QUIT")) break;
+                out.println(handler.handle(line));
+            }
+        } catch (IOException e) {
+            // Client went away, nothing to clean up: sessions live on until evicted
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public SessionRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+        registry.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        try (GameServer server = new GameServer(port,
+                new SessionRegistry(HIBERNATE_AFTER_MILLIS, EVICT_AFTER_MILLIS))) {
+            System.out.println("Scorpion server listening on 127.0.0.1:" + server.getPort());
+            server.serve();
+        }
+    }
+}
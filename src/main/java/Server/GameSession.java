@@ -0,0 +1,124 @@
+package Server;
+
+import Model.Board;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameSnapshot;
+import Model.Player;
+import Model.RoundRobinScheduler;
+import Model.SimultaneousScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * One hosted game. All access to the Game goes through {@link #submit(Function)}, which runs
+ * on this session's serial executor, so the Game only ever sees a single writer.
+ *
+ * Idle sessions can be hibernated: the Game is replaced by its packed GameSnapshot
+ * (about one byte per cell of the boards played so far) and restored on the next access.
+ * Session games are quiet: nothing is printed to the server's console when they end.
+ */
+public class GameSession {
+
+    // Rough per-object costs used for memory accounting (64-bit JVM, compressed oops).
+    // Boards hold no cells until their first reveal, so only generated boards are charged per cell.
+    private static final int SESSION_OVERHEAD_BYTES = 1024;  // session, executor, game, players
+    private static final int LIVE_BOARD_BYTES = 160;
+    private static final int LIVE_BYTES_PER_CELL = 56;       // Cell object + slot in Cell[][]
+    private static final int PACKED_BOARD_BYTES = 64;
+    private static final int PACKED_BYTES_PER_CELL = 1;
+
+    private final String id;
+    private final Difficulty difficulty;
+    private final SerialExecutor executor;
+
+    // Exactly one of these is non-null; only touched from the serial executor
+    private Game game;
+    private GameSnapshot hibernated;
+
+    private volatile long lastAccessNanos;
+    private volatile long estimatedBytes;
+    private volatile boolean packed;        // game stored as the hibernated snapshot
+
+    GameSession(String id, Difficulty difficulty, int playerCount, boolean realTime, Executor workers) {
+        this.id = id;
+        this.difficulty = difficulty;
+        this.executor = new SerialExecutor(workers);
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= playerCount; i++) {
+            players.add(new Player("Player " + i));
+        }
+        this.game = new Game(difficulty, players,
+                realTime ? new SimultaneousScheduler() : new RoundRobinScheduler());
+        game.setQuiet(true);
+        this.lastAccessNanos = System.nanoTime();
+        this.estimatedBytes = estimateBytes(game, LIVE_BOARD_BYTES, LIVE_BYTES_PER_CELL);
+    }
+
+    /**
+     * Runs an action against the game on this session's single writer.
+     */
+    public <T> CompletableFuture<T> submit(Function<Game, T> action) {
+        lastAccessNanos = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            if (game == null) {
+                game = hibernated.restore();
+                game.setQuiet(true);
+                hibernated = null;
+                packed = false;
+            }
+            T result = action.apply(game);
+            estimatedBytes = estimateBytes(game, LIVE_BOARD_BYTES, LIVE_BYTES_PER_CELL); // a move may generate a board
+            return result;
+        }, executor);
+    }
+
+    /**
+     * Packs the game into a snapshot to save memory while the session is idle.
+     */
+    CompletableFuture<Void> hibernate() {
+        return CompletableFuture.runAsync(() -> {
+            if (game == null) return;
+            hibernated = GameSnapshot.capture(game);
+            estimatedBytes = estimateBytes(game, PACKED_BOARD_BYTES, PACKED_BYTES_PER_CELL);
+            game = null;
+            packed = true;
+        }, executor);
+    }
+
+    private static long estimateBytes(Game game, int bytesPerBoard, int bytesPerCell) {
+        long bytes = SESSION_OVERHEAD_BYTES;
+        for (int i = 1; i <= game.getBoardCount(); i++) {
+            Board board = game.getBoard(i);
+            bytes += bytesPerBoard;
+            if (board.isGenerated()) bytes += (long) board.getRows() * board.getCols() * bytesPerCell;
+        }
+        return bytes;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    /** Approximate heap used by this session (live game or hibernated snapshot). */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public boolean isHibernated() {
+        return packed;
+    }
+}
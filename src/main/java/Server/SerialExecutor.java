@@ -0,0 +1,41 @@
+package Server;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs submitted tasks one at a time, in submission order, on a shared executor.
+ * Gives every session a single writer without giving it its own thread.
+ */
+class SerialExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor shared;
+    private Runnable active;
+
+    SerialExecutor(Executor shared) {
+        this.shared = shared;
+    }
+
+    @Override
+    public synchronized void execute(Runnable task) {
+        tasks.add(() -> {
+            try {
+                task.run();
+            } finally {
+                scheduleNext();
+            }
+        });
+        if (active == null) {
+            scheduleNext();
+        }
+    }
+
+    private synchronized void scheduleNext() {
+        active = tasks.poll();
+        if (active != null) {
+            shared.execute(active);
+        }
+    }
+}
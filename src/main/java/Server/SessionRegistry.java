@@ -0,0 +1,117 @@
+package Server;
+
+import Model.Difficulty;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * All hosted game sessions, by id.
+ *
+ * Sessions share a small worker pool (one thread per core); each session serializes its own
+ * tasks on top of it, so idle sessions cost no threads. A maintenance task hibernates sessions
+ * that were idle for a while and evicts sessions that were idle for much longer.
+ */
+public class SessionRegistry implements AutoCloseable {
+
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final ExecutorService workers;
+    private final ScheduledExecutorService maintenance;
+
+    private final long hibernateAfterNanos;
+    private final long evictAfterNanos;
+
+    /**
+     * @param hibernateAfterMillis idle time before a session's game is packed into a snapshot
+     * @param evictAfterMillis     idle time before a session is removed completely
+     */
+    public SessionRegistry(long hibernateAfterMillis, long evictAfterMillis) {
+        this.hibernateAfterNanos = TimeUnit.MILLISECONDS.toNanos(hibernateAfterMillis);
+        this.evictAfterNanos = TimeUnit.MILLISECONDS.toNanos(evictAfterMillis);
+        this.workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, "session-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long period = Math.max(1, Math.min(hibernateAfterMillis, evictAfterMillis) / 4);
+        maintenance.scheduleAtFixedRate(this::sweepIdleSessions, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public GameSession create(Difficulty difficulty) {
+        return create(difficulty, 2, false);
+    }
+
+    /**
+     * @param realTime true = all players play at once, false = round-robin turns
+     */
+    public GameSession create(Difficulty difficulty, int players, boolean realTime) {
+        String id = Long.toString(nextId.getAndIncrement(), 36);
+        GameSession session = new GameSession(id, difficulty, players, realTime, workers);
+        sessions.put(id, session);
+        return session;
+    }
+
+    /** Returns the session, or null if it does not exist (or was evicted). */
+    public GameSession get(String id) {
+        return sessions.get(id);
+    }
+
+    public boolean remove(String id) {
+        return sessions.remove(id) != null;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /** Sum of the estimated memory of all sessions. */
+    public long totalEstimatedBytes() {
+        long total = 0;
+        for (GameSession session : sessions.values()) {
+            total += session.getEstimatedBytes();
+        }
+        return total;
+    }
+
+    public int hibernatedCount() {
+        int count = 0;
+        for (GameSession session : sessions.values()) {
+            if (session.isHibernated()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Hibernates or evicts idle sessions. Runs periodically, can also be called directly.
+     */
+    void sweepIdleSessions() {
+        long now = System.nanoTime();
+        for (GameSession session : sessions.values()) {
+            long idle = now - session.getLastAccessNanos();
+            if (idle >= evictAfterNanos) {
+                sessions.remove(session.getId(), session);
+            } else if (idle >= hibernateAfterNanos && !session.isHibernated()) {
+                session.hibernate();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        maintenance.shutdownNow();
+        workers.shutdown();
+        sessions.clear();
+    }
+}
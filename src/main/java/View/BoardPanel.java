@@ -5,20 +5,40 @@ import Model.Board;
 import Model.Cell;
 import Model.Game;
 import Model.GameState;
+import Model.HintSolver;
+import Model.ProbabilityEngine;
+import Model.Move;
+import Model.Question;
+import Model.QuestionRepository;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class BoardPanel extends JPanel {
 
+    // Shared by all boards: its component cache is reused across moves
+    private static final ProbabilityEngine PROBABILITIES = new ProbabilityEngine();
+    private static final long HEAT_MAP_BUDGET_MILLIS = 200;
+
     private final GameController controller;
     private final Board board;
-    private final int boardNumber;              // 1 or 2
+    private final int boardNumber;              // 1..N
     private final Runnable moveCallback;       // called after a successful move
 
     private JButton[][] buttons;
     private JLabel waitLabel;
     private boolean waiting;                   // true = "WAIT FOR YOUR TURN"
+    private boolean computerControlled;        // true = played by a ComputerPlayer, clicks are ignored
+    private boolean generating;                // true = no-guess layout being searched, clicks are ignored
+
+    // Follows this board's reveals incrementally, so asking for a hint is cheap after every move
+    private final HintSolver hintSolver;
+
+    // Mine-probability overlay on hidden cells
+    private boolean heatMap;
+    private Color defaultBackground;
 
     public BoardPanel(GameController controller,
                       Board board,
@@ -30,6 +50,7 @@ public class BoardPanel extends JPanel {
         this.boardNumber = boardNumber;
         this.waiting = initiallyWaiting;
         this.moveCallback = moveCallback;
+        this.hintSolver = new HintSolver(board);
 
         initComponents();
     }
@@ -62,6 +83,7 @@ public class BoardPanel extends JPanel {
                 gridPanel.add(btn);
             }
         }
+        defaultBackground = buttons[0][0].getBackground();
 
         add(gridPanel);
 
@@ -87,22 +109,144 @@ public class BoardPanel extends JPanel {
         // Game over? no moves.
         if (game.getGameState() != GameState.RUNNING) return;
 
-        // Not this board's turn? ignore.
-        if (game.getCurrentPlayerTurn() != boardNumber) return;
+        // Not this board's turn? ignore. (The turn scheduler decides, e.g. simultaneous mode)
+        if (!game.mayPlay(boardNumber)) return;
+
+        // Also ignore if this panel is marked as waiting (or the computer plays it)
+        if (waiting || computerControlled || generating) return;
 
-        // Also ignore if this panel is marked as waiting
-        if (waiting) return;
+        // The no-guess search of the first click can take seconds: run it off the EDT, then click again
+        if (!board.isGenerated() && game.isNoGuess()) {
+            generateThenReveal(game, r, c);
+            return;
+        }
 
-        board.revealCell(r, c);   // uses your existing Board logic
+        // Goes through Game so the move is seen by listeners (replay recording)
+        if (!game.makeMove(Move.reveal(boardNumber, r, c))) return;
 
         refresh();
 
+        Cell cell = board.getCell(r, c);
+        if (cell.getContent() == Cell.CellContent.QUESTION && cell.getQuestionId() != null) {
+            showQuestion(game.getQuestionRepository(), cell.getQuestionId());
+        }
+
         // notify parent (GamePanel) that a move happened
         if (moveCallback != null) {
             moveCallback.run();
         }
     }
 
+    /**
+     * Generates this board for a first click at (r, c) on a background thread, then replays the
+     * click on the EDT (unless a new game was started meanwhile).
+     */
+    private void generateThenReveal(Game game, int r, int c) {
+        generating = true;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        CompletableFuture.runAsync(() -> board.ensureGenerated(r, c))
+                .whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+                    generating = false;
+                    setCursor(null);
+                    if (error == null && controller.getCurrentGame() == game && game.getBoard(boardNumber) == board) {
+                        handleClick(r, c);
+                    }
+                }));
+    }
+
+    /**
+     * Shows the question of a QUESTION cell. The body is loaded off the EDT if it is not cached yet.
+     */
+    private void showQuestion(QuestionRepository repository, int questionId) {
+        if (repository == null) return;
+
+        repository.getAsync(questionId).thenAccept(question -> {
+            if (question == null) return;
+            SwingUtilities.invokeLater(() -> askQuestion(question));
+        });
+    }
+
+    private void askQuestion(Question question) {
+        Object[] answers = question.getAnswers().toArray();
+        int answer = JOptionPane.showOptionDialog(this, question.getText(),
+                "Question (level " + question.getLevel() + ")",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, answers, null);
+        if (answer < 0) return;
+
+        JOptionPane.showMessageDialog(this, question.isCorrect(answer)
+                ? "Correct!"
+                : "Wrong! The answer was: " + question.getAnswers().get(question.getCorrectAnswer()));
+    }
+
+    /**
+     * Highlights a hidden cell that is certainly safe for a moment.
+     *
+     * @return false if no safe cell can be deduced from the revealed numbers
+     */
+    public boolean showHint() {
+        Cell cell = hintSolver.nextSafeCell();
+        if (cell == null) return false;
+
+        JButton btn = buttons[cell.getRow()][cell.getCol()];
+        Color original = btn.getBackground();
+        btn.setBackground(Color.GREEN);
+        Timer timer = new Timer(1500, e -> btn.setBackground(original));
+        timer.setRepeats(false);
+        timer.start();
+        return true;
+    }
+
+    /**
+     * Shows or hides the mine probability of every hidden cell as its background color
+     * (green = safe, red = mine) with the exact percentage as tooltip.
+     */
+    public void setHeatMap(boolean heatMap) {
+        this.heatMap = heatMap;
+        if (heatMap) {
+            updateHeatMap();
+        } else {
+            for (JButton[] row : buttons) {
+                for (JButton btn : row) {
+                    btn.setBackground(defaultBackground);
+                    btn.setToolTipText(null);
+                }
+            }
+        }
+    }
+
+    /** Computes the probabilities off the EDT and paints them if the board has not changed meanwhile. */
+    private void updateHeatMap() {
+        ProbabilityEngine.Snapshot snapshot = ProbabilityEngine.Snapshot.of(board);
+        int revealCount = board.getRevealCount();
+        CompletableFuture.supplyAsync(() -> PROBABILITIES.compute(snapshot, HEAT_MAP_BUDGET_MILLIS))
+                .thenAccept(result -> SwingUtilities.invokeLater(() -> {
+                    if (heatMap && board.getRevealCount() == revealCount) paintHeatMap(result);
+                }));
+    }
+
+    private void paintHeatMap(ProbabilityEngine.Result result) {
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                float p = result.getProbability(r, c);
+                JButton btn = buttons[r][c];
+                if (Float.isNaN(p)) {
+                    btn.setBackground(defaultBackground);
+                    btn.setToolTipText(null);
+                } else {
+                    btn.setBackground(new Color(0.3f + 0.7f * p, 0.3f + 0.7f * (1 - p), 0.3f));
+                    btn.setToolTipText(String.format("%.1f%% mine%s", p * 100, result.isExact() ? "" : " (estimate)"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Called by GamePanel when a computer player takes over this board.
+     */
+    public void setComputerControlled(boolean computerControlled) {
+        this.computerControlled = computerControlled;
+    }
+
     /**
      * Called by GamePanel when the turn changes.
      */
@@ -123,44 +267,57 @@ public class BoardPanel extends JPanel {
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
                 Cell cell = board.getCell(r, c);
-                JButton btn = buttons[r][c];
-
                 if (cell == null) continue;
+                paintCell(cell);
+            }
+        }
+        if (heatMap) updateHeatMap();
+    }
 
-                switch (cell.getState()) {
-                    case HIDDEN:
-                        btn.setText("");
-                        btn.setEnabled(true);
-                        break;
+    /**
+     * Repaints only the given cells (e.g. the cells touched by a surprise effect).
+     */
+    public void refreshCells(List<Cell> cells) {
+        for (Cell cell : cells) {
+            paintCell(cell);
+        }
+    }
 
-                    case FLAGGED:
-                        btn.setText("F");
-                        btn.setEnabled(true);
+    private void paintCell(Cell cell) {
+        JButton btn = buttons[cell.getRow()][cell.getCol()];
+
+        switch (cell.getState()) {
+            case HIDDEN:
+                btn.setText("");
+                btn.setEnabled(true);
+                break;
+
+            case FLAGGED:
+                btn.setText("F");
+                btn.setEnabled(true);
+                break;
+
+            case REVEALED:
+                btn.setEnabled(false);
+                switch (cell.getContent()) {
+                    case MINE:
+                        btn.setText("M");
                         break;
-
-                    case REVEALED:
-                        btn.setEnabled(false);
-                        switch (cell.getContent()) {
-                            case MINE:
-                                btn.setText("M");
-                                break;
-                            case NUMBER:
-                                btn.setText(String.valueOf(cell.getAdjacentMines()));
-                                break;
-                            case QUESTION:
-                                btn.setText("Q");
-                                break;
-                            case SURPRISE:
-                                btn.setText("S");
-                                break;
-                            case EMPTY:
-                            default:
-                                btn.setText("");
-                                break;
-                        }
+                    case NUMBER:
+                        btn.setText(String.valueOf(cell.getAdjacentMines()));
+                        break;
+                    case QUESTION:
+                        btn.setText("Q");
+                        break;
+                    case SURPRISE:
+                        btn.setText("S");
+                        break;
+                    case EMPTY:
+                    default:
+                        btn.setText("");
                         break;
                 }
-            }
+                break;
         }
     }
 }
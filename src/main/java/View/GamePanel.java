@@ -3,9 +3,13 @@ package View;
 import Controller.GameController;
 import Model.Board;
 import Model.Cell;
+import Model.ComputerPlayer;
 import Model.Difficulty;
 import Model.Game;
+import Model.GameListener;
 import Model.GameState;
+import Model.Move;
+import Model.SurpriseEffects;
 
 import javax.swing.*;
 import java.awt.*;
@@ -17,21 +21,15 @@ public class GamePanel extends JPanel {
     private final GameController controller;
     private final Game game;
 
-    private final String player1Name;
-    private final String player2Name;
-
-    private BoardPanel boardPanel1;
-    private BoardPanel boardPanel2;
+    private final List<BoardPanel> boardPanels = new ArrayList<>();
 
     // Top labels
     private JLabel lblTitle;
     private JLabel lblLevel;
 
-    // Player area labels
-    private JLabel lblPlayer1Box;
-    private JLabel lblPlayer2Box;
-    private JLabel lblMinesLeft1;
-    private JLabel lblMinesLeft2;
+    // Player area labels (one per board)
+    private final List<JLabel> playerBoxLabels = new ArrayList<>();
+    private final List<JLabel> minesLeftLabels = new ArrayList<>();
 
     // Bottom status
     private JLabel lblScore;
@@ -39,12 +37,47 @@ public class GamePanel extends JPanel {
     private JPanel heartsPanel;
     private List<JLabel> heartLabels;
 
-    public GamePanel(GameController controller, Game game,
-                     String player1Name, String player2Name) {
+    // Lets time-based turn schedulers pass the turn and keeps the overlays in sync
+    private final Timer turnTimer;
+
+    // Minimum time between two computer moves, so the human can follow them
+    private static final long COMPUTER_MOVE_DELAY_MILLIS = 400;
+
+    // Computer opponent and the board it plays (null = all boards are human)
+    private ComputerPlayer computer;
+    private int computerBoard;
+    private boolean computerThinking;
+    private long lastComputerMoveNanos;
+
+    // Repaints just the cells a surprise effect changed (may fire off the EDT, e.g. in replays)
+    private final GameListener surpriseListener = new GameListener() {
+        @Override
+        public void onMove(Game game, Move move) {
+        }
+
+        @Override
+        public void onSurprise(Game game, SurpriseEffects.Outcome outcome) {
+            SwingUtilities.invokeLater(() -> {
+                int index = outcome.getBoardNumber() - 1;
+                if (index >= 0 && index < boardPanels.size()) {
+                    boardPanels.get(index).refreshCells(outcome.getTouchedCells());
+                }
+                updateStatus();
+            });
+        }
+    };
+
+    /**
+     * Player names come from the game's players (board N belongs to player N).
+     */
+    public GamePanel(GameController controller, Game game) {
         this.controller = controller;
         this.game = game;
-        this.player1Name = player1Name;
-        this.player2Name = player2Name;
+        this.turnTimer = new Timer(250, e -> {
+            game.tick();
+            updateTurnUI();
+            playComputerTurn();
+        });
 
         initComponents();
         updateStatus();
@@ -80,64 +113,24 @@ public class GamePanel extends JPanel {
 
         add(topPanel, BorderLayout.NORTH);
 
-        // ===== CENTER: two player panels =====
-        JPanel centerPanel = new JPanel(new GridLayout(1, 2, 40, 0));
+        // ===== CENTER: one player panel per board, laid out in a grid =====
+        int count = game.getBoardCount();
+        int gridCols = (int) Math.ceil(Math.sqrt(count));
+        int gridRows = (int) Math.ceil(count / (double) gridCols);
+
+        JPanel centerPanel = new JPanel(new GridLayout(gridRows, gridCols, 40, 20));
         centerPanel.setBackground(Color.BLACK);
         centerPanel.setBorder(BorderFactory.createEmptyBorder(10, 40, 10, 40));
 
-        // ----- Player 1 side -----
-        JPanel leftSide = new JPanel();
-        leftSide.setLayout(new BoxLayout(leftSide, BoxLayout.Y_AXIS));
-        leftSide.setBackground(Color.BLACK);
-
-        lblPlayer1Box = createPlayerBoxLabel(
-                player1Name);
-        leftSide.add(lblPlayer1Box);
-
-        leftSide.add(Box.createVerticalStrut(5));
-
-        lblMinesLeft1 = new JLabel("MINES LEFT: " + game.getBoard1().getTotalMines(),
-                SwingConstants.CENTER);
-        lblMinesLeft1.setForeground(Color.WHITE);
-        lblMinesLeft1.setFont(new Font("Arial", Font.BOLD, 14));
-        lblMinesLeft1.setAlignmentX(Component.CENTER_ALIGNMENT);
-        leftSide.add(lblMinesLeft1);
-
-        leftSide.add(Box.createVerticalStrut(5));
-
-        // Player 1 starts → not waiting
-        boardPanel1 = new BoardPanel(controller, game.getBoard1(),
-                1, false, this::handleMoveMade);
-        leftSide.add(boardPanel1);
-
-        // ----- Player 2 side -----
-        JPanel rightSide = new JPanel();
-        rightSide.setLayout(new BoxLayout(rightSide, BoxLayout.Y_AXIS));
-        rightSide.setBackground(Color.BLACK);
-
-        lblPlayer2Box = createPlayerBoxLabel(player2Name);
-        rightSide.add(lblPlayer2Box);
-
-        rightSide.add(Box.createVerticalStrut(5));
-
-        lblMinesLeft2 = new JLabel("MINES LEFT: " + game.getBoard2().getTotalMines(),
-                SwingConstants.CENTER);
-        lblMinesLeft2.setForeground(Color.WHITE);
-        lblMinesLeft2.setFont(new Font("Arial", Font.BOLD, 14));
-        lblMinesLeft2.setAlignmentX(Component.CENTER_ALIGNMENT);
-        rightSide.add(lblMinesLeft2);
-
-        rightSide.add(Box.createVerticalStrut(5));
-
-        // Player 2 waits at start
-        boardPanel2 = new BoardPanel(controller, game.getBoard2(),
-                2, true, this::handleMoveMade);
-        rightSide.add(boardPanel2);
-
-        centerPanel.add(leftSide);
-        centerPanel.add(rightSide);
+        for (int boardNumber = 1; boardNumber <= count; boardNumber++) {
+            centerPanel.add(createPlayerSide(boardNumber));
+        }
 
-        add(centerPanel, BorderLayout.CENTER);
+        // Many boards do not fit the window: scroll instead of squeezing them
+        JScrollPane scroll = new JScrollPane(centerPanel);
+        scroll.setBorder(null);
+        scroll.getViewport().setBackground(Color.BLACK);
+        add(scroll, BorderLayout.CENTER);
 
         // ===== BOTTOM: score + lives + hearts + controls =====
         JPanel bottomOuter = new JPanel();
@@ -153,7 +146,7 @@ public class GamePanel extends JPanel {
         lblScore.setFont(new Font("Arial", Font.BOLD, 18));
 
         lblLives = new JLabel("LIVES: " + game.getSharedLives() + "/" +
-                game.getDifficulty().getStartingLives());
+                game.getRules().getStartingLives());
         lblLives.setForeground(Color.WHITE);
         lblLives.setFont(new Font("Arial", Font.BOLD, 18));
 
@@ -173,16 +166,26 @@ public class GamePanel extends JPanel {
         JPanel controlsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 25, 5));
         controlsPanel.setBackground(Color.BLACK);
 
+        JButton btnHint = new JButton("Hint");
+        JToggleButton btnOdds = new JToggleButton("Odds");
         JButton btnPause = new JButton("Pause");
         JButton btnUndo = new JButton("Restart");
         JButton btnExit = new JButton("Exit");
 
+        styleControlButton(btnHint);
+        styleControlButton(btnOdds);
         styleControlButton(btnPause);
         styleControlButton(btnUndo);
         styleControlButton(btnExit);
 
         btnExit.addActionListener(e -> SwingUtilities.getWindowAncestor(this).dispose());
+        btnHint.addActionListener(e -> showHint());
+        btnOdds.addActionListener(e -> {
+            for (BoardPanel boardPanel : boardPanels) boardPanel.setHeatMap(btnOdds.isSelected());
+        });
 
+        controlsPanel.add(btnHint);
+        controlsPanel.add(btnOdds);
         controlsPanel.add(btnPause);
         controlsPanel.add(btnUndo);
         controlsPanel.add(btnExit);
@@ -194,6 +197,38 @@ public class GamePanel extends JPanel {
         add(bottomOuter, BorderLayout.SOUTH);
     }
 
+    /** Name box, mines-left label and board of one player. */
+    private JPanel createPlayerSide(int boardNumber) {
+        Board board = game.getBoard(boardNumber);
+
+        JPanel side = new JPanel();
+        side.setLayout(new BoxLayout(side, BoxLayout.Y_AXIS));
+        side.setBackground(Color.BLACK);
+
+        JLabel lblPlayerBox = createPlayerBoxLabel(game.getPlayer(boardNumber).getName());
+        playerBoxLabels.add(lblPlayerBox);
+        side.add(lblPlayerBox);
+
+        side.add(Box.createVerticalStrut(5));
+
+        JLabel lblMinesLeft = new JLabel("MINES LEFT: " + board.getTotalMines(), SwingConstants.CENTER);
+        lblMinesLeft.setForeground(Color.WHITE);
+        lblMinesLeft.setFont(new Font("Arial", Font.BOLD, 14));
+        lblMinesLeft.setAlignmentX(Component.CENTER_ALIGNMENT);
+        minesLeftLabels.add(lblMinesLeft);
+        side.add(lblMinesLeft);
+
+        side.add(Box.createVerticalStrut(5));
+
+        // Waiting overlay is set right after construction by updateTurnUI()
+        BoardPanel boardPanel = new BoardPanel(controller, board,
+                boardNumber, !game.mayPlay(boardNumber), this::handleMoveMade);
+        boardPanels.add(boardPanel);
+        side.add(boardPanel);
+
+        return side;
+    }
+
     private JLabel createPlayerBoxLabel(String text) {
         JLabel lbl = new JLabel(text, SwingConstants.CENTER);
         lbl.setForeground(Color.WHITE);
@@ -205,7 +240,7 @@ public class GamePanel extends JPanel {
         return lbl;
     }
 
-    private void styleControlButton(JButton btn) {
+    private void styleControlButton(AbstractButton btn) {
         btn.setFont(new Font("Arial", Font.BOLD, 18));
         btn.setFocusPainted(false);
         btn.setMargin(new Insets(3, 12, 3, 12));
@@ -213,7 +248,7 @@ public class GamePanel extends JPanel {
 
     private void buildHearts() {
         heartLabels = new ArrayList<>();
-        int maxLives = game.getDifficulty().getStartingLives();
+        int maxLives = game.getRules().getStartingLives();
 
         heartsPanel.removeAll();
         for (int i = 0; i < maxLives; i++) {
@@ -225,6 +260,15 @@ public class GamePanel extends JPanel {
         }
     }
 
+    /** Highlights a certainly-safe cell on a board whose player may move now. */
+    private void showHint() {
+        if (game.getGameState() != GameState.RUNNING) return;
+        for (int i = 0; i < boardPanels.size(); i++) {
+            if (game.mayPlay(i + 1) && boardPanels.get(i).showHint()) return;
+        }
+        JOptionPane.showMessageDialog(this, "No cell is certainly safe right now - you will have to guess.");
+    }
+
     /** Called after each move from a BoardPanel. */
     private void handleMoveMade() {
         // Game already updated score/lives/status inside Board/Game
@@ -233,27 +277,80 @@ public class GamePanel extends JPanel {
         }
         updateStatus();
         updateTurnUI();
+        playComputerTurn();
+    }
+
+    /**
+     * Lets the computer play the given board: it moves whenever the turn scheduler allows it,
+     * and the board no longer accepts clicks.
+     */
+    public void setComputerPlayer(int boardNumber, ComputerPlayer computer) {
+        this.computer = computer;
+        this.computerBoard = boardNumber;
+        boardPanels.get(boardNumber - 1).setComputerControlled(true);
+        playComputerTurn();
+    }
+
+    /** Starts a computer decision if it is the computer's turn; the move is applied on the EDT. */
+    private void playComputerTurn() {
+        if (computer == null || computerThinking) return;
+        if (game.getGameState() != GameState.RUNNING || !game.mayPlay(computerBoard)) return;
+        if (System.nanoTime() - lastComputerMoveNanos < COMPUTER_MOVE_DELAY_MILLIS * 1_000_000) return;
+
+        computerThinking = true;
+        Board board = game.getBoard(computerBoard);
+        computer.chooseMove(game, computerBoard).thenApply(move -> {
+            // A first reveal runs the no-guess search: do it here rather than on the EDT
+            if (move != null && move.getType() == Move.Type.REVEAL) {
+                board.ensureGenerated(move.getRow(), move.getCol());
+            }
+            return move;
+        }).thenAccept(move -> SwingUtilities.invokeLater(() -> {
+            computerThinking = false;
+            lastComputerMoveNanos = System.nanoTime();
+            if (move == null || game.getGameState() != GameState.RUNNING || !game.mayPlay(computerBoard)) return;
+            if (game.makeMove(move)) {
+                boardPanels.get(computerBoard - 1).refresh();
+                handleMoveMade();
+            }
+        }));
     }
 
     /** Refresh SCORE, LIVES, MINES LEFT, HEARTS. */
     public void updateStatus() {
-        lblMinesLeft1.setText("MINES LEFT: " + computeMinesLeft(game.getBoard1()));
-        lblMinesLeft2.setText("MINES LEFT: " + computeMinesLeft(game.getBoard2()));
+        for (int i = 0; i < minesLeftLabels.size(); i++) {
+            minesLeftLabels.get(i).setText("MINES LEFT: " + computeMinesLeft(game.getBoard(i + 1)));
+        }
 
         lblScore.setText("SCORE: " + game.getSharedScore());
         lblLives.setText("LIVES: " + game.getSharedLives() + "/" +
-                game.getDifficulty().getStartingLives());
+                game.getRules().getStartingLives());
 
         updateHearts();
         revalidate();
         repaint();
     }
 
-    /** Show “WAIT FOR YOUR TURN” on the board that is not active. */
+    /** Show “WAIT FOR YOUR TURN” on every board that may not move right now. */
     private void updateTurnUI() {
-        int current = game.getCurrentPlayerTurn();  // 1 or 2
-        boardPanel1.setWaiting(current != 1);
-        boardPanel2.setWaiting(current != 2);
+        boolean running = game.getGameState() == GameState.RUNNING;
+        for (int i = 0; i < boardPanels.size(); i++) {
+            boardPanels.get(i).setWaiting(running && !game.mayPlay(i + 1));
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        game.addGameListener(surpriseListener);
+        turnTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        turnTimer.stop();
+        game.removeGameListener(surpriseListener);
+        super.removeNotify();
     }
 
     private int computeMinesLeft(Board board) {
@@ -279,7 +376,7 @@ public class GamePanel extends JPanel {
 
     private void updateHearts() {
         int lives = game.getSharedLives();
-        int max = game.getDifficulty().getStartingLives();
+        int max = game.getRules().getStartingLives();
 
         for (int i = 0; i < max && i < heartLabels.size(); i++) {
             JLabel heart = heartLabels.get(i);
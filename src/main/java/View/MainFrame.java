@@ -1,25 +1,59 @@
 package View;
 
 import Controller.GameController;
+import Model.BoardPack;
+import Model.ComputerPlayer;
 import Model.Difficulty;
 import Model.Game;
+import Model.GameHistory;
+import Model.GameJournal;
+import Model.Player;
+import Model.QuestionRepository;
+import Model.TurnScheduler;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MainFrame extends JFrame implements StartPanel.StartGameListener {
 
+    // Crash-recovery journal; disable with -Dscorpion.journal=off
+    private static final File JOURNAL_FILE =
+            new File(System.getProperty("user.home"), ".scorpion-minesweeper/current.journal");
+    private static final boolean JOURNAL_ENABLED =
+            !"off".equalsIgnoreCase(System.getProperty("scorpion.journal"));
+
+    // Finished games and leaderboard
+    private static final File HISTORY_DIR =
+            new File(System.getProperty("user.home"), ".scorpion-minesweeper/history");
+
+    // Question bank CSV; override with -Dscorpion.questions=<file>
+    private static final File QUESTIONS_FILE =
+            new File(System.getProperty("scorpion.questions", "questions.csv"));
+
+    // Pre-generated boards for the daily board; override with -Dscorpion.daily=<file>
+    private static final File DAILY_PACK_FILE =
+            new File(System.getProperty("scorpion.daily", "daily.pack"));
+
     private final GameController controller;
     private final CardLayout cardLayout;
     private final JPanel cardPanel;
 
     private StartPanel startPanel;
     private GamePanel gamePanel;
+    private BoardPack dailyPack; // null when there is no pack file
 
     public MainFrame() {
         super("Scorpion Minesweeper");
 
         this.controller = new GameController();
+        openHistory();
         this.cardLayout = new CardLayout();
         this.cardPanel = new JPanel(cardLayout);
 
@@ -34,18 +68,134 @@ public class MainFrame extends JFrame implements StartPanel.StartGameListener {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(900, 700);
         setLocationRelativeTo(null);
+
+        // Flush the journal on exit (the file is kept: the game can be restored next time)
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                controller.closeJournal();
+                closeHistory();
+            }
+        });
+
         setVisible(true);
+
+        loadQuestions();
+        openDailyPack();
+
+        if (JOURNAL_ENABLED) {
+            offerRestore();
+        }
+    }
+
+    private void openHistory() {
+        try {
+            controller.setHistory(GameHistory.open(HISTORY_DIR));
+        } catch (IOException e) {
+            System.err.println("Game history disabled: " + e.getMessage());
+        }
+    }
+
+    private void closeHistory() {
+        GameHistory history = controller.getHistory();
+        if (history == null) return;
+        try {
+            history.close();
+        } catch (IOException e) {
+            System.err.println("Could not close game history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Indexes the question bank in the background; games started before it is ready
+     * simply have no questions.
+     */
+    private void loadQuestions() {
+        if (!QUESTIONS_FILE.isFile()) return;
+
+        Thread loader = new Thread(() -> {
+            try {
+                controller.setQuestionRepository(QuestionRepository.open(QUESTIONS_FILE));
+            } catch (IOException e) {
+                System.err.println("Could not load questions: " + e.getMessage());
+            }
+        }, "question-index");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Maps the daily board pack (only the header is read; boards are read when played).
+     */
+    private void openDailyPack() {
+        if (!DAILY_PACK_FILE.isFile()) return;
+        try {
+            dailyPack = BoardPack.open(DAILY_PACK_FILE);
+        } catch (IOException e) {
+            System.err.println("Could not open daily boards: " + e.getMessage());
+        }
+    }
+
+    /**
+     * If the last session ended without finishing its game, ask whether to restore it.
+     */
+    private void offerRestore() {
+        if (!GameJournal.hasUnfinishedGame(JOURNAL_FILE)) return;
+
+        int answer = JOptionPane.showConfirmDialog(this,
+                "An unfinished game was found. Restore it?",
+                "Restore game", JOptionPane.YES_NO_OPTION);
+        if (answer != JOptionPane.YES_OPTION) {
+            JOURNAL_FILE.delete();
+            return;
+        }
+
+        try {
+            Game recovered = GameJournal.recover(JOURNAL_FILE);
+            if (recovered == null) {
+                JOURNAL_FILE.delete();
+                return;
+            }
+            controller.resumeGame(recovered);
+            showGame();
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not restore the game: " + e.getMessage());
+        }
     }
 
     /**
      * Called by StartPanel when the user clicks "Start Game".
      */
     @Override
-    public void onStartGame(String player1Name, String player2Name, Difficulty difficulty) {
-        controller.startNewGame(difficulty);
+    public void onStartGame(List<String> playerNames, Difficulty difficulty, TurnScheduler turnScheduler,
+                            boolean noGuess, ComputerPlayer.Level computerLevel, boolean daily) {
+        if (daily && dailyPack == null) {
+            JOptionPane.showMessageDialog(this, "No daily boards found (" + DAILY_PACK_FILE + ").");
+            return;
+        }
+        List<Player> players = new ArrayList<>();
+        for (String name : playerNames) {
+            players.add(new Player(name));
+        }
+        controller.setNoGuess(noGuess);
+        if (daily) {
+            controller.startPackGame(dailyPack, dailyPack.dailyIndex(LocalDate.now()), players, turnScheduler);
+        } else {
+            controller.startNewGame(difficulty, players, turnScheduler);
+        }
+        showGame();
+        if (computerLevel != null) {
+            gamePanel.setComputerPlayer(2, new ComputerPlayer(computerLevel));
+        }
+    }
+
+    private void showGame() {
         Game game = controller.getCurrentGame();
+        if (JOURNAL_ENABLED) {
+            controller.startJournal(JOURNAL_FILE);
+        }
 
-        gamePanel = new GamePanel(controller, game, player1Name, player2Name);
+        gamePanel = new GamePanel(controller, game);
         cardPanel.add(gamePanel, "GAME");
         cardLayout.show(cardPanel, "GAME");
     }
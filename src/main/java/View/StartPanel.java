@@ -1,16 +1,30 @@
 package View;
 
+import Model.ComputerPlayer;
 import Model.Difficulty;
+import Model.RoundRobinScheduler;
+import Model.SimultaneousScheduler;
+import Model.TimedScheduler;
+import Model.TurnScheduler;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class StartPanel extends JPanel {
 
     public interface StartGameListener {
-        void onStartGame(String player1Name, String player2Name, Difficulty difficulty);
+        void onStartGame(List<String> playerNames, Difficulty difficulty, TurnScheduler turnScheduler, boolean noGuess,
+                         ComputerPlayer.Level computerLevel, boolean daily);
     }
 
+    private static final int MAX_PLAYERS = 36;
+    private static final long TIMED_TURN_MILLIS = 10_000;
+    private static final String[] TURN_MODES = {"Classic turns", "Real-time (all at once)", "Timed turns (10 s)"};
+    private static final String[] OPPONENTS = {"Player 2: human", "Player 2: computer (beginner)",
+            "Player 2: computer (intermediate)", "Player 2: computer (expert)"};
+
     private final StartGameListener listener;
 
     private JTextField txtPlayer1;
@@ -18,6 +32,11 @@ public class StartPanel extends JPanel {
     private JRadioButton rbEasy;
     private JRadioButton rbMedium;
     private JRadioButton rbHard;
+    private JSpinner spPlayers;
+    private JComboBox<String> cbTurnMode;
+    private JCheckBox chkNoGuess;
+    private JCheckBox chkDaily;
+    private JComboBox<String> cbOpponent;
     private JButton btnStart;
 
     public StartPanel(StartGameListener listener) {
@@ -95,12 +114,40 @@ public class StartPanel extends JPanel {
         gbc.gridwidth = 2;
         add(diffPanel, gbc);
 
+        // ================= Players & turn mode =================
+        JLabel lblPlayers = new JLabel("Players:");
+        lblPlayers.setFont(new Font("Arial", Font.PLAIN, 16));
+        spPlayers = new JSpinner(new SpinnerNumberModel(2, 1, MAX_PLAYERS, 1));
+        cbTurnMode = new JComboBox<>(TURN_MODES);
+
+        JPanel modePanel = new JPanel(new FlowLayout());
+        modePanel.setBackground(Color.WHITE);
+        modePanel.add(lblPlayers);
+        modePanel.add(spPlayers);
+        modePanel.add(cbTurnMode);
+
+        chkNoGuess = new JCheckBox("No guessing");
+        chkNoGuess.setBackground(Color.WHITE);
+        chkNoGuess.setToolTipText("Boards can be solved by logic alone from the first click");
+        modePanel.add(chkNoGuess);
+
+        chkDaily = new JCheckBox("Daily board");
+        chkDaily.setBackground(Color.WHITE);
+        chkDaily.setToolTipText("Today's board from the board pack, the same for everyone (ignores the difficulty)");
+        modePanel.add(chkDaily);
+
+        cbOpponent = new JComboBox<>(OPPONENTS);
+        modePanel.add(cbOpponent);
+
+        gbc.gridy = 4;
+        add(modePanel, gbc);
+
         // ================= Button =================
         btnStart = new JButton("START");
         btnStart.setFont(new Font("Arial", Font.BOLD, 18));
         btnStart.setPreferredSize(new Dimension(160, 40));
 
-        gbc.gridy = 4;
+        gbc.gridy = 5;
         add(btnStart, gbc);
 
         // Start action
@@ -111,13 +158,43 @@ public class StartPanel extends JPanel {
         String p1 = txtPlayer1.getText().trim();
         String p2 = txtPlayer2.getText().trim();
 
+        // Board 2 may be played by the computer (index 0 = human)
+        ComputerPlayer.Level computerLevel = null;
+        if (cbOpponent.getSelectedIndex() > 0) {
+            computerLevel = ComputerPlayer.Level.values()[cbOpponent.getSelectedIndex() - 1];
+        }
+
         if (p1.isEmpty()) p1 = "Player 1";
-        if (p2.isEmpty()) p2 = "Player 2";
+        if (p2.isEmpty()) p2 = (computerLevel != null) ? "Computer" : "Player 2";
 
         Difficulty difficulty = Difficulty.EASY;
         if (rbMedium.isSelected()) difficulty = Difficulty.MEDIUM;
         else if (rbHard.isSelected()) difficulty = Difficulty.HARD;
 
-        listener.onStartGame(p1, p2, difficulty);
+        // Players beyond the first two get default names
+        int count = (Integer) spPlayers.getValue();
+        if (count < 2) computerLevel = null; // there is no board 2
+        List<String> names = new ArrayList<>();
+        names.add(p1);
+        if (count > 1) names.add(p2);
+        for (int i = 3; i <= count; i++) {
+            names.add("Player " + i);
+        }
+
+        TurnScheduler scheduler;
+        switch (cbTurnMode.getSelectedIndex()) {
+            case 1:
+                scheduler = new SimultaneousScheduler();
+                break;
+            case 2:
+                scheduler = new TimedScheduler(TIMED_TURN_MILLIS);
+                break;
+            default:
+                scheduler = new RoundRobinScheduler();
+                break;
+        }
+
+        listener.onStartGame(names, difficulty, scheduler, chkNoGuess.isSelected(), computerLevel,
+                chkDaily.isSelected());
     }
 }
@@ -0,0 +1,157 @@
+import Model.AdjacencyKernel;
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameRules;
+import Model.Player;
+import Model.RoundRobinScheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the bitboard adjacency kernel against the cell-by-cell count (scalar, vector and parallel
+ * variants), checks the numbers of generated boards, and benchmarks the kernels against the cell loop.
+ * Run with --add-modules jdk.incubator.vector to include the Vector API kernel.
+ */
+public class AdjacencyKernelTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Adjacency kernel ===\n");
+        System.out.println("  Vector API " + (AdjacencyKernel.VECTORIZED ? "available" : "not available"));
+
+        // ----- Test 1: same counts as the cell-by-cell loop, on awkward sizes -----
+        Random random = new Random(8);
+        int[][] sizes = {{1, 1}, {1, 64}, {2, 65}, {3, 70}, {9, 9}, {16, 16}, {17, 129}, {64, 300}, {300, 257}};
+        boolean scalarRight = true;
+        boolean vectorRight = true;
+        boolean parallelRight = true;
+        for (int[] size : sizes) {
+            for (double density : new double[]{0.0, 0.15, 0.5, 1.0}) {
+                boolean[][] mines = randomMines(size[0], size[1], density, random);
+                long[][] bitboard = bitboard(mines);
+                byte[] expected = cellLoop(mines);
+                scalarRight &= Arrays.equals(expected,
+                        AdjacencyKernel.neighborCounts(bitboard, size[0], size[1], false, false));
+                parallelRight &= Arrays.equals(expected,
+                        AdjacencyKernel.neighborCounts(bitboard, size[0], size[1], false, true));
+                if (AdjacencyKernel.VECTORIZED) {
+                    vectorRight &= Arrays.equals(expected,
+                            AdjacencyKernel.neighborCounts(bitboard, size[0], size[1], true, true));
+                }
+            }
+        }
+        check("Scalar kernel should match the cell loop", scalarRight);
+        check("Parallel kernel should match the cell loop", parallelRight);
+        check("Vector kernel should match the cell loop (or be unavailable)", vectorRight);
+
+        // ----- Test 2: numbers of generated boards -----
+        boolean numbersRight = true;
+        for (int i = 0; i < 100; i++) {
+            GameRules rules = GameRules.of(Difficulty.values()[i % 3]);
+            Game game = new Game(rules, List.of(new Player("A")), new RoundRobinScheduler(), null);
+            game.startNewGame(rules, random.nextLong());
+            Board board = game.getBoard1();
+            board.ensureGenerated(0, 0);
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getCols(); c++) {
+                    Cell cell = board.getCell(r, c);
+                    if (cell.getContent() == Cell.CellContent.NUMBER && cell.getAdjacentMines() != minesAround(board, r, c)) {
+                        numbersRight = false;
+                    }
+                }
+            }
+        }
+        check("Generated boards should have the right numbers", numbersRight);
+
+        // ----- Benchmark: 2000x2000 board, 15% mines -----
+        int rows = 2000;
+        int cols = 2000;
+        boolean[][] mines = randomMines(rows, cols, 0.15, random);
+        long[][] bitboard = bitboard(mines);
+        long loop = time(() -> cellLoop(mines));
+        long scalar = time(() -> AdjacencyKernel.neighborCounts(bitboard, rows, cols, false, false));
+        long parallel = time(() -> AdjacencyKernel.neighborCounts(bitboard, rows, cols, false, true));
+        String vector = AdjacencyKernel.VECTORIZED
+                ? time(() -> AdjacencyKernel.neighborCounts(bitboard, rows, cols, true, false)) + " us"
+                : "n/a";
+        System.out.println("  2000x2000: cell loop " + loop + " us, scalar kernel " + scalar + " us, vector kernel "
+                + vector + ", parallel " + parallel + " us (" + Runtime.getRuntime().availableProcessors() + " cpus)");
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static boolean[][] randomMines(int rows, int cols, double density, Random random) {
+        boolean[][] mines = new boolean[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                mines[r][c] = random.nextDouble() < density;
+            }
+        }
+        return mines;
+    }
+
+    private static long[][] bitboard(boolean[][] mines) {
+        long[][] bitboard = AdjacencyKernel.newBitboard(mines.length, mines[0].length);
+        for (int r = 0; r < mines.length; r++) {
+            for (int c = 0; c < mines[0].length; c++) {
+                if (mines[r][c]) AdjacencyKernel.setMine(bitboard, r, c);
+            }
+        }
+        return bitboard;
+    }
+
+    /** The loop Board used before the kernel: nested -1..1 offsets with a bounds check per probe. */
+    private static byte[] cellLoop(boolean[][] mines) {
+        int rows = mines.length;
+        int cols = mines[0].length;
+        byte[] counts = new byte[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int count = 0;
+                for (int i = -1; i <= 1; i++) {
+                    for (int j = -1; j <= 1; j++) {
+                        if (i == 0 && j == 0) continue;
+                        int nr = r + i;
+                        int nc = c + j;
+                        if (nr >= 0 && nr < rows && nc >= 0 && nc < cols && mines[nr][nc]) count++;
+                    }
+                }
+                counts[r * cols + c] = (byte) count;
+            }
+        }
+        return counts;
+    }
+
+    private static int minesAround(Board board, int r, int c) {
+        int count = 0;
+        for (int nr = r - 1; nr <= r + 1; nr++) {
+            for (int nc = c - 1; nc <= c + 1; nc++) {
+                if ((nr != r || nc != c) && board.getCell(nr, nc) != null && board.getCell(nr, nc).isMine()) count++;
+            }
+        }
+        return count;
+    }
+
+    /** Best of five runs after a warm-up, in microseconds. */
+    private static long time(Runnable run) {
+        for (int i = 0; i < 3; i++) run.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, (System.nanoTime() - start) / 1000);
+        }
+        return best;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
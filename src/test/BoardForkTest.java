@@ -0,0 +1,139 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameRules;
+import Model.Player;
+import Model.RoundRobinScheduler;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tests copy-on-write forks: a fork starts as the board, moves on either side are invisible to the
+ * other, moves on a fork leave the game alone, forks are cheap to make and can be read from another
+ * thread while the board keeps playing.
+ */
+public class BoardForkTest {
+
+    private static final int FORKS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Board forks ===\n");
+
+        Random random = new Random(45);
+        boolean sameAtFork = true;
+        boolean forkIsolated = true;
+        boolean parentIsolated = true;
+        boolean gameUntouched = true;
+        boolean concurrentReadsStable = true;
+        long forkNanos;
+        // ----- Test 1: fork sees the board, then both sides diverge -----
+        for (int i = 0; i < 100; i++) {
+            GameRules rules = GameRules.of(Difficulty.values()[i % 3]);
+            Game game = new Game(rules, List.of(new Player("A")), new RoundRobinScheduler(), null);
+            game.setQuiet(true);
+            game.startNewGame(rules, random.nextLong());
+            game.setSharedLives(1000);
+            Board board = game.getBoard1();
+            playRandomly(board, random, 5);
+
+            String before = render(board);
+            Board fork = board.fork();
+            sameAtFork &= render(fork).equals(before) && fork.getSafeCellsRemaining() == board.getSafeCellsRemaining()
+                    && fork.getRevealCount() == board.getRevealCount();
+
+            int lives = game.getSharedLives();
+            int score = game.getSharedScore();
+            playRandomly(fork, random, 20);
+            forkIsolated &= render(board).equals(before) && board.getRevealCount() <= fork.getRevealCount();
+            gameUntouched &= game.getSharedLives() == lives && game.getSharedScore() == score;
+
+            String forked = render(fork);
+            playRandomly(board, random, 20);
+            parentIsolated &= render(fork).equals(forked);
+        }
+
+        // ----- Test 2: making a fork does not depend on the board size -----
+        GameRules large = GameRules.of(Difficulty.EASY).withSize(1000, 1000).withMines(150_000);
+        Game game = new Game(large, List.of(new Player("A")), new RoundRobinScheduler(), null);
+        game.setQuiet(true);
+        game.startNewGame(large, 45);
+        game.setSharedLives(1_000_000);
+        Board board = game.getBoard1();
+        board.revealCell(500, 500);
+        long start = System.nanoTime();
+        for (int i = 0; i < FORKS; i++) {
+            board.fork();
+        }
+        forkNanos = (System.nanoTime() - start) / FORKS;
+
+        // ----- Test 3: a fork read on another thread while the board plays -----
+        Board fork = board.fork();
+        String expected = hiddenCount(fork);
+        CompletableFuture<Boolean> reader = CompletableFuture.supplyAsync(() -> {
+            for (int i = 0; i < 5; i++) {
+                if (!hiddenCount(fork).equals(expected)) return false;
+            }
+            return true;
+        });
+        for (int i = 0; i < 2000; i++) {
+            int r = random.nextInt(board.getRows());
+            int c = random.nextInt(board.getCols());
+            if (!board.getCell(r, c).isMine()) board.revealCell(r, c);
+        }
+        concurrentReadsStable = reader.get() && hiddenCount(fork).equals(expected);
+
+        check("A fork should start with the board's cells and counters", sameAtFork);
+        check("Moves on a fork should not change the board", forkIsolated);
+        check("Moves on the board should not change its forks", parentIsolated);
+        check("Moves on a fork should not change the game's lives or score", gameUntouched);
+        check("Forking a 1000x1000 board should be O(1) (" + forkNanos + " ns per fork)", forkNanos < 50_000);
+        check("A fork read from another thread should not see the board's moves", concurrentReadsStable);
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    /** Reveals and flags random cells. */
+    private static void playRandomly(Board board, Random random, int moves) {
+        for (int i = 0; i < moves; i++) {
+            int r = random.nextInt(board.getRows());
+            int c = random.nextInt(board.getCols());
+            if (random.nextInt(4) == 0) {
+                board.toggleFlag(r, c);
+            } else {
+                board.revealCell(r, c);
+            }
+        }
+    }
+
+    private static String render(Board board) {
+        StringBuilder out = new StringBuilder();
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                out.append(cell.getState().ordinal()).append(cell.isUsed() ? 'u' : '-');
+            }
+        }
+        return out.toString();
+    }
+
+    private static String hiddenCount(Board board) {
+        int hidden = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (!board.getCell(r, c).isRevealed()) hidden++;
+            }
+        }
+        return hidden + "/" + board.getSafeCellsRemaining();
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameRecord;
+import Model.GameRules;
+import Model.GameState;
+import Model.Player;
+import Model.RoundRobinScheduler;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the difficulty metrics computed at generation: 3BV must match a brute-force count of the
+ * clicks needed to clear the board, and game records must carry the 3BV of their boards.
+ */
+public class BoardMetricsTest {
+
+    private static final int BOARDS = 300;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Board metrics ===\n");
+
+        // ----- Test 1: 3BV against flood-filling every opening -----
+        Random random = new Random(11);
+        int mismatches = 0;
+        boolean partsAddUp = true;
+        boolean densityRight = true;
+        for (int i = 0; i < BOARDS; i++) {
+            GameRules rules = GameRules.of(Difficulty.values()[i % 3]);
+            if (i % 4 == 3) rules = rules.withMines(rules.getMines() / 2); // larger openings
+            Board board = newBoard(rules, random.nextLong());
+            board.ensureGenerated(random.nextInt(board.getRows()), random.nextInt(board.getCols()));
+
+            if (board.getThreeBV() != bruteForceThreeBV(board)) mismatches++;
+            if (board.getOpenings() + board.getIsolatedCells() != board.getThreeBV()) partsAddUp = false;
+            float expected = (rules.getQuestionCells() + rules.getSurpriseCells())
+                    / (float) (board.getRows() * board.getCols());
+            if (board.getSpecialCellDensity() != expected) densityRight = false;
+        }
+        check("3BV should match the brute-force count on " + BOARDS + " boards (" + mismatches + " mismatches)",
+                mismatches == 0);
+        check("3BV should be openings plus isolated cells", partsAddUp);
+        check("Special cell density should count question and surprise cells", densityRight);
+
+        // ----- Test 2: nothing before generation -----
+        Board fresh = newBoard(GameRules.of(Difficulty.EASY), 5);
+        check("Metrics should be 0 before the first reveal", fresh.getThreeBV() == 0 && fresh.getOpenings() == 0);
+
+        // ----- Test 3: generation time including the metrics pass -----
+        int rounds = 2000;
+        long start = System.nanoTime();
+        Board hard = null;
+        for (int i = 0; i < rounds; i++) {
+            hard = newBoard(GameRules.of(Difficulty.HARD), i);
+            hard.ensureGenerated(8, 8);
+        }
+        long micros = (System.nanoTime() - start) / 1000 / rounds;
+        System.out.println("  HARD board: 3BV " + hard.getThreeBV() + " (" + hard.getOpenings() + " openings, "
+                + hard.getIsolatedCells() + " isolated), generated with metrics in " + micros + " us");
+
+        // ----- Test 4: records carry the 3BV -----
+        Game game = new Game(Difficulty.EASY, List.of(new Player("A"), new Player("B")), new RoundRobinScheduler());
+        game.getBoard1().ensureGenerated(0, 0);
+        game.getBoard2().ensureGenerated(4, 4);
+        GameRecord record = GameRecord.of(game);
+        check("Record should sum the 3BV of both boards",
+                record.getThreeBV() == game.getBoard1().getThreeBV() + game.getBoard2().getThreeBV());
+        GameRecord timed = new GameRecord(List.of("A"), Difficulty.EASY, GameState.WON, 10, 3, 20_000, 1, 0, 50);
+        check("3BV/s should be 3BV over the duration", timed.getThreeBVPerSecond() == 2.5);
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static Board newBoard(GameRules rules, long seed) {
+        Game game = new Game(rules, List.of(new Player("A")), new RoundRobinScheduler(), null);
+        return new Board(rules, game, seed);
+    }
+
+    /** Clicks every opening (flood fill), then every safe cell still hidden. */
+    private static int bruteForceThreeBV(Board board) {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        boolean[][] open = new boolean[rows][cols];
+        int clicks = 0;
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (open[r][c] || board.getCell(r, c).getContent() != Cell.CellContent.EMPTY) continue;
+                clicks++;
+                open[r][c] = true;
+                queue.add(new int[]{r, c});
+                while (!queue.isEmpty()) {
+                    int[] cell = queue.poll();
+                    for (int nr = cell[0] - 1; nr <= cell[0] + 1; nr++) {
+                        for (int nc = cell[1] - 1; nc <= cell[1] + 1; nc++) {
+                            if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || open[nr][nc]) continue;
+                            Cell.CellContent content = board.getCell(nr, nc).getContent();
+                            if (content == Cell.CellContent.MINE) continue;
+                            open[nr][nc] = true;
+                            if (content == Cell.CellContent.EMPTY) queue.add(new int[]{nr, nc});
+                        }
+                    }
+                }
+            }
+        }
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (!open[r][c] && !board.getCell(r, c).isMine()) clicks++;
+            }
+        }
+        return clicks;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import Controller.GameController;
+import Model.Board;
+import Model.BoardPack;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameRules;
+import Model.GameState;
+import Model.Player;
+import Model.RoundRobinScheduler;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Tests board packs: a packed board must be the board its seed generates, games started from a
+ * pack must begin from the same opening, loading must be much cheaper than generating, the
+ * daily board must be stable for a day, and restarting a pack game must replay its board.
+ */
+public class BoardPackTest {
+
+    private static final int BOARDS = 500;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Board pack ===\n");
+
+        File file = File.createTempFile("boards", ".pack");
+        file.deleteOnExit();
+
+        GameRules rules = GameRules.of(Difficulty.HARD);
+        int wrongBoards = 0;
+        int wrongStarts = 0;
+        long loadNanos;
+        long generateNanos;
+        BoardPack.write(file, rules, BOARDS, 50, true);
+        BoardPack pack = BoardPack.open(file);
+
+        // ----- Test 1: packed boards are the boards their seeds generate -----
+        Game generated = new Game(rules, List.of(new Player("A")), new RoundRobinScheduler(), null);
+        generated.setQuiet(true);
+        generated.setNoGuess(true);
+        Game packed = new Game(rules, List.of(new Player("A"), new Player("B")), new RoundRobinScheduler(), null);
+        packed.setQuiet(true);
+        for (int n = 0; n < BOARDS; n += 7) {
+            generated.startNewGame(rules, pack.getSeed(n));
+            Board expected = generated.getBoard1();
+            int start = pack.getStartCell(n);
+            expected.revealCell(start / rules.getCols(), start % rules.getCols()); // surprises may move mines
+
+            pack.startGame(packed, n);
+            Board board = packed.getBoard1();
+            if (!sameLayout(expected, board) || board.getThreeBV() != pack.getThreeBV(n)
+                    || expected.getThreeBV() != pack.getThreeBV(n)) {
+                wrongBoards++;
+            }
+            Cell startCell = board.getCell(start / rules.getCols(), start % rules.getCols());
+            if (!startCell.isRevealed() || startCell.isMine() || packed.getGameState() != GameState.RUNNING
+                    || !packed.getBoard2().isGenerated()) {
+                wrongStarts++;
+            }
+        }
+
+        // ----- Test 2: loading vs generating -----
+        long start = System.nanoTime();
+        for (int n = 0; n < BOARDS; n++) {
+            pack.startGame(packed, n);
+        }
+        loadNanos = (System.nanoTime() - start) / BOARDS / 2;
+        start = System.nanoTime();
+        for (int n = 0; n < 50; n++) {
+            generated.startNewGame(rules, pack.getSeed(n));
+            generated.getBoard1().ensureGenerated(rules.getRows() / 2, rules.getCols() / 2);
+        }
+        generateNanos = (System.nanoTime() - start) / 50;
+
+        // ----- Test 3: daily board -----
+        LocalDate today = LocalDate.of(2026, 10, 19);
+        int daily = pack.dailyIndex(today);
+        boolean stable = daily == pack.dailyIndex(today) && daily >= 0 && daily < BOARDS;
+        int changes = 0;
+        for (int d = 1; d <= 30; d++) {
+            if (pack.dailyIndex(today.plusDays(d)) != pack.dailyIndex(today.plusDays(d - 1))) changes++;
+        }
+        check("Daily board should be stable within a day and change across days (" + changes + "/30)",
+                stable && changes >= 25);
+
+        // ----- Test 4: restarting a pack game replays the same pack board -----
+        GameController controller = new GameController();
+        controller.startPackGame(pack, daily, List.of(new Player("A"), new Player("B")), new RoundRobinScheduler());
+        Game game = controller.getCurrentGame();
+        game.setQuiet(true);
+        Board first = game.getBoard1();
+        int opening = pack.getStartCell(daily);
+        controller.restartGame();
+        Board restarted = controller.getCurrentGame().getBoard1();
+        check("Restarting a pack game should replay the same pack board",
+                restarted != first && restarted.getSeed() == first.getSeed()
+                        && restarted.getThreeBV() == pack.getThreeBV(daily)
+                        && restarted.getCell(opening / rules.getCols(), opening % rules.getCols()).isRevealed());
+        pack.close();
+
+        check("Packed boards should match their seeds and 3BV", wrongBoards == 0);
+        check("Pack games should start from a revealed safe opening on every board", wrongStarts == 0);
+        check("Loading a packed board should be much faster than no-guess generation ("
+                + loadNanos / 1000 + " us vs " + generateNanos / 1000 + " us)", loadNanos * 5 < generateNanos);
+        System.out.println("  " + BOARDS + " HARD boards: " + file.length() / 1024 + " KB");
+
+        file.delete();
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static boolean sameLayout(Board expected, Board board) {
+        for (int r = 0; r < expected.getRows(); r++) {
+            for (int c = 0; c < expected.getCols(); c++) {
+                Cell a = expected.getCell(r, c);
+                Cell b = board.getCell(r, c);
+                if (a.getContent() != b.getContent() || a.getAdjacentMines() != b.getAdjacentMines()) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+import Model.Board;
+import Model.ComputerPlayer;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameState;
+import Model.Move;
+import Model.Player;
+import Model.RoundRobinScheduler;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests the computer player: every decision must respect the time budget, and stronger levels
+ * must hit fewer mines than weaker ones.
+ */
+public class ComputerPlayerTest {
+
+    private static final int GAMES = 30;
+    private static final long BUDGET_MILLIS = 20;
+    private static final long SLACK_MILLIS = 40; // scheduling noise on a busy machine
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Computer player ===\n");
+
+        double[] minesPerGame = new double[ComputerPlayer.Level.values().length];
+        long worstMillis = 0;
+        long decisions = 0;
+        boolean allCleared = true;
+
+        play(new ComputerPlayer(ComputerPlayer.Level.EXPERT), Difficulty.HARD, new long[1]); // warm-up
+
+        for (ComputerPlayer.Level level : ComputerPlayer.Level.values()) {
+            ComputerPlayer computer = new ComputerPlayer(level, BUDGET_MILLIS, ForkJoinPool.commonPool(), 17);
+            int mines = 0;
+            for (int g = 0; g < GAMES; g++) {
+                long[] stats = new long[2]; // worst decision millis, decisions
+                int hit = play(computer, Difficulty.HARD, stats);
+                if (hit < 0) allCleared = false;
+                mines += Math.max(hit, 0);
+                worstMillis = Math.max(worstMillis, stats[0]);
+                decisions += stats[1];
+            }
+            minesPerGame[level.ordinal()] = mines / (double) GAMES;
+        }
+
+        check("Every game should be played to the end", allCleared);
+        check("Decisions should finish within the budget (" + decisions + " decisions, worst "
+                + worstMillis + " ms, budget " + BUDGET_MILLIS + " ms)", worstMillis <= BUDGET_MILLIS + SLACK_MILLIS);
+        check(String.format("Mines hit per game: beginner %.1f, intermediate %.1f, expert %.1f",
+                        minesPerGame[0], minesPerGame[1], minesPerGame[2]),
+                minesPerGame[2] <= minesPerGame[1] && minesPerGame[1] < minesPerGame[0]);
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    /** Plays one single-board game; returns the mines hit, or -1 if the computer got stuck. */
+    private static int play(ComputerPlayer computer, Difficulty difficulty, long[] stats) {
+        Game game = new Game(difficulty, List.of(new Player("Computer")), new RoundRobinScheduler());
+        game.setQuiet(true);
+        game.setSharedLives(1000); // keep playing after mistakes
+        Board board = game.getBoard1();
+
+        while (game.getGameState() == GameState.RUNNING) {
+            long start = System.nanoTime();
+            Move move = computer.chooseMove(game, 1).join();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            if (stats.length > 1) {
+                stats[0] = Math.max(stats[0], millis);
+                stats[1]++;
+            }
+            if (move == null || !game.makeMove(move)) return -1;
+        }
+        if (board.getSafeCellsRemaining() != 0) return -1;
+
+        // Not the lives lost: surprise cells may give lives back
+        int mines = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).isRevealed() && board.getCell(r, c).isMine()) mines++;
+            }
+        }
+        return mines;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+import Model.Difficulty;
+import Model.GameHistory;
+import Model.GameRecord;
+import Model.GameState;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the game history: top-K queries, rebuilding the index on open, crash recovery
+ * two sessions appending to the same files and the 3BV/s leaderboard.
+ */
+public class GameHistoryTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Game history ===\n");
+
+        File dir = Files.createTempDirectory("scorpion-history").toFile();
+        File data = new File(dir, "history.dat");
+        File index = new File(dir, "history.idx");
+
+        // ----- Test 1: top-K per difficulty and per player -----
+        Random random = new Random(3);
+        int bestHard = Integer.MIN_VALUE;
+        try (GameHistory history = GameHistory.open(dir)) {
+            for (int i = 0; i < 500; i++) {
+                Difficulty difficulty = Difficulty.values()[i % 3];
+                int score = random.nextInt(1000) - 200;
+                if (difficulty == Difficulty.HARD) bestHard = Math.max(bestHard, score);
+                history.append(record("P" + (i % 7), "Bob", difficulty, score));
+            }
+            List<GameRecord> top = history.topScores(Difficulty.HARD, 10);
+            check("Top-K should return K records", top.size() == 10);
+            check("Best score should come first", top.get(0).getScore() == bestHard);
+            check("Scores should be sorted", sorted(top));
+            check("Top-K should only contain the difficulty", top.stream().allMatch(r -> r.getDifficulty() == Difficulty.HARD));
+            check("Per-player query should find every game", history.gamesPlayed("Bob") == 500);
+            check("Per-player top-K should be filtered",
+                    history.topScores("P3", 100).stream().allMatch(r -> r.getPlayerNames().contains("P3")));
+        }
+
+        // ----- Test 2: reopening rebuilds the same index -----
+        try (GameHistory history = GameHistory.open(dir)) {
+            check("Reopened history should have all records", history.size() == 500);
+            check("Reopened top score should match", history.topScores(Difficulty.HARD, 1).get(0).getScore() == bestHard);
+        }
+
+        // ----- Test 3: crash between data and index append, plus a torn record -----
+        long dataLength = data.length();
+        try (GameHistory history = GameHistory.open(dir)) {
+            history.append(record("Late", "Bob", Difficulty.EASY, 5000));
+        }
+        // Drop the last index entry (as if the writer died before writing it) and tear the data file
+        try (RandomAccessFile file = new RandomAccessFile(index, "rw")) {
+            file.setLength(file.length() - 10);
+        }
+        try (FileOutputStream out = new FileOutputStream(data, true)) {
+            out.write(new byte[]{0, 0, 0, 50, 1, 2, 3});
+        }
+        try (GameHistory history = GameHistory.open(dir)) {
+            check("Record missing from the index should be recovered", history.size() == 501);
+            check("Recovered record should be the best EASY game",
+                    history.topScores(Difficulty.EASY, 1).get(0).getPlayerNames().contains("Late"));
+        }
+        check("Torn record should be cut off", data.length() > dataLength && (data.length() - dataLength) < 100);
+
+        // ----- Test 4: two sessions on the same files -----
+        try (GameHistory a = GameHistory.open(dir); GameHistory b = GameHistory.open(dir)) {
+            Thread writerA = new Thread(() -> appendMany(a, "A"));
+            Thread writerB = new Thread(() -> appendMany(b, "B"));
+            writerA.start();
+            writerB.start();
+            writerA.join();
+            writerB.join();
+            check("Session A should see session B's games", a.gamesPlayed("B") == 200);
+            check("Both sessions should agree on the total", a.size() == 901 && b.size() == 901);
+        }
+        try (GameHistory history = GameHistory.open(dir)) {
+            check("Nothing should be lost or duplicated on disk", history.size() == 901);
+        }
+
+        // ----- Test 5: 3BV/s leaderboard (won games with a 3BV only) -----
+        try (GameHistory history = GameHistory.open(dir)) {
+            long now = System.currentTimeMillis();
+            history.append(new GameRecord(List.of("Slow"), Difficulty.HARD, GameState.WON, 10, 1, 100_000, 1, now, 200));
+            history.append(new GameRecord(List.of("Fast"), Difficulty.HARD, GameState.WON, 10, 1, 40_000, 2, now, 200));
+            history.append(new GameRecord(List.of("Lost"), Difficulty.HARD, GameState.LOST, 10, 0, 1_000, 3, now, 200));
+        }
+        try (GameHistory history = GameHistory.open(dir)) {
+            List<GameRecord> fastest = history.topEfficiency(Difficulty.HARD, 10);
+            check("Only won games with a 3BV should be ranked by 3BV/s", fastest.size() == 2);
+            check("Fastest game should come first with its 3BV",
+                    fastest.get(0).getPlayerNames().contains("Fast") && fastest.get(0).getThreeBV() == 200
+                            && fastest.get(0).getThreeBVPerSecond() == 5.0);
+        }
+
+        data.delete();
+        index.delete();
+        dir.delete();
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static void appendMany(GameHistory history, String player) {
+        try {
+            for (int i = 0; i < 200; i++) {
+                history.append(record(player, "Bob", Difficulty.MEDIUM, i));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static GameRecord record(String p1, String p2, Difficulty difficulty, int score) {
+        return new GameRecord(List.of(p1, p2), difficulty, score > 0 ? GameState.WON : GameState.LOST,
+                score, 3, 60_000, 42L, System.currentTimeMillis());
+    }
+
+    private static boolean sorted(List<GameRecord> records) {
+        for (int i = 1; i < records.size(); i++) {
+            if (records.get(i - 1).getScore() < records.get(i).getScore()) return false;
+        }
+        return true;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+import Model.Difficulty;
+import Server.CommandHandler;
+import Server.GameServer;
+import Server.GameSession;
+import Server.SessionRegistry;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the headless server: a session runs its tasks one at a time in submission order, an idle
+ * session hibernates and comes back unchanged, long-idle sessions are evicted, the line protocol
+ * answers every command, and the heap measured for 10,000 idle sessions matches the estimate.
+ */
+public class GameServerTest {
+
+    private static final int IDLE_SESSIONS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Game server ===\n");
+
+        // ----- Test 1: one writer per session, in submission order -----
+        try (SessionRegistry registry = new SessionRegistry(60_000, 600_000)) {
+            GameSession session = registry.create(Difficulty.EASY);
+            List<Integer> order = new ArrayList<>(); // not thread-safe on purpose
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger overlaps = new AtomicInteger();
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                int n = i;
+                tasks.add(session.submit(game -> {
+                    if (running.incrementAndGet() > 1) overlaps.incrementAndGet();
+                    order.add(n);
+                    running.decrementAndGet();
+                    return null;
+                }));
+            }
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+            boolean inOrder = order.size() == 20_000;
+            for (int i = 0; i < order.size() && inOrder; i++) {
+                inOrder = order.get(i) == i;
+            }
+            check("Session tasks should run in submission order", inOrder);
+            check("Session tasks should never overlap", overlaps.get() == 0);
+        }
+
+        // ----- Test 2: line protocol -----
+        try (SessionRegistry registry = new SessionRegistry(60_000, 600_000)) {
+            CommandHandler handler = new CommandHandler(registry);
+            String id = handler.handle("NEW EASY 2 TURNS").substring(3);
+            check("NEW should answer with a session id", registry.get(id) != null);
+            check("BOARD before the first reveal should be all hidden",
+                    handler.handle("BOARD " + id + " 1").equals("OK 9 9 " + hiddenRows(9, 9)));
+            check("A move out of turn should be refused",
+                    handler.handle("REVEAL " + id + " 2 4 4").equals("ERR not your turn"));
+            String reveal = handler.handle("REVEAL " + id + " 1 4 4");
+            check("REVEAL should answer with the new state (" + reveal + ")",
+                    reveal.startsWith("OK RUNNING ") && reveal.endsWith(" 2"));
+            String[] rows = handler.handle("BOARD " + id + " 1").split(" ")[3].split("/");
+            check("BOARD should show the revealed opening", rows.length == 9 && rows[4].charAt(4) == '0');
+            check("REVEAL should pass the turn back",
+                    handler.handle("REVEAL " + id + " 2 4 4").matches("OK RUNNING -?\\d+ -?\\d+ 1"));
+            int hidden = String.join("", rows).indexOf('.');
+            check("FLAG should be accepted on a hidden cell of the board in turn",
+                    handler.handle("FLAG " + id + " 1 " + hidden / 9 + " " + hidden % 9).startsWith("OK RUNNING "));
+            String state = handler.handle("STATE " + id);
+            check("STATE should list the safe cells of both boards (" + state + ")",
+                    state.startsWith("OK RUNNING ") && state.split(" ").length == 7);
+            check("STATS should count the session", handler.handle("STATS").startsWith("OK sessions=1 hibernated=0 "));
+            check("Unknown commands should be errors", handler.handle("JUMP").startsWith("ERR unknown command"));
+            check("Bad arguments should be errors", handler.handle("REVEAL " + id + " 1 x 4").startsWith("ERR "));
+            check("Missing arguments should be errors", handler.handle("BOARD " + id).startsWith("ERR missing"));
+            check("CLOSE should remove the session", handler.handle("CLOSE " + id).equals("OK")
+                    && handler.handle("STATE " + id).equals("ERR unknown session"));
+
+            try (GameServer server = new GameServer(0, registry)) {
+                Thread serving = new Thread(() -> {
+                    try {
+                        server.serve();
+                    } catch (Exception e) {
+                        // closed below
+                    }
+                });
+                serving.start();
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                     BufferedReader in = new BufferedReader(
+                             new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                     PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                    out.println("NEW MEDIUM 3 REALTIME");
+                    String created = in.readLine();
+                    out.println("STATE " + created.substring(3));
+                    String remote = in.readLine();
+                    out.println("QUIT");
+                    check("The TCP server should speak the same protocol (" + remote + ")",
+                            created.startsWith("OK ") && remote.startsWith("OK RUNNING ")
+                                    && remote.split(" ").length == 8);
+                }
+            }
+        }
+
+        // ----- Test 3: hibernate and restore -----
+        try (SessionRegistry registry = new SessionRegistry(100, 600_000)) {
+            CommandHandler handler = new CommandHandler(registry);
+            String id = handler.handle("NEW MEDIUM").substring(3);
+            handler.handle("REVEAL " + id + " 1 8 8");
+            handler.handle("REVEAL " + id + " 2 8 8");
+            String state = handler.handle("STATE " + id);
+            String board = handler.handle("BOARD " + id + " 1");
+            boolean hibernated = waitFor(() -> registry.get(id).isHibernated(), 5_000);
+            long packedBytes = registry.totalEstimatedBytes();
+            check("An idle session should hibernate", hibernated);
+            check("A restored session should have the same state",
+                    handler.handle("STATE " + id).equals(state) && handler.handle("BOARD " + id + " 1").equals(board));
+            check("A used session should be live again", !registry.get(id).isHibernated()
+                    && registry.totalEstimatedBytes() > packedBytes);
+        }
+
+        // ----- Test 4: idle sessions are evicted -----
+        try (SessionRegistry registry = new SessionRegistry(50, 200)) {
+            CommandHandler handler = new CommandHandler(registry);
+            String id = handler.handle("NEW").substring(3);
+            check("A long-idle session should be evicted", waitFor(() -> registry.size() == 0, 5_000)
+                    && handler.handle("STATE " + id).equals("ERR unknown session"));
+        }
+
+        // ----- Test 5: memory of 10,000 idle sessions, measured -----
+        long before = usedHeap();
+        try (SessionRegistry registry = new SessionRegistry(200, 600_000)) {
+            CommandHandler handler = new CommandHandler(registry);
+            for (int i = 0; i < IDLE_SESSIONS; i++) {
+                String id = handler.handle("NEW MEDIUM").substring(3);
+                handler.handle("REVEAL " + id + " 1 8 8"); // one board played, one not
+            }
+            check("All sessions should hibernate", waitFor(() -> registry.hibernatedCount() == IDLE_SESSIONS, 30_000));
+            long measured = usedHeap() - before;
+            long estimated = registry.totalEstimatedBytes();
+            System.out.println("  " + IDLE_SESSIONS + " hibernated sessions: " + measured / 1024 + " KB measured, "
+                    + estimated / 1024 + " KB estimated (" + measured / IDLE_SESSIONS + " B per session)");
+            check("10,000 idle sessions should fit in 32 MB of heap", measured < 32L << 20);
+            check("The estimate should be within a factor 2 of the measured heap",
+                    estimated * 2 > measured && estimated < measured * 2);
+        }
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private interface Condition {
+        boolean holds();
+    }
+
+    private static boolean waitFor(Condition condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.holds()) {
+            if (System.currentTimeMillis() > deadline) return false;
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String hiddenRows(int rows, int cols) {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < rows; r++) {
+            if (r > 0) sb.append('/');
+            sb.append(".".repeat(cols));
+        }
+        return sb.toString();
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
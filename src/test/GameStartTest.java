@@ -3,6 +3,10 @@ import Model.Board;
 import Model.Cell;
 import Model.Difficulty;
 import Model.Game;
+import Model.GameListener;
+import Model.GameSnapshot;
+import Model.Move;
+import Model.SurpriseEffects;
 
 public class GameStartTest {
 
@@ -69,6 +73,7 @@ public class GameStartTest {
         // Get a fresh game reference and board to test on
         Game activeGame = controller.getCurrentGame();
         Board testBoard = activeGame.getBoard1();
+        testBoard.ensureGenerated(0, 0); // contents are placed by the first reveal
 
         // --- TEST A: Flagging a Mine (Should Increase Score) ---
         int scoreBeforeFlag = activeGame.getSharedScore(); // 0
@@ -103,6 +108,7 @@ public class GameStartTest {
         controller.restartGame();
         activeGame = controller.getCurrentGame();
         testBoard = activeGame.getBoard1();
+        testBoard.ensureGenerated(0, 0); // contents are placed by the first reveal
 
         int livesBeforeExplosion = activeGame.getSharedLives();
         Cell explodeCell = findCellWithContent(testBoard, Cell.CellContent.MINE);
@@ -117,6 +123,7 @@ public class GameStartTest {
         controller.restartGame();
         activeGame = controller.getCurrentGame();
         testBoard = activeGame.getBoard1();
+        testBoard.ensureGenerated(0, 0); // contents are placed by the first reveal
 
         int scoreBeforeQuestion = activeGame.getSharedScore(); // 0
         int cost = Difficulty.EASY.getActivationCost(); // 5
@@ -128,6 +135,43 @@ public class GameStartTest {
             check("Revealing Question should DEDUCT activation cost",
                     activeGame.getSharedScore() == scoreBeforeQuestion - cost);
         }
+
+        // =============================================================
+        // PART 3: Deferred Mine Placement
+        // =============================================================
+        System.out.println("\n=== TEST SET 3: First-Click Safety ===");
+
+        controller.startNewGame(Difficulty.HARD);
+        activeGame = controller.getCurrentGame();
+        testBoard = activeGame.getBoard1();
+        check("Board should not be generated before the first reveal", !testBoard.isGenerated());
+
+        // Snapshot before the first click: the copy must generate the same layout from the seed
+        Game copy = GameSnapshot.capture(activeGame).restore();
+
+        int livesBefore = activeGame.getSharedLives();
+        int[] surpriseLives = new int[1]; // surprise cells in the opening may add or take lives
+        activeGame.addGameListener(new GameListener() {
+            @Override
+            public void onMove(Game g, Move move) {
+            }
+
+            @Override
+            public void onSurprise(Game g, SurpriseEffects.Outcome outcome) {
+                surpriseLives[0] += outcome.getLivesDelta();
+            }
+        });
+        testBoard.revealCell(0, 15);
+        check("Board should be generated by the first reveal", testBoard.isGenerated());
+        check("First reveal should never cost a life",
+                activeGame.getSharedLives() == livesBefore + surpriseLives[0]);
+        check("Mines should be placed outside the 3x3 area around the click",
+                !testBoard.getCell(0, 14).isMine() && !testBoard.getCell(1, 14).isMine()
+                        && !testBoard.getCell(1, 15).isMine() && countMines(testBoard) == testBoard.getTotalMines());
+
+        copy.getBoard1().revealCell(0, 15);
+        check("A board restored before the first click should get the same layout",
+                sameLayout(testBoard, copy.getBoard1()));
     }
 
     // -------------------------------------------------------------
@@ -146,6 +190,25 @@ public class GameStartTest {
         }
     }
 
+    private static int countMines(Board board) {
+        int count = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).isMine()) count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean sameLayout(Board a, Board b) {
+        for (int r = 0; r < a.getRows(); r++) {
+            for (int c = 0; c < a.getCols(); c++) {
+                if (a.getCell(r, c).getContent() != b.getCell(r, c).getContent()) return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Helper to find a specific cell type on the board because placement is random.
      */
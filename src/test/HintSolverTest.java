@@ -0,0 +1,80 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameState;
+import Model.HintSolver;
+import Model.Move;
+
+import java.util.Random;
+
+/**
+ * Tests the hint solver: its deductions must always be right, it must make progress from an
+ * opening, and a query after a move must be cheap.
+ */
+public class HintSolverTest {
+
+    private static final int GAMES = 300;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Hint solver ===\n");
+
+        int wrongSafe = 0;
+        int wrongMine = 0;
+        int solvedCells = 0;
+        long queries = 0;
+        long queryNanos = 0;
+        Random random = new Random(11);
+
+        for (int g = 0; g < GAMES; g++) {
+            Game game = new Game(Difficulty.HARD);
+            game.setQuiet(true);
+            game.setSharedLives(1000); // guesses may hit mines, keep going
+            Board board = game.getBoard1();
+            HintSolver solver = new HintSolver(board);
+
+            while (game.getGameState() == GameState.RUNNING && board.getSafeCellsRemaining() > 0) {
+                long start = System.nanoTime();
+                Cell hint = solver.nextSafeCell();
+                queryNanos += System.nanoTime() - start;
+                queries++;
+
+                Cell target = hint;
+                if (hint != null) {
+                    if (hint.isMine()) wrongSafe++;
+                    solvedCells++;
+                } else {
+                    target = randomHiddenSafeCell(board, random); // "guess" right to keep the game going
+                }
+                game.makeMove(Move.reveal(1, target.getRow(), target.getCol()));
+            }
+
+            for (Cell mine : solver.getMineCells()) {
+                if (!mine.isMine()) wrongMine++;
+            }
+        }
+
+        check("Cells hinted as safe are never mines", wrongSafe == 0);
+        check("Cells deduced as mines are always mines", wrongMine == 0);
+        check("Solver should find safe cells (" + solvedCells + ")", solvedCells > GAMES * 10);
+        double micros = queryNanos / 1000.0 / queries;
+        check("Average hint query should be fast (" + String.format("%.1f", micros) + " us)", micros < 200);
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static Cell randomHiddenSafeCell(Board board, Random random) {
+        while (true) {
+            Cell cell = board.getCell(random.nextInt(board.getRows()), random.nextInt(board.getCols()));
+            if (!cell.isRevealed() && !cell.isMine()) return cell;
+        }
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameJournal;
+import Model.GameRules;
+import Model.GameState;
+import Model.Move;
+import Model.Player;
+import Model.RoundRobinScheduler;
+import Model.Topology;
+
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests that a journaled game can be restored (with its no-guess boards and custom rules) and that
+ * the journal is removed when the game ends.
+ */
+public class JournalRecoveryTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Write-ahead journal ===\n");
+
+        File file = File.createTempFile("scorpion", ".journal");
+        file.deleteOnExit();
+
+        // ----- Test 1: unfinished game is restored -----
+        Game game = new Game(Difficulty.EASY, List.of(new Player("Alice"), new Player("Bob")),
+                new RoundRobinScheduler());
+        GameJournal journal = new GameJournal(file, game, 5); // checkpoint every 5 moves
+        game.addGameListener(journal);
+
+        Random random = new Random(7);
+        int moves = 0;
+        while (moves < 12) {
+            int board = game.getCurrentPlayerTurn();
+            Board played = game.getBoard(board);
+            Cell cell = played.getCell(random.nextInt(played.getRows()), random.nextInt(played.getCols()));
+            if (cell.isMine()) continue; // keep the game running
+            if (!game.makeMove(Move.reveal(board, cell.getRow(), cell.getCol()))) continue;
+            if (game.getGameState() != GameState.RUNNING) break;
+            game.switchTurn();
+            moves++;
+        }
+        journal.close(); // simulates the app going away with the game unfinished
+
+        check("Journal should be kept for an unfinished game", GameJournal.hasUnfinishedGame(file));
+        Game restored = GameJournal.recover(file);
+        check("Recovery should return a game", restored != null);
+        assert restored != null;
+        check("Player names should be restored",
+                restored.getPlayer(1).getName().equals("Alice") && restored.getPlayer(2).getName().equals("Bob"));
+        check("Score should match", restored.getSharedScore() == game.getSharedScore());
+        check("Lives should match", restored.getSharedLives() == game.getSharedLives());
+        check("Turn should match", restored.getCurrentPlayerTurn() == game.getCurrentPlayerTurn());
+        check("Board 1 progress should match",
+                restored.getBoard1().getSafeCellsRemaining() == game.getBoard1().getSafeCellsRemaining());
+        check("Board 2 progress should match",
+                restored.getBoard2().getSafeCellsRemaining() == game.getBoard2().getSafeCellsRemaining());
+        check("Every board should be restored cell by cell", sameBoards(game, restored));
+
+        // ----- Test 2: journal is compacted away when the game ends -----
+        journal = new GameJournal(file, restored, GameJournal.DEFAULT_CHECKPOINT_INTERVAL);
+        restored.addGameListener(journal);
+        restored.setSharedLives(1);
+        Cell mine = findMine(restored);
+        restored.makeMove(Move.reveal(1, mine.getRow(), mine.getCol()));
+        journal.close();
+
+        check("Game should be lost", restored.getGameState() == GameState.LOST);
+        check("Journal should be deleted after the game finished", !file.exists());
+
+        // ----- Test 3: no-guess boards come back cell by cell -----
+        Game noGuess = new Game(Difficulty.MEDIUM, List.of(new Player("Alice"), new Player("Bob")),
+                new RoundRobinScheduler());
+        noGuess.setNoGuess(true);
+        journal = new GameJournal(file, noGuess, 5);
+        noGuess.addGameListener(journal);
+        moves = 0;
+        while (moves < 12) {
+            int board = noGuess.getCurrentPlayerTurn();
+            Board played = noGuess.getBoard(board);
+            Cell cell = played.getCell(random.nextInt(played.getRows()), random.nextInt(played.getCols()));
+            if (cell.isMine()) continue;
+            if (!noGuess.makeMove(Move.reveal(board, cell.getRow(), cell.getCol()))) continue;
+            if (noGuess.getGameState() != GameState.RUNNING) break;
+            noGuess.switchTurn();
+            moves++;
+        }
+        journal.close();
+
+        Game recovered = GameJournal.recover(file);
+        check("No-guess setting should be restored", recovered != null && recovered.isNoGuess());
+        check("No-guess boards should be restored cell by cell",
+                recovered != null && sameBoards(noGuess, recovered));
+        check("Layout candidates should be restored", recovered != null
+                && recovered.getBoard1().getLayoutCandidate() == noGuess.getBoard1().getLayoutCandidate()
+                && recovered.getBoard2().getLayoutCandidate() == noGuess.getBoard2().getLayoutCandidate());
+
+        // ----- Test 4: custom rules and board shapes survive recovery -----
+        GameRules custom = GameRules.of(Difficulty.EASY).withSize(10, 14).withMines(18).withShape(Topology.Shape.TORUS)
+                .withStartingLives(4).withActivationCost(3);
+        Game torus = new Game(custom, List.of(new Player("Alice"), new Player("Bob")), new RoundRobinScheduler(), null);
+        torus.setQuiet(true);
+        journal = new GameJournal(file, torus, 5);
+        torus.addGameListener(journal);
+        moves = 0;
+        while (moves < 8) {
+            int board = torus.getCurrentPlayerTurn();
+            Board played = torus.getBoard(board);
+            Cell cell = played.getCell(random.nextInt(played.getRows()), random.nextInt(played.getCols()));
+            if (cell.isMine()) continue;
+            if (!torus.makeMove(Move.reveal(board, cell.getRow(), cell.getCol()))) continue;
+            if (torus.getGameState() != GameState.RUNNING) break;
+            torus.switchTurn();
+            moves++;
+        }
+        journal.close();
+
+        recovered = GameJournal.recover(file);
+        check("Custom rules should be restored (" + (recovered == null ? null : recovered.getRules()) + ")",
+                recovered != null && recovered.getRules().toString().equals(custom.toString())
+                        && recovered.getBoard1().getRows() == 10 && recovered.getBoard1().getCols() == 14
+                        && recovered.getBoard1().getTopology().getShape() == Topology.Shape.TORUS);
+        check("Boards with custom rules should be restored cell by cell",
+                recovered != null && sameBoards(torus, recovered));
+        file.delete();
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static boolean sameBoards(Game a, Game b) {
+        if (a.getBoardCount() != b.getBoardCount()) return false;
+        for (int n = 1; n <= a.getBoardCount(); n++) {
+            Board x = a.getBoard(n);
+            Board y = b.getBoard(n);
+            if (x.getSafeCellsRemaining() != y.getSafeCellsRemaining()) return false;
+            for (int r = 0; r < x.getRows(); r++) {
+                for (int c = 0; c < x.getCols(); c++) {
+                    Cell p = x.getCell(r, c);
+                    Cell q = y.getCell(r, c);
+                    if (p.getContent() != q.getContent() || p.getState() != q.getState()
+                            || p.getAdjacentMines() != q.getAdjacentMines() || p.isUsed() != q.isUsed()) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Cell findMine(Game game) {
+        for (int r = 0; r < game.getBoard1().getRows(); r++) {
+            for (int c = 0; c < game.getBoard1().getCols(); c++) {
+                Cell cell = game.getBoard1().getCell(r, c);
+                if (cell.isMine() && !cell.isRevealed()) return cell;
+            }
+        }
+        return null;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
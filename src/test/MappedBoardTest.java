@@ -0,0 +1,162 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameRules;
+import Model.MappedBoard;
+import Model.Player;
+import Model.RoundRobinScheduler;
+
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the memory-mapped board: numbers and reveals must match a heap Board with the same layout
+ * (question and surprise cells included), generation must place exactly the requested cells,
+ * a closed file must open with the same state, and a large board must work without heap copies.
+ */
+public class MappedBoardTest {
+
+    private static final int BOARDS = 100;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Memory-mapped board ===\n");
+
+        File file = File.createTempFile("mapped-board", ".bin");
+        file.deleteOnExit();
+
+        Random random = new Random(49);
+        int wrongNumbers = 0;
+        int wrongReveals = 0;
+        int wrongCounts = 0;
+        int wrongReopened = 0;
+        for (int i = 0; i < BOARDS; i++) {
+            GameRules rules = GameRules.of(Difficulty.values()[i % 3]);
+            if (i % 2 == 1) rules = rules.withMines(rules.getMines() / 3); // large openings
+            Game game = new Game(rules, List.of(new Player("A")), new RoundRobinScheduler(), null);
+            game.setQuiet(true);
+            game.startNewGame(rules, random.nextLong());
+            game.setSharedLives(1000);
+            game.getBoard1().ensureGenerated(0, 0);
+            // A fork plays without surprises or question costs, like the mapped board
+            Board board = game.getBoard1().fork();
+            if (!hasSpecialCells(board)) wrongNumbers++;
+
+            MappedBoard mapped = MappedBoard.create(file, board.getRows(), board.getCols());
+            mapped.copyLayout(board);
+            if (!sameCells(board, mapped, true)) wrongNumbers++;
+
+            // Same moves on both: flags and reveals of safe cells
+            for (int m = 0; m < 60; m++) {
+                int r = random.nextInt(board.getRows());
+                int c = random.nextInt(board.getCols());
+                Cell cell = board.getCell(r, c);
+                if (cell.isRevealed()) continue;
+                if (m % 6 == 0) {
+                    board.toggleFlag(r, c);
+                    mapped.toggleFlag(r, c);
+                } else if (!cell.isMine() && !cell.isFlagged()) {
+                    board.revealCell(r, c);
+                    mapped.revealCell(r, c);
+                }
+            }
+            if (!sameCells(board, mapped, false)) wrongReveals++;
+            if (hiddenSafe(mapped) != mapped.getSafeCellsRemaining()) wrongCounts++;
+
+            mapped.close();
+            MappedBoard reopened = MappedBoard.open(file);
+            if (!sameCells(board, reopened, false) || reopened.getSeed() != board.getSeed()) wrongReopened++;
+            reopened.close();
+        }
+        check("Numbers, question and surprise cells should match the heap board", wrongNumbers == 0);
+        check("Flags and reveals should match the heap board", wrongReveals == 0);
+        check("Safe cell counter should match the cells", wrongCounts == 0);
+        check("A reopened file should hold the same board", wrongReopened == 0);
+
+        // ----- Large board: generation, one big opening, reopen -----
+        int size = 4000;
+        long mines = (long) size * size / 20;
+        long questions = (long) size * size / 200;
+        long surprises = (long) size * size / 400;
+        long start = System.nanoTime();
+        MappedBoard large = MappedBoard.create(file, size, size);
+        large.generate(mines, questions, surprises, 49);
+        long generateMillis = (System.nanoTime() - start) / 1_000_000;
+        long[] placed = new long[Cell.CellContent.values().length];
+        int emptyRow = -1;
+        int emptyCol = -1;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                Cell.CellContent content = large.getContent(r, c);
+                placed[content.ordinal()]++;
+                if (emptyRow < 0 && content == Cell.CellContent.EMPTY) {
+                    emptyRow = r;
+                    emptyCol = c;
+                }
+            }
+        }
+        check("Generation should place exactly the requested mines, question and surprise cells",
+                placed[Cell.CellContent.MINE.ordinal()] == mines
+                        && placed[Cell.CellContent.QUESTION.ordinal()] == questions
+                        && placed[Cell.CellContent.SURPRISE.ordinal()] == surprises);
+        start = System.nanoTime();
+        long revealed = large.revealCell(emptyRow, emptyCol);
+        long revealMillis = (System.nanoTime() - start) / 1_000_000;
+        long safeLeft = large.getSafeCellsRemaining();
+        large.close();
+        MappedBoard reopened = MappedBoard.open(file);
+        check("Large board should reopen with its counters (" + revealed + " cells revealed)",
+                revealed > 0 && reopened.getSafeCellsRemaining() == safeLeft
+                        && reopened.getSafeCellsRemaining() == hiddenSafe(reopened));
+        reopened.close();
+        System.out.println("  " + size + "x" + size + ": generated in " + generateMillis + " ms, opening of "
+                + revealed + " cells in " + revealMillis + " ms, file " + file.length() / (1 << 20) + " MB");
+
+        file.delete();
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static boolean sameCells(Board board, MappedBoard mapped, boolean numbers) {
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.getContent() != mapped.getContent(r, c) || cell.getState() != mapped.getState(r, c)) return false;
+                if (numbers && cell.getAdjacentMines() != mapped.getAdjacentMines(r, c)) return false;
+            }
+        }
+        return board.getSafeCellsRemaining() == mapped.getSafeCellsRemaining();
+    }
+
+    private static boolean hasSpecialCells(Board board) {
+        boolean question = false;
+        boolean surprise = false;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                question |= board.getCell(r, c).getContent() == Cell.CellContent.QUESTION;
+                surprise |= board.getCell(r, c).getContent() == Cell.CellContent.SURPRISE;
+            }
+        }
+        return question && surprise;
+    }
+
+    private static long hiddenSafe(MappedBoard mapped) {
+        long hidden = 0;
+        for (int r = 0; r < mapped.getRows(); r++) {
+            for (int c = 0; c < mapped.getCols(); c++) {
+                if (mapped.getContent(r, c) != Cell.CellContent.MINE && mapped.getState(r, c) != Cell.CellState.REVEALED) {
+                    hidden++;
+                }
+            }
+        }
+        return hidden;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import Model.ComputerPlayer;
+import Model.Difficulty;
+import Model.GameRules;
+import Model.MonteCarloSimulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests the Monte Carlo simulator: results must not depend on the number of threads (with or
+ * without the expert's probability search), games must print nothing, more lives must never lower the win rate, and a sweep writes one CSV row per set.
+ */
+public class MonteCarloSimulatorTest {
+
+    private static final int GAMES = 2000;
+    private static final int EXPERT_GAMES = 200;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Monte Carlo simulator ===\n");
+
+        GameRules rules = GameRules.of(Difficulty.EASY);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+
+        // ----- Test 1: headless and deterministic -----
+        PrintStream console = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed));
+        MonteCarloSimulator.Stats one;
+        MonteCarloSimulator.Stats four;
+        long millis;
+        try {
+            one = new MonteCarloSimulator(single, ComputerPlayer.Level.INTERMEDIATE, 3).run(rules, GAMES);
+            long start = System.nanoTime();
+            four = new MonteCarloSimulator(parallel, ComputerPlayer.Level.INTERMEDIATE, 3).run(rules, GAMES);
+            millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            System.setOut(console);
+        }
+        check("Simulated games should print nothing", printed.size() == 0);
+        check("Results should not depend on the number of threads",
+                one.getGames() == GAMES && one.getWinRate() == four.getWinRate()
+                        && one.getAverageScore() == four.getAverageScore()
+                        && one.getAverageLivesLeft() == four.getAverageLivesLeft());
+        System.out.println(String.format("  EASY: win rate %.3f, avg lives left %.2f, score p10/p50/p90 %d/%d/%d, %d games/s",
+                four.getWinRate(), four.getAverageLivesLeft(), four.getScorePercentile(0.1),
+                four.getScorePercentile(0.5), four.getScorePercentile(0.9), GAMES * 1000L / millis));
+
+        // ----- Test 2: the expert's probability search is deterministic too -----
+        GameRules medium = GameRules.of(Difficulty.MEDIUM);
+        MonteCarloSimulator.Stats expertOne =
+                new MonteCarloSimulator(single, ComputerPlayer.Level.EXPERT, 11).run(medium, EXPERT_GAMES);
+        MonteCarloSimulator.Stats expertFour =
+                new MonteCarloSimulator(parallel, ComputerPlayer.Level.EXPERT, 11).run(medium, EXPERT_GAMES);
+        check("Expert results should not depend on the number of threads (win rate "
+                        + expertOne.getWinRate() + ")",
+                expertOne.getWinRate() == expertFour.getWinRate()
+                        && expertOne.getAverageScore() == expertFour.getAverageScore()
+                        && expertOne.getAverageLivesLeft() == expertFour.getAverageLivesLeft());
+
+        // ----- Test 3: same games with more lives can only be won more often -----
+        MonteCarloSimulator simulator = new MonteCarloSimulator(parallel, ComputerPlayer.Level.BEGINNER, 5);
+        MonteCarloSimulator.Stats fewLives = simulator.run(rules.withStartingLives(3), GAMES);
+        MonteCarloSimulator.Stats manyLives = simulator.run(rules.withStartingLives(8), GAMES);
+        check("More lives should not lower the win rate (" + fewLives.getWinRate() + " -> "
+                + manyLives.getWinRate() + ")", manyLives.getWinRate() >= fewLives.getWinRate());
+
+        // ----- Test 4: sweep writes one row per parameter set -----
+        List<GameRules> grid = MonteCarloSimulator.grid(rules, new int[]{5, 10}, new int[]{5},
+                new int[]{4, 6}, new int[]{2});
+        StringWriter csv = new StringWriter();
+        simulator.sweep(grid, 200, csv);
+        String[] lines = csv.toString().split("\n");
+        check("Sweep should write a header and " + grid.size() + " rows",
+                lines.length == grid.size() + 1 && lines[0].startsWith("difficulty,") && lines[1].startsWith("EASY,"));
+
+        single.shutdown();
+        parallel.shutdown();
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
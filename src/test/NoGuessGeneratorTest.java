@@ -0,0 +1,139 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.NoGuessGenerator;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Tests the no-guess generator: the solver must reject 50/50 positions, generated boards must be
+ * solvable from their start cell, and the losing workers must stop soon after a candidate passes.
+ * Prints how long generation takes per difficulty.
+ */
+public class NoGuessGeneratorTest {
+
+    private static final int BOARDS_PER_DIFFICULTY = 10;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: No-guess generator ===\n");
+
+        // ----- Test 1: solver -----
+        byte[] line = {NoGuessGenerator.MINE, NoGuessGenerator.NONE, NoGuessGenerator.NONE};
+        check("A 1x3 line with a mine at the end should be solvable",
+                NoGuessGenerator.isSolvable(line, 1, 3, 1, 0, 2));
+
+        byte[] coinFlip = {NoGuessGenerator.MINE, NoGuessGenerator.NONE,
+                           NoGuessGenerator.NONE, NoGuessGenerator.NONE};
+        check("A 2x2 board with one mine is a guess from the opposite corner",
+                !NoGuessGenerator.isSolvable(coinFlip, 2, 2, 1, 1, 1));
+
+        // ----- Test 2: generated boards, timed per difficulty -----
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) Executors.newFixedThreadPool(4);
+        NoGuessGenerator generator = new NoGuessGenerator(pool, 4);
+        long winners = 0;   // candidates up to and including each winner
+        long tested = 0;
+        for (Difficulty difficulty : Difficulty.values()) {
+            long totalMillis = 0;
+            long worstMillis = 0;
+            long candidates = 0;
+            boolean allSolvable = true;
+            for (int i = 0; i < BOARDS_PER_DIFFICULTY; i++) {
+                NoGuessGenerator.Layout layout = generator.generate(difficulty.getRows(), difficulty.getCols(),
+                        difficulty.getMines(), difficulty.getQuestionCells(), difficulty.getSurpriseCells(),
+                        i % difficulty.getRows(), (i * 7) % difficulty.getCols(), i,
+                        NoGuessGenerator.DEFAULT_TIME_LIMIT_MILLIS);
+                totalMillis += layout.getElapsedMillis();
+                worstMillis = Math.max(worstMillis, layout.getElapsedMillis());
+                candidates += layout.getCandidates();
+                if (!layout.isGuaranteed() || !isSolvable(layout, difficulty)) allSolvable = false;
+                winners += layout.getCandidate() + 1;
+                tested += layout.getCandidates();
+            }
+            check(difficulty + ": every board should be solvable (avg " + totalMillis / BOARDS_PER_DIFFICULTY
+                    + " ms, worst " + worstMillis + " ms, " + candidates / BOARDS_PER_DIFFICULTY
+                    + " candidates per board)", allSolvable);
+        }
+
+        // ----- Test 3: losing workers stop -----
+        // Every candidate up to the winner is tested; past it only those already being tested by
+        // the other workers (a few per board), not the thousands a full time limit would allow
+        int boards = BOARDS_PER_DIFFICULTY * Difficulty.values().length;
+        check("Workers should stop soon after a candidate passes (" + tested + " tested, " + winners
+                + " up to the winners)", tested >= winners && tested <= winners + 2L * 4 * boards);
+
+        // ----- Test 4: same seed and first click -> same board, whichever worker wins -----
+        NoGuessGenerator.Layout first = generator.generate(16, 16, 44, 0, 0, 3, 4, 99, 5000);
+        NoGuessGenerator.Layout second = new NoGuessGenerator(pool, 1).generate(16, 16, 44, 0, 0, 3, 4, 99, 5000);
+        boolean same = true;
+        for (int r = 0; r < 16; r++) {
+            for (int c = 0; c < 16; c++) {
+                if (first.getContent(r, c) != second.getContent(r, c)) same = false;
+            }
+        }
+        check("Generation should be reproducible from the seed", same);
+
+        pool.shutdown();
+
+        // ----- Test 5: game boards, generated by the first click -----
+        boolean startsAreEmpty = true;
+        boolean boardsSolvable = true;
+        Game game = new Game(Difficulty.MEDIUM);
+        game.setQuiet(true);
+        game.setNoGuess(true);
+        for (int b = 1; b <= game.getBoardCount(); b++) {
+            Board board = game.getBoard(b);
+            board.ensureGenerated(b, 2 * b);
+            Cell start = board.getCell(b, 2 * b);
+            if (start.getContent() != Cell.CellContent.EMPTY) startsAreEmpty = false;
+            if (!isSolvable(board, start)) boardsSolvable = false;
+        }
+        check("The first click should open an empty cell", startsAreEmpty);
+        check("Game boards should be solvable from the first click", boardsSolvable);
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static boolean isSolvable(NoGuessGenerator.Layout layout, Difficulty difficulty) {
+        byte[] contents = new byte[layout.getRows() * layout.getCols()];
+        for (int r = 0; r < layout.getRows(); r++) {
+            for (int c = 0; c < layout.getCols(); c++) {
+                contents[r * layout.getCols() + c] = layout.getContent(r, c);
+            }
+        }
+        return NoGuessGenerator.isSolvable(contents, layout.getRows(), layout.getCols(), difficulty.getMines(),
+                layout.getStartRow(), layout.getStartCol());
+    }
+
+    private static boolean isSolvable(Board board, Cell start) {
+        byte[] contents = new byte[board.getRows() * board.getCols()];
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                switch (board.getCell(r, c).getContent()) {
+                    case MINE:
+                        contents[r * board.getCols() + c] = NoGuessGenerator.MINE;
+                        break;
+                    case QUESTION:
+                        contents[r * board.getCols() + c] = NoGuessGenerator.QUESTION;
+                        break;
+                    case SURPRISE:
+                        contents[r * board.getCols() + c] = NoGuessGenerator.SURPRISE;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return NoGuessGenerator.isSolvable(contents, board.getRows(), board.getCols(), board.getTotalMines(),
+                start.getRow(), start.getCol());
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
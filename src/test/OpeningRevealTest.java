@@ -0,0 +1,148 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameRules;
+import Model.Player;
+import Model.RoundRobinScheduler;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests revealing openings from the precomputed index: a click on an empty cell must reveal exactly
+ * what a flood fill reveals, count every cell once, and stop at flags like the flood does.
+ */
+public class OpeningRevealTest {
+
+    private static final int BOARDS = 300;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Opening reveal ===\n");
+
+        Random random = new Random(21);
+        int wrongCells = 0;
+        int wrongCounts = 0;
+        int flagLeaks = 0;
+        int clicks = 0;
+        for (int i = 0; i < BOARDS; i++) {
+            GameRules rules = GameRules.of(Difficulty.values()[i % 3]).withQuestionCells(0).withSurpriseCells(0);
+            if (i % 2 == 1) rules = rules.withMines(rules.getMines() / 3); // large openings
+            Game game = new Game(rules, List.of(new Player("A")), new RoundRobinScheduler(), null);
+            game.setQuiet(true);
+            game.startNewGame(rules, random.nextLong());
+            game.setSharedLives(1000);
+            Board board = game.getBoard1();
+            board.ensureGenerated(0, 0);
+            boolean flagTest = i % 5 == 0;
+
+            // Click empty cells in random order until none is hidden; compare with a flood each time
+            for (int attempt = 0; attempt < 50; attempt++) {
+                int r = random.nextInt(board.getRows());
+                int c = random.nextInt(board.getCols());
+                Cell cell = board.getCell(r, c);
+                if (cell.isRevealed() || cell.isFlagged() || cell.getContent() != Cell.CellContent.EMPTY) continue;
+                if (flagTest) flagNeighborOf(board, r, c, random);
+
+                boolean[][] expected = flood(board, r, c);
+                int hiddenBefore = board.getSafeCellsRemaining();
+                int logBefore = board.getRevealCount();
+                board.revealCell(r, c);
+                clicks++;
+
+                for (int rr = 0; rr < board.getRows(); rr++) {
+                    for (int cc = 0; cc < board.getCols(); cc++) {
+                        if (board.getCell(rr, cc).isRevealed() != expected[rr][cc]) {
+                            wrongCells++;
+                            if (flagTest && board.getCell(rr, cc).isRevealed()) flagLeaks++;
+                        }
+                    }
+                }
+                int newlyRevealed = board.getRevealCount() - logBefore;
+                if (hiddenBefore - board.getSafeCellsRemaining() != newlyRevealed) wrongCounts++;
+            }
+        }
+
+        check("Opening reveals should match a flood fill (" + clicks + " clicks, " + wrongCells + " wrong cells)",
+                wrongCells == 0);
+        check("Safe cell counter should drop by the number of cells revealed", wrongCounts == 0);
+        check("Flags should stop the reveal like they stop the flood", flagLeaks == 0);
+
+        // ----- With question and surprise cells (surprises may move mines and stale the index) -----
+        int inconsistent = 0;
+        for (int i = 0; i < BOARDS; i++) {
+            GameRules rules = GameRules.of(Difficulty.values()[i % 3]);
+            Game game = new Game(rules, List.of(new Player("A")), new RoundRobinScheduler(), null);
+            game.setQuiet(true);
+            game.startNewGame(rules, random.nextLong());
+            game.setSharedLives(1000);
+            Board board = game.getBoard1();
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getCols(); c++) {
+                    if (!board.getCell(r, c).isMine()) board.revealCell(r, c);
+                }
+            }
+            if (board.getSafeCellsRemaining() != hiddenSafeCells(board)) inconsistent++;
+        }
+        check("Safe cell counter should match the board with special cells", inconsistent == 0);
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static int hiddenSafeCells(Board board) {
+        int hidden = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (!cell.isMine() && !cell.isRevealed()) hidden++;
+            }
+        }
+        return hidden;
+    }
+
+    /** Flags a random hidden safe cell near (r, c), if there is one. */
+    private static void flagNeighborOf(Board board, int r, int c, Random random) {
+        int nr = r + random.nextInt(5) - 2;
+        int nc = c + random.nextInt(5) - 2;
+        if ((nr == r && nc == c) || nr < 0 || nr >= board.getRows() || nc < 0 || nc >= board.getCols()) return;
+        Cell cell = board.getCell(nr, nc);
+        if (!cell.isRevealed() && !cell.isFlagged() && !cell.isMine()) board.toggleFlag(nr, nc);
+    }
+
+    /** Revealed cells after a click on (r, c), by flood fill from the current state; flags block it. */
+    private static boolean[][] flood(Board board, int r, int c) {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        boolean[][] revealed = new boolean[rows][cols];
+        for (int rr = 0; rr < rows; rr++) {
+            for (int cc = 0; cc < cols; cc++) {
+                revealed[rr][cc] = board.getCell(rr, cc).isRevealed();
+            }
+        }
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        revealed[r][c] = true;
+        queue.add(new int[]{r, c});
+        while (!queue.isEmpty()) {
+            int[] cell = queue.poll();
+            for (int nr = cell[0] - 1; nr <= cell[0] + 1; nr++) {
+                for (int nc = cell[1] - 1; nc <= cell[1] + 1; nc++) {
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || revealed[nr][nc]) continue;
+                    Cell next = board.getCell(nr, nc);
+                    if (next.isMine() || next.isFlagged()) continue;
+                    revealed[nr][nc] = true;
+                    if (next.getContent() == Cell.CellContent.EMPTY) queue.add(new int[]{nr, nc});
+                }
+            }
+        }
+        return revealed;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
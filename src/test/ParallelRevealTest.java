@@ -0,0 +1,137 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameRules;
+import Model.Player;
+import Model.RoundRobinScheduler;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the fork-join reveal of large openings on a 1000x1000 board: the revealed cells, the safe
+ * cell counter and the reveal log must be what the sequential flood gives, with and without flags.
+ */
+public class ParallelRevealTest {
+
+    private static final int SIZE = 1000;
+    private static final int CENTER = SIZE / 2;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Parallel reveal ===\n");
+
+        GameRules rules = GameRules.of(Difficulty.HARD).withSize(SIZE, SIZE).withMines(SIZE * SIZE / 200)
+                .withQuestionCells(50).withSurpriseCells(0);
+
+        // ----- Test 1: one click opens most of a sparse board -----
+        Game game = newGame(rules);
+        Board board = game.getBoard1();
+        board.ensureGenerated(CENTER, CENTER);
+        boolean[][] expected = flood(board, CENTER, CENTER);
+        long start = System.nanoTime();
+        board.revealCell(CENTER, CENTER);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        int opened = board.getRevealCount();
+
+        System.out.println("  Opening of " + opened + " cells revealed in " + millis + " ms");
+        check("Opening should be large enough for the parallel path", opened > Board.PARALLEL_REVEAL_CELLS);
+        check("Revealed cells should match the sequential flood", matches(board, expected));
+        check("Safe cell counter should match the board", board.getSafeCellsRemaining() == hiddenSafeCells(board));
+        check("Reveal log should list each cell once in index order", logInOrder(board));
+
+        // ----- Test 2: same board with flags in the opening (frontier flood) -----
+        Game flaggedGame = newGame(rules);
+        Board flagged = flaggedGame.getBoard1();
+        flagged.ensureGenerated(CENTER, CENTER);
+        Random random = new Random(4);
+        for (int i = 0; i < 2000; i++) {
+            int r = random.nextInt(SIZE);
+            int c = random.nextInt(SIZE);
+            if (Math.abs(r - CENTER) > 1 && !flagged.getCell(r, c).isMine()) flagged.toggleFlag(r, c);
+        }
+        expected = flood(flagged, CENTER, CENTER);
+        start = System.nanoTime();
+        flagged.revealCell(CENTER, CENTER);
+        millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("  Flagged opening of " + flagged.getRevealCount() + " cells flooded in " + millis + " ms");
+        check("Flags should stop the parallel flood like the sequential one", matches(flagged, expected));
+        check("Safe cell counter should match the flagged board",
+                flagged.getSafeCellsRemaining() == hiddenSafeCells(flagged));
+        check("Flagged reveal log should list each cell once in index order", logInOrder(flagged));
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static Game newGame(GameRules rules) {
+        Game game = new Game(rules, List.of(new Player("A")), new RoundRobinScheduler(), null);
+        game.setQuiet(true);
+        game.startNewGame(rules, 99);
+        return game;
+    }
+
+    /** Revealed cells after a click on (r, c), by sequential flood fill; flags block it. */
+    private static boolean[][] flood(Board board, int r, int c) {
+        boolean[][] revealed = new boolean[SIZE][SIZE];
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        revealed[r][c] = true;
+        queue.add(new int[]{r, c});
+        while (!queue.isEmpty()) {
+            int[] cell = queue.poll();
+            for (int nr = cell[0] - 1; nr <= cell[0] + 1; nr++) {
+                for (int nc = cell[1] - 1; nc <= cell[1] + 1; nc++) {
+                    if (nr < 0 || nr >= SIZE || nc < 0 || nc >= SIZE || revealed[nr][nc]) continue;
+                    Cell next = board.getCell(nr, nc);
+                    if (next.isMine() || next.isFlagged()) continue;
+                    revealed[nr][nc] = true;
+                    if (next.getContent() == Cell.CellContent.EMPTY) queue.add(new int[]{nr, nc});
+                }
+            }
+        }
+        return revealed;
+    }
+
+    private static boolean matches(Board board, boolean[][] expected) {
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                if (board.getCell(r, c).isRevealed() != expected[r][c]) return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hiddenSafeCells(Board board) {
+        int hidden = 0;
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                Cell cell = board.getCell(r, c);
+                if (!cell.isMine() && !cell.isRevealed()) hidden++;
+            }
+        }
+        return hidden;
+    }
+
+    private static boolean logInOrder(Board board) {
+        int revealed = 0;
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                if (board.getCell(r, c).isRevealed()) revealed++;
+            }
+        }
+        if (board.getRevealCount() != revealed) return false;
+        for (int i = 1; i < board.getRevealCount(); i++) {
+            if (board.getRevealedCellIndex(i) <= board.getRevealedCellIndex(i - 1)) return false;
+        }
+        return true;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameState;
+import Model.HintSolver;
+import Model.Move;
+import Model.ProbabilityEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the mine probability engine against brute force on small positions, against the
+ * hint solver's certain cells, and checks that the time budget is respected and that a node
+ * limit gives the same result on every run.
+ */
+public class ProbabilityEngineTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Mine probabilities ===\n");
+
+        ProbabilityEngine engine = new ProbabilityEngine();
+        Random random = new Random(5);
+        double worstError = 0;
+        int positions = 0;
+        boolean certainCellsAgree = true;
+        boolean expectationHolds = true;
+
+        for (int g = 0; g < 40; g++) {
+            Game game = new Game(Difficulty.EASY);
+            game.setQuiet(true);
+            game.setSharedLives(1000);
+            Board board = game.getBoard1();
+            HintSolver solver = new HintSolver(board);
+
+            while (game.getGameState() == GameState.RUNNING && board.getSafeCellsRemaining() > 0) {
+                List<Cell> hidden = hiddenCells(board);
+                ProbabilityEngine.Result result = engine.compute(board, 2000);
+
+                // Expected mines = remaining mines, for any position
+                double sum = 0;
+                for (Cell cell : hidden) sum += result.getProbability(cell.getRow(), cell.getCol());
+                if (Math.abs(sum - remainingMines(board)) > 1e-3) expectationHolds = false;
+
+                for (Cell cell : solver.getSafeCells()) {
+                    if (result.getProbability(cell.getRow(), cell.getCol()) > 1e-6) certainCellsAgree = false;
+                }
+                for (Cell cell : solver.getMineCells()) {
+                    if (result.getProbability(cell.getRow(), cell.getCol()) < 1 - 1e-6) certainCellsAgree = false;
+                }
+
+                if (hidden.size() <= 18) {
+                    double[] exact = bruteForce(board, hidden);
+                    for (int i = 0; i < hidden.size(); i++) {
+                        Cell cell = hidden.get(i);
+                        worstError = Math.max(worstError,
+                                Math.abs(exact[i] - result.getProbability(cell.getRow(), cell.getCol())));
+                    }
+                    positions++;
+                }
+
+                // Reveal a random safe cell, like a lucky player
+                Cell next;
+                do {
+                    next = hidden.get(random.nextInt(hidden.size()));
+                } while (next.isMine());
+                game.makeMove(Move.reveal(1, next.getRow(), next.getCol()));
+            }
+        }
+
+        check("Probabilities should match brute force (" + positions + " positions, max error "
+                + String.format("%.2e", worstError) + ")", positions > 20 && worstError < 1e-4);
+        check("Expected number of mines should equal the remaining mines", expectationHolds);
+        check("Cells certain for the hint solver should have probability 0 or 1", certainCellsAgree);
+
+        // ----- Time budget -----
+        Game game = new Game(Difficulty.HARD);
+        game.setQuiet(true);
+        Board board = game.getBoard1();
+        for (int i = 0; i < 40; i++) {
+            Cell cell = board.getCell(random.nextInt(16), random.nextInt(16));
+            if (!cell.isMine()) game.makeMove(Move.reveal(1, cell.getRow(), cell.getCol()));
+        }
+        ProbabilityEngine fresh = new ProbabilityEngine();
+        long start = System.nanoTime();
+        ProbabilityEngine.Result result = fresh.compute(board, 5);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        check("Computation should respect the time budget (" + millis + " ms)", millis < 200);
+        check("Every hidden cell should get a probability", allHiddenHaveProbability(board, result));
+
+        // ----- Node limit: sampled the same way on every run -----
+        ProbabilityEngine.Snapshot snapshot = ProbabilityEngine.Snapshot.of(board);
+        ProbabilityEngine.Result limited = new ProbabilityEngine().computeWithNodeLimit(snapshot, 1);
+        ProbabilityEngine.Result again = new ProbabilityEngine().computeWithNodeLimit(snapshot, 1);
+        boolean same = true;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (Float.compare(limited.getProbability(r, c), again.getProbability(r, c)) != 0) same = false;
+            }
+        }
+        check("A node-limited computation should fall back to sampling", !limited.isExact());
+        check("A node-limited computation should give the same probabilities every time",
+                same && allHiddenHaveProbability(board, limited));
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    /** Probabilities by enumerating every placement of the remaining mines over the hidden cells. */
+    private static double[] bruteForce(Board board, List<Cell> hidden) {
+        int n = hidden.size();
+        int mines = remainingMines(board);
+        double[] counts = new double[n];
+        double total = 0;
+        for (int mask = 0; mask < (1 << n); mask++) {
+            if (Integer.bitCount(mask) != mines) continue;
+            if (!consistent(board, hidden, mask)) continue;
+            total++;
+            for (int i = 0; i < n; i++) {
+                if ((mask & (1 << i)) != 0) counts[i]++;
+            }
+        }
+        for (int i = 0; i < n; i++) counts[i] /= total;
+        return counts;
+    }
+
+    private static boolean consistent(Board board, List<Cell> hidden, int mask) {
+        boolean[][] mine = new boolean[board.getRows()][board.getCols()];
+        for (int i = 0; i < hidden.size(); i++) {
+            if ((mask & (1 << i)) != 0) mine[hidden.get(i).getRow()][hidden.get(i).getCol()] = true;
+        }
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.isRevealed() && cell.isMine()) mine[r][c] = true;
+            }
+        }
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (!cell.isRevealed() || cell.isMine()) continue;
+                int value;
+                if (cell.getContent() == Cell.CellContent.NUMBER) value = cell.getAdjacentMines();
+                else if (cell.getContent() == Cell.CellContent.EMPTY) value = 0;
+                else continue;
+                int around = 0;
+                for (int i = -1; i <= 1; i++) {
+                    for (int j = -1; j <= 1; j++) {
+                        int nr = r + i;
+                        int nc = c + j;
+                        if ((i != 0 || j != 0) && nr >= 0 && nr < board.getRows() && nc >= 0 && nc < board.getCols()
+                                && mine[nr][nc]) around++;
+                    }
+                }
+                if (around != value) return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Cell> hiddenCells(Board board) {
+        List<Cell> hidden = new ArrayList<>();
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (!board.getCell(r, c).isRevealed()) hidden.add(board.getCell(r, c));
+            }
+        }
+        return hidden;
+    }
+
+    private static int remainingMines(Board board) {
+        int revealed = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).isRevealed() && board.getCell(r, c).isMine()) revealed++;
+            }
+        }
+        return board.getTotalMines() - revealed;
+    }
+
+    private static boolean allHiddenHaveProbability(Board board, ProbabilityEngine.Result result) {
+        for (Cell cell : hiddenCells(board)) {
+            float p = result.getProbability(cell.getRow(), cell.getCol());
+            if (Float.isNaN(p) || p < 0 || p > 1) return false;
+        }
+        return true;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
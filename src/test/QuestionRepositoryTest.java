@@ -0,0 +1,106 @@
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.Player;
+import Model.Question;
+import Model.QuestionRepository;
+import Model.RoundRobinScheduler;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests the indexed question bank: lookup, lazy parsing and distinct assignment to QUESTION cells.
+ */
+public class QuestionRepositoryTest {
+
+    private static final int QUESTIONS = 5000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Question bank ===\n");
+
+        File file = File.createTempFile("scorpion", ".csv");
+        file.deleteOnExit();
+        try (PrintWriter out = new PrintWriter(file, "UTF-8")) {
+            out.println("id,level,text,a1,a2,a3,a4,correct");
+            for (int i = 1; i <= QUESTIONS; i++) {
+                out.println((i * 3) + "," + (1 + i % 4) + ",\"Question " + i + ", quoted\",yes,no,maybe,never," + (1 + i % 4));
+            }
+        }
+
+        try (QuestionRepository repository = QuestionRepository.open(file, 64)) {
+            // ----- Test 1: index -----
+            check("Header should be skipped", repository.size() == QUESTIONS);
+            check("Levels should be counted",
+                    repository.count(1) + repository.count(2) + repository.count(3) + repository.count(4) == QUESTIONS);
+            check("Unknown id should not be found", !repository.contains(4) && repository.get(4) == null);
+            check("Level should be known without loading", repository.levelOf(30) == 1 + 10 % 4);
+            check("Nothing should be parsed yet", repository.getIfCached(30) == null);
+
+            // ----- Test 2: lazy lookup -----
+            Question q = repository.get(30);
+            check("Question text should be parsed (with quotes)", q.getText().equals("Question 10, quoted"));
+            check("Answers should be parsed", q.getAnswers().size() == 4);
+            check("Correct answer should be parsed", q.isCorrect(10 % 4));
+            check("Question should now be cached", repository.getIfCached(30) == q);
+            check("Async lookup should find the last question",
+                    repository.getAsync(QUESTIONS * 3).get().getText().startsWith("Question " + QUESTIONS));
+
+            // ----- Test 3: deck never repeats -----
+            QuestionRepository.Deck deck = repository.newDeck(new Random(1));
+            Set<Integer> seen = new HashSet<>();
+            Integer id;
+            boolean valid = true;
+            while ((id = deck.next()) != null) {
+                valid &= repository.contains(id) && seen.add(id);
+            }
+            check("Deck should hand out every question exactly once", valid && seen.size() == QUESTIONS);
+
+            QuestionRepository.Deck levelDeck = repository.newDeck(new Random(2), 2);
+            seen.clear();
+            valid = true;
+            while ((id = levelDeck.next()) != null) {
+                valid &= repository.levelOf(id) == 2 && seen.add(id);
+            }
+            check("Level deck should hand out every question of its level exactly once",
+                    valid && seen.size() == repository.count(2));
+
+            // ----- Test 4: QUESTION cells get distinct questions -----
+            Game game = new Game(Difficulty.HARD, List.of(new Player("A"), new Player("B")),
+                    new RoundRobinScheduler(), repository);
+            Set<Integer> assigned = new HashSet<>();
+            int questionCells = 0;
+            boolean hardQuestions = true;
+            for (int b = 1; b <= game.getBoardCount(); b++) {
+                game.getBoard(b).ensureGenerated(0, 0);
+                for (int r = 0; r < game.getBoard(b).getRows(); r++) {
+                    for (int c = 0; c < game.getBoard(b).getCols(); c++) {
+                        Cell cell = game.getBoard(b).getCell(r, c);
+                        if (cell.getContent() != Cell.CellContent.QUESTION) continue;
+                        questionCells++;
+                        if (cell.getQuestionId() == null) continue;
+                        assigned.add(cell.getQuestionId());
+                        hardQuestions &= repository.levelOf(cell.getQuestionId()) == 3;
+                    }
+                }
+            }
+            check("Every QUESTION cell should get its own question",
+                    questionCells > 0 && assigned.size() == questionCells);
+            check("A HARD game should only ask level 3 questions", hardQuestions);
+        }
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
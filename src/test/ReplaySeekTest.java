@@ -0,0 +1,124 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameSnapshot;
+import Model.GameState;
+import Model.Move;
+import Model.ReplayReader;
+import Model.ReplayWriter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests that seeking inside a replay (keyframe + remaining moves) gives the same state
+ * as the live game had at that move.
+ */
+public class ReplaySeekTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Replay keyframes and seek ===\n");
+
+        File file = File.createTempFile("scorpion", ".replay");
+        file.deleteOnExit();
+
+        Game game = new Game(Difficulty.MEDIUM);
+        List<GameSnapshot> states = record(game, file, 42);
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            check("Move count should match the live game", reader.getMoveCount() == states.size() - 1);
+            check("Keyframe interval should be stored", reader.getKeyframeInterval() == 3);
+            check("One keyframe every 3 moves",
+                    reader.getKeyframeCount() == (reader.getMoveCount() - 1) / 3 + 1);
+
+            boolean allMatch = true;
+            for (int m = 0; m <= reader.getMoveCount(); m++) {
+                if (!sameState(reader.seek(m), states.get(m).restore())) {
+                    System.out.println("  mismatch at move " + m);
+                    allMatch = false;
+                }
+            }
+            check("Seeking to every move should reproduce the live state", allMatch);
+
+            // Seek backwards after seeking forwards
+            int last = reader.getMoveCount();
+            reader.seek(last);
+            check("Seeking backwards should work", sameState(reader.seek(1), states.get(1).restore()));
+        }
+
+        // ----- No-guess boards: replayed cell by cell, without searching again -----
+        Game noGuess = new Game(Difficulty.MEDIUM);
+        noGuess.setNoGuess(true);
+        states = record(noGuess, file, 43);
+        try (ReplayReader reader = new ReplayReader(file)) {
+            boolean allMatch = true;
+            for (int m = 0; m <= reader.getMoveCount(); m++) {
+                Game replayed = reader.seek(m);
+                if (!replayed.isNoGuess() || !sameState(replayed, states.get(m).restore())) allMatch = false;
+            }
+            Game last = reader.seek(reader.getMoveCount());
+            check("No-guess replay should reproduce the live boards cell by cell", allMatch
+                    && sameBoard(last.getBoard1(), noGuess.getBoard1()) && sameBoard(last.getBoard2(), noGuess.getBoard2()));
+            check("No-guess replay should keep the layout candidates",
+                    last.getBoard1().getLayoutCandidate() == noGuess.getBoard1().getLayoutCandidate()
+                            && last.getBoard2().getLayoutCandidate() == noGuess.getBoard2().getLayoutCandidate());
+        }
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    /** Plays random moves like the GUI does into a replay, keeping a snapshot after every move. */
+    private static List<GameSnapshot> record(Game game, File file, long seed) throws Exception {
+        ReplayWriter writer = new ReplayWriter(file, game, 3);
+        game.addGameListener(writer);
+        List<GameSnapshot> states = new ArrayList<>();
+        states.add(GameSnapshot.capture(game));
+        Random random = new Random(seed);
+        int guard = 0;
+        while (game.getGameState() == GameState.RUNNING && guard++ < 10_000) {
+            int board = game.getCurrentPlayerTurn();
+            int r = random.nextInt(Difficulty.MEDIUM.getRows());
+            int c = random.nextInt(Difficulty.MEDIUM.getCols());
+            Move move = random.nextInt(4) == 0 ? Move.flag(board, r, c) : Move.reveal(board, r, c);
+            if (!game.makeMove(move)) continue;
+            if (game.getGameState() == GameState.RUNNING) game.switchTurn();
+            states.add(GameSnapshot.capture(game));
+        }
+        writer.close();
+        return states;
+    }
+
+    private static boolean sameState(Game a, Game b) {
+        if (a.getSharedLives() != b.getSharedLives()) return false;
+        if (a.getSharedScore() != b.getSharedScore()) return false;
+        if (a.getGameState() != b.getGameState()) return false;
+        if (a.getCurrentPlayerTurn() != b.getCurrentPlayerTurn()) return false;
+        return sameBoard(a.getBoard1(), b.getBoard1()) && sameBoard(a.getBoard2(), b.getBoard2());
+    }
+
+    private static boolean sameBoard(Board a, Board b) {
+        if (a.getSafeCellsRemaining() != b.getSafeCellsRemaining()) return false;
+        for (int r = 0; r < a.getRows(); r++) {
+            for (int c = 0; c < a.getCols(); c++) {
+                Cell x = a.getCell(r, c);
+                Cell y = b.getCell(r, c);
+                if (x.getContent() != y.getContent() || x.getState() != y.getState()
+                        || x.getAdjacentMines() != y.getAdjacentMines() || x.isUsed() != y.isUsed()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
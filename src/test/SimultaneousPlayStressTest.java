@@ -0,0 +1,150 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameListener;
+import Model.GameState;
+import Model.Move;
+import Model.SurpriseEffects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency stress test for simultaneous mode: both boards are played from different threads
+ * at the same time. Checks that no life/score update is lost and that every game is decided
+ * exactly once.
+ */
+public class SimultaneousPlayStressTest {
+
+    private static final int GAMES = 2000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Simultaneous play stress test ===\n");
+
+        int lostUpdates = 0;
+        int wrongDecisions = 0;
+        int undecided = 0;
+        int won = 0;
+
+        for (int i = 0; i < GAMES; i++) {
+            Game game = new Game(Difficulty.EASY);
+            game.setQuiet(true);
+            game.setSimultaneous(true);
+            // Enough lives that some games are won and some are lost
+            game.setSharedLives(i % 2 == 0 ? 100 : 5);
+            int startLives = game.getSharedLives();
+            int cost = game.getDifficulty().getActivationCost();
+
+            AtomicInteger gameOverCalls = new AtomicInteger();
+            AtomicInteger surpriseLives = new AtomicInteger();
+            AtomicInteger surpriseScore = new AtomicInteger();
+            game.addGameListener(new GameListener() {
+                @Override
+                public void onMove(Game g, Move move) {
+                }
+
+                @Override
+                public void onSurprise(Game g, SurpriseEffects.Outcome outcome) {
+                    surpriseLives.addAndGet(outcome.getLivesDelta());
+                    surpriseScore.addAndGet(outcome.getScoreDelta());
+                }
+
+                @Override
+                public void onGameOver(Game g) {
+                    gameOverCalls.incrementAndGet();
+                }
+            });
+
+            CyclicBarrier start = new CyclicBarrier(2);
+            Player p1 = new Player(game, 1, start, i);
+            Player p2 = new Player(game, 2, start, i + GAMES);
+            p1.start();
+            p2.start();
+            p1.join();
+            p2.join();
+
+            int expectedLives = startLives - p1.minesHit - p2.minesHit + surpriseLives.get();
+            int expectedScore = -cost * (p1.specials + p2.specials) + surpriseScore.get();
+            if (game.getSharedLives() != expectedLives || game.getSharedScore() != expectedScore) {
+                lostUpdates++;
+            }
+
+            GameState state = game.getGameState();
+            if (state == GameState.RUNNING) undecided++;
+            if (gameOverCalls.get() != 1) wrongDecisions++;
+            if (state == GameState.WON) {
+                won++;
+                if (game.getBoard1().getSafeCellsRemaining() != 0
+                        || game.getBoard2().getSafeCellsRemaining() != 0) {
+                    wrongDecisions++;
+                }
+            }
+        }
+
+        check("No lost lives/score updates in " + GAMES + " games", lostUpdates == 0);
+        check("Every game ended", undecided == 0);
+        check("Every game decided exactly once, WON only with both boards cleared", wrongDecisions == 0);
+        check("Some games should be won (" + won + ")", won > 0);
+        check("Some games should be lost (" + (GAMES - won) + ")", won < GAMES);
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    /** Reveals every cell of one board in random order, counting what it hit. */
+    private static class Player extends Thread {
+        private final Game game;
+        private final int boardNumber;
+        private final CyclicBarrier start;
+        private final long seed;
+        int minesHit;
+        int specials;
+
+        Player(Game game, int boardNumber, CyclicBarrier start, long seed) {
+            this.game = game;
+            this.boardNumber = boardNumber;
+            this.start = start;
+            this.seed = seed;
+        }
+
+        @Override
+        public void run() {
+            Board board = (boardNumber == 1) ? game.getBoard1() : game.getBoard2();
+            List<Cell> order = new ArrayList<>();
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getCols(); c++) {
+                    order.add(board.getCell(r, c));
+                }
+            }
+            Collections.shuffle(order, new Random(seed));
+
+            try {
+                start.await();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+
+            for (Cell cell : order) {
+                // Mines are never flood-revealed, so every revealed mine was one of our moves
+                game.makeMove(Move.reveal(boardNumber, cell.getRow(), cell.getCol()));
+            }
+            // Count after the fact: specials revealed by flood fill are paid for too
+            for (Cell cell : order) {
+                if (cell.isRevealed() && cell.isMine()) minesHit++;
+                if (cell.isRevealed() && cell.isQuestionOrSurprise()) specials++;
+            }
+        }
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
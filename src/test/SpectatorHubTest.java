@@ -0,0 +1,232 @@
+import Model.Board;
+import Model.ComputerPlayer;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameRules;
+import Model.GameState;
+import Model.Move;
+import Model.Player;
+import Model.RoundRobinScheduler;
+import Model.SpectatorEvent;
+import Model.SpectatorHub;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the spectator hub: a fast spectator must follow every move, a slow one must be switched to
+ * resyncs without slowing down the game, both must end with exactly what the boards show, and a
+ * restart must resync every board.
+ */
+public class SpectatorHubTest {
+
+    private static final int GAMES = 20;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Spectator hub ===\n");
+
+        ExecutorService delivery = Executors.newCachedThreadPool();
+
+        boolean fastInSync = true;
+        boolean slowInSync = true;
+        boolean fastNoResync = true;
+        boolean sequencesOrdered = true;
+        boolean stateDelivered = true;
+        long slowResyncs = 0;
+        long moves = 0;
+        long maxDeltaBytes = 0;
+        long plainNanos = 0;
+        long watchedNanos = 0;
+        try {
+            for (int g = 0; g < GAMES; g++) {
+                GameRules rules = GameRules.of(Difficulty.values()[g % 3]);
+                plainNanos += play(rules, g, null);
+
+                Game game = newGame(rules, g);
+                SpectatorHub hub = new SpectatorHub(game, delivery, SpectatorHub.DEFAULT_BUFFER_EVENTS);
+                SpectatorHub smallHub = new SpectatorHub(game, delivery, 8);
+                game.addGameListener(hub);
+                game.addGameListener(smallHub);
+                Spectator fast = new Spectator(game.getBoardCount(), 0);
+                Spectator slow = new Spectator(game.getBoardCount(), 2);
+                hub.subscribe(fast);
+                smallHub.subscribe(slow);
+
+                long start = System.nanoTime();
+                moves += play(rules, g, game);
+                watchedNanos += System.nanoTime() - start;
+                hub.close();
+                smallHub.close();
+                fast.done.await(10, TimeUnit.SECONDS);
+                slow.done.await(10, TimeUnit.SECONDS);
+
+                fastInSync &= fast.matches(game);
+                slowInSync &= slow.matches(game);
+                fastNoResync &= fast.resyncs == 1;
+                sequencesOrdered &= fast.ordered && slow.ordered;
+                stateDelivered &= fast.lastState == game.getGameState() && slow.lastState == game.getGameState()
+                        && fast.lastLives == game.getSharedLives() && fast.lastScore == game.getSharedScore();
+                slowResyncs += slow.resyncs - 1;
+                maxDeltaBytes = Math.max(maxDeltaBytes, fast.maxDeltaBytes);
+            }
+        } finally {
+            delivery.shutdown();
+        }
+
+        // ----- A restart resyncs every board, not just the one that moved -----
+        ExecutorService restartDelivery = Executors.newSingleThreadExecutor();
+        Game game = newGame(GameRules.of(Difficulty.EASY), 7);
+        SpectatorHub hub = new SpectatorHub(game, restartDelivery, SpectatorHub.DEFAULT_BUFFER_EVENTS);
+        game.addGameListener(hub);
+        Spectator watcher = new Spectator(game.getBoardCount(), 0);
+        hub.subscribe(watcher);
+        watcher.first.await(10, TimeUnit.SECONDS); // the initial resync, before any move
+        for (int b = 1; b <= game.getBoardCount(); b++) {
+            game.makeMove(Move.reveal(b, 4, 4));
+            game.switchTurn();
+        }
+        game.restartGame();
+        game.makeMove(Move.reveal(1, 4, 4)); // only board 1 moves after the restart
+        hub.close();
+        watcher.done.await(10, TimeUnit.SECONDS);
+        restartDelivery.shutdown();
+
+        check("A fast spectator should end with what the boards show", fastInSync);
+        check("A fast spectator should need no resync after the first", fastNoResync);
+        check("A slow spectator should be resynced (" + slowResyncs + " resyncs) and end in sync",
+                slowResyncs > 0 && slowInSync);
+        check("Sequence numbers should grow", sequencesOrdered);
+        check("The last event should carry the final state, lives and score", stateDelivered);
+        check("The resync after a restart should show every board of the new game",
+                watcher.resyncs == 2 && watcher.matches(game));
+        System.out.println(String.format("  %d moves; %.1f us per move without spectators, %.1f us with;"
+                        + " largest delta %d bytes", moves, plainNanos / 1000.0 / moves, watchedNanos / 1000.0 / moves,
+                maxDeltaBytes));
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    /** Plays a game with a computer player; returns the nanoseconds (game == null) or the moves. */
+    private static long play(GameRules rules, long seed, Game game) {
+        boolean timed = game == null;
+        if (game == null) game = newGame(rules, seed);
+        ComputerPlayer bot = new ComputerPlayer(ComputerPlayer.Level.INTERMEDIATE, 50, Runnable::run, seed);
+        long start = System.nanoTime();
+        long moves = 0;
+        int flags = 0;
+        while (game.getGameState() == GameState.RUNNING) {
+            int board = game.getCurrentPlayerTurn();
+            Move move = bot.chooseMove(game, board).join();
+            if (move == null || !game.makeMove(move)) break;
+            if (flags < 5 && moves % 7 == 3) { // a few flags, put back right away
+                Board b = game.getBoard(board);
+                for (int i = 0; i < b.getRows() * b.getCols(); i++) {
+                    int r = i / b.getCols(), c = i % b.getCols();
+                    if (!b.getCell(r, c).isRevealed()) {
+                        game.makeMove(Move.flag(board, r, c));
+                        game.makeMove(Move.flag(board, r, c));
+                        flags++;
+                        break;
+                    }
+                }
+            }
+            game.switchTurn();
+            moves++;
+        }
+        return timed ? System.nanoTime() - start : moves;
+    }
+
+    private static Game newGame(GameRules rules, long seed) {
+        Game game = new Game(rules, List.of(new Player("A"), new Player("B")), new RoundRobinScheduler(), null);
+        game.setQuiet(true);
+        game.startNewGame(rules, seed);
+        game.setSharedLives(1000);
+        return game;
+    }
+
+    /** Keeps a view of the boards from the events; optionally slow (sleeps per event). */
+    private static final class Spectator implements Flow.Subscriber<SpectatorEvent> {
+        final byte[][] view;
+        final long sleepMillis;
+        final CountDownLatch first = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        Flow.Subscription subscription;
+        long lastSequence = -1;
+        boolean ordered = true;
+        int resyncs;
+        int maxDeltaBytes;
+        GameState lastState;
+        int lastLives;
+        int lastScore;
+
+        Spectator(int boards, long sleepMillis) {
+            this.view = new byte[boards][];
+            this.sleepMillis = sleepMillis;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(SpectatorEvent event) {
+            if (event.getKind() == SpectatorEvent.Kind.RESYNC) {
+                resyncs++;
+                if (event.getSequence() < lastSequence) ordered = false;
+            } else {
+                if (event.getSequence() <= lastSequence) ordered = false;
+                maxDeltaBytes = Math.max(maxDeltaBytes, event.getPayloadSize());
+            }
+            lastSequence = event.getSequence();
+            lastState = event.getGameState();
+            lastLives = event.getSharedLives();
+            lastScore = event.getSharedScore();
+            event.applyTo(view);
+            first.countDown();
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+        boolean matches(Game game) {
+            for (int b = 1; b <= game.getBoardCount(); b++) {
+                Board board = game.getBoard(b);
+                for (int r = 0; r < board.getRows(); r++) {
+                    for (int c = 0; c < board.getCols(); c++) {
+                        if (view[b - 1][r * board.getCols() + c] != board.getCell(r, c).getVisibleSymbol()) return false;
+                    }
+                }
+            }
+            return done.getCount() == 0;
+        }
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameSnapshot;
+import Model.SurpriseEffects;
+
+import java.util.SplittableRandom;
+
+/**
+ * Tests the surprise effect table: weighted draws, reproducibility from the game seed,
+ * and that moving a mine keeps the numbers around it correct.
+ */
+public class SurpriseEffectsTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Surprise effects ===\n");
+
+        // ----- Test 1: weighted draw follows the table -----
+        SurpriseEffects table = new SurpriseEffects();
+        int rare = table.register("Rare", 1, (game, board, source, random, outcome) -> { });
+        int common = table.register("Common", 9, (game, board, source, random, outcome) -> { });
+        SplittableRandom random = new SplittableRandom(42);
+        int commonDraws = 0;
+        for (int i = 0; i < 10000; i++) {
+            int id = table.pick(random);
+            if (id == common) commonDraws++;
+            else if (id != rare) commonDraws = -100000;
+        }
+        check("Draws should follow the weights (" + commonDraws + "/10000)", commonDraws > 8700 && commonDraws < 9300);
+
+        boolean refused = false;
+        try {
+            SurpriseEffects.standard().register("Extra", 1, (g, b, source, r, outcome) -> { });
+        } catch (UnsupportedOperationException e) {
+            refused = true;
+        }
+        SurpriseEffects extended = SurpriseEffects.standard().copy();
+        int extra = extended.register("Extra", 1, (g, b, source, r, outcome) -> { });
+        check("The standard table should be read-only", refused && SurpriseEffects.standard().size() == 6);
+        check("A copy of the standard table should keep its ids and accept new effects",
+                extra == 6 && extended.size() == 7 && extended.getName(SurpriseEffects.MOVE_MINE).equals("Mine moved"));
+
+        // ----- Test 2: same seed and cell -> same effect, also after a snapshot round trip -----
+        Game game = new Game(Difficulty.HARD);
+        game.getBoard1().ensureGenerated(0, 0);
+        Game copy = GameSnapshot.capture(game).restore();
+        check("Seed should survive a snapshot", copy.getSeed() == game.getSeed());
+
+        boolean sameEffects = true;
+        for (int i = 0; i < 20; i++) {
+            Cell source = game.getBoard1().getCell(i % 16, i / 16);
+            Cell copySource = copy.getBoard1().getCell(i % 16, i / 16);
+            SurpriseEffects.Outcome a = game.triggerSurprise(game.getBoard1(), source);
+            SurpriseEffects.Outcome b = copy.triggerSurprise(copy.getBoard1(), copySource);
+            sameEffects &= a.getEffectId() == b.getEffectId()
+                    && a.getTouchedCells().size() == b.getTouchedCells().size();
+        }
+        check("Replayed surprises should trigger the same effects", sameEffects);
+        check("Both games should end up with the same lives and score",
+                game.getSharedLives() == copy.getSharedLives() && game.getSharedScore() == copy.getSharedScore());
+
+        // ----- Test 3: moving mines keeps the numbers consistent -----
+        Game mines = new Game(Difficulty.HARD);
+        SurpriseEffects onlyMoves = new SurpriseEffects();
+        onlyMoves.register("Mine moved", 1, SurpriseEffects.standard().effect(SurpriseEffects.MOVE_MINE));
+        mines.setSurpriseEffects(onlyMoves);
+        Board board = mines.getBoard1();
+        board.ensureGenerated(0, 0);
+        int touched = 0;
+        for (int i = 0; i < 50; i++) {
+            touched += mines.triggerSurprise(board, board.getCell(i % 16, i / 16)).getTouchedCells().size();
+        }
+        check("Mine moves should touch cells", touched > 50);
+        check("Mine count should not change", countMines(board) == board.getTotalMines());
+        check("Numbers should match the moved mines", numbersConsistent(board));
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static int countMines(Board board) {
+        int count = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).isMine()) count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean numbersConsistent(Board board) {
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.getContent() != Cell.CellContent.EMPTY && cell.getContent() != Cell.CellContent.NUMBER) continue;
+                int mines = 0;
+                for (int i = -1; i <= 1; i++) {
+                    for (int j = -1; j <= 1; j++) {
+                        Cell n = board.getCell(r + i, c + j);
+                        if (n != null && n != cell && n.isMine()) mines++;
+                    }
+                }
+                boolean ok = (mines == 0) ? cell.getContent() == Cell.CellContent.EMPTY
+                        : cell.getContent() == Cell.CellContent.NUMBER && cell.getAdjacentMines() == mines;
+                if (!ok) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
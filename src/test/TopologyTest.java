@@ -0,0 +1,251 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameRules;
+import Model.HintSolver;
+import Model.NoGuessGenerator;
+import Model.Player;
+import Model.ProbabilityEngine;
+import Model.RoundRobinScheduler;
+import Model.Topology;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the neighbour tables of each board shape, plays torus and hex boards through Board (with
+ * hints, probabilities and no-guess layouts), and compares a table walk with the nested -1..1 loop
+ * it replaces.
+ */
+public class TopologyTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Topology ===\n");
+
+        // ----- Test 1: the tables -----
+        boolean squareRight = true;
+        boolean symmetric = true;
+        boolean degreesRight = true;
+        for (int[] size : new int[][]{{1, 1}, {1, 5}, {2, 2}, {3, 3}, {9, 9}, {7, 12}}) {
+            int rows = size[0];
+            int cols = size[1];
+            Topology square = Topology.of(Topology.Shape.SQUARE, rows, cols);
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int expected = 0;
+                    for (int nr = r - 1; nr <= r + 1; nr++) {
+                        for (int nc = c - 1; nc <= c + 1; nc++) {
+                            if ((nr != r || nc != c) && nr >= 0 && nr < rows && nc >= 0 && nc < cols) expected++;
+                        }
+                    }
+                    if (square.degree(r * cols + c) != expected) squareRight = false;
+                }
+            }
+            for (Topology.Shape shape : Topology.Shape.values()) {
+                Topology topology = Topology.of(shape, rows, cols);
+                for (int i = 0; i < rows * cols; i++) {
+                    for (int k = 0; k < topology.degree(i); k++) {
+                        if (!isNeighbor(topology, topology.neighbor(i, k), i)) symmetric = false;
+                    }
+                    if (shape == Topology.Shape.TORUS && rows >= 3 && cols >= 3 && topology.degree(i) != 8) degreesRight = false;
+                    if (shape == Topology.Shape.HEX && topology.degree(i) > 6) degreesRight = false;
+                }
+            }
+        }
+        Topology hex = Topology.of(Topology.Shape.HEX, 9, 9);
+        check("Square tables should list the cells within bounds", squareRight);
+        check("Neighbourhoods should be symmetric in every shape", symmetric);
+        check("Torus cells should have 8 neighbours, hex cells at most 6 (inner hex cell: "
+                + hex.degree(4 * 9 + 4) + ")", degreesRight && hex.degree(4 * 9 + 4) == 6);
+        check("Boards of the same shape and size should share one table",
+                Topology.of(Topology.Shape.HEX, 9, 9) == Topology.of(Topology.Shape.HEX, 9, 9));
+
+        // ----- Test 2: playing torus and hex boards -----
+        boolean numbersRight = true;
+        boolean floodsRight = true;
+        boolean startsClear = true;
+        boolean hintsRight = true;
+        boolean probabilitiesRight = true;
+        int hints = 0;
+        ProbabilityEngine engine = new ProbabilityEngine();
+        Random random = new Random(6);
+        for (int i = 0; i < 200; i++) {
+            Topology.Shape shape = i % 2 == 0 ? Topology.Shape.TORUS : Topology.Shape.HEX;
+            GameRules rules = GameRules.of(Difficulty.values()[i % 3]).withShape(shape)
+                    .withQuestionCells(0).withSurpriseCells(0);
+            Game game = new Game(rules, List.of(new Player("A")), new RoundRobinScheduler(), null);
+            game.setQuiet(true);
+            game.startNewGame(rules, random.nextLong());
+            game.setSharedLives(1000);
+            Board board = game.getBoard1();
+            board.ensureGenerated(4, 4);
+            Topology topology = board.getTopology();
+            for (int k = 0; k < topology.degree(4 * board.getCols() + 4); k++) {
+                if (cell(board, topology.neighbor(4 * board.getCols() + 4, k)).isMine()) startsClear = false;
+            }
+
+            for (int index = 0; index < board.getRows() * board.getCols(); index++) {
+                Cell cell = cell(board, index);
+                if (cell.getContent() == Cell.CellContent.NUMBER && cell.getAdjacentMines() != minesAround(board, topology, index)) {
+                    numbersRight = false;
+                }
+            }
+            for (int attempt = 0; attempt < 20; attempt++) {
+                int index = random.nextInt(board.getRows() * board.getCols());
+                Cell cell = cell(board, index);
+                if (cell.isRevealed() || cell.getContent() != Cell.CellContent.EMPTY) continue;
+                boolean[] expected = flood(board, topology, index);
+                board.revealCell(cell.getRow(), cell.getCol());
+                for (int j = 0; j < expected.length; j++) {
+                    if (cell(board, j).isRevealed() != expected[j]) floodsRight = false;
+                }
+            }
+
+            // Hints and probabilities must reason about the same neighbourhood
+            HintSolver solver = new HintSolver(board);
+            for (Cell safe : solver.getSafeCells()) {
+                if (safe.isMine()) hintsRight = false;
+                hints++;
+            }
+            for (Cell mine : solver.getMineCells()) {
+                if (!mine.isMine()) hintsRight = false;
+                hints++;
+            }
+            if (i % 10 == 0) {
+                ProbabilityEngine.Result result = engine.compute(board, 2000);
+                for (int index = 0; index < board.getRows() * board.getCols() && result.isExact(); index++) {
+                    Cell cell = cell(board, index);
+                    if (cell.isRevealed()) continue;
+                    float p = result.getProbability(cell.getRow(), cell.getCol());
+                    if ((p == 0f && cell.isMine()) || (p == 1f && !cell.isMine())) probabilitiesRight = false;
+                }
+            }
+        }
+        check("The first click should clear the shape's neighbourhood", startsClear);
+        check("Numbers should count the mines of the shape's neighbourhood", numbersRight);
+        check("Openings should follow the shape's neighbourhood", floodsRight);
+        check("Hints should be right on torus and hex boards (" + hints + " deductions)", hintsRight && hints > 0);
+        check("Certain probabilities should be right on torus and hex boards", probabilitiesRight);
+
+        // ----- Test 3: no-guess layouts of other shapes -----
+        boolean noGuessSolvable = true;
+        for (Topology.Shape shape : new Topology.Shape[]{Topology.Shape.TORUS, Topology.Shape.HEX}) {
+            Topology topology = Topology.of(shape, 9, 9);
+            for (int seed = 0; seed < 5; seed++) {
+                NoGuessGenerator.Layout layout = NoGuessGenerator.shared().generate(topology, 10, 0, 0, 4, 4, seed,
+                        NoGuessGenerator.DEFAULT_TIME_LIMIT_MILLIS);
+                byte[] contents = new byte[81];
+                for (int index = 0; index < contents.length; index++) {
+                    contents[index] = layout.getContent(index / 9, index % 9);
+                }
+                noGuessSolvable &= layout.isGuaranteed()
+                        && NoGuessGenerator.isSolvable(contents, topology, 10, 4, 4);
+            }
+        }
+        check("No-guess layouts of torus and hex boards should be solvable in their own shape", noGuessSolvable);
+
+        // ----- Benchmark: mines around every cell of a 1000x1000 board -----
+        int rows = 1000;
+        int cols = 1000;
+        boolean[] mines = new boolean[rows * cols];
+        for (int i = 0; i < mines.length; i++) {
+            mines[i] = random.nextDouble() < 0.15;
+        }
+        Topology square = Topology.of(Topology.Shape.SQUARE, rows, cols);
+        long loop = time(() -> nestedLoop(mines, rows, cols));
+        long table = time(() -> tableWalk(mines, square));
+        check("Table walk should count the same mines", nestedLoop(mines, rows, cols) == tableWalk(mines, square));
+        System.out.println("  1000x1000: nested loop " + loop + " us, table walk " + table + " us");
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static boolean isNeighbor(Topology topology, int index, int other) {
+        for (int k = 0; k < topology.degree(index); k++) {
+            if (topology.neighbor(index, k) == other) return true;
+        }
+        return false;
+    }
+
+    private static Cell cell(Board board, int index) {
+        return board.getCell(index / board.getCols(), index % board.getCols());
+    }
+
+    private static int minesAround(Board board, Topology topology, int index) {
+        int count = 0;
+        for (int k = 0; k < topology.degree(index); k++) {
+            if (cell(board, topology.neighbor(index, k)).isMine()) count++;
+        }
+        return count;
+    }
+
+    /** Revealed cells after a click, by breadth-first flood over the topology. */
+    private static boolean[] flood(Board board, Topology topology, int start) {
+        boolean[] revealed = new boolean[board.getRows() * board.getCols()];
+        for (int i = 0; i < revealed.length; i++) {
+            revealed[i] = cell(board, i).isRevealed();
+        }
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        revealed[start] = true;
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int index = queue.poll();
+            for (int k = 0; k < topology.degree(index); k++) {
+                int next = topology.neighbor(index, k);
+                if (revealed[next] || cell(board, next).isMine() || cell(board, next).isFlagged()) continue;
+                revealed[next] = true;
+                if (cell(board, next).getContent() == Cell.CellContent.EMPTY) queue.add(next);
+            }
+        }
+        return revealed;
+    }
+
+    private static long nestedLoop(boolean[] mines, int rows, int cols) {
+        long total = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                for (int i = -1; i <= 1; i++) {
+                    for (int j = -1; j <= 1; j++) {
+                        if (i == 0 && j == 0) continue;
+                        int nr = r + i;
+                        int nc = c + j;
+                        if (nr >= 0 && nr < rows && nc >= 0 && nc < cols && mines[nr * cols + nc]) total++;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private static long tableWalk(boolean[] mines, Topology topology) {
+        long total = 0;
+        for (int i = 0; i < mines.length; i++) {
+            for (int k = 0; k < topology.degree(i); k++) {
+                if (mines[topology.neighbor(i, k)]) total++;
+            }
+        }
+        return total;
+    }
+
+    /** Best of five runs after a warm-up, in microseconds. */
+    private static long time(Runnable run) {
+        for (int i = 0; i < 3; i++) run.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, (System.nanoTime() - start) / 1000);
+        }
+        return best;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+import Model.ComputerPlayer;
+import Model.Difficulty;
+import Model.GameRules;
+import Model.Tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests the tournament runner: results must not depend on the number of threads (experts
+ * included), the round robin must rank the stronger policy above the weaker one, and a bracket
+ * must end with one champion.
+ */
+public class TournamentTest {
+
+    private static final int GAMES = 60;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Tournament ===\n");
+
+        GameRules rules = GameRules.of(Difficulty.MEDIUM);
+        List<Tournament.Entrant> entrants = List.of(
+                Tournament.Entrant.of(ComputerPlayer.Level.BEGINNER),
+                Tournament.Entrant.of(ComputerPlayer.Level.INTERMEDIATE),
+                new Tournament.Entrant("Beginner B", ComputerPlayer.Level.BEGINNER));
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+
+        // ----- Test 1: same standings whatever the number of threads -----
+        List<Tournament.Standing> one = new Tournament(single, rules, 48, GAMES).roundRobin(entrants);
+        long start = System.nanoTime();
+        List<Tournament.Standing> four = new Tournament(parallel, rules, 48, GAMES).roundRobin(entrants);
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        check("Standings should not depend on the number of threads", describe(one).equals(describe(four)));
+        for (Tournament.Standing standing : four) {
+            System.out.println("  " + standing);
+        }
+        System.out.println("  " + entrants.size() * GAMES + " games in " + millis + " ms");
+
+        // ----- Test 2: the stronger policy wins the round robin -----
+        check("Intermediate should top the round robin",
+                four.get(0).getEntrant().getLevel() == ComputerPlayer.Level.INTERMEDIATE
+                        && four.get(0).getWins() == entrants.size() - 1);
+        check("Same policy on the same seeds should play the same games",
+                sameStats(four, "BEGINNER", "Beginner B"));
+
+        // ----- Test 3: bracket with a bye -----
+        List<List<Tournament.Match>> rounds = new Tournament(parallel, rules, 48, GAMES).bracket(entrants);
+        Tournament.Match last = rounds.get(rounds.size() - 1).get(0);
+        check("A bracket of 3 should have 2 rounds and 2 matches",
+                rounds.size() == 2 && rounds.get(0).size() + rounds.get(1).size() == 2);
+        check("Intermediate should win the bracket (" + last + ")",
+                last.getWinner().getLevel() == ComputerPlayer.Level.INTERMEDIATE);
+
+        // ----- Test 4: the expert's probability search does not depend on the threads either -----
+        List<Tournament.Entrant> experts = List.of(
+                Tournament.Entrant.of(ComputerPlayer.Level.EXPERT),
+                Tournament.Entrant.of(ComputerPlayer.Level.INTERMEDIATE));
+        GameRules hard = GameRules.of(Difficulty.HARD);
+        List<Tournament.Standing> expertOne = new Tournament(single, hard, 7, GAMES).roundRobin(experts);
+        List<Tournament.Standing> expertFour = new Tournament(parallel, hard, 7, GAMES).roundRobin(experts);
+        check("Expert standings should not depend on the number of threads",
+                describe(expertOne).equals(describe(expertFour)));
+
+        single.shutdown();
+        parallel.shutdown();
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static List<String> describe(List<Tournament.Standing> standings) {
+        List<String> lines = new ArrayList<>();
+        for (Tournament.Standing standing : standings) {
+            lines.add(standing.toString());
+        }
+        return lines;
+    }
+
+    private static boolean sameStats(List<Tournament.Standing> standings, String a, String b) {
+        Tournament.Standing first = null;
+        Tournament.Standing second = null;
+        for (Tournament.Standing standing : standings) {
+            if (standing.getEntrant().getName().equals(a)) first = standing;
+            if (standing.getEntrant().getName().equals(b)) second = standing;
+        }
+        return first != null && second != null
+                && first.getStats().getWinRate() == second.getStats().getWinRate()
+                && first.getStats().getAverageScore() == second.getStats().getAverageScore();
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
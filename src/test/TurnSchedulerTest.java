@@ -0,0 +1,139 @@
+import Model.Board;
+import Model.Cell;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameJournal;
+import Model.GameRules;
+import Model.GameState;
+import Model.Move;
+import Model.Player;
+import Model.ReplayReader;
+import Model.ReplayWriter;
+import Model.RoundRobinScheduler;
+import Model.SimultaneousScheduler;
+import Model.TimedScheduler;
+import Model.TurnScheduler;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Tests turn scheduling with more than two boards: round-robin order skipping cleared boards,
+ * simultaneous play, timed turns passed on timeout (and recorded by replays and journals), and the
+ * win condition of a game that is won only when every board is cleared.
+ */
+public class TurnSchedulerTest {
+
+    // No surprise cells, so clearing a board never moves a mine
+    private static final GameRules RULES = GameRules.of(Difficulty.EASY).withSurpriseCells(0);
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST: Turn schedulers ===\n");
+
+        // ----- Test 1: round robin over three boards, skipping cleared ones -----
+        Game game = newGame(new RoundRobinScheduler());
+        int[] turns = new int[4];
+        for (int i = 0; i < turns.length; i++) {
+            turns[i] = game.getCurrentPlayerTurn();
+            game.switchTurn();
+        }
+        check("Round robin should go 1, 2, 3, 1",
+                turns[0] == 1 && turns[1] == 2 && turns[2] == 3 && turns[3] == 1);
+        check("Only the player in turn may play", game.mayPlay(2) && !game.mayPlay(1) && !game.mayPlay(3));
+        clear(game, 3);
+        game.switchTurn();
+        check("A cleared board should be skipped", game.getCurrentPlayerTurn() == 1);
+
+        // ----- Test 2: the game is won when every board is cleared -----
+        clear(game, 1);
+        check("Two of three boards cleared: still running", game.getGameState() == GameState.RUNNING);
+        clear(game, 2);
+        check("All boards cleared: won", game.getGameState() == GameState.WON);
+
+        // ----- Test 3: simultaneous play -----
+        game = newGame(new SimultaneousScheduler());
+        game.switchTurn();
+        check("Every board may play at once in simultaneous mode",
+                game.mayPlay(1) && game.mayPlay(2) && game.mayPlay(3) && game.getCurrentPlayerTurn() == 1);
+
+        // ----- Test 4: timed turns pass on timeout, replays and journals keep the turn -----
+        File replay = File.createTempFile("scorpion", ".replay");
+        File journalFile = File.createTempFile("scorpion", ".journal");
+        replay.deleteOnExit();
+        journalFile.deleteOnExit();
+        game = newGame(new TimedScheduler(40));
+        ReplayWriter writer = new ReplayWriter(replay, game, 2);
+        GameJournal journal = new GameJournal(journalFile, game, GameJournal.DEFAULT_CHECKPOINT_INTERVAL);
+        game.addGameListener(writer);
+        game.addGameListener(journal);
+
+        game.tick();
+        check("A turn should not pass before its time is up", game.getCurrentPlayerTurn() == 1);
+        Thread.sleep(60);
+        game.tick();
+        check("A turn should pass when its time is up", game.getCurrentPlayerTurn() == 2);
+        play(game, 2);                // board 2 moves, the turn goes to 3
+        Thread.sleep(60);
+        game.tick();                  // 3 times out, the turn goes to 1
+        play(game, 1);                // board 1 moves, the turn goes to 2
+        Thread.sleep(60);
+        game.tick();                  // 2 times out, the turn goes to 3
+        writer.close();
+        journal.close();
+
+        try (ReplayReader reader = new ReplayReader(replay)) {
+            check("Timeouts are not moves", reader.getMoveCount() == 2);
+            Game replayed = reader.seek(2);
+            check("Replay should have the turn after the timeouts (" + replayed.getCurrentPlayerTurn() + ")",
+                    replayed.getCurrentPlayerTurn() == game.getCurrentPlayerTurn());
+            check("Seeking between moves should see the timeout before them", reader.seek(1).getCurrentPlayerTurn() == 1);
+        }
+        Game recovered = GameJournal.recover(journalFile);
+        check("Journal recovery should have the turn after the last timeout",
+                recovered != null && recovered.getCurrentPlayerTurn() == game.getCurrentPlayerTurn());
+        journalFile.delete();
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static Game newGame(TurnScheduler scheduler) {
+        Game game = new Game(RULES, List.of(new Player("A"), new Player("B"), new Player("C")), scheduler, null);
+        game.setQuiet(true);
+        game.setSharedLives(1000);
+        return game;
+    }
+
+    /** One safe reveal on the board in turn, then the turn is switched like the GUI does. */
+    private static void play(Game game, int boardNumber) {
+        Board board = game.getBoard(boardNumber);
+        board.ensureGenerated(0, 0);
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (!cell.isMine() && !cell.isRevealed() && game.makeMove(Move.reveal(boardNumber, r, c))) {
+                    game.switchTurn();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Reveals every safe cell of a board. */
+    private static void clear(Game game, int boardNumber) {
+        Board board = game.getBoard(boardNumber);
+        board.ensureGenerated(0, 0);
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (!board.getCell(r, c).isMine()) board.revealCell(r, c);
+            }
+        }
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}
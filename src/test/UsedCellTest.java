@@ -3,9 +3,15 @@ import Model.Board;
 import Model.Cell;
 import Model.Difficulty;
 import Model.Game;
+import Model.GameListener;
+import Model.Move;
+import Model.SurpriseEffects;
+
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Unit tests to verify that question and surprise cells can only be used once.
+ * Unit tests to verify that question and surprise cells can only be used once, with the controller's
+ * reveals going through the same board path as every other move.
  */
 public class UsedCellTest {
 
@@ -17,6 +23,7 @@ public class UsedCellTest {
         Game game = controller.getCurrentGame();
 
         Board board = game.getBoard1();
+        board.ensureGenerated(0, 0); // place the contents before overriding cells by hand
         
         // Get a cell and manually set it as a question cell for testing
         Cell questionCell = board.getCell(0, 0);
@@ -34,29 +41,24 @@ public class UsedCellTest {
         System.out.println("Test 1: First activation of question cell");
         check("Question cell should not be used initially", !questionCell.isUsed());
         check("Cell should be HIDDEN initially", questionCell.getState() == Cell.CellState.HIDDEN);
-        
+
+        int safeBefore = board.getSafeCellsRemaining();
+        int logBefore = board.getRevealCount();
         boolean firstActivation = controller.revealCell(1, 0, 0);
         check("First reveal should succeed", firstActivation);
-        check("Question cell should be marked as used after first activation", questionCell.isUsed());
         check("Cell should be REVEALED after activation", questionCell.getState() == Cell.CellState.REVEALED);
-        check("Score should be deducted by activation cost", 
+        check("Score should be deducted by activation cost",
                 game.getSharedScore() == initialScore - activationCost);
+        check("The reveal should go through the board (safe cell counter and reveal log)",
+                board.getSafeCellsRemaining() == safeBefore - 1 && board.getRevealCount() == logBefore + 1);
 
-        // ----- Test 2: Second activation attempt (should skip effect) -----
-        System.out.println("\nTest 2: Second activation attempt (should skip effect)");
+        // ----- Test 2: Second activation attempt (refused, nothing charged) -----
+        System.out.println("\nTest 2: Second activation attempt");
         int scoreBeforeSecondClick = game.getSharedScore();
-        
-        // Manually reset state to HIDDEN to simulate another click (in real game, 
-        // the cell would already be revealed, but we test the logic anyway)
-        questionCell.setState(Cell.CellState.HIDDEN);
-        
         boolean secondActivation = controller.revealCell(1, 0, 0);
-        check("Second reveal should succeed (cell becomes revealed)", secondActivation);
-        check("Question cell should still be marked as used", questionCell.isUsed());
-        check("Score should NOT be deducted again (effect skipped)", 
+        check("Second reveal of the question cell should be refused", !secondActivation);
+        check("Score should NOT be deducted again",
                 game.getSharedScore() == scoreBeforeSecondClick);
-        check("Cell should be REVEALED after second click", 
-                questionCell.getState() == Cell.CellState.REVEALED);
 
         // ----- Test 3: Surprise cell -----
         System.out.println("\nTest 3: Surprise cell usage");
@@ -64,35 +66,50 @@ public class UsedCellTest {
         surpriseCell.setContent(Cell.CellContent.SURPRISE);
         surpriseCell.setState(Cell.CellState.HIDDEN);
         surpriseCell.setUsed(false);
-        
+
         int scoreBeforeSurprise = game.getSharedScore();
-        
+
+        // The surprise effect itself may change the score: record what it did
+        AtomicReference<SurpriseEffects.Outcome> surprise = new AtomicReference<>();
+        game.addGameListener(new GameListener() {
+            @Override
+            public void onMove(Game g, Move move) {
+            }
+
+            @Override
+            public void onSurprise(Game g, SurpriseEffects.Outcome outcome) {
+                surprise.set(outcome);
+            }
+        });
+
         boolean surpriseActivation = controller.revealCell(1, 1, 1);
         check("First surprise cell activation should succeed", surpriseActivation);
         check("Surprise cell should be marked as used", surpriseCell.isUsed());
-        check("Score should be deducted for surprise cell", 
-                game.getSharedScore() == scoreBeforeSurprise - activationCost);
-        
+        check("Surprise effect should be triggered", surprise.get() != null);
+        check("Score should be deducted for surprise cell", surprise.get() != null &&
+                game.getSharedScore() == scoreBeforeSurprise - activationCost + surprise.get().getScoreDelta());
+
         // Try to activate again
-        surpriseCell.setState(Cell.CellState.HIDDEN);
+        surprise.set(null);
         int scoreBeforeSecondSurprise = game.getSharedScore();
         boolean secondSurpriseActivation = controller.revealCell(1, 1, 1);
-        check("Second surprise activation should skip effect", secondSurpriseActivation);
-        check("Surprise cell should still be used", surpriseCell.isUsed());
-        check("Score should NOT be deducted again", 
+        check("Second surprise activation should be refused", !secondSurpriseActivation);
+        check("Surprise effect should not be triggered again", surprise.get() == null);
+        check("Score should NOT be deducted again",
                 game.getSharedScore() == scoreBeforeSecondSurprise);
 
         // ----- Test 4: Normal cells (not question/surprise) should work normally -----
         System.out.println("\nTest 4: Normal cells should work normally");
-        Cell normalCell = board.getCell(2, 2);
-        normalCell.setContent(Cell.CellContent.EMPTY);
-        normalCell.setState(Cell.CellState.HIDDEN);
-        normalCell.setUsed(false);
-        
-        boolean normalReveal = controller.revealCell(1, 2, 2);
+        Cell normalCell = null;
+        for (int i = 0; i < board.getRows() * board.getCols() && normalCell == null; i++) {
+            Cell cell = board.getCell(i / board.getCols(), i % board.getCols());
+            if (!cell.isRevealed() && cell.getContent() == Cell.CellContent.NUMBER) normalCell = cell;
+        }
+
+        boolean normalReveal = normalCell != null && controller.revealCell(1, normalCell.getRow(), normalCell.getCol());
         check("Normal cell reveal should succeed", normalReveal);
-        check("Normal cell should be REVEALED", normalCell.getState() == Cell.CellState.REVEALED);
-        check("Normal cell should not be marked as used", !normalCell.isUsed());
+        check("Normal cell should be REVEALED", normalCell != null && normalCell.getState() == Cell.CellState.REVEALED);
+        check("Normal cell should not be marked as used", normalCell != null && !normalCell.isUsed());
 
         System.out.println("\n=== All tests completed ===");
     }
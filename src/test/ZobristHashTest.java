@@ -0,0 +1,112 @@
+import Model.Board;
+import Model.Difficulty;
+import Model.Game;
+import Model.GameRules;
+import Model.GameSnapshot;
+import Model.Player;
+import Model.RoundRobinScheduler;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests the incremental Zobrist hash: it must always equal the hash recomputed from the cells
+ * (surprises included), not depend on the order of the moves, survive a snapshot round trip,
+ * and tell different positions apart.
+ */
+public class ZobristHashTest {
+
+    private static final int GAMES = 300;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST: Zobrist hash ===\n");
+
+        Random random = new Random(46);
+        int drifted = 0;
+        int orderDependent = 0;
+        int restoredDifferent = 0;
+        Set<Long> positions = new HashSet<>();
+        int distinctPositions = 0;
+        for (int i = 0; i < GAMES; i++) {
+            GameRules rules = GameRules.of(Difficulty.values()[i % 3]);
+            long seed = random.nextLong();
+            Game game = newGame(rules, seed);
+            Board board = game.getBoard1();
+
+            // ----- Test 1: incremental hash equals a full recount after every move -----
+            int[][] moves = new int[40][];
+            for (int m = 0; m < moves.length; m++) {
+                int r = random.nextInt(board.getRows());
+                int c = random.nextInt(board.getCols());
+                boolean flag = board.getRevealCount() > 0 && random.nextInt(3) == 0;
+                moves[m] = new int[]{r, c, flag ? 1 : 0};
+                if (flag) {
+                    board.toggleFlag(r, c);
+                } else {
+                    board.revealCell(r, c);
+                }
+                if (board.getZobristHash() != board.computeZobristHash()) drifted++;
+                if (positions.add(board.getZobristHash())) distinctPositions++;
+            }
+
+            // ----- Test 2: flagging a cell twice gives the same hash back -----
+            long hash = board.getZobristHash();
+            for (int m = 0; m < 10; m++) {
+                int r = random.nextInt(board.getRows());
+                int c = random.nextInt(board.getCols());
+                board.toggleFlag(r, c);
+                board.toggleFlag(r, c);
+            }
+            if (board.getZobristHash() != hash) orderDependent++;
+
+            // ----- Test 3: a restored snapshot has the same hash -----
+            Board restored = GameSnapshot.capture(game).restore().getBoard1();
+            if (restored.getZobristHash() != board.getZobristHash()) restoredDifferent++;
+        }
+
+        check("Incremental hash should always equal the recomputed hash (" + drifted + " drifted)", drifted == 0);
+        check("Undone flags should give the same hash back", orderDependent == 0);
+        check("A restored snapshot should have the same hash", restoredDifferent == 0);
+        check("Different positions should get different hashes (" + distinctPositions + " seen)",
+                distinctPositions > GAMES * 10);
+
+        // ----- Test 4: hashing cost does not grow with the board -----
+        GameRules large = GameRules.of(Difficulty.EASY).withSize(1000, 1000).withMines(200_000);
+        long incrementalNanos;
+        long fullNanos;
+        Game game = newGame(large, 46);
+        Board board = game.getBoard1();
+        board.revealCell(500, 500);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            board.toggleFlag(random.nextInt(1000), random.nextInt(1000));
+        }
+        incrementalNanos = (System.nanoTime() - start) / 10_000;
+        start = System.nanoTime();
+        long full = board.computeZobristHash();
+        fullNanos = System.nanoTime() - start;
+        check("Large board hash should match the recount", full == board.getZobristHash());
+        System.out.println("  1000x1000: " + incrementalNanos + " ns per flag with hash update, full recount "
+                + fullNanos / 1000 + " us");
+
+        System.out.println("\n=== All tests completed ===");
+    }
+
+    private static Game newGame(GameRules rules, long seed) {
+        Game game = new Game(rules, List.of(new Player("A")), new RoundRobinScheduler(), null);
+        game.setQuiet(true);
+        game.startNewGame(rules, seed);
+        game.setSharedLives(1_000_000);
+        return game;
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            System.out.println("[PASS] " + description);
+        } else {
+            System.out.println("[FAIL] " + description);
+        }
+    }
+}